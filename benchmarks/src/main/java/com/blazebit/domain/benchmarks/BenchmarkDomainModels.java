@@ -0,0 +1,149 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.benchmarks;
+
+import com.blazebit.domain.Domain;
+import com.blazebit.domain.boot.model.DomainBuilder;
+import com.blazebit.domain.boot.model.EntityDomainTypeBuilder;
+import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.runtime.model.DomainOperator;
+import com.blazebit.domain.runtime.model.DomainPredicate;
+import com.blazebit.domain.runtime.model.StaticDomainFunctionTypeResolvers;
+import com.blazebit.domain.runtime.model.StaticDomainOperationTypeResolvers;
+import com.blazebit.domain.runtime.model.StaticDomainPredicateTypeResolvers;
+
+/**
+ * Factory for the synthetic domain models used by the benchmarks.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public final class BenchmarkDomainModels {
+
+    /**
+     * The numeric basic type names from wide to small as expected by the widest type resolvers.
+     */
+    public static final String[] NUMERIC_TYPES = { "BigDecimal", "Long", "Integer" };
+
+    private BenchmarkDomainModels() {
+    }
+
+    /**
+     * Returns a domain builder for a root domain model with basic types, the given amount of entity types and functions.
+     * Entity types are named <code>Entity0</code> to <code>EntityN</code> and functions <code>FUNCTION0</code> to <code>FUNCTIONN</code>.
+     *
+     * @param entityTypeCount The amount of entity types
+     * @param attributeCount The amount of attributes per entity type
+     * @param functionCount The amount of functions
+     * @return the domain builder
+     */
+    public static DomainBuilder createRootBuilder(int entityTypeCount, int attributeCount, int functionCount) {
+        DomainBuilder domainBuilder = Domain.getDefaultProvider().createDefaultBuilder();
+        domainBuilder.createBasicType("Boolean", Boolean.class)
+            .withOperator("Boolean", DomainOperator.NOT)
+            .withPredicate("Boolean", DomainPredicate.distinguishable())
+            .withOperationTypeResolver("Boolean", DomainOperator.NOT, StaticDomainOperationTypeResolvers.returning("Boolean", "Boolean"))
+            .withPredicateTypeResolver("Boolean", DomainPredicate.EQUALITY, StaticDomainPredicateTypeResolvers.returning("Boolean"))
+            .withPredicateTypeResolver("Boolean", DomainPredicate.NULLNESS, StaticDomainPredicateTypeResolvers.returning("Boolean"))
+            .withDefaultPredicateResultType("Boolean");
+        domainBuilder.createBasicType("String", String.class)
+            .withOperator("String", DomainOperator.PLUS)
+            .withPredicate("String", DomainPredicate.comparable())
+            .withOperationTypeResolver("String", DomainOperator.PLUS, StaticDomainOperationTypeResolvers.returning("String"));
+        for (String typeName : NUMERIC_TYPES) {
+            domainBuilder.createBasicType(typeName)
+                .withOperator(typeName, DomainOperator.arithmetic())
+                .withPredicate(typeName, DomainPredicate.comparable());
+            for (DomainOperator operator : DomainOperator.arithmetic()) {
+                domainBuilder.withOperationTypeResolver(typeName, operator, StaticDomainOperationTypeResolvers.widest(NUMERIC_TYPES));
+            }
+            for (DomainPredicate predicate : DomainPredicate.comparable()) {
+                domainBuilder.withPredicateTypeResolver(typeName, predicate, StaticDomainPredicateTypeResolvers.returning("Boolean", NUMERIC_TYPES));
+            }
+        }
+        for (int i = 0; i < entityTypeCount; i++) {
+            EntityDomainTypeBuilder entityTypeBuilder = domainBuilder.createEntityType("Entity" + i);
+            for (int j = 0; j < attributeCount; j++) {
+                // Only refer to a few entity types, since the builder resolves referenced types recursively
+                String referencedTypeName = "Entity" + ((j / 4) % entityTypeCount);
+                switch (j % 4) {
+                    case 0:
+                        entityTypeBuilder.addAttribute("attribute" + j, referencedTypeName);
+                        break;
+                    case 1:
+                        entityTypeBuilder.addCollectionAttribute("attribute" + j, referencedTypeName);
+                        break;
+                    case 2:
+                        entityTypeBuilder.addAttribute("attribute" + j, "String");
+                        break;
+                    default:
+                        entityTypeBuilder.addAttribute("attribute" + j, NUMERIC_TYPES[j % NUMERIC_TYPES.length]);
+                        break;
+                }
+            }
+            entityTypeBuilder.build();
+            domainBuilder.withPredicate("Entity" + i, DomainPredicate.distinguishable());
+        }
+        for (int i = 0; i < functionCount; i++) {
+            domainBuilder.createFunction("FUNCTION" + i)
+                .withArgument("first", NUMERIC_TYPES[i % NUMERIC_TYPES.length])
+                .withArgument("second", "Long")
+                .withResultType("Long")
+                .build();
+            if (i % 2 == 0) {
+                domainBuilder.withFunctionTypeResolver("FUNCTION" + i, StaticDomainFunctionTypeResolvers.widest(NUMERIC_TYPES));
+            }
+        }
+        return domainBuilder;
+    }
+
+    /**
+     * Returns a root domain model with basic types, the given amount of entity types and functions.
+     *
+     * @param entityTypeCount The amount of entity types
+     * @param attributeCount The amount of attributes per entity type
+     * @param functionCount The amount of functions
+     * @return the domain model
+     */
+    public static DomainModel createRootModel(int entityTypeCount, int attributeCount, int functionCount) {
+        return createRootBuilder(entityTypeCount, attributeCount, functionCount).build();
+    }
+
+    /**
+     * Returns a chain of sub domain models of the given depth on top of the given domain model.
+     * Every sub domain model adds an entity type <code>SubEntityN</code> and a function <code>SUB_FUNCTIONN</code>.
+     *
+     * @param domainModel The root domain model
+     * @param depth The amount of sub domain models to create
+     * @return the last sub domain model or the given domain model if the depth is 0
+     */
+    public static DomainModel createSubModelChain(DomainModel domainModel, int depth) {
+        for (int i = 0; i < depth; i++) {
+            domainModel = Domain.getDefaultProvider().createBuilder(domainModel)
+                .createEntityType("SubEntity" + i)
+                .addAttribute("id", "Long")
+                .addAttribute("parent", "Entity0")
+                .build()
+                .createFunction("SUB_FUNCTION" + i)
+                .withArgument("value", "Long")
+                .withResultType("Long")
+                .build()
+                .build();
+        }
+        return domainModel;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler for allocation rates and writes the results as JSON to <code>jmh-result.json</code>.
+ * The arguments are the regular JMH command line options, e.g. a regular expression for the benchmarks to run.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args The JMH command line options
+     * @throws CommandLineOptionException if the options are invalid
+     * @throws RunnerException if a benchmark fails
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        OptionsBuilder optionsBuilder = new OptionsBuilder();
+        optionsBuilder.parent(commandLineOptions);
+        optionsBuilder.addProfiler(GCProfiler.class);
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            optionsBuilder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLineOptions.getResult().hasValue()) {
+            optionsBuilder.result("jmh-result.json");
+        }
+        new Runner(optionsBuilder.build()).run();
+    }
+}
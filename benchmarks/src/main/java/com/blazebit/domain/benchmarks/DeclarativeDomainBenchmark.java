@@ -0,0 +1,298 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.benchmarks;
+
+import com.blazebit.domain.boot.model.DomainBuilder;
+import com.blazebit.domain.declarative.impl.spi.DeclarativeDomainConfigurationImpl;
+import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.spi.ServiceProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the startup of the declarative module i.e. creating a domain model from classes generated by {@link SyntheticDeclarativeDomainGenerator}.
+ *
+ * The warm benchmarks reuse the same classes, so the reflection data of the classes is already cached by the JVM.
+ * The fresh benchmark loads the classes through a new class loader for every invocation and the cold benchmark additionally
+ * runs only once per JVM, which is what a service sees on startup. Loading the classes is not part of the measurement.
+ *
+ * The phase benchmarks break the creation of the domain model down into the analysis of the domain types,
+ * the analysis of the domain functions and building the domain model.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = { "-Xss64m", "-Xmx4g" })
+public class DeclarativeDomainBenchmark {
+
+    private static final ServiceProvider NO_SERVICES = new ServiceProvider() {
+        @Override
+        public <T> T getService(Class<T> serviceClass) {
+            return null;
+        }
+    };
+
+    @Param({ "1000", "5000" })
+    private int domainTypeCount;
+
+    private SyntheticDeclarativeDomainGenerator generator;
+    private List<Class<?>> domainTypes;
+    private List<Class<?>> domainFunctions;
+
+    /**
+     * Generates, compiles and loads the domain classes.
+     *
+     * @throws IOException if the generation fails
+     */
+    @Setup
+    public void setup() throws IOException {
+        generator = new SyntheticDeclarativeDomainGenerator()
+            .withDomainTypeCount(domainTypeCount)
+            .withReferencedDomainTypeCount(Math.max(1, domainTypeCount / 10))
+            .withEnumTypeCount(Math.max(1, domainTypeCount / 10))
+            .withDomainFunctionsClassCount(Math.max(1, domainTypeCount / 20))
+            .compile();
+        ClassLoader classLoader = generator.createClassLoader();
+        domainTypes = generator.loadDomainTypes(classLoader);
+        domainFunctions = generator.loadDomainFunctions(classLoader);
+    }
+
+    /**
+     * Deletes the compiled domain classes.
+     *
+     * @throws IOException if deleting fails
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        generator.close();
+    }
+
+    /**
+     * Benchmarks registering the classes and creating the domain model with warm reflection data.
+     *
+     * @return the domain model
+     */
+    @Benchmark
+    public DomainModel createDomainModel() {
+        return generator.createConfiguration(domainTypes, domainFunctions).createDomainModel(generator.createBuilder());
+    }
+
+    /**
+     * Benchmarks registering the classes and creating the domain model with newly loaded classes.
+     *
+     * @param classes The newly loaded classes
+     * @return the domain model
+     */
+    @Benchmark
+    public DomainModel createDomainModelFreshClasses(FreshClasses classes) {
+        return generator.createConfiguration(classes.domainTypes, classes.domainFunctions).createDomainModel(generator.createBuilder());
+    }
+
+    /**
+     * Benchmarks registering the classes and creating the domain model once in a new JVM.
+     *
+     * @param classes The newly loaded classes
+     * @return the domain model
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(value = 10, jvmArgsAppend = { "-Xss64m", "-Xmx4g" })
+    public DomainModel createDomainModelCold(FreshClasses classes) {
+        return generator.createConfiguration(classes.domainTypes, classes.domainFunctions).createDomainModel(generator.createBuilder());
+    }
+
+    /**
+     * Benchmarks the analysis of the domain types.
+     *
+     * @param phase The configuration and domain builder
+     * @return the domain builder
+     */
+    @Benchmark
+    public DomainBuilder analyzeDomainTypes(TypeAnalysisPhase phase) {
+        phase.configuration.analyzeDomainTypes(phase.domainBuilder, NO_SERVICES, phase.errors);
+        return phase.domainBuilder;
+    }
+
+    /**
+     * Benchmarks the analysis of the domain functions.
+     *
+     * @param phase The configuration and domain builder with analyzed domain types
+     * @return the domain builder
+     */
+    @Benchmark
+    public DomainBuilder analyzeDomainFunctions(FunctionAnalysisPhase phase) {
+        phase.configuration.analyzeDomainFunctions(phase.domainBuilder, NO_SERVICES, phase.errors);
+        return phase.domainBuilder;
+    }
+
+    /**
+     * Benchmarks building the domain model after the analysis.
+     *
+     * @param phase The domain builder with analyzed domain types and functions
+     * @return the domain model
+     */
+    @Benchmark
+    public DomainModel build(BuildPhase phase) {
+        return phase.domainBuilder.build();
+    }
+
+    private DeclarativeDomainConfigurationImpl createConfiguration() {
+        return (DeclarativeDomainConfigurationImpl) generator.createConfiguration(domainTypes, domainFunctions);
+    }
+
+    private static void prepareDomainTypes(DeclarativeDomainConfigurationImpl configuration, DomainBuilder domainBuilder) {
+        List<String> errors = new ArrayList<>();
+        configuration.analyzeDomainTypes(domainBuilder, NO_SERVICES, errors);
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Analyzing the domain types failed: " + errors);
+        }
+    }
+
+    private static void prepareDomainFunctions(DeclarativeDomainConfigurationImpl configuration, DomainBuilder domainBuilder) {
+        List<String> errors = new ArrayList<>();
+        configuration.analyzeDomainFunctions(domainBuilder, NO_SERVICES, errors);
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Analyzing the domain functions failed: " + errors);
+        }
+    }
+
+    /**
+     * The domain classes loaded through a new class loader for every invocation.
+     *
+     * @author Christian Beikov
+     * @since 3.0.0
+     */
+    @State(Scope.Thread)
+    public static class FreshClasses {
+
+        private List<Class<?>> domainTypes;
+        private List<Class<?>> domainFunctions;
+
+        /**
+         * Loads the domain classes through a new class loader.
+         *
+         * @param benchmark The benchmark state
+         */
+        @Setup(Level.Invocation)
+        public void setup(DeclarativeDomainBenchmark benchmark) {
+            ClassLoader classLoader = benchmark.generator.createClassLoader();
+            domainTypes = benchmark.generator.loadDomainTypes(classLoader);
+            domainFunctions = benchmark.generator.loadDomainFunctions(classLoader);
+        }
+    }
+
+    /**
+     * A new configuration and domain builder for the domain type analysis.
+     *
+     * @author Christian Beikov
+     * @since 3.0.0
+     */
+    @State(Scope.Thread)
+    public static class TypeAnalysisPhase {
+
+        private DeclarativeDomainConfigurationImpl configuration;
+        private DomainBuilder domainBuilder;
+        private List<String> errors;
+
+        /**
+         * Creates the configuration and domain builder.
+         *
+         * @param benchmark The benchmark state
+         */
+        @Setup(Level.Invocation)
+        public void setup(DeclarativeDomainBenchmark benchmark) {
+            configuration = benchmark.createConfiguration();
+            domainBuilder = benchmark.generator.createBuilder();
+            errors = new ArrayList<>();
+        }
+    }
+
+    /**
+     * A new configuration and domain builder with analyzed domain types for the domain function analysis.
+     *
+     * @author Christian Beikov
+     * @since 3.0.0
+     */
+    @State(Scope.Thread)
+    public static class FunctionAnalysisPhase {
+
+        private DeclarativeDomainConfigurationImpl configuration;
+        private DomainBuilder domainBuilder;
+        private List<String> errors;
+
+        /**
+         * Creates the configuration and domain builder and analyzes the domain types.
+         *
+         * @param benchmark The benchmark state
+         */
+        @Setup(Level.Invocation)
+        public void setup(DeclarativeDomainBenchmark benchmark) {
+            configuration = benchmark.createConfiguration();
+            domainBuilder = benchmark.generator.createBuilder();
+            prepareDomainTypes(configuration, domainBuilder);
+            errors = new ArrayList<>();
+        }
+    }
+
+    /**
+     * A domain builder with analyzed domain types and functions.
+     *
+     * @author Christian Beikov
+     * @since 3.0.0
+     */
+    @State(Scope.Thread)
+    public static class BuildPhase {
+
+        private DomainBuilder domainBuilder;
+
+        /**
+         * Creates the domain builder and analyzes the domain types and functions.
+         *
+         * @param benchmark The benchmark state
+         */
+        @Setup(Level.Invocation)
+        public void setup(DeclarativeDomainBenchmark benchmark) {
+            DeclarativeDomainConfigurationImpl configuration = benchmark.createConfiguration();
+            domainBuilder = benchmark.generator.createBuilder();
+            prepareDomainTypes(configuration, domainBuilder);
+            prepareDomainFunctions(configuration, domainBuilder);
+        }
+    }
+}
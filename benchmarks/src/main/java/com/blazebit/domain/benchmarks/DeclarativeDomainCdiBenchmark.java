@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.benchmarks;
+
+import com.blazebit.domain.declarative.DeclarativeDomainConfiguration;
+import com.blazebit.domain.runtime.model.DomainModel;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks booting a Weld SE container in which the <code>DeclarativeDomainExtension</code> collects the classes generated
+ * by {@link SyntheticDeclarativeDomainGenerator}, followed by creating the domain model from the configuration bean.
+ * Every boot uses classes loaded through a new class loader. Shutting down the container is not part of the measurement.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 3, jvmArgsAppend = { "-Xss64m", "-Xmx4g" })
+public class DeclarativeDomainCdiBenchmark {
+
+    @Param({ "1000", "5000" })
+    private int domainTypeCount;
+
+    private SyntheticDeclarativeDomainGenerator generator;
+    private ClassLoader classLoader;
+    private Class<?>[] beanClasses;
+    private WeldContainer container;
+
+    /**
+     * Generates and compiles the domain classes.
+     *
+     * @throws IOException if the generation fails
+     */
+    @Setup
+    public void setup() throws IOException {
+        generator = new SyntheticDeclarativeDomainGenerator()
+            .withDomainTypeCount(domainTypeCount)
+            .withReferencedDomainTypeCount(Math.max(1, domainTypeCount / 10))
+            .withEnumTypeCount(Math.max(1, domainTypeCount / 10))
+            .withDomainFunctionsClassCount(Math.max(1, domainTypeCount / 20))
+            .compile();
+    }
+
+    /**
+     * Loads the domain classes through a new class loader.
+     */
+    @Setup(Level.Invocation)
+    public void loadClasses() {
+        classLoader = generator.createClassLoader();
+        List<Class<?>> classes = new ArrayList<>(generator.loadDomainTypes(classLoader));
+        classes.addAll(generator.loadDomainFunctions(classLoader));
+        beanClasses = classes.toArray(new Class<?>[0]);
+    }
+
+    /**
+     * Shuts the container down.
+     */
+    @TearDown(Level.Invocation)
+    public void shutdownContainer() {
+        if (container != null) {
+            container.shutdown();
+            container = null;
+        }
+    }
+
+    /**
+     * Deletes the compiled domain classes.
+     *
+     * @throws IOException if deleting fails
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        generator.close();
+    }
+
+    /**
+     * Benchmarks booting the container and creating the domain model.
+     *
+     * @return the domain model
+     */
+    @Benchmark
+    public DomainModel bootAndCreateDomainModel() {
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            // The extension is registered through the service loader, so only the bean classes have to be added
+            container = new Weld()
+                .disableDiscovery()
+                .addBeanClasses(beanClasses)
+                .initialize();
+            DeclarativeDomainConfiguration configuration = container.select(DeclarativeDomainConfiguration.class).get();
+            return configuration.createDomainModel(generator.createBuilder());
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.benchmarks;
+
+import com.blazebit.domain.Domain;
+import com.blazebit.domain.boot.model.DomainBuilder;
+import com.blazebit.domain.runtime.model.DomainModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks building root domain models and sub domain models of synthetic domain models generated by {@link SyntheticDomainModelGenerator}.
+ * The sub domain model benchmarks redefine a small or a large amount of entity types of the root domain model,
+ * which requires rebuilding the changed types and their dependents.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xss64m", "-Xmx8g" })
+public class DomainBuilderBenchmark {
+
+    @Param({ "2000", "20000" })
+    private int entityTypeCount;
+    @Param({ "10" })
+    private int attributeCount;
+    @Param({ "10" })
+    private int smallChangeCount;
+    @Param({ "1000" })
+    private int largeChangeCount;
+
+    private SyntheticDomainModelGenerator generator;
+    private DomainBuilder rootBuilder;
+    private DomainModel rootModel;
+
+    /**
+     * Generates the root domain model.
+     */
+    @Setup
+    public void setup() {
+        generator = new SyntheticDomainModelGenerator()
+            .withEntityTypeCount(entityTypeCount)
+            .withAttributeCount(attributeCount)
+            .withFunctionCount(entityTypeCount * 3 / 2);
+        rootBuilder = generator.createBuilder();
+        rootModel = rootBuilder.build();
+    }
+
+    /**
+     * Benchmarks populating a new domain builder and building the root domain model.
+     *
+     * @return the domain model
+     */
+    @Benchmark
+    public DomainModel populateAndBuildRoot() {
+        return generator.createBuilder().build();
+    }
+
+    /**
+     * Benchmarks building the root domain model from an already populated domain builder.
+     *
+     * @return the domain model
+     */
+    @Benchmark
+    public DomainModel buildRoot() {
+        return rootBuilder.build();
+    }
+
+    /**
+     * Benchmarks building a sub domain model without modifications.
+     *
+     * @return the domain model
+     */
+    @Benchmark
+    public DomainModel buildSubModelWithoutChanges() {
+        return Domain.getDefaultProvider().createBuilder(rootModel).build();
+    }
+
+    /**
+     * Benchmarks building a sub domain model that only adds a function.
+     *
+     * @return the domain model
+     */
+    @Benchmark
+    public DomainModel buildSubModelWithAddedFunction() {
+        return Domain.getDefaultProvider().createBuilder(rootModel)
+            .createFunction("ADDED_FUNCTION")
+            .withArgument("value", "Long")
+            .withResultType("Long")
+            .build()
+            .build();
+    }
+
+    /**
+     * Benchmarks building a sub domain model that redefines a few entity types.
+     *
+     * @return the domain model
+     */
+    @Benchmark
+    public DomainModel buildSubModelWithSmallChangeSet() {
+        return generator.changeEntityTypes(Domain.getDefaultProvider().createBuilder(rootModel), smallChangeCount).build();
+    }
+
+    /**
+     * Benchmarks building a sub domain model that redefines many entity types.
+     *
+     * @return the domain model
+     */
+    @Benchmark
+    public DomainModel buildSubModelWithLargeChangeSet() {
+        return generator.changeEntityTypes(Domain.getDefaultProvider().createBuilder(rootModel), largeChangeCount).build();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.benchmarks;
+
+import com.blazebit.domain.Domain;
+import com.blazebit.domain.boot.model.DomainBuilder;
+import com.blazebit.domain.runtime.model.DomainModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link DomainBuilder#withDefaults()}, which applies the domain contributors and serializers found via the service loader.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomainBuilderDefaultsBenchmark {
+
+    /**
+     * Benchmarks applying the defaults to an empty domain builder.
+     *
+     * @return the domain builder
+     */
+    @Benchmark
+    public DomainBuilder withDefaults() {
+        return Domain.getDefaultProvider().createEmptyBuilder().withDefaults();
+    }
+
+    /**
+     * Benchmarks applying the defaults to an empty domain builder and building the domain model.
+     *
+     * @return the domain model
+     */
+    @Benchmark
+    public DomainModel withDefaultsBuild() {
+        return Domain.getDefaultProvider().createEmptyBuilder().withDefaults().build();
+    }
+}
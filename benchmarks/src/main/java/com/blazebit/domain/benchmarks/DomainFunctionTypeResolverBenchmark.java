@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.benchmarks;
+
+import com.blazebit.domain.runtime.model.DomainFunction;
+import com.blazebit.domain.runtime.model.DomainFunctionArgument;
+import com.blazebit.domain.runtime.model.DomainFunctionTypeResolver;
+import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.runtime.model.DomainType;
+import com.blazebit.domain.runtime.model.StaticDomainFunctionTypeResolvers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the type resolution of the resolvers in {@link StaticDomainFunctionTypeResolvers}
+ * for a function with the argument types <code>Integer</code>, <code>Long</code>, <code>BigDecimal</code> and <code>Integer</code>.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomainFunctionTypeResolverBenchmark {
+
+    @Param({ "FIRST_ARGUMENT_TYPE", "SECOND_ARGUMENT_TYPE", "THIRD_ARGUMENT_TYPE", "FOURTH_ARGUMENT_TYPE", "STATIC_RETURN_TYPE", "returning", "widest", "nthArgument" })
+    private String resolver;
+
+    private DomainModel domainModel;
+    private DomainFunction function;
+    private Map<DomainFunctionArgument, DomainType> argumentTypes;
+    private DomainFunctionTypeResolver functionTypeResolver;
+
+    /**
+     * Creates the domain model and the resolver.
+     */
+    @Setup
+    public void setup() {
+        domainModel = BenchmarkDomainModels.createRootBuilder(10, 4, 0)
+            .createFunction("RESOLVE")
+            .withArgument("first", "Integer")
+            .withArgument("second", "Long")
+            .withArgument("third", "BigDecimal")
+            .withArgument("fourth", "Integer")
+            .withResultType("Long")
+            .build()
+            .build();
+        function = domainModel.getFunction("RESOLVE");
+        argumentTypes = new LinkedHashMap<>();
+        for (DomainFunctionArgument argument : function.getArguments()) {
+            argumentTypes.put(argument, argument.getType());
+        }
+        switch (resolver) {
+            case "FIRST_ARGUMENT_TYPE":
+                functionTypeResolver = StaticDomainFunctionTypeResolvers.FIRST_ARGUMENT_TYPE;
+                break;
+            case "SECOND_ARGUMENT_TYPE":
+                functionTypeResolver = StaticDomainFunctionTypeResolvers.SECOND_ARGUMENT_TYPE;
+                break;
+            case "THIRD_ARGUMENT_TYPE":
+                functionTypeResolver = StaticDomainFunctionTypeResolvers.THIRD_ARGUMENT_TYPE;
+                break;
+            case "FOURTH_ARGUMENT_TYPE":
+                functionTypeResolver = StaticDomainFunctionTypeResolvers.FOURTH_ARGUMENT_TYPE;
+                break;
+            case "STATIC_RETURN_TYPE":
+                functionTypeResolver = StaticDomainFunctionTypeResolvers.STATIC_RETURN_TYPE;
+                break;
+            case "returning":
+                functionTypeResolver = StaticDomainFunctionTypeResolvers.returning("Long");
+                break;
+            case "widest":
+                functionTypeResolver = StaticDomainFunctionTypeResolvers.widest(BenchmarkDomainModels.NUMERIC_TYPES);
+                break;
+            case "nthArgument":
+                functionTypeResolver = StaticDomainFunctionTypeResolvers.nthArgument(2);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported resolver: " + resolver);
+        }
+    }
+
+    /**
+     * Benchmarks {@link DomainFunctionTypeResolver#resolveType(DomainModel, DomainFunction, Map)}.
+     *
+     * @return the resolved domain type
+     */
+    @Benchmark
+    public DomainType resolveType() {
+        return functionTypeResolver.resolveType(domainModel, function, argumentTypes);
+    }
+}
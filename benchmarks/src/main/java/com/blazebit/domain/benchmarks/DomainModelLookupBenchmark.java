@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.benchmarks;
+
+import com.blazebit.domain.runtime.model.CollectionDomainType;
+import com.blazebit.domain.runtime.model.DomainFunction;
+import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.runtime.model.DomainOperationTypeResolver;
+import com.blazebit.domain.runtime.model.DomainOperator;
+import com.blazebit.domain.runtime.model.DomainPredicate;
+import com.blazebit.domain.runtime.model.DomainPredicateTypeResolver;
+import com.blazebit.domain.runtime.model.DomainType;
+import com.blazebit.domain.runtime.model.EntityDomainType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the lookups of a domain model. A depth of 0 measures the root domain model,
+ * otherwise the top of a sub domain model chain of the given depth is measured, looking up elements of the root domain model.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomainModelLookupBenchmark {
+
+    @Param({ "0", "1", "4", "16" })
+    private int depth;
+    @Param({ "1000" })
+    private int entityTypeCount;
+
+    private DomainModel domainModel;
+    private String typeName;
+    private String collectionTypeName;
+    private String functionName;
+
+    /**
+     * Creates the domain model.
+     */
+    @Setup
+    public void setup() {
+        domainModel = BenchmarkDomainModels.createSubModelChain(BenchmarkDomainModels.createRootModel(entityTypeCount, 10, 100), depth);
+        // Look up the elements of the root model to measure the full chain
+        typeName = "Entity" + (entityTypeCount / 2);
+        collectionTypeName = "Collection[" + typeName + "]";
+        functionName = "FUNCTION50";
+    }
+
+    /**
+     * Benchmarks {@link DomainModel#getType(String)}.
+     *
+     * @return the domain type
+     */
+    @Benchmark
+    public DomainType getType() {
+        return domainModel.getType(typeName);
+    }
+
+    /**
+     * Benchmarks {@link DomainModel#getType(String)} for a collection type name.
+     *
+     * @return the domain type
+     */
+    @Benchmark
+    public DomainType getTypeCollection() {
+        return domainModel.getType(collectionTypeName);
+    }
+
+    /**
+     * Benchmarks {@link DomainModel#getEntityType(String)}.
+     *
+     * @return the entity domain type
+     */
+    @Benchmark
+    public EntityDomainType getEntityType() {
+        return domainModel.getEntityType(typeName);
+    }
+
+    /**
+     * Benchmarks {@link DomainModel#getCollectionType(String)}.
+     *
+     * @return the collection domain type
+     */
+    @Benchmark
+    public CollectionDomainType getCollectionType() {
+        return domainModel.getCollectionType(typeName);
+    }
+
+    /**
+     * Benchmarks {@link DomainModel#getFunction(String)}.
+     *
+     * @return the domain function
+     */
+    @Benchmark
+    public DomainFunction getFunction() {
+        return domainModel.getFunction(functionName);
+    }
+
+    /**
+     * Benchmarks {@link DomainModel#getOperationTypeResolver(String, DomainOperator)}.
+     *
+     * @return the domain operation type resolver
+     */
+    @Benchmark
+    public DomainOperationTypeResolver getOperationTypeResolver() {
+        return domainModel.getOperationTypeResolver("Long", DomainOperator.PLUS);
+    }
+
+    /**
+     * Benchmarks {@link DomainModel#getPredicateTypeResolver(String, DomainPredicate)}.
+     *
+     * @return the domain predicate type resolver
+     */
+    @Benchmark
+    public DomainPredicateTypeResolver getPredicateTypeResolver() {
+        return domainModel.getPredicateTypeResolver("Long", DomainPredicate.RELATIONAL);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.benchmarks;
+
+import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.runtime.model.DomainPredicateTypeResolver;
+import com.blazebit.domain.runtime.model.DomainType;
+import com.blazebit.domain.runtime.model.StaticDomainPredicateTypeResolvers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the type resolution of the resolvers in {@link StaticDomainPredicateTypeResolvers}.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomainPredicateTypeResolverBenchmark {
+
+    @Param({ "returning", "returningSupported", "returningPerOperand" })
+    private String resolver;
+
+    private DomainModel domainModel;
+    private List<DomainType> operandTypes;
+    private DomainPredicateTypeResolver typeResolver;
+
+    /**
+     * Creates the domain model and the resolver.
+     */
+    @Setup
+    public void setup() {
+        domainModel = BenchmarkDomainModels.createRootModel(10, 4, 0);
+        switch (resolver) {
+            case "returning":
+                typeResolver = StaticDomainPredicateTypeResolvers.returning("Boolean");
+                operandTypes = types("Boolean", "Boolean");
+                break;
+            case "returningSupported":
+                typeResolver = StaticDomainPredicateTypeResolvers.returning("Boolean", BenchmarkDomainModels.NUMERIC_TYPES);
+                operandTypes = types("Integer", "Long");
+                break;
+            case "returningPerOperand":
+                typeResolver = StaticDomainPredicateTypeResolvers.returning("Boolean", new String[][]{ { "Integer", "Long" }, BenchmarkDomainModels.NUMERIC_TYPES });
+                operandTypes = types("Integer", "BigDecimal");
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported resolver: " + resolver);
+        }
+    }
+
+    private List<DomainType> types(String... typeNames) {
+        List<DomainType> types = new ArrayList<>(typeNames.length);
+        for (String typeName : typeNames) {
+            types.add(domainModel.getType(typeName));
+        }
+        return types;
+    }
+
+    /**
+     * Benchmarks {@link DomainPredicateTypeResolver#resolveType(DomainModel, List)}.
+     *
+     * @return the resolved domain type
+     */
+    @Benchmark
+    public DomainType resolveType() {
+        return typeResolver.resolveType(domainModel, operandTypes);
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.benchmarks;
+
+import com.blazebit.domain.Domain;
+import com.blazebit.domain.boot.model.DomainBuilder;
+import com.blazebit.domain.runtime.model.DomainModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the Java serialization of root and sub domain models of synthetic domain models generated by {@link SyntheticDomainModelGenerator}.
+ * A domain model caches its serialized form, so the cold benchmarks serialize a newly built domain model on every invocation.
+ * Deserialization reuses the domain model with the same fingerprint if it is still alive, which is always the case here.
+ * The size of the serialized output in bytes is reported as secondary result <code>outputSize</code>.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = { "-Xss64m", "-Xmx8g" })
+public class JavaSerializationBenchmark {
+
+    @Param({ "200", "2000", "20000" })
+    private int entityTypeCount;
+    @Param({ "10" })
+    private int changedEntityTypeCount;
+
+    private SyntheticDomainModelGenerator generator;
+    private DomainBuilder rootBuilder;
+    private DomainModel rootModel;
+    private DomainModel subModel;
+    private byte[] serializedRootModel;
+    private byte[] serializedSubModel;
+
+    /**
+     * Generates and serializes the domain models.
+     *
+     * @throws IOException if the serialization fails
+     */
+    @Setup
+    public void setup() throws IOException {
+        generator = new SyntheticDomainModelGenerator()
+            .withEntityTypeCount(entityTypeCount)
+            .withFunctionCount(entityTypeCount * 3 / 2)
+            .withReferencedEntityTypeCount(Math.max(1, entityTypeCount / 20))
+            .withUnionTypeCount(Math.max(1, entityTypeCount / 20))
+            .withEnumTypeCount(Math.max(1, entityTypeCount / 40));
+        rootBuilder = generator.createBuilder();
+        rootModel = rootBuilder.build();
+        subModel = generator.changeEntityTypes(Domain.getDefaultProvider().createBuilder(rootModel), changedEntityTypeCount).build();
+        serializedRootModel = serialize(rootModel);
+        serializedSubModel = serialize(subModel);
+    }
+
+    /**
+     * Benchmarks serializing the root domain model with its cached serialized form.
+     *
+     * @param outputSize The output size result
+     * @return the serialized domain model
+     * @throws IOException if the serialization fails
+     */
+    @Benchmark
+    public byte[] serializeRoot(OutputSize outputSize) throws IOException {
+        return outputSize.record(serialize(rootModel));
+    }
+
+    /**
+     * Benchmarks serializing a root domain model for the first time.
+     *
+     * @param coldModel The newly built root domain model
+     * @param outputSize The output size result
+     * @return the serialized domain model
+     * @throws IOException if the serialization fails
+     */
+    @Benchmark
+    public byte[] serializeRootCold(ColdModel coldModel, OutputSize outputSize) throws IOException {
+        return outputSize.record(serialize(coldModel.domainModel));
+    }
+
+    /**
+     * Benchmarks serializing the sub domain model together with its root domain model.
+     *
+     * @param outputSize The output size result
+     * @return the serialized domain model
+     * @throws IOException if the serialization fails
+     */
+    @Benchmark
+    public byte[] serializeSubModel(OutputSize outputSize) throws IOException {
+        return outputSize.record(serialize(subModel));
+    }
+
+    /**
+     * Benchmarks deserializing the root domain model.
+     *
+     * @return the domain model
+     * @throws IOException if the deserialization fails
+     * @throws ClassNotFoundException if a class can't be found
+     */
+    @Benchmark
+    public Object deserializeRoot() throws IOException, ClassNotFoundException {
+        return deserialize(serializedRootModel);
+    }
+
+    /**
+     * Benchmarks deserializing the sub domain model.
+     *
+     * @return the domain model
+     * @throws IOException if the deserialization fails
+     * @throws ClassNotFoundException if a class can't be found
+     */
+    @Benchmark
+    public Object deserializeSubModel() throws IOException, ClassNotFoundException {
+        return deserialize(serializedSubModel);
+    }
+
+    /**
+     * A root domain model that is newly built for every invocation, so that it has no cached serialized form.
+     *
+     * @author Christian Beikov
+     * @since 3.0.0
+     */
+    @State(Scope.Thread)
+    public static class ColdModel {
+
+        private DomainModel domainModel;
+
+        /**
+         * Builds a new root domain model.
+         *
+         * @param benchmark The benchmark state
+         */
+        @Setup(Level.Invocation)
+        public void setup(JavaSerializationBenchmark benchmark) {
+            domainModel = benchmark.rootBuilder.build();
+        }
+    }
+
+    private static byte[] serialize(DomainModel domainModel) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+            oos.writeObject(domainModel);
+        }
+        return baos.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return ois.readObject();
+        }
+    }
+}
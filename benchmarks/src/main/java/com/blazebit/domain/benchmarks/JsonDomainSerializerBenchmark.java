@@ -0,0 +1,138 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.benchmarks;
+
+import com.blazebit.domain.Domain;
+import com.blazebit.domain.impl.spi.JsonDomainSerializer;
+import com.blazebit.domain.runtime.model.DomainModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the JSON serialization of synthetic domain models generated by {@link SyntheticDomainModelGenerator}
+ * for root domain models and for sub domain models serialized against their base domain model.
+ * The size of the JSON output in chars is reported as secondary result <code>outputSize</code>.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = { "-Xss64m", "-Xmx8g" })
+public class JsonDomainSerializerBenchmark {
+
+    @Param({ "200", "2000", "20000" })
+    private int entityTypeCount;
+    @Param({ "10" })
+    private int changedEntityTypeCount;
+
+    private DomainModel rootModel;
+    private DomainModel subModel;
+    private DomainModel unchangedSubModel;
+    private Map<String, Object> properties;
+    private Map<String, Object> parallelProperties;
+
+    /**
+     * Generates the domain models.
+     */
+    @Setup
+    public void setup() {
+        SyntheticDomainModelGenerator generator = new SyntheticDomainModelGenerator()
+            .withEntityTypeCount(entityTypeCount)
+            .withFunctionCount(entityTypeCount * 3 / 2)
+            .withReferencedEntityTypeCount(Math.max(1, entityTypeCount / 20))
+            .withUnionTypeCount(Math.max(1, entityTypeCount / 20))
+            .withEnumTypeCount(Math.max(1, entityTypeCount / 40));
+        rootModel = generator.createDomainModel();
+        subModel = generator.changeEntityTypes(Domain.getDefaultProvider().createBuilder(rootModel), changedEntityTypeCount).build();
+        unchangedSubModel = Domain.getDefaultProvider().createBuilder(rootModel).build();
+        properties = Collections.emptyMap();
+        parallelProperties = Collections.singletonMap(JsonDomainSerializer.PARALLEL, Boolean.TRUE);
+    }
+
+    /**
+     * Benchmarks serializing the root domain model.
+     *
+     * @param outputSize The output size result
+     * @return the JSON
+     */
+    @Benchmark
+    public String serializeRoot(OutputSize outputSize) {
+        return outputSize.record(rootModel.serialize(String.class, "json", properties));
+    }
+
+    /**
+     * Benchmarks serializing the root domain model with the parallel serialization.
+     *
+     * @param outputSize The output size result
+     * @return the JSON
+     */
+    @Benchmark
+    public String serializeRootParallel(OutputSize outputSize) {
+        return outputSize.record(rootModel.serialize(String.class, "json", parallelProperties));
+    }
+
+    /**
+     * Benchmarks serializing the sub domain model against the root domain model, which only contains the changes.
+     *
+     * @param outputSize The output size result
+     * @return the JSON
+     */
+    @Benchmark
+    public String serializeSubModel(OutputSize outputSize) {
+        return outputSize.record(subModel.serialize(rootModel, String.class, "json", properties));
+    }
+
+    /**
+     * Benchmarks serializing the sub domain model as a whole.
+     *
+     * @param outputSize The output size result
+     * @return the JSON
+     */
+    @Benchmark
+    public String serializeSubModelFull(OutputSize outputSize) {
+        return outputSize.record(subModel.serialize(String.class, "json", properties));
+    }
+
+    /**
+     * Benchmarks serializing a sub domain model without changes against the root domain model.
+     * Nothing is written, so this measures comparing the types, functions and resolvers with the ones of the root domain model.
+     *
+     * @param outputSize The output size result
+     * @return the JSON
+     */
+    @Benchmark
+    public String serializeUnchangedSubModel(OutputSize outputSize) {
+        return outputSize.record(unchangedSubModel.serialize(rootModel, String.class, "json", properties));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A secondary benchmark result for the size of the serialized output, which is reported next to the primary result.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class OutputSize {
+
+    /**
+     * The size of the last output in bytes or chars.
+     */
+    public long outputSize;
+
+    /**
+     * Records the size of the given string.
+     *
+     * @param output The output
+     * @return the given output
+     */
+    public String record(String output) {
+        outputSize = output.length();
+        return output;
+    }
+
+    /**
+     * Records the size of the given bytes.
+     *
+     * @param output The output
+     * @return the given output
+     */
+    public byte[] record(byte[] output) {
+        outputSize = output.length;
+        return output;
+    }
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.benchmarks;
+
+import com.blazebit.domain.Domain;
+import com.blazebit.domain.boot.model.DomainBuilder;
+import com.blazebit.domain.declarative.DeclarativeDomain;
+import com.blazebit.domain.declarative.DeclarativeDomainConfiguration;
+import com.blazebit.domain.runtime.model.DomainPredicate;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates reproducible synthetic <code>@DomainType</code> and <code>@DomainFunctions</code> annotated classes for the declarative module
+ * and compiles them into a temporary directory, from which they can be loaded by new class loaders.
+ * The same configuration and seed always produce the same classes.
+ *
+ * The domain types are interfaces named <code>DomainType0</code> to <code>DomainTypeN</code>, which extend one of several base interfaces,
+ * and enums named <code>DomainEnum0</code> to <code>DomainEnumN</code>. The domain functions classes are named <code>DomainFunctions0</code>
+ * to <code>DomainFunctionsN</code> and contain static methods <code>function0</code> to <code>functionN</code>.
+ * Compiling the classes requires a JDK.
+ *
+ * Like for {@link SyntheticDomainModelGenerator}, the depth of the reference graph is bounded by the amount of referenced domain types.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public class SyntheticDeclarativeDomainGenerator implements AutoCloseable {
+
+    private static final String PACKAGE_NAME = "com.blazebit.domain.benchmarks.generated";
+    private static final String[] BASIC_TYPES = { "Integer", "Long", "String", "Boolean" };
+
+    private int domainTypeCount = 2_000;
+    private int attributeCount = 8;
+    private int referencedDomainTypeCount = 200;
+    private int baseTypeCount = 20;
+    private int enumTypeCount = 200;
+    private int domainFunctionsClassCount = 100;
+    private int functionCount = 20;
+    private long seed = 42L;
+
+    private Path directory;
+    private List<String> domainTypeClassNames;
+    private List<String> domainFunctionsClassNames;
+
+    /**
+     * Sets the amount of domain type interfaces.
+     *
+     * @param domainTypeCount The amount of domain type interfaces
+     * @return this for method chaining
+     */
+    public SyntheticDeclarativeDomainGenerator withDomainTypeCount(int domainTypeCount) {
+        this.domainTypeCount = domainTypeCount;
+        return this;
+    }
+
+    /**
+     * Sets the amount of attributes that are declared by every domain type interface in addition to the ones of its base interfaces.
+     *
+     * @param attributeCount The amount of attributes per domain type interface
+     * @return this for method chaining
+     */
+    public SyntheticDeclarativeDomainGenerator withAttributeCount(int attributeCount) {
+        this.attributeCount = attributeCount;
+        return this;
+    }
+
+    /**
+     * Sets the amount of domain types that are referenced by attributes and function parameters.
+     *
+     * @param referencedDomainTypeCount The amount of referenced domain types
+     * @return this for method chaining
+     */
+    public SyntheticDeclarativeDomainGenerator withReferencedDomainTypeCount(int referencedDomainTypeCount) {
+        this.referencedDomainTypeCount = referencedDomainTypeCount;
+        return this;
+    }
+
+    /**
+     * Sets the amount of base interfaces the domain type interfaces inherit attributes from.
+     *
+     * @param baseTypeCount The amount of base interfaces
+     * @return this for method chaining
+     */
+    public SyntheticDeclarativeDomainGenerator withBaseTypeCount(int baseTypeCount) {
+        this.baseTypeCount = baseTypeCount;
+        return this;
+    }
+
+    /**
+     * Sets the amount of domain type enums.
+     *
+     * @param enumTypeCount The amount of domain type enums
+     * @return this for method chaining
+     */
+    public SyntheticDeclarativeDomainGenerator withEnumTypeCount(int enumTypeCount) {
+        this.enumTypeCount = enumTypeCount;
+        return this;
+    }
+
+    /**
+     * Sets the amount of domain functions classes.
+     *
+     * @param domainFunctionsClassCount The amount of domain functions classes
+     * @return this for method chaining
+     */
+    public SyntheticDeclarativeDomainGenerator withDomainFunctionsClassCount(int domainFunctionsClassCount) {
+        this.domainFunctionsClassCount = domainFunctionsClassCount;
+        return this;
+    }
+
+    /**
+     * Sets the amount of functions per domain functions class.
+     *
+     * @param functionCount The amount of functions per domain functions class
+     * @return this for method chaining
+     */
+    public SyntheticDeclarativeDomainGenerator withFunctionCount(int functionCount) {
+        this.functionCount = functionCount;
+        return this;
+    }
+
+    /**
+     * Sets the seed for the random choices.
+     *
+     * @param seed The seed
+     * @return this for method chaining
+     */
+    public SyntheticDeclarativeDomainGenerator withSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Generates the sources of the classes and compiles them into a new temporary directory.
+     *
+     * @return this for method chaining
+     * @throws IOException if writing the sources fails
+     */
+    public SyntheticDeclarativeDomainGenerator compile() throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Compiling the generated domain classes requires a JDK!");
+        }
+        close();
+        directory = Files.createTempDirectory("blaze-domain-declarative");
+        Path sourceDirectory = directory.resolve("src");
+        Path packageDirectory = sourceDirectory.resolve(PACKAGE_NAME.replace('.', File.separatorChar));
+        Files.createDirectories(packageDirectory);
+
+        List<File> sourceFiles = new ArrayList<>();
+        domainTypeClassNames = new ArrayList<>(enumTypeCount + domainTypeCount);
+        domainFunctionsClassNames = new ArrayList<>(domainFunctionsClassCount);
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("public interface Identifiable {\n");
+        sb.append("    Long getId();\n");
+        sb.append("}\n");
+        sourceFiles.add(writeSource(packageDirectory, "Identifiable", sb));
+        for (int i = 0; i < baseTypeCount; i++) {
+            sb.setLength(0);
+            sb.append("public interface Base").append(i).append(" extends Identifiable {\n");
+            sb.append("    String getName();\n");
+            sb.append("    ").append(BASIC_TYPES[random.nextInt(BASIC_TYPES.length)]).append(" getBase").append(i).append("Value();\n");
+            sb.append("}\n");
+            sourceFiles.add(writeSource(packageDirectory, "Base" + i, sb));
+        }
+        for (int i = 0; i < enumTypeCount; i++) {
+            String name = "DomainEnum" + i;
+            sb.setLength(0);
+            sb.append("@com.blazebit.domain.declarative.DomainType\n");
+            sb.append("public enum ").append(name).append(" {\n");
+            sb.append("    VALUE0, VALUE1, VALUE2, VALUE3, VALUE4;\n");
+            sb.append("}\n");
+            sourceFiles.add(writeSource(packageDirectory, name, sb));
+            domainTypeClassNames.add(PACKAGE_NAME + "." + name);
+        }
+        for (int i = 0; i < domainTypeCount; i++) {
+            String name = "DomainType" + i;
+            sb.setLength(0);
+            sb.append("@com.blazebit.domain.declarative.DomainType\n");
+            sb.append("public interface ").append(name);
+            if (baseTypeCount > 0) {
+                sb.append(" extends Base").append(i % baseTypeCount);
+            }
+            sb.append(" {\n");
+            for (int j = 0; j < attributeCount; j++) {
+                sb.append("    ");
+                switch (random.nextInt(6)) {
+                    case 0:
+                    case 1:
+                        sb.append(referencedDomainType(random));
+                        break;
+                    case 2:
+                        sb.append("java.util.Collection<").append(referencedDomainType(random)).append('>');
+                        break;
+                    case 3:
+                        sb.append(enumTypeCount == 0 ? "String" : "DomainEnum" + random.nextInt(enumTypeCount));
+                        break;
+                    default:
+                        sb.append(BASIC_TYPES[random.nextInt(BASIC_TYPES.length)]);
+                        break;
+                }
+                sb.append(" getAttribute").append(j).append("();\n");
+            }
+            sb.append("}\n");
+            sourceFiles.add(writeSource(packageDirectory, name, sb));
+            domainTypeClassNames.add(PACKAGE_NAME + "." + name);
+        }
+        for (int i = 0; i < domainFunctionsClassCount; i++) {
+            String name = "DomainFunctions" + i;
+            sb.setLength(0);
+            sb.append("@com.blazebit.domain.declarative.DomainFunctions\n");
+            sb.append("public class ").append(name).append(" {\n");
+            for (int j = 0; j < functionCount; j++) {
+                String resultType = BASIC_TYPES[random.nextInt(BASIC_TYPES.length)];
+                sb.append("    public static ").append(resultType).append(" function").append(i * functionCount + j).append('(');
+                sb.append("@com.blazebit.domain.declarative.DomainFunctionParam(\"value\") ").append(referencedDomainType(random)).append(" value, ");
+                sb.append(BASIC_TYPES[random.nextInt(BASIC_TYPES.length)]).append(" argument) {\n");
+                sb.append("        return null;\n");
+                sb.append("    }\n");
+            }
+            sb.append("}\n");
+            sourceFiles.add(writeSource(packageDirectory, name, sb));
+            domainFunctionsClassNames.add(PACKAGE_NAME + "." + name);
+        }
+
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            List<String> options = Arrays.asList(
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", directory.toString(),
+                "-proc:none",
+                "-nowarn"
+            );
+            if (!compiler.getTask(null, fileManager, null, options, null, fileManager.getJavaFileObjectsFromFiles(sourceFiles)).call()) {
+                throw new IllegalStateException("Compiling the generated domain classes in " + sourceDirectory + " failed!");
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Returns a new class loader for the compiled classes, so that the classes and their reflection data are loaded anew.
+     *
+     * @return the class loader
+     */
+    public ClassLoader createClassLoader() {
+        if (directory == null) {
+            throw new IllegalStateException("The domain classes are not compiled yet!");
+        }
+        try {
+            return new URLClassLoader(new URL[]{ directory.toUri().toURL() }, SyntheticDeclarativeDomainGenerator.class.getClassLoader());
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Loads the domain type classes through the given class loader.
+     *
+     * @param classLoader The class loader
+     * @return the domain type classes
+     */
+    public List<Class<?>> loadDomainTypes(ClassLoader classLoader) {
+        return loadClasses(classLoader, domainTypeClassNames);
+    }
+
+    /**
+     * Loads the domain functions classes through the given class loader.
+     *
+     * @param classLoader The class loader
+     * @return the domain functions classes
+     */
+    public List<Class<?>> loadDomainFunctions(ClassLoader classLoader) {
+        return loadClasses(classLoader, domainFunctionsClassNames);
+    }
+
+    /**
+     * Returns a new default declarative configuration with the given domain type and domain functions classes.
+     *
+     * @param domainTypes The domain type classes
+     * @param domainFunctions The domain functions classes
+     * @return the declarative configuration
+     */
+    public DeclarativeDomainConfiguration createConfiguration(List<Class<?>> domainTypes, List<Class<?>> domainFunctions) {
+        DeclarativeDomainConfiguration configuration = DeclarativeDomain.getDefaultProvider().createDefaultConfiguration();
+        for (int i = 0; i < domainTypes.size(); i++) {
+            configuration.addDomainType(domainTypes.get(i));
+        }
+        for (int i = 0; i < domainFunctions.size(); i++) {
+            configuration.addDomainFunctions(domainFunctions.get(i));
+        }
+        return configuration;
+    }
+
+    /**
+     * Returns a new default domain builder with the basic types used by the generated classes.
+     *
+     * @return the domain builder
+     */
+    public DomainBuilder createBuilder() {
+        DomainBuilder domainBuilder = Domain.getDefaultProvider().createDefaultBuilder();
+        domainBuilder.createBasicType("Boolean", Boolean.class)
+            .withPredicate("Boolean", DomainPredicate.distinguishable())
+            .withDefaultPredicateResultType("Boolean");
+        domainBuilder.createBasicType("String", String.class)
+            .withPredicate("String", DomainPredicate.comparable());
+        domainBuilder.createBasicType("Integer", Integer.class)
+            .withPredicate("Integer", DomainPredicate.comparable());
+        domainBuilder.createBasicType("Long", Long.class)
+            .withPredicate("Long", DomainPredicate.comparable());
+        return domainBuilder;
+    }
+
+    /**
+     * Deletes the temporary directory with the compiled classes.
+     *
+     * @throws IOException if deleting fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (directory != null) {
+            Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Files.delete(file);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                    Files.delete(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            directory = null;
+        }
+    }
+
+    private String referencedDomainType(Random random) {
+        return "DomainType" + random.nextInt(Math.max(1, Math.min(domainTypeCount, referencedDomainTypeCount)));
+    }
+
+    private static File writeSource(Path packageDirectory, String name, StringBuilder body) {
+        Path file = packageDirectory.resolve(name + ".java");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("package ");
+            writer.write(PACKAGE_NAME);
+            writer.write(";\n\n");
+            writer.append(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return file.toFile();
+    }
+
+    private static List<Class<?>> loadClasses(ClassLoader classLoader, List<String> classNames) {
+        if (classNames == null) {
+            throw new IllegalStateException("The domain classes are not compiled yet!");
+        }
+        List<Class<?>> classes = new ArrayList<>(classNames.size());
+        try {
+            for (int i = 0; i < classNames.size(); i++) {
+                classes.add(Class.forName(classNames.get(i), false, classLoader));
+            }
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+        return classes;
+    }
+}
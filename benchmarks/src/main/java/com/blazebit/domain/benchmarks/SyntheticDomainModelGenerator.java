@@ -0,0 +1,333 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.benchmarks;
+
+import com.blazebit.domain.Domain;
+import com.blazebit.domain.boot.model.DomainBuilder;
+import com.blazebit.domain.boot.model.DomainFunctionBuilder;
+import com.blazebit.domain.boot.model.EntityDomainTypeBuilder;
+import com.blazebit.domain.boot.model.EnumDomainTypeBuilder;
+import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.runtime.model.DomainOperator;
+import com.blazebit.domain.runtime.model.DomainPredicate;
+import com.blazebit.domain.runtime.model.StaticDomainFunctionTypeResolvers;
+import com.blazebit.domain.runtime.model.StaticDomainOperationTypeResolvers;
+import com.blazebit.domain.runtime.model.StaticDomainPredicateTypeResolvers;
+
+import java.util.Random;
+
+/**
+ * Generates reproducible synthetic domain models of a configurable shape through the {@link DomainBuilder} API.
+ * The same configuration and seed always produce the same domain model.
+ *
+ * Entity types are named <code>Entity0</code> to <code>EntityN</code>, enum types <code>Enum0</code> to <code>EnumN</code>
+ * and functions <code>FUNCTION0</code> to <code>FUNCTIONN</code>. Union types are formed from two entity types and
+ * used as function argument types.
+ *
+ * Since the builder resolves the types referenced by attributes recursively, the depth of the reference graph is bounded
+ * by the amount of referenced entity types and large models need a bigger thread stack size.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public class SyntheticDomainModelGenerator {
+
+    private static final String[] BASIC_TYPES = { "Integer", "Long", "BigDecimal", "String", "Boolean", "Timestamp" };
+    private static final String[] NUMERIC_TYPES = { "BigDecimal", "Long", "Integer" };
+
+    private int entityTypeCount = 20_000;
+    private int attributeCount = 10;
+    private int referencedEntityTypeCount = 1_000;
+    private int collectionAttributeInterval = 4;
+    private int enumTypeCount = 500;
+    private int unionTypeCount = 1_000;
+    private int functionCount = 30_000;
+    private int argumentCount = 2;
+    private long seed = 42L;
+
+    /**
+     * Sets the amount of entity types.
+     *
+     * @param entityTypeCount The amount of entity types
+     * @return this for method chaining
+     */
+    public SyntheticDomainModelGenerator withEntityTypeCount(int entityTypeCount) {
+        this.entityTypeCount = entityTypeCount;
+        return this;
+    }
+
+    /**
+     * Sets the amount of attributes per entity type.
+     *
+     * @param attributeCount The amount of attributes per entity type
+     * @return this for method chaining
+     */
+    public SyntheticDomainModelGenerator withAttributeCount(int attributeCount) {
+        this.attributeCount = attributeCount;
+        return this;
+    }
+
+    /**
+     * Sets the amount of entity types that are referenced by attributes.
+     *
+     * @param referencedEntityTypeCount The amount of referenced entity types
+     * @return this for method chaining
+     */
+    public SyntheticDomainModelGenerator withReferencedEntityTypeCount(int referencedEntityTypeCount) {
+        this.referencedEntityTypeCount = referencedEntityTypeCount;
+        return this;
+    }
+
+    /**
+     * Sets the interval of collection attributes i.e. every n-th attribute is a collection attribute, or 0 for no collection attributes.
+     *
+     * @param collectionAttributeInterval The interval of collection attributes
+     * @return this for method chaining
+     */
+    public SyntheticDomainModelGenerator withCollectionAttributeInterval(int collectionAttributeInterval) {
+        this.collectionAttributeInterval = collectionAttributeInterval;
+        return this;
+    }
+
+    /**
+     * Sets the amount of enum types.
+     *
+     * @param enumTypeCount The amount of enum types
+     * @return this for method chaining
+     */
+    public SyntheticDomainModelGenerator withEnumTypeCount(int enumTypeCount) {
+        this.enumTypeCount = enumTypeCount;
+        return this;
+    }
+
+    /**
+     * Sets the amount of distinct union types used as function argument types.
+     *
+     * @param unionTypeCount The amount of union types
+     * @return this for method chaining
+     */
+    public SyntheticDomainModelGenerator withUnionTypeCount(int unionTypeCount) {
+        this.unionTypeCount = unionTypeCount;
+        return this;
+    }
+
+    /**
+     * Sets the amount of functions.
+     *
+     * @param functionCount The amount of functions
+     * @return this for method chaining
+     */
+    public SyntheticDomainModelGenerator withFunctionCount(int functionCount) {
+        this.functionCount = functionCount;
+        return this;
+    }
+
+    /**
+     * Sets the amount of arguments per function.
+     *
+     * @param argumentCount The amount of arguments per function
+     * @return this for method chaining
+     */
+    public SyntheticDomainModelGenerator withArgumentCount(int argumentCount) {
+        this.argumentCount = argumentCount;
+        return this;
+    }
+
+    /**
+     * Sets the seed for the random choices.
+     *
+     * @param seed The seed
+     * @return this for method chaining
+     */
+    public SyntheticDomainModelGenerator withSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Returns the amount of entity types.
+     *
+     * @return the amount of entity types
+     */
+    public int getEntityTypeCount() {
+        return entityTypeCount;
+    }
+
+    /**
+     * Returns the amount of functions.
+     *
+     * @return the amount of functions
+     */
+    public int getFunctionCount() {
+        return functionCount;
+    }
+
+    /**
+     * Returns a new default domain builder populated with the synthetic domain model.
+     *
+     * @return the domain builder
+     */
+    public DomainBuilder createBuilder() {
+        return populate(Domain.getDefaultProvider().createDefaultBuilder());
+    }
+
+    /**
+     * Builds the synthetic domain model.
+     *
+     * @return the domain model
+     */
+    public DomainModel createDomainModel() {
+        return createBuilder().build();
+    }
+
+    /**
+     * Populates the given domain builder with the synthetic domain model.
+     *
+     * @param domainBuilder The domain builder
+     * @return the given domain builder
+     */
+    public DomainBuilder populate(DomainBuilder domainBuilder) {
+        Random random = new Random(seed);
+        createBasicTypes(domainBuilder);
+        for (int i = 0; i < enumTypeCount; i++) {
+            EnumDomainTypeBuilder enumTypeBuilder = domainBuilder.createEnumType("Enum" + i);
+            for (int j = 0; j < 5; j++) {
+                enumTypeBuilder.withValue("VALUE" + j);
+            }
+            enumTypeBuilder.build();
+            domainBuilder.withPredicate("Enum" + i, DomainPredicate.distinguishable());
+        }
+        for (int i = 0; i < entityTypeCount; i++) {
+            createEntityType(domainBuilder, "Entity" + i, attributeCount, random);
+        }
+        for (int i = 0; i < functionCount; i++) {
+            String name = "FUNCTION" + i;
+            DomainFunctionBuilder functionBuilder = domainBuilder.createFunction(name);
+            for (int j = 0; j < argumentCount; j++) {
+                functionBuilder.withArgument("argument" + j, argumentType(random));
+            }
+            switch (i % 3) {
+                case 0:
+                    functionBuilder.withResultType(BASIC_TYPES[random.nextInt(BASIC_TYPES.length)]);
+                    functionBuilder.build();
+                    break;
+                case 1:
+                    functionBuilder.build();
+                    domainBuilder.withFunctionTypeResolver(name, StaticDomainFunctionTypeResolvers.FIRST_ARGUMENT_TYPE);
+                    break;
+                default:
+                    functionBuilder.withResultType("Long");
+                    functionBuilder.build();
+                    domainBuilder.withFunctionTypeResolver(name, StaticDomainFunctionTypeResolvers.widest(NUMERIC_TYPES));
+                    break;
+            }
+        }
+        return domainBuilder;
+    }
+
+    /**
+     * Redefines the given amount of entity types, spread evenly over all entity types, with an additional attribute.
+     * When applied to a domain builder for a sub domain model, the redefined entity types and their dependents are rebuilt.
+     *
+     * @param domainBuilder The domain builder
+     * @param changedEntityTypeCount The amount of entity types to redefine
+     * @return the given domain builder
+     */
+    public DomainBuilder changeEntityTypes(DomainBuilder domainBuilder, int changedEntityTypeCount) {
+        Random random = new Random(seed + changedEntityTypeCount);
+        int step = Math.max(1, entityTypeCount / Math.max(1, changedEntityTypeCount));
+        for (int i = 0, changed = 0; i < entityTypeCount && changed < changedEntityTypeCount; i += step, changed++) {
+            createEntityType(domainBuilder, "Entity" + i, attributeCount + 1, random);
+        }
+        return domainBuilder;
+    }
+
+    private void createBasicTypes(DomainBuilder domainBuilder) {
+        domainBuilder.createBasicType("Boolean", Boolean.class)
+            .withOperator("Boolean", DomainOperator.NOT)
+            .withPredicate("Boolean", DomainPredicate.distinguishable())
+            .withOperationTypeResolver("Boolean", DomainOperator.NOT, StaticDomainOperationTypeResolvers.returning("Boolean"))
+            .withDefaultPredicateResultType("Boolean");
+        domainBuilder.createBasicType("String", String.class)
+            .withOperator("String", DomainOperator.PLUS)
+            .withPredicate("String", DomainPredicate.comparable())
+            .withOperationTypeResolver("String", DomainOperator.PLUS, StaticDomainOperationTypeResolvers.returning("String"));
+        domainBuilder.createBasicType("Timestamp")
+            .withPredicate("Timestamp", DomainPredicate.comparable());
+        for (String typeName : NUMERIC_TYPES) {
+            domainBuilder.createBasicType(typeName)
+                .withOperator(typeName, DomainOperator.arithmetic())
+                .withPredicate(typeName, DomainPredicate.comparable());
+            for (DomainOperator operator : DomainOperator.arithmetic()) {
+                domainBuilder.withOperationTypeResolver(typeName, operator, StaticDomainOperationTypeResolvers.widest(NUMERIC_TYPES));
+            }
+            for (DomainPredicate predicate : DomainPredicate.comparable()) {
+                domainBuilder.withPredicateTypeResolver(typeName, predicate, StaticDomainPredicateTypeResolvers.returning("Boolean", NUMERIC_TYPES));
+            }
+        }
+    }
+
+    private void createEntityType(DomainBuilder domainBuilder, String name, int attributeCount, Random random) {
+        EntityDomainTypeBuilder entityTypeBuilder = domainBuilder.createEntityType(name);
+        for (int j = 0; j < attributeCount; j++) {
+            String attributeName = "attribute" + j;
+            if (collectionAttributeInterval > 0 && j % collectionAttributeInterval == collectionAttributeInterval - 1) {
+                entityTypeBuilder.addCollectionAttribute(attributeName, referencedEntityType(random));
+            } else {
+                switch (random.nextInt(5)) {
+                    case 0:
+                    case 1:
+                        entityTypeBuilder.addAttribute(attributeName, referencedEntityType(random));
+                        break;
+                    case 2:
+                        entityTypeBuilder.addAttribute(attributeName, enumTypeCount == 0 ? "String" : "Enum" + random.nextInt(enumTypeCount));
+                        break;
+                    default:
+                        entityTypeBuilder.addAttribute(attributeName, BASIC_TYPES[random.nextInt(BASIC_TYPES.length)]);
+                        break;
+                }
+            }
+        }
+        entityTypeBuilder.build();
+        domainBuilder.withPredicate(name, DomainPredicate.distinguishable());
+    }
+
+    private String referencedEntityType(Random random) {
+        return "Entity" + random.nextInt(Math.max(1, Math.min(entityTypeCount, referencedEntityTypeCount)));
+    }
+
+    private String unionType(int index) {
+        int referencedEntityTypes = Math.max(1, Math.min(entityTypeCount, referencedEntityTypeCount));
+        int first = index % referencedEntityTypes;
+        int second = (first + 1 + index / referencedEntityTypes) % referencedEntityTypes;
+        if (first == second) {
+            return "Entity" + first + "|String";
+        }
+        return "Entity" + first + "|Entity" + second;
+    }
+
+    private String argumentType(Random random) {
+        switch (random.nextInt(4)) {
+            case 0:
+                return unionTypeCount == 0 ? "Long" : unionType(random.nextInt(unionTypeCount));
+            case 1:
+                return referencedEntityType(random);
+            default:
+                return NUMERIC_TYPES[random.nextInt(NUMERIC_TYPES.length)];
+        }
+    }
+}
@@ -203,4 +203,23 @@ public interface DomainModel extends ServiceProvider {
      * @since 2.0.0
      */
     public <T> T serialize(DomainModel baseModel, Class<T> targetType, String format, Map<String, Object> properties);
+
+    /**
+     * Computes the difference between this domain model and the given target domain model.
+     * The models don't need to be related through their parent domain models.
+     *
+     * @param targetModel The target domain model
+     * @return the difference
+     * @since 3.0.0
+     */
+    public DomainModelDiff diff(DomainModel targetModel);
+
+    /**
+     * Computes statistics about the structure and the estimated memory footprint of this domain model.
+     * The statistics are a snapshot that is computed on every invocation.
+     *
+     * @return the statistics
+     * @since 3.0.0
+     */
+    public DomainModelStatistics getStatistics();
 }
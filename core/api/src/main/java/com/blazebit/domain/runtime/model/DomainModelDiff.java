@@ -0,0 +1,167 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.runtime.model;
+
+import com.blazebit.domain.spi.DomainSerializer;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The difference between two arbitrary domain models.
+ *
+ * Elements are compared by a fingerprint of their contents rather than by identity,
+ * so two independently built models that define the same elements have an empty difference.
+ * Types and functions that refer to an added, changed or removed type are reported as changed as well.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public interface DomainModelDiff {
+
+    /**
+     * Returns the domain model from which the difference was computed.
+     *
+     * @return the source domain model
+     */
+    public DomainModel getSourceModel();
+
+    /**
+     * Returns the domain model to which the difference was computed.
+     *
+     * @return the target domain model
+     */
+    public DomainModel getTargetModel();
+
+    /**
+     * Returns whether the source and target domain model are equivalent.
+     *
+     * @return whether there is no difference
+     */
+    public boolean isEmpty();
+
+    /**
+     * Returns the types of the target model that do not exist in the source model, indexed by their type name.
+     *
+     * @return the added types
+     */
+    public Map<String, DomainType> getAddedTypes();
+
+    /**
+     * Returns the types of the target model that differ from the types with the same name in the source model, indexed by their type name.
+     *
+     * @return the changed types
+     */
+    public Map<String, DomainType> getChangedTypes();
+
+    /**
+     * Returns the names of the types of the source model that do not exist in the target model.
+     *
+     * @return the removed type names
+     */
+    public Set<String> getRemovedTypes();
+
+    /**
+     * Returns the functions of the target model that do not exist in the source model, indexed by their function name.
+     *
+     * @return the added functions
+     */
+    public Map<String, DomainFunction> getAddedFunctions();
+
+    /**
+     * Returns the functions of the target model that differ from the functions with the same name in the source model, indexed by their function name.
+     *
+     * @return the changed functions
+     */
+    public Map<String, DomainFunction> getChangedFunctions();
+
+    /**
+     * Returns the names of the functions of the source model that do not exist in the target model.
+     *
+     * @return the removed function names
+     */
+    public Set<String> getRemovedFunctions();
+
+    /**
+     * Returns the added or changed function type resolvers of the target model, indexed by their function name.
+     *
+     * @return the added or changed function type resolvers
+     */
+    public Map<String, DomainFunctionTypeResolver> getChangedFunctionTypeResolvers();
+
+    /**
+     * Returns the function names for which the source model has a function type resolver but the target model has not.
+     *
+     * @return the function names of the removed function type resolvers
+     */
+    public Set<String> getRemovedFunctionTypeResolvers();
+
+    /**
+     * Returns the added or changed operation type resolvers of the target model, indexed by their type name.
+     *
+     * @return the added or changed operation type resolvers
+     */
+    public Map<String, Map<DomainOperator, DomainOperationTypeResolver>> getChangedOperationTypeResolvers();
+
+    /**
+     * Returns the operators per type name for which the source model has an operation type resolver but the target model has not.
+     * Resolvers of removed types are not contained.
+     *
+     * @return the operators of the removed operation type resolvers
+     */
+    public Map<String, Set<DomainOperator>> getRemovedOperationTypeResolvers();
+
+    /**
+     * Returns the added or changed predicate type resolvers of the target model, indexed by their type name.
+     *
+     * @return the added or changed predicate type resolvers
+     */
+    public Map<String, Map<DomainPredicate, DomainPredicateTypeResolver>> getChangedPredicateTypeResolvers();
+
+    /**
+     * Returns the predicates per type name for which the source model has a predicate type resolver but the target model has not.
+     * Resolvers of removed types are not contained.
+     *
+     * @return the predicates of the removed predicate type resolvers
+     */
+    public Map<String, Set<DomainPredicate>> getRemovedPredicateTypeResolvers();
+
+    /**
+     * Serializes the difference to the given target type with the given format by using the domain serializers of the target model.
+     * A JSON delta can be applied to the source model on the client side.
+     *
+     * @param targetType The target type
+     * @param format The serialization format
+     * @param properties Serialization properties
+     * @param <T> The target type
+     * @return The serialized form or <code>null</code> if no serializer supports the type or format
+     */
+    default <T> T serialize(Class<T> targetType, String format, Map<String, Object> properties) {
+        DomainModel targetModel = getTargetModel();
+        for (DomainSerializer<?> domainSerializer : targetModel.getDomainSerializers()) {
+            if (domainSerializer.canSerialize(this)) {
+                //noinspection unchecked
+                T result = ((DomainSerializer<DomainModelDiff>) domainSerializer).serialize(targetModel, getSourceModel(), this, targetType, format, properties);
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.runtime.model;
+
+import com.blazebit.domain.spi.DomainSerializer;
+
+import java.util.Map;
+
+/**
+ * Statistics about the structure and the estimated memory footprint of a domain model.
+ *
+ * Counts refer to all elements that are visible through the domain model, including the ones inherited from parent domain models.
+ * The retained size is an estimate of the heap memory held by the elements that a domain model doesn't share with its parent domain model,
+ * which allows to find sub models that replace many elements of their parent.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public interface DomainModelStatistics {
+
+    /**
+     * Returns the domain model for which the statistics were computed.
+     *
+     * @return the domain model
+     */
+    public DomainModel getDomainModel();
+
+    /**
+     * Returns the number of parent domain models of the domain model, which is 0 for a root domain model.
+     *
+     * @return the sub model chain depth
+     */
+    public int getDepth();
+
+    /**
+     * Returns the number of types.
+     *
+     * @return the number of types
+     */
+    public int getTypeCount();
+
+    /**
+     * Returns the number of types per type kind. Type kinds without types are not contained.
+     *
+     * @return the number of types per type kind
+     */
+    public Map<DomainType.DomainTypeKind, Integer> getTypeCounts();
+
+    /**
+     * Returns the number of types that are not shared with the parent domain model.
+     *
+     * @return the number of own types
+     */
+    public int getOwnTypeCount();
+
+    /**
+     * Returns the number of attributes of all entity types.
+     *
+     * @return the number of attributes
+     */
+    public int getAttributeCount();
+
+    /**
+     * Returns the number of values of all enum types.
+     *
+     * @return the number of enum values
+     */
+    public int getEnumValueCount();
+
+    /**
+     * Returns the number of functions.
+     *
+     * @return the number of functions
+     */
+    public int getFunctionCount();
+
+    /**
+     * Returns the number of functions that are not shared with the parent domain model.
+     *
+     * @return the number of own functions
+     */
+    public int getOwnFunctionCount();
+
+    /**
+     * Returns the number of function type resolvers.
+     *
+     * @return the number of function type resolvers
+     */
+    public int getFunctionTypeResolverCount();
+
+    /**
+     * Returns the number of operation type resolvers, counted per type and operator.
+     *
+     * @return the number of operation type resolvers
+     */
+    public int getOperationTypeResolverCount();
+
+    /**
+     * Returns the number of predicate type resolvers, counted per type and predicate.
+     *
+     * @return the number of predicate type resolvers
+     */
+    public int getPredicateTypeResolverCount();
+
+    /**
+     * Returns the number of metadata entries of all types, attributes, enum values, functions and function arguments.
+     *
+     * @return the number of metadata entries
+     */
+    public int getMetadataCount();
+
+    /**
+     * Returns the estimated number of bytes retained by the elements of the domain model that are not shared with the parent domain model.
+     *
+     * @return the estimated retained size in bytes
+     */
+    public long getEstimatedRetainedSize();
+
+    /**
+     * Returns the estimated number of bytes retained by the parent domain models.
+     *
+     * @return the estimated retained size of the parent domain models in bytes
+     */
+    public long getEstimatedParentRetainedSize();
+
+    /**
+     * Returns the share of the estimated retained size of the parent domain models in the estimated total size of the domain model.
+     *
+     * @return the share between 0 and 1
+     */
+    default double getParentRetainedSizeShare() {
+        long parentSize = getEstimatedParentRetainedSize();
+        long totalSize = getEstimatedRetainedSize() + parentSize;
+        return totalSize == 0L ? 0D : (double) parentSize / totalSize;
+    }
+
+    /**
+     * Serializes the statistics to the given target type with the given format by using the domain serializers of the domain model.
+     *
+     * @param targetType The target type
+     * @param format The serialization format
+     * @param properties Serialization properties
+     * @param <T> The target type
+     * @return The serialized form or <code>null</code> if no serializer supports the type or format
+     */
+    default <T> T serialize(Class<T> targetType, String format, Map<String, Object> properties) {
+        DomainModel domainModel = getDomainModel();
+        for (DomainSerializer<?> domainSerializer : domainModel.getDomainSerializers()) {
+            if (domainSerializer.canSerialize(this)) {
+                //noinspection unchecked
+                T result = ((DomainSerializer<DomainModelStatistics>) domainSerializer).serialize(domainModel, this, targetType, format, properties);
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+
+        return null;
+    }
+}
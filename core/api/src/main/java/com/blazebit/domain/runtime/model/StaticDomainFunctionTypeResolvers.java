@@ -73,7 +73,10 @@ public final class StaticDomainFunctionTypeResolvers {
         DomainFunctionTypeResolver domainFunctionTypeResolver = RETURNING_TYPE_NAME_CACHE.get(typeName);
         if (domainFunctionTypeResolver == null) {
             domainFunctionTypeResolver = new ReturningTypeDomainFunctionTypeResolver(typeName);
-            RETURNING_TYPE_NAME_CACHE.put(typeName, domainFunctionTypeResolver);
+            DomainFunctionTypeResolver existing = RETURNING_TYPE_NAME_CACHE.putIfAbsent(typeName, domainFunctionTypeResolver);
+            if (existing != null) {
+                domainFunctionTypeResolver = existing;
+            }
         }
         return domainFunctionTypeResolver;
     }
@@ -92,7 +95,10 @@ public final class StaticDomainFunctionTypeResolvers {
         DomainFunctionTypeResolver domainFunctionTypeResolver = WIDEST_TYPE_NAME_CACHE.get(key);
         if (domainFunctionTypeResolver == null) {
             domainFunctionTypeResolver = new WidestDomainFunctionTypeResolver(typeNames);
-            WIDEST_TYPE_NAME_CACHE.put(key, domainFunctionTypeResolver);
+            DomainFunctionTypeResolver existing = WIDEST_TYPE_NAME_CACHE.putIfAbsent(key, domainFunctionTypeResolver);
+            if (existing != null) {
+                domainFunctionTypeResolver = existing;
+            }
         }
         return domainFunctionTypeResolver;
     }
@@ -152,6 +158,10 @@ public final class StaticDomainFunctionTypeResolvers {
             this.typeNames = typeNames;
         }
 
+        private Object readResolve() {
+            return widest(typeNames);
+        }
+
         @Override
         public DomainType resolveType(DomainModel domainModel, DomainFunction function, Map<DomainFunctionArgument, DomainType> argumentTypes) {
             int typeIndex = typeNames.length;
@@ -213,6 +223,10 @@ public final class StaticDomainFunctionTypeResolvers {
             this.typeName = typeName;
         }
 
+        private Object readResolve() {
+            return returning(typeName);
+        }
+
         @Override
         public DomainType resolveType(DomainModel domainModel, DomainFunction function, Map<DomainFunctionArgument, DomainType> argumentTypes) {
             validateArgumentTypes(argumentTypes);
@@ -345,6 +359,10 @@ public final class StaticDomainFunctionTypeResolvers {
         private StaticDomainFunctionTypeResolver() {
         }
 
+        private Object readResolve() {
+            return STATIC_RETURN_TYPE;
+        }
+
         @Override
         public DomainType resolveType(DomainModel domainModel, DomainFunction function, Map<DomainFunctionArgument, DomainType> argumentTypes) {
             validateArgumentTypes(argumentTypes);
@@ -53,7 +53,10 @@ public final class StaticDomainOperationTypeResolvers {
         DomainOperationTypeResolver domainOperationTypeResolver = RETURNING_TYPE_NAME_CACHE.get(typeName);
         if (domainOperationTypeResolver == null) {
             domainOperationTypeResolver = new ReturningTypeDomainOperationTypeResolver(typeName);
-            RETURNING_TYPE_NAME_CACHE.put(typeName, domainOperationTypeResolver);
+            DomainOperationTypeResolver existing = RETURNING_TYPE_NAME_CACHE.putIfAbsent(typeName, domainOperationTypeResolver);
+            if (existing != null) {
+                domainOperationTypeResolver = existing;
+            }
         }
         return domainOperationTypeResolver;
     }
@@ -73,7 +76,10 @@ public final class StaticDomainOperationTypeResolvers {
         DomainOperationTypeResolver domainOperationTypeResolver = RESTRICTED_TYPE_NAME_CACHE.get(key);
         if (domainOperationTypeResolver == null) {
             domainOperationTypeResolver = new RestrictedTypeDomainOperationTypeResolver(returningTypeName, supportedTypeNames);
-            RESTRICTED_TYPE_NAME_CACHE.put(key, domainOperationTypeResolver);
+            DomainOperationTypeResolver existing = RESTRICTED_TYPE_NAME_CACHE.putIfAbsent(key, domainOperationTypeResolver);
+            if (existing != null) {
+                domainOperationTypeResolver = existing;
+            }
         }
         return domainOperationTypeResolver;
     }
@@ -93,7 +99,10 @@ public final class StaticDomainOperationTypeResolvers {
         DomainOperationTypeResolver domainOperationTypeResolver = OPERAND_RESTRICTED_TYPE_NAME_CACHE.get(key);
         if (domainOperationTypeResolver == null) {
             domainOperationTypeResolver = new OperandRestrictedTypeDomainOperationTypeResolver(returningTypeName, supportedTypeNamesPerOperand);
-            OPERAND_RESTRICTED_TYPE_NAME_CACHE.put(key, domainOperationTypeResolver);
+            DomainOperationTypeResolver existing = OPERAND_RESTRICTED_TYPE_NAME_CACHE.putIfAbsent(key, domainOperationTypeResolver);
+            if (existing != null) {
+                domainOperationTypeResolver = existing;
+            }
         }
         return domainOperationTypeResolver;
     }
@@ -112,7 +121,10 @@ public final class StaticDomainOperationTypeResolvers {
         DomainOperationTypeResolver domainOperationTypeResolver = WIDEST_TYPE_NAME_CACHE.get(key);
         if (domainOperationTypeResolver == null) {
             domainOperationTypeResolver = new WidestTypeDomainOperationTypeResolver(typeNames);
-            WIDEST_TYPE_NAME_CACHE.put(key, domainOperationTypeResolver);
+            DomainOperationTypeResolver existing = WIDEST_TYPE_NAME_CACHE.putIfAbsent(key, domainOperationTypeResolver);
+            if (existing != null) {
+                domainOperationTypeResolver = existing;
+            }
         }
         return domainOperationTypeResolver;
     }
@@ -231,29 +243,43 @@ public final class StaticDomainOperationTypeResolvers {
             this.typeNames = typeNames;
         }
 
+        private Object readResolve() {
+            return widest(typeNames);
+        }
+
         @Override
         public DomainType resolveType(DomainModel domainModel, List<DomainType> domainTypes) {
-            List<DomainType> preferredTypes = new ArrayList<>(typeNames.length);
-            for (String typeName : typeNames) {
-                preferredTypes.add(domainModel.getType(typeName));
-            }
             int typeIndex = Integer.MAX_VALUE;
             for (int i = 0; i < domainTypes.size(); i++) {
                 DomainType domainType = domainTypes.get(i);
-                int idx = preferredTypes.indexOf(domainType);
+                int idx = indexOf(domainModel, domainType);
                 if (idx == -1) {
+                    List<DomainType> preferredTypes = new ArrayList<>(typeNames.length);
+                    for (String typeName : typeNames) {
+                        preferredTypes.add(domainModel.getType(typeName));
+                    }
                     throw new DomainTypeResolverException("The operation operand at index " + i + " with the domain type '" + domainType + "' is unsupported! Expected one of the following types: " + preferredTypes);
                 }
                 typeIndex = Math.min(typeIndex, idx);
             }
 
             if (typeIndex == Integer.MAX_VALUE) {
-                return preferredTypes.get(0);
+                return domainModel.getType(typeNames[0]);
             } else {
-                return preferredTypes.get(typeIndex);
+                return domainModel.getType(typeNames[typeIndex]);
             }
         }
 
+        private int indexOf(DomainModel domainModel, DomainType domainType) {
+            // Domain types are compared by identity, so only a type with the same name can match
+            for (int i = 0; i < typeNames.length; i++) {
+                if ((domainType == null || typeNames[i].equals(domainType.getName())) && domainModel.getType(typeNames[i]) == domainType) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
         @Override
         public <T> T serialize(DomainModel domainModel, DomainOperationTypeResolver element, Class<T> targetType, String format, Map<String, Object> properties) {
             if (targetType != String.class || !"json".equals(format)) {
@@ -282,6 +308,10 @@ public final class StaticDomainOperationTypeResolvers {
             this.typeName = typeName;
         }
 
+        private Object readResolve() {
+            return returning(typeName);
+        }
+
         @Override
         public DomainType resolveType(DomainModel domainModel, List<DomainType> domainTypes) {
             return domainModel.getType(typeName);
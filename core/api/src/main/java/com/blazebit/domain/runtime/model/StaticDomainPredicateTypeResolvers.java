@@ -52,7 +52,10 @@ public final class StaticDomainPredicateTypeResolvers {
         DomainPredicateTypeResolver domainOperationTypeResolver = RETURNING_TYPE_NAME_CACHE.get(typeName);
         if (domainOperationTypeResolver == null) {
             domainOperationTypeResolver = new ReturningTypeDomainPredicateTypeResolver(typeName);
-            RETURNING_TYPE_NAME_CACHE.put(typeName, domainOperationTypeResolver);
+            DomainPredicateTypeResolver existing = RETURNING_TYPE_NAME_CACHE.putIfAbsent(typeName, domainOperationTypeResolver);
+            if (existing != null) {
+                domainOperationTypeResolver = existing;
+            }
         }
         return domainOperationTypeResolver;
     }
@@ -72,7 +75,10 @@ public final class StaticDomainPredicateTypeResolvers {
         DomainPredicateTypeResolver domainPredicateTypeResolver = RESTRICTED_TYPE_NAME_CACHE.get(key);
         if (domainPredicateTypeResolver == null) {
             domainPredicateTypeResolver = new RestrictedTypeDomainPredicateTypeResolver(returningTypeName, supportedTypeNames);
-            RESTRICTED_TYPE_NAME_CACHE.put(key, domainPredicateTypeResolver);
+            DomainPredicateTypeResolver existing = RESTRICTED_TYPE_NAME_CACHE.putIfAbsent(key, domainPredicateTypeResolver);
+            if (existing != null) {
+                domainPredicateTypeResolver = existing;
+            }
         }
         return domainPredicateTypeResolver;
     }
@@ -92,7 +98,10 @@ public final class StaticDomainPredicateTypeResolvers {
         DomainPredicateTypeResolver domainPredicateTypeResolver = OPERAND_RESTRICTED_TYPE_NAME_CACHE.get(key);
         if (domainPredicateTypeResolver == null) {
             domainPredicateTypeResolver = new OperandRestrictedTypeDomainPredicateTypeResolver(returningTypeName, supportedTypeNamesPerOperand);
-            OPERAND_RESTRICTED_TYPE_NAME_CACHE.put(key, domainPredicateTypeResolver);
+            DomainPredicateTypeResolver existing = OPERAND_RESTRICTED_TYPE_NAME_CACHE.putIfAbsent(key, domainPredicateTypeResolver);
+            if (existing != null) {
+                domainPredicateTypeResolver = existing;
+            }
         }
         return domainPredicateTypeResolver;
     }
@@ -212,6 +221,10 @@ public final class StaticDomainPredicateTypeResolvers {
             this.typeName = typeName;
         }
 
+        private Object readResolve() {
+            return returning(typeName);
+        }
+
         @Override
         public DomainType resolveType(DomainModel domainModel, List<DomainType> domainTypes) {
             return domainModel.getType(typeName);
@@ -233,14 +233,14 @@ public class TemporalInterval implements Comparable<TemporalInterval> {
      * @return A new instant representing the sum of the given instant plus this interval
      */
     public Instant add(Instant instant) {
-        return instant.atZone(ZoneOffset.UTC)
+        if (years != 0 || months != 0 || days != 0) {
+            instant = instant.atZone(ZoneOffset.UTC)
                 .plusYears(years)
                 .plusMonths(months)
                 .plusDays(days)
-                .plusHours(hours)
-                .plusMinutes(minutes)
-                .plusSeconds(seconds)
                 .toInstant();
+        }
+        return instant.plusSeconds(getTimeSeconds());
     }
 
     /**
@@ -250,14 +250,14 @@ public class TemporalInterval implements Comparable<TemporalInterval> {
      * @return A new instant representing the sum of the given instant subtracted by this interval
      */
     public Instant subtract(Instant instant) {
-        return instant.atZone(ZoneOffset.UTC)
+        if (years != 0 || months != 0 || days != 0) {
+            instant = instant.atZone(ZoneOffset.UTC)
                 .minusYears(years)
                 .minusMonths(months)
                 .minusDays(days)
-                .minusHours(hours)
-                .minusMinutes(minutes)
-                .minusSeconds(seconds)
                 .toInstant();
+        }
+        return instant.minusSeconds(getTimeSeconds());
     }
 
     /**
@@ -303,9 +303,7 @@ public class TemporalInterval implements Comparable<TemporalInterval> {
                 .plusYears(years)
                 .plusMonths(months)
                 .plusDays(days)
-                .plusHours(hours)
-                .plusMinutes(minutes)
-                .plusSeconds(seconds);
+                .plusSeconds(getTimeSeconds());
     }
 
     /**
@@ -319,9 +317,7 @@ public class TemporalInterval implements Comparable<TemporalInterval> {
                 .minusYears(years)
                 .minusMonths(months)
                 .minusDays(days)
-                .minusHours(hours)
-                .minusMinutes(minutes)
-                .minusSeconds(seconds);
+                .minusSeconds(getTimeSeconds());
     }
 
     /**
@@ -335,9 +331,7 @@ public class TemporalInterval implements Comparable<TemporalInterval> {
                 .plusYears(years)
                 .plusMonths(months)
                 .plusDays(days)
-                .plusHours(hours)
-                .plusMinutes(minutes)
-                .plusSeconds(seconds);
+                .plusSeconds(getTimeSeconds());
     }
 
     /**
@@ -351,9 +345,7 @@ public class TemporalInterval implements Comparable<TemporalInterval> {
                 .minusYears(years)
                 .minusMonths(months)
                 .minusDays(days)
-                .minusHours(hours)
-                .minusMinutes(minutes)
-                .minusSeconds(seconds);
+                .minusSeconds(getTimeSeconds());
     }
 
     /**
@@ -367,9 +359,7 @@ public class TemporalInterval implements Comparable<TemporalInterval> {
                 .plusYears(years)
                 .plusMonths(months)
                 .plusDays(days)
-                .plusHours(hours)
-                .plusMinutes(minutes)
-                .plusSeconds(seconds);
+                .plusSeconds(getTimeSeconds());
     }
 
     /**
@@ -383,9 +373,7 @@ public class TemporalInterval implements Comparable<TemporalInterval> {
                 .minusYears(years)
                 .minusMonths(months)
                 .minusDays(days)
-                .minusHours(hours)
-                .minusMinutes(minutes)
-                .minusSeconds(seconds);
+                .minusSeconds(getTimeSeconds());
     }
 
     /**
@@ -398,9 +386,7 @@ public class TemporalInterval implements Comparable<TemporalInterval> {
         if (years != 0 || months != 0 || days != 0) {
             throw new IllegalArgumentException("Can't add interval with non-time portion to TIME: " + toString());
         }
-        return localTime.plusHours(hours)
-            .plusMinutes(minutes)
-            .plusSeconds(seconds);
+        return localTime.plusSeconds(getTimeSeconds());
     }
 
     /**
@@ -413,9 +399,12 @@ public class TemporalInterval implements Comparable<TemporalInterval> {
         if (years != 0 || months != 0 || days != 0) {
             throw new IllegalArgumentException("Can't subtract interval with non-time portion from TIME: " + toString());
         }
-        return localTime.minusHours(hours)
-            .minusMinutes(minutes)
-            .minusSeconds(seconds);
+        return localTime.minusSeconds(getTimeSeconds());
+    }
+
+    private long getTimeSeconds() {
+        // Time based units are exact, so adding them in one step avoids intermediate objects
+        return hours * 3600L + minutes * 60L + seconds;
     }
 
     @Override
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.runtime.registry;
+
+import com.blazebit.domain.runtime.model.DomainModel;
+
+/**
+ * A pinned snapshot of a {@link DomainModelRegistry}, which is used by long running work that must see the same domain model throughout,
+ * even if the domain model is replaced in the meantime. The registry reports pinned snapshots until the pin is closed.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public final class DomainModelPin implements AutoCloseable {
+
+    private final DomainModelRegistry registry;
+    private final DomainModelSnapshot snapshot;
+    private boolean closed;
+
+    /**
+     * Creates a pin of the given snapshot, which is released from the given registry when closed.
+     *
+     * @param registry The registry
+     * @param snapshot The pinned snapshot
+     */
+    DomainModelPin(DomainModelRegistry registry, DomainModelSnapshot snapshot) {
+        this.registry = registry;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Returns the pinned snapshot.
+     *
+     * @return the snapshot
+     */
+    public DomainModelSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns the domain model of the pinned snapshot.
+     *
+     * @return the domain model
+     */
+    public DomainModel getDomainModel() {
+        return snapshot.getDomainModel();
+    }
+
+    /**
+     * Releases the pin. Closing a pin more than once has no effect.
+     */
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            registry.unpin(snapshot);
+        }
+    }
+}
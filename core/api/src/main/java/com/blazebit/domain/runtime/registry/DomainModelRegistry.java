@@ -0,0 +1,222 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.runtime.registry;
+
+import com.blazebit.domain.Domain;
+import com.blazebit.domain.boot.model.DomainBuilder;
+import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.spi.DomainBuilderProvider;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * A registry of named domain models that can be replaced at runtime, for example when a domain model is rebuilt after user defined types changed.
+ *
+ * Every name refers to a {@link DomainModelSnapshot} with a version that increases whenever the domain model is replaced.
+ * Reading the current snapshot never blocks, so readers on many threads switch to a new domain model as soon as it is published.
+ * Replacing a domain model through {@link #swap(String, long, DomainModel)} or {@link #rebuild(String, Consumer)} is serialized per name,
+ * so every rebuild is based on the latest domain model and concurrent rebuilds of the same name never build redundant domain models.
+ *
+ * Work that must see the same domain model throughout should either keep the snapshot returned by {@link #current(String)}
+ * or {@link #pin(String) pin} it, so that the registry can report which versions are still in use.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public final class DomainModelRegistry {
+
+    private final DomainBuilderProvider domainBuilderProvider;
+    private final ConcurrentMap<String, AtomicReference<DomainModelSnapshot>> snapshots = new ConcurrentHashMap<>();
+    private final ConcurrentMap<DomainModelSnapshot, Integer> pinCounts = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a registry that rebuilds domain models with the default domain builder provider.
+     */
+    public DomainModelRegistry() {
+        this(Domain.getDefaultProvider());
+    }
+
+    /**
+     * Creates a registry that rebuilds domain models with the given domain builder provider.
+     *
+     * @param domainBuilderProvider The domain builder provider
+     */
+    public DomainModelRegistry(DomainBuilderProvider domainBuilderProvider) {
+        if (domainBuilderProvider == null) {
+            throw new IllegalArgumentException("No domain builder provider given!");
+        }
+        this.domainBuilderProvider = domainBuilderProvider;
+    }
+
+    /**
+     * Registers the given domain model under the given name with the version 1.
+     *
+     * @param name The name
+     * @param domainModel The domain model
+     * @return the snapshot of the registered domain model
+     * @throws IllegalArgumentException if a domain model is already registered under the name
+     */
+    public DomainModelSnapshot register(String name, DomainModel domainModel) {
+        if (domainModel == null) {
+            throw new IllegalArgumentException("No domain model given for the name '" + name + "'!");
+        }
+        DomainModelSnapshot snapshot = new DomainModelSnapshot(name, 1L, domainModel);
+        if (snapshots.putIfAbsent(name, new AtomicReference<>(snapshot)) != null) {
+            throw new IllegalArgumentException("A domain model is already registered under the name '" + name + "'!");
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the current snapshot of the domain model registered under the given name.
+     *
+     * @param name The name
+     * @return the current snapshot or <code>null</code> if no domain model is registered under the name
+     */
+    public DomainModelSnapshot current(String name) {
+        AtomicReference<DomainModelSnapshot> reference = snapshots.get(name);
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * Replaces the domain model registered under the given name if the current version is the expected version.
+     *
+     * @param name The name
+     * @param expectedVersion The version that the current snapshot must have
+     * @param newModel The new domain model
+     * @return the snapshot of the new domain model or <code>null</code> if the current version is not the expected version
+     * @throws IllegalArgumentException if no domain model is registered under the name
+     */
+    public DomainModelSnapshot swap(String name, long expectedVersion, DomainModel newModel) {
+        if (newModel == null) {
+            throw new IllegalArgumentException("No domain model given for the name '" + name + "'!");
+        }
+        AtomicReference<DomainModelSnapshot> reference = getReference(name);
+        synchronized (reference) {
+            DomainModelSnapshot snapshot = reference.get();
+            if (snapshot.getVersion() != expectedVersion) {
+                return null;
+            }
+            DomainModelSnapshot newSnapshot = new DomainModelSnapshot(name, expectedVersion + 1L, newModel);
+            reference.set(newSnapshot);
+            return newSnapshot;
+        }
+    }
+
+    /**
+     * Builds a new domain model based on the current domain model registered under the given name and replaces the current domain model with it.
+     * The new domain model is built with {@link DomainBuilderProvider#createBuilder(DomainModel)}, to which the given changes are applied.
+     * Rebuilds and swaps of the same name are serialized, so the changes are always applied to the latest domain model.
+     * If building the domain model fails, the current domain model stays in place.
+     *
+     * @param name The name
+     * @param changes The changes to apply to the domain builder
+     * @return the snapshot of the new domain model
+     * @throws IllegalArgumentException if no domain model is registered under the name
+     */
+    public DomainModelSnapshot rebuild(String name, Consumer<DomainBuilder> changes) {
+        AtomicReference<DomainModelSnapshot> reference = getReference(name);
+        synchronized (reference) {
+            DomainModelSnapshot snapshot = reference.get();
+            DomainBuilder domainBuilder = domainBuilderProvider.createBuilder(snapshot.getDomainModel());
+            changes.accept(domainBuilder);
+            DomainModelSnapshot newSnapshot = new DomainModelSnapshot(name, snapshot.getVersion() + 1L, domainBuilder.build());
+            reference.set(newSnapshot);
+            return newSnapshot;
+        }
+    }
+
+    /**
+     * Pins the current snapshot of the domain model registered under the given name until the returned pin is closed.
+     *
+     * @param name The name
+     * @return the pin of the current snapshot
+     * @throws IllegalArgumentException if no domain model is registered under the name
+     */
+    public DomainModelPin pin(String name) {
+        DomainModelSnapshot snapshot = getReference(name).get();
+        pinCounts.merge(snapshot, 1, Integer::sum);
+        return new DomainModelPin(this, snapshot);
+    }
+
+    /**
+     * Releases a pin of the given snapshot.
+     *
+     * @param snapshot The snapshot
+     */
+    void unpin(DomainModelSnapshot snapshot) {
+        pinCounts.computeIfPresent(snapshot, (s, count) -> count == 1 ? null : count - 1);
+    }
+
+    /**
+     * Returns the snapshots of the domain model registered under the given name that are pinned, ordered by version.
+     * This includes the current snapshot if it is pinned.
+     *
+     * @param name The name
+     * @return the pinned snapshots
+     */
+    public List<DomainModelSnapshot> getPinnedSnapshots(String name) {
+        List<DomainModelSnapshot> pinnedSnapshots = new ArrayList<>();
+        for (DomainModelSnapshot snapshot : pinCounts.keySet()) {
+            if (snapshot.getName().equals(name)) {
+                pinnedSnapshots.add(snapshot);
+            }
+        }
+        pinnedSnapshots.sort(Comparator.comparingLong(DomainModelSnapshot::getVersion));
+        return pinnedSnapshots;
+    }
+
+    /**
+     * Returns the number of open pins of the given snapshot.
+     *
+     * @param snapshot The snapshot
+     * @return the number of open pins
+     */
+    public int getPinCount(DomainModelSnapshot snapshot) {
+        Integer count = pinCounts.get(snapshot);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Returns the current snapshots of all registered domain models by name.
+     *
+     * @return the current snapshots by name
+     */
+    public Map<String, DomainModelSnapshot> getSnapshots() {
+        Map<String, DomainModelSnapshot> currentSnapshots = new HashMap<>(snapshots.size());
+        for (Map.Entry<String, AtomicReference<DomainModelSnapshot>> entry : snapshots.entrySet()) {
+            currentSnapshots.put(entry.getKey(), entry.getValue().get());
+        }
+        return currentSnapshots;
+    }
+
+    private AtomicReference<DomainModelSnapshot> getReference(String name) {
+        AtomicReference<DomainModelSnapshot> reference = snapshots.get(name);
+        if (reference == null) {
+            throw new IllegalArgumentException("No domain model is registered under the name '" + name + "'!");
+        }
+        return reference;
+    }
+}
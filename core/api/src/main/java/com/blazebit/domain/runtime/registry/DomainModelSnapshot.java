@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.runtime.registry;
+
+import com.blazebit.domain.runtime.model.DomainModel;
+
+/**
+ * An immutable version of a domain model that is registered in a {@link DomainModelRegistry}.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public final class DomainModelSnapshot {
+
+    private final String name;
+    private final long version;
+    private final DomainModel domainModel;
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param name The name
+     * @param version The version
+     * @param domainModel The domain model
+     */
+    DomainModelSnapshot(String name, long version, DomainModel domainModel) {
+        this.name = name;
+        this.version = version;
+        this.domainModel = domainModel;
+    }
+
+    /**
+     * Returns the name under which the domain model is registered.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the version of the domain model, which starts at 1 and is incremented whenever the domain model of the name is replaced.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the domain model.
+     *
+     * @return the domain model
+     */
+    public DomainModel getDomainModel() {
+        return domainModel;
+    }
+
+    @Override
+    public String toString() {
+        return "DomainModelSnapshot{name='" + name + "', version=" + version + "}";
+    }
+}
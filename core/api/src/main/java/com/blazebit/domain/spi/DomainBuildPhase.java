@@ -0,0 +1,43 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.spi;
+
+/**
+ * The phases of building a domain model, in the order in which they are executed.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public enum DomainBuildPhase {
+
+    /**
+     * Determining the types to rebuild for a sub domain model and binding the types of the domain type definitions.
+     */
+    BIND_TYPES,
+    /**
+     * Binding the types of the function and collection type definitions.
+     */
+    BIND_FUNCTIONS,
+    /**
+     * Creating the runtime domain types and functions.
+     */
+    MATERIALIZE,
+    /**
+     * Resolving the function, operation and predicate type resolvers and creating the domain model.
+     */
+    RESOLVE_RESOLVERS;
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.spi;
+
+import com.blazebit.domain.boot.model.DomainBuilder;
+import com.blazebit.domain.runtime.model.DomainFunction;
+import com.blazebit.domain.runtime.model.DomainFunctionTypeResolver;
+import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.runtime.model.DomainOperationTypeResolver;
+import com.blazebit.domain.runtime.model.DomainOperator;
+import com.blazebit.domain.runtime.model.DomainPredicate;
+import com.blazebit.domain.runtime.model.DomainPredicateTypeResolver;
+import com.blazebit.domain.runtime.model.DomainType;
+
+/**
+ * A listener for metrics about building, querying and serializing domain models, which can be used to write adapters for metrics libraries.
+ *
+ * The listener is registered as service via {@link DomainBuilder#withService(Class, Object)} or, if no such service is registered,
+ * loaded through {@link java.util.ServiceLoader}. The listener is determined when a domain model is built and is used by the built domain model.
+ * When no listener is registered, no metrics are collected.
+ *
+ * All methods have empty default implementations. Listeners are invoked on the hot paths of domain model lookups and by many threads concurrently,
+ * so implementations must be thread safe and should be cheap.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public interface DomainMetricsListener {
+
+    /**
+     * The name of the cache for collection types that are created on demand.
+     */
+    String COLLECTION_TYPE_CACHE = "collectionTypes";
+    /**
+     * The name of the cache for the serialization proxy used for Java serialization.
+     */
+    String SERIALIZATION_PROXY_CACHE = "serializationProxy";
+
+    /**
+     * Invoked after a {@link DomainContributor} contributed to a domain builder through {@link DomainBuilder#withDefaults()}.
+     *
+     * @param domainBuilder The domain builder
+     * @param domainContributor The domain contributor
+     * @param durationNanos The duration of the contribution in nanoseconds
+     */
+    default void onContribute(DomainBuilder domainBuilder, DomainContributor domainContributor, long durationNanos) {
+    }
+
+    /**
+     * Invoked after a phase of building a domain model completed.
+     *
+     * @param domainBuilder The domain builder
+     * @param phase The build phase
+     * @param durationNanos The duration of the phase in nanoseconds
+     */
+    default void onBuildPhase(DomainBuilder domainBuilder, DomainBuildPhase phase, long durationNanos) {
+    }
+
+    /**
+     * Invoked after a domain model was built.
+     *
+     * @param domainBuilder The domain builder
+     * @param domainModel The built domain model
+     * @param durationNanos The duration of the build in nanoseconds
+     */
+    default void onBuild(DomainBuilder domainBuilder, DomainModel domainModel, long durationNanos) {
+    }
+
+    /**
+     * Invoked when building a domain model failed.
+     *
+     * @param domainBuilder The domain builder
+     * @param exception The exception
+     * @param durationNanos The duration of the build until the failure in nanoseconds
+     */
+    default void onBuildFailure(DomainBuilder domainBuilder, RuntimeException exception, long durationNanos) {
+    }
+
+    /**
+     * Invoked after a lookup through {@link DomainModel#getType(String)}.
+     *
+     * @param domainModel The domain model
+     * @param typeName The requested type name
+     * @param domainType The found domain type or <code>null</code> if the type could not be resolved
+     */
+    default void onTypeLookup(DomainModel domainModel, String typeName, DomainType domainType) {
+    }
+
+    /**
+     * Invoked after a lookup through {@link DomainModel#getFunction(String)}.
+     *
+     * @param domainModel The domain model
+     * @param functionName The requested function name
+     * @param function The found function or <code>null</code> if the function could not be resolved
+     */
+    default void onFunctionLookup(DomainModel domainModel, String functionName, DomainFunction function) {
+    }
+
+    /**
+     * Invoked after a lookup through {@link DomainModel#getFunctionTypeResolver(String)}.
+     *
+     * @param domainModel The domain model
+     * @param functionName The requested function name
+     * @param typeResolver The found function type resolver
+     */
+    default void onFunctionTypeResolverLookup(DomainModel domainModel, String functionName, DomainFunctionTypeResolver typeResolver) {
+    }
+
+    /**
+     * Invoked after a lookup through {@link DomainModel#getOperationTypeResolver(String, DomainOperator)}.
+     *
+     * @param domainModel The domain model
+     * @param typeName The requested type name
+     * @param operator The requested operator
+     * @param typeResolver The found operation type resolver or <code>null</code> if the resolver could not be resolved
+     */
+    default void onOperationTypeResolverLookup(DomainModel domainModel, String typeName, DomainOperator operator, DomainOperationTypeResolver typeResolver) {
+    }
+
+    /**
+     * Invoked after a lookup through {@link DomainModel#getPredicateTypeResolver(String, DomainPredicate)}.
+     *
+     * @param domainModel The domain model
+     * @param typeName The requested type name
+     * @param predicate The requested predicate
+     * @param typeResolver The found predicate type resolver or <code>null</code> if the resolver could not be resolved
+     */
+    default void onPredicateTypeResolverLookup(DomainModel domainModel, String typeName, DomainPredicate predicate, DomainPredicateTypeResolver typeResolver) {
+    }
+
+    /**
+     * Invoked after a lookup in a cache of a domain model like {@link #COLLECTION_TYPE_CACHE} or {@link #SERIALIZATION_PROXY_CACHE}.
+     *
+     * @param domainModel The domain model
+     * @param cacheName The name of the cache
+     * @param hit Whether the cache contained the element
+     */
+    default void onCacheLookup(DomainModel domainModel, String cacheName, boolean hit) {
+    }
+
+    /**
+     * Invoked after a domain model was serialized through {@link DomainModel#serialize(DomainModel, Class, String, java.util.Map)}.
+     *
+     * @param domainModel The serialized domain model
+     * @param baseModel The base domain model or <code>null</code>
+     * @param format The serialization format
+     * @param size The length of the result if it is a char sequence or byte array, or -1 otherwise
+     * @param durationNanos The duration of the serialization in nanoseconds
+     */
+    default void onSerialization(DomainModel domainModel, DomainModel baseModel, String format, long size, long durationNanos) {
+    }
+}
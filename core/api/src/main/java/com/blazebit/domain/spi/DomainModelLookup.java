@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.spi;
+
+import com.blazebit.domain.runtime.model.DomainModel;
+
+/**
+ * A {@link java.util.ServiceLoader} loaded lookup for the base domain models of Java serialized domain models.
+ *
+ * A serialized domain model doesn't contain its base model, but only refers to it by a content fingerprint.
+ * On deserialization, the base model is resolved among the domain models that were serialized or deserialized before in the same JVM.
+ * If no such domain model is alive anymore, the lookups are asked for the base model, which is usually loaded from where the application stores it.
+ * The fingerprint of a returned domain model is verified, so a lookup that only knows a single base model may simply return it.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public interface DomainModelLookup {
+
+    /**
+     * Returns the domain model with the given content fingerprint.
+     *
+     * @param fingerprint The content fingerprint of the domain model
+     * @return the domain model or <code>null</code> if unknown
+     */
+    DomainModel lookup(String fingerprint);
+
+}
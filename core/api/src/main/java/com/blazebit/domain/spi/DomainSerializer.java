@@ -40,6 +40,22 @@ public interface DomainSerializer<X> {
         return true;
     }
 
+    /**
+     * Returns whether this serializer might be able to serialize elements of the given type to the given target type with the given format.
+     * Domain models resolve the serializers per element class, target type and format once and cache the result,
+     * so the answer must only depend on the arguments and the class of this serializer.
+     * Serializers that return <code>true</code> are still asked via {@link #canSerialize(Object)} for every element.
+     *
+     * @param elementType The element type
+     * @param targetType The target type
+     * @param format The serialization format
+     * @return Whether this serializer might be able to serialize elements of the given type
+     * @since 3.0.0
+     */
+    default boolean canSerialize(Class<?> elementType, Class<?> targetType, String format) {
+        return true;
+    }
+
     /**
      * Serializes the domain model to the given target type with the given format.
      *
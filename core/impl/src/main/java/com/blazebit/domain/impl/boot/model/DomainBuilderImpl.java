@@ -31,6 +31,7 @@ import com.blazebit.domain.boot.model.MetadataDefinition;
 import com.blazebit.domain.impl.runtime.model.CollectionDomainTypeImpl;
 import com.blazebit.domain.impl.runtime.model.RootDomainModel;
 import com.blazebit.domain.impl.runtime.model.SubDomainModel;
+import com.blazebit.domain.impl.spi.CompositeDomainMetricsListener;
 import com.blazebit.domain.runtime.model.BasicDomainType;
 import com.blazebit.domain.runtime.model.CollectionDomainType;
 import com.blazebit.domain.runtime.model.DomainFunction;
@@ -48,7 +49,9 @@ import com.blazebit.domain.runtime.model.EnumDomainType;
 import com.blazebit.domain.runtime.model.StaticDomainOperationTypeResolvers;
 import com.blazebit.domain.runtime.model.StaticDomainPredicateTypeResolvers;
 import com.blazebit.domain.runtime.model.UnionDomainType;
+import com.blazebit.domain.spi.DomainBuildPhase;
 import com.blazebit.domain.spi.DomainContributor;
+import com.blazebit.domain.spi.DomainMetricsListener;
 import com.blazebit.domain.spi.DomainSerializer;
 import com.blazebit.domain.spi.ServiceProvider;
 
@@ -226,8 +229,15 @@ public class DomainBuilderImpl implements DomainBuilder, Serializable {
     @Override
     public DomainBuilder withDefaults() {
         Providers providers = getProviders();
+        DomainMetricsListener metricsListener = getMetricsListener();
         for (DomainContributor domainContributor : providers.domainContributors) {
-            domainContributor.contribute(this);
+            if (metricsListener == null) {
+                domainContributor.contribute(this);
+            } else {
+                long start = System.nanoTime();
+                domainContributor.contribute(this);
+                metricsListener.onContribute(this, domainContributor, System.nanoTime() - start);
+            }
         }
         for (DomainSerializer<DomainModel> domainSerializer : providers.domainSerializers) {
             withSerializer(domainSerializer);
@@ -981,6 +991,23 @@ public class DomainBuilderImpl implements DomainBuilder, Serializable {
 
     @Override
     public DomainModel build() {
+        DomainMetricsListener metricsListener = getMetricsListener();
+        if (metricsListener == null) {
+            return build(null, 0L);
+        }
+        long start = System.nanoTime();
+        DomainModel domainModel;
+        try {
+            domainModel = build(metricsListener, start);
+        } catch (RuntimeException ex) {
+            metricsListener.onBuildFailure(this, ex, System.nanoTime() - start);
+            throw ex;
+        }
+        metricsListener.onBuild(this, domainModel, System.nanoTime() - start);
+        return domainModel;
+    }
+
+    private DomainModel build(DomainMetricsListener metricsListener, long phaseStart) {
         MetamodelBuildingContext context = new MetamodelBuildingContext(this);
         handleChangedDomainTypes();
         for (DomainTypeDefinitionImplementor typeDefinition : domainTypeDefinitions.values()) {
@@ -988,6 +1015,9 @@ public class DomainBuilderImpl implements DomainBuilder, Serializable {
                 typeDefinition.bindTypes(this, context);
             }
         }
+        if (metricsListener != null) {
+            phaseStart = onBuildPhase(metricsListener, DomainBuildPhase.BIND_TYPES, phaseStart);
+        }
         for (DomainFunctionDefinitionImpl domainFunctionDefinition : domainFunctionDefinitions.values()) {
             if (domainFunctionDefinition != null) {
                 domainFunctionDefinition.bindTypes(this, context);
@@ -997,6 +1027,9 @@ public class DomainBuilderImpl implements DomainBuilder, Serializable {
         for (CollectionDomainTypeDefinitionImpl collectionDomainTypeDefinition : collectionDomainTypeDefinitions.values()) {
             collectionDomainTypeDefinition.bindTypes(this, context);
         }
+        if (metricsListener != null) {
+            phaseStart = onBuildPhase(metricsListener, DomainBuildPhase.BIND_FUNCTIONS, phaseStart);
+        }
         Map<String, DomainType> domainTypes = new HashMap<>(domainTypeDefinitions.size());
         Map<String, CollectionDomainType> collectionDomainTypes = new ConcurrentHashMap<>(domainTypeDefinitions.size());
         if (!context.hasErrors()) {
@@ -1022,7 +1055,15 @@ public class DomainBuilderImpl implements DomainBuilder, Serializable {
                 domainFunctions.put(entry.getKey().toUpperCase(), functionDefinition == null ? null : functionDefinition.getFunction(context));
             }
         }
-        Map<String, DomainFunctionTypeResolver> domainFunctionTypeResolvers = new HashMap<>(this.domainFunctionTypeResolvers.size());
+        if (metricsListener != null) {
+            phaseStart = onBuildPhase(metricsListener, DomainBuildPhase.MATERIALIZE, phaseStart);
+        }
+        Map<String, DomainFunctionTypeResolver> domainFunctionTypeResolvers;
+        if (functionsCaseSensitive) {
+            domainFunctionTypeResolvers = new HashMap<>(this.domainFunctionTypeResolvers.size());
+        } else {
+            domainFunctionTypeResolvers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        }
         if (!context.hasErrors()) {
             for (Map.Entry<String, DomainFunctionTypeResolver> entry : this.domainFunctionTypeResolvers.entrySet()) {
                 String name = entry.getKey().toUpperCase();
@@ -1096,7 +1137,7 @@ public class DomainBuilderImpl implements DomainBuilder, Serializable {
 
             throw new IllegalArgumentException(sb.toString());
         }
-        return createDomainModel(
+        DomainModel domainModel = createDomainModel(
             baseModel,
             properties,
             services,
@@ -1108,13 +1149,33 @@ public class DomainBuilderImpl implements DomainBuilder, Serializable {
             domainOperationTypeResolvers,
             domainPredicateTypeResolvers,
             predicateDefaultResultType,
-            getImmutableDomainSerializers()
+            getImmutableDomainSerializers(),
+            metricsListener
         );
+        if (metricsListener != null) {
+            onBuildPhase(metricsListener, DomainBuildPhase.RESOLVE_RESOLVERS, phaseStart);
+        }
+        return domainModel;
+    }
+
+    private long onBuildPhase(DomainMetricsListener metricsListener, DomainBuildPhase phase, long phaseStart) {
+        long end = System.nanoTime();
+        metricsListener.onBuildPhase(this, phase, end - phaseStart);
+        return end;
+    }
+
+    private DomainMetricsListener getMetricsListener() {
+        DomainMetricsListener metricsListener = getService(DomainMetricsListener.class);
+        if (metricsListener == null) {
+            return getProviders().metricsListener;
+        }
+        return metricsListener;
     }
 
     private DomainModel createDomainModel(DomainModel baseModel, Map<String, Object> properties, Map<Class<?>, Object> services, List<ServiceProvider> serviceProviders, Map<String, DomainType> domainTypes, Map<String, CollectionDomainType> collectionDomainTypes, Map<String, DomainFunction> domainFunctions,
                                           Map<String, DomainFunctionTypeResolver> domainFunctionTypeResolvers, Map<String, Map<DomainOperator, DomainOperationTypeResolver>> domainOperationTypeResolvers,
-                                          Map<String, Map<DomainPredicate, DomainPredicateTypeResolver>> domainPredicateTypeResolvers, DomainType predicateDefaultResultType, List<DomainSerializer<?>> domainSerializers) {
+                                          Map<String, Map<DomainPredicate, DomainPredicateTypeResolver>> domainPredicateTypeResolvers, DomainType predicateDefaultResultType, List<DomainSerializer<?>> domainSerializers,
+                                          DomainMetricsListener metricsListener) {
         if (baseModel == null) {
             return new RootDomainModel(
                 properties,
@@ -1123,11 +1184,13 @@ public class DomainBuilderImpl implements DomainBuilder, Serializable {
                 domainTypes,
                 collectionDomainTypes,
                 domainFunctions,
+                functionsCaseSensitive,
                 domainFunctionTypeResolvers,
                 domainOperationTypeResolvers,
                 domainPredicateTypeResolvers,
                 predicateDefaultResultType,
-                domainSerializers
+                domainSerializers,
+                metricsListener
             );
         } else {
             return new SubDomainModel(
@@ -1138,11 +1201,13 @@ public class DomainBuilderImpl implements DomainBuilder, Serializable {
                 domainTypes,
                 collectionDomainTypes,
                 domainFunctions,
+                functionsCaseSensitive,
                 domainFunctionTypeResolvers,
                 domainOperationTypeResolvers,
                 domainPredicateTypeResolvers,
                 predicateDefaultResultType,
-                domainSerializers
+                domainSerializers,
+                metricsListener
             );
         }
     }
@@ -1220,7 +1285,12 @@ public class DomainBuilderImpl implements DomainBuilder, Serializable {
         WeakClassLoaderKey key = new WeakClassLoaderKey(classLoader, REFERENCE_QUEUE);
         Providers providers = PROVIDERS.get(key);
         if (providers == null) {
-            PROVIDERS.put(key, providers = new Providers());
+            // Services might create domain builders while being loaded, so computeIfAbsent could fail with a recursive update
+            providers = new Providers();
+            Providers existingProviders = PROVIDERS.putIfAbsent(key, providers);
+            if (existingProviders != null) {
+                providers = existingProviders;
+            }
         }
         return providers;
     }
@@ -1256,12 +1326,15 @@ public class DomainBuilderImpl implements DomainBuilder, Serializable {
     private static class Providers {
         private final Iterable<DomainContributor> domainContributors;
         private final Iterable<DomainSerializer<DomainModel>> domainSerializers;
+        private final DomainMetricsListener metricsListener;
 
         public Providers() {
             domainContributors = StreamSupport.stream(ServiceLoader.load(DomainContributor.class).spliterator(), false)
                 .sorted(Comparator.comparing(DomainContributor::priority))
                 .collect(Collectors.toList());
             domainSerializers = load(DomainSerializer.class);
+            metricsListener = CompositeDomainMetricsListener.of(StreamSupport.stream(ServiceLoader.load(DomainMetricsListener.class).spliterator(), false)
+                .collect(Collectors.toList()));
         }
 
         @SuppressWarnings("unchecked")
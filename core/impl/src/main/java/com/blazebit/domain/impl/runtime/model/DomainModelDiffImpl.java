@@ -0,0 +1,347 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.impl.runtime.model;
+
+import com.blazebit.domain.impl.runtime.model.DomainModelFingerprints.Fingerprint;
+import com.blazebit.domain.impl.spi.DomainSerializerTable;
+import com.blazebit.domain.runtime.model.DomainFunction;
+import com.blazebit.domain.runtime.model.DomainFunctionTypeResolver;
+import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.runtime.model.DomainModelDiff;
+import com.blazebit.domain.runtime.model.DomainOperationTypeResolver;
+import com.blazebit.domain.runtime.model.DomainOperator;
+import com.blazebit.domain.runtime.model.DomainPredicate;
+import com.blazebit.domain.runtime.model.DomainPredicateTypeResolver;
+import com.blazebit.domain.runtime.model.DomainType;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public class DomainModelDiffImpl implements DomainModelDiff {
+
+    private final DomainModel sourceModel;
+    private final DomainModel targetModel;
+    private final Map<String, DomainType> addedTypes;
+    private final Map<String, DomainType> changedTypes;
+    private final Set<String> removedTypes;
+    private final Map<String, DomainFunction> addedFunctions;
+    private final Map<String, DomainFunction> changedFunctions;
+    private final Set<String> removedFunctions;
+    private final Map<String, DomainFunctionTypeResolver> changedFunctionTypeResolvers;
+    private final Set<String> removedFunctionTypeResolvers;
+    private final Map<String, Map<DomainOperator, DomainOperationTypeResolver>> changedOperationTypeResolvers;
+    private final Map<String, Set<DomainOperator>> removedOperationTypeResolvers;
+    private final Map<String, Map<DomainPredicate, DomainPredicateTypeResolver>> changedPredicateTypeResolvers;
+    private final Map<String, Set<DomainPredicate>> removedPredicateTypeResolvers;
+
+    /**
+     * Computes the difference between the given source and target domain model.
+     *
+     * @param sourceModel The source domain model
+     * @param targetModel The target domain model
+     */
+    public DomainModelDiffImpl(DomainModel sourceModel, DomainModel targetModel) {
+        if (targetModel == null) {
+            throw new IllegalArgumentException("The target domain model must not be null!");
+        }
+        this.sourceModel = sourceModel;
+        this.targetModel = targetModel;
+        DomainModelFingerprints sourceFingerprints = DomainModelFingerprints.of(sourceModel);
+        DomainModelFingerprints targetFingerprints = DomainModelFingerprints.of(targetModel);
+
+        // Types
+        Map<String, Fingerprint> sourceTypes = sourceFingerprints.getTypes();
+        Map<String, Fingerprint> targetTypes = targetFingerprints.getTypes();
+        Map<String, DomainType> addedTypes = new TreeMap<>();
+        Map<String, DomainType> changedTypes = new TreeMap<>();
+        Set<String> removedTypes = new TreeSet<>();
+        Set<String> dirtyTypeNames = new HashSet<>();
+        Map<String, List<String>> typeReferrers = new HashMap<>();
+        for (Map.Entry<String, Fingerprint> entry : targetTypes.entrySet()) {
+            String typeName = entry.getKey();
+            Fingerprint sourceFingerprint = sourceTypes.get(typeName);
+            if (sourceFingerprint == null) {
+                addedTypes.put(typeName, targetModel.getType(typeName));
+                dirtyTypeNames.add(typeName);
+            } else if (!sourceFingerprint.equals(entry.getValue())) {
+                changedTypes.put(typeName, targetModel.getType(typeName));
+                dirtyTypeNames.add(typeName);
+            }
+            for (String referencedTypeName : entry.getValue().getReferencedTypeNames()) {
+                if (!typeName.equals(referencedTypeName)) {
+                    typeReferrers.computeIfAbsent(referencedTypeName, k -> new ArrayList<>()).add(typeName);
+                }
+            }
+        }
+        for (String typeName : sourceTypes.keySet()) {
+            if (!targetTypes.containsKey(typeName)) {
+                removedTypes.add(typeName);
+                dirtyTypeNames.add(typeName);
+            }
+        }
+        // A type that refers to a dirty type must be replaced as well, so that the references on the client side point to the new objects
+        ArrayDeque<String> queue = new ArrayDeque<>(dirtyTypeNames);
+        while (!queue.isEmpty()) {
+            List<String> referrers = typeReferrers.get(queue.poll());
+            if (referrers != null) {
+                for (String referrer : referrers) {
+                    if (dirtyTypeNames.add(referrer)) {
+                        changedTypes.put(referrer, targetModel.getType(referrer));
+                        queue.add(referrer);
+                    }
+                }
+            }
+        }
+
+        // Functions
+        Map<String, Fingerprint> sourceFunctions = sourceFingerprints.getFunctions();
+        Map<String, Fingerprint> targetFunctions = targetFingerprints.getFunctions();
+        Map<String, DomainFunction> addedFunctions = new TreeMap<>();
+        Map<String, DomainFunction> changedFunctions = new TreeMap<>();
+        Set<String> removedFunctions = new TreeSet<>();
+        for (Map.Entry<String, Fingerprint> entry : targetFunctions.entrySet()) {
+            Fingerprint sourceFingerprint = sourceFunctions.get(entry.getKey());
+            DomainFunction function = targetModel.getFunction(entry.getKey());
+            if (sourceFingerprint == null) {
+                addedFunctions.put(function.getName(), function);
+            } else if (!sourceFingerprint.equals(entry.getValue()) || !Collections.disjoint(dirtyTypeNames, entry.getValue().getReferencedTypeNames())) {
+                changedFunctions.put(function.getName(), function);
+            }
+        }
+        for (String functionKey : sourceFunctions.keySet()) {
+            if (!targetFunctions.containsKey(functionKey)) {
+                removedFunctions.add(sourceModel.getFunction(functionKey).getName());
+            }
+        }
+
+        // Function type resolvers
+        Map<String, DomainFunctionTypeResolver> changedFunctionTypeResolvers = new TreeMap<>();
+        Set<String> removedFunctionTypeResolvers = new TreeSet<>();
+        Map<String, DomainFunctionTypeResolver> sourceFunctionTypeResolvers = sourceModel.getFunctionTypeResolvers();
+        Map<String, DomainFunctionTypeResolver> targetFunctionTypeResolvers = targetModel.getFunctionTypeResolvers();
+        for (Map.Entry<String, DomainFunctionTypeResolver> entry : targetFunctionTypeResolvers.entrySet()) {
+            DomainFunctionTypeResolver resolver = entry.getValue();
+            if (resolver != null && !sameResolver(sourceFingerprints, targetFingerprints, sourceFunctionTypeResolvers.get(entry.getKey()), resolver)) {
+                changedFunctionTypeResolvers.put(functionName(targetModel, entry.getKey()), resolver);
+            }
+        }
+        for (Map.Entry<String, DomainFunctionTypeResolver> entry : sourceFunctionTypeResolvers.entrySet()) {
+            if (entry.getValue() != null && targetFunctionTypeResolvers.get(entry.getKey()) == null) {
+                removedFunctionTypeResolvers.add(functionName(sourceModel, entry.getKey()));
+            }
+        }
+
+        // Operation and predicate type resolvers
+        Map<String, Map<DomainOperator, DomainOperationTypeResolver>> changedOperationTypeResolvers = new TreeMap<>();
+        Map<String, Set<DomainOperator>> removedOperationTypeResolvers = new TreeMap<>();
+        diffResolvers(
+            sourceFingerprints,
+            targetFingerprints,
+            targetTypes.keySet(),
+            sourceModel.getOperationTypeResolvers(),
+            targetModel.getOperationTypeResolvers(),
+            changedOperationTypeResolvers,
+            removedOperationTypeResolvers,
+            DomainOperator.class
+        );
+        Map<String, Map<DomainPredicate, DomainPredicateTypeResolver>> changedPredicateTypeResolvers = new TreeMap<>();
+        Map<String, Set<DomainPredicate>> removedPredicateTypeResolvers = new TreeMap<>();
+        diffResolvers(
+            sourceFingerprints,
+            targetFingerprints,
+            targetTypes.keySet(),
+            sourceModel.getPredicateTypeResolvers(),
+            targetModel.getPredicateTypeResolvers(),
+            changedPredicateTypeResolvers,
+            removedPredicateTypeResolvers,
+            DomainPredicate.class
+        );
+
+        this.addedTypes = Collections.unmodifiableMap(addedTypes);
+        this.changedTypes = Collections.unmodifiableMap(changedTypes);
+        this.removedTypes = Collections.unmodifiableSet(removedTypes);
+        this.addedFunctions = Collections.unmodifiableMap(addedFunctions);
+        this.changedFunctions = Collections.unmodifiableMap(changedFunctions);
+        this.removedFunctions = Collections.unmodifiableSet(removedFunctions);
+        this.changedFunctionTypeResolvers = Collections.unmodifiableMap(changedFunctionTypeResolvers);
+        this.removedFunctionTypeResolvers = Collections.unmodifiableSet(removedFunctionTypeResolvers);
+        this.changedOperationTypeResolvers = Collections.unmodifiableMap(changedOperationTypeResolvers);
+        this.removedOperationTypeResolvers = Collections.unmodifiableMap(removedOperationTypeResolvers);
+        this.changedPredicateTypeResolvers = Collections.unmodifiableMap(changedPredicateTypeResolvers);
+        this.removedPredicateTypeResolvers = Collections.unmodifiableMap(removedPredicateTypeResolvers);
+    }
+
+    private boolean sameResolver(DomainModelFingerprints sourceFingerprints, DomainModelFingerprints targetFingerprints, Object sourceResolver, Object targetResolver) {
+        if (sourceResolver == targetResolver) {
+            return true;
+        }
+        if (sourceResolver == null || targetResolver == null) {
+            return false;
+        }
+        return sourceFingerprints.getResolver(sourceModel, sourceResolver).equals(targetFingerprints.getResolver(targetModel, targetResolver));
+    }
+
+    private static String functionName(DomainModel domainModel, String functionKey) {
+        DomainFunction function = domainModel.getFunction(functionKey);
+        return function == null ? functionKey : function.getName();
+    }
+
+    private <K extends Enum<K>, R> void diffResolvers(DomainModelFingerprints sourceFingerprints, DomainModelFingerprints targetFingerprints, Set<String> targetTypeNames,
+                                                      Map<String, Map<K, R>> sourceResolvers, Map<String, Map<K, R>> targetResolvers,
+                                                      Map<String, Map<K, R>> changedResolvers, Map<String, Set<K>> removedResolvers, Class<K> keyType) {
+        for (Map.Entry<String, Map<K, R>> entry : targetResolvers.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            Map<K, R> sourceTypeResolvers = sourceResolvers.get(entry.getKey());
+            Map<K, R> changed = null;
+            for (Map.Entry<K, R> resolverEntry : entry.getValue().entrySet()) {
+                R resolver = resolverEntry.getValue();
+                if (resolver != null && !sameResolver(sourceFingerprints, targetFingerprints, sourceTypeResolvers == null ? null : sourceTypeResolvers.get(resolverEntry.getKey()), resolver)) {
+                    if (changed == null) {
+                        changed = new EnumMap<>(keyType);
+                        changedResolvers.put(entry.getKey(), Collections.unmodifiableMap(changed));
+                    }
+                    changed.put(resolverEntry.getKey(), resolver);
+                }
+            }
+        }
+        for (Map.Entry<String, Map<K, R>> entry : sourceResolvers.entrySet()) {
+            // Resolvers of removed types are removed along with the type
+            if (entry.getValue() == null || !targetTypeNames.contains(entry.getKey())) {
+                continue;
+            }
+            Map<K, R> targetTypeResolvers = targetResolvers.get(entry.getKey());
+            Set<K> removed = null;
+            for (Map.Entry<K, R> resolverEntry : entry.getValue().entrySet()) {
+                if (resolverEntry.getValue() != null && (targetTypeResolvers == null || targetTypeResolvers.get(resolverEntry.getKey()) == null)) {
+                    if (removed == null) {
+                        removed = EnumSet.noneOf(keyType);
+                        removedResolvers.put(entry.getKey(), Collections.unmodifiableSet(removed));
+                    }
+                    removed.add(resolverEntry.getKey());
+                }
+            }
+        }
+    }
+
+    @Override
+    public <T> T serialize(Class<T> targetType, String format, Map<String, Object> properties) {
+        DomainSerializerTable domainSerializerTable;
+        if (targetModel instanceof RootDomainModel) {
+            domainSerializerTable = ((RootDomainModel) targetModel).getDomainSerializerTable();
+        } else if (targetModel instanceof SubDomainModel) {
+            domainSerializerTable = ((SubDomainModel) targetModel).getDomainSerializerTable();
+        } else {
+            return DomainModelDiff.super.serialize(targetType, format, properties);
+        }
+        return domainSerializerTable.serialize(targetModel, sourceModel, this, targetType, format, properties);
+    }
+
+    @Override
+    public DomainModel getSourceModel() {
+        return sourceModel;
+    }
+
+    @Override
+    public DomainModel getTargetModel() {
+        return targetModel;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return addedTypes.isEmpty() && changedTypes.isEmpty() && removedTypes.isEmpty()
+            && addedFunctions.isEmpty() && changedFunctions.isEmpty() && removedFunctions.isEmpty()
+            && changedFunctionTypeResolvers.isEmpty() && removedFunctionTypeResolvers.isEmpty()
+            && changedOperationTypeResolvers.isEmpty() && removedOperationTypeResolvers.isEmpty()
+            && changedPredicateTypeResolvers.isEmpty() && removedPredicateTypeResolvers.isEmpty();
+    }
+
+    @Override
+    public Map<String, DomainType> getAddedTypes() {
+        return addedTypes;
+    }
+
+    @Override
+    public Map<String, DomainType> getChangedTypes() {
+        return changedTypes;
+    }
+
+    @Override
+    public Set<String> getRemovedTypes() {
+        return removedTypes;
+    }
+
+    @Override
+    public Map<String, DomainFunction> getAddedFunctions() {
+        return addedFunctions;
+    }
+
+    @Override
+    public Map<String, DomainFunction> getChangedFunctions() {
+        return changedFunctions;
+    }
+
+    @Override
+    public Set<String> getRemovedFunctions() {
+        return removedFunctions;
+    }
+
+    @Override
+    public Map<String, DomainFunctionTypeResolver> getChangedFunctionTypeResolvers() {
+        return changedFunctionTypeResolvers;
+    }
+
+    @Override
+    public Set<String> getRemovedFunctionTypeResolvers() {
+        return removedFunctionTypeResolvers;
+    }
+
+    @Override
+    public Map<String, Map<DomainOperator, DomainOperationTypeResolver>> getChangedOperationTypeResolvers() {
+        return changedOperationTypeResolvers;
+    }
+
+    @Override
+    public Map<String, Set<DomainOperator>> getRemovedOperationTypeResolvers() {
+        return removedOperationTypeResolvers;
+    }
+
+    @Override
+    public Map<String, Map<DomainPredicate, DomainPredicateTypeResolver>> getChangedPredicateTypeResolvers() {
+        return changedPredicateTypeResolvers;
+    }
+
+    @Override
+    public Map<String, Set<DomainPredicate>> getRemovedPredicateTypeResolvers() {
+        return removedPredicateTypeResolvers;
+    }
+}
@@ -0,0 +1,402 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.impl.runtime.model;
+
+import com.blazebit.domain.impl.spi.DomainSerializerTable;
+import com.blazebit.domain.runtime.model.CollectionDomainType;
+import com.blazebit.domain.runtime.model.DomainFunction;
+import com.blazebit.domain.runtime.model.DomainFunctionArgument;
+import com.blazebit.domain.runtime.model.DomainFunctionTypeResolver;
+import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.runtime.model.DomainType;
+import com.blazebit.domain.runtime.model.EntityDomainType;
+import com.blazebit.domain.runtime.model.EntityDomainTypeAttribute;
+import com.blazebit.domain.runtime.model.EnumDomainType;
+import com.blazebit.domain.runtime.model.EnumDomainTypeValue;
+import com.blazebit.domain.runtime.model.UnionDomainType;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Content based fingerprints of the types, functions and resolvers of a domain model.
+ * Types and functions only refer to other types by name, the names of the referenced types are collected separately.
+ * The fingerprint of the whole model covers the types, functions, resolvers and properties, but not the services and serializers.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+final class DomainModelFingerprints {
+
+    private static final Comparator<Class<?>> CLASS_NAME_COMPARATOR = Comparator.comparing(Class::getName);
+
+    private final Map<String, Fingerprint> types;
+    private final Map<String, Fingerprint> functions;
+    private final Map<Object, Fingerprint> resolvers;
+    private final String model;
+
+    private DomainModelFingerprints(Map<String, Fingerprint> types, Map<String, Fingerprint> functions, Map<Object, Fingerprint> resolvers, String model) {
+        this.types = types;
+        this.functions = functions;
+        this.resolvers = resolvers;
+        this.model = model;
+    }
+
+    /**
+     * Returns the fingerprints for the given domain model, which are cached for the domain models of this implementation.
+     *
+     * @param domainModel The domain model
+     * @return the fingerprints
+     */
+    public static DomainModelFingerprints of(DomainModel domainModel) {
+        if (domainModel instanceof RootDomainModel) {
+            return ((RootDomainModel) domainModel).getFingerprints();
+        } else if (domainModel instanceof SubDomainModel) {
+            return ((SubDomainModel) domainModel).getFingerprints();
+        }
+        return create(domainModel);
+    }
+
+    static DomainModelFingerprints create(DomainModel domainModel) {
+        DomainModel parentModel = domainModel.getParentDomainModel();
+        DomainModelFingerprints parent = parentModel == null ? null : of(parentModel);
+        Hasher hasher = new Hasher(domainModel);
+        Map<String, DomainType> domainTypes = domainModel.getTypes();
+        Map<String, Fingerprint> types = new HashMap<>(domainTypes.size());
+        for (Map.Entry<String, DomainType> entry : domainTypes.entrySet()) {
+            DomainType domainType = entry.getValue();
+            if (domainType != null) {
+                Fingerprint fingerprint;
+                if (parent == null || parentModel.getType(entry.getKey()) != domainType || (fingerprint = parent.types.get(entry.getKey())) == null) {
+                    fingerprint = hasher.type(domainType);
+                }
+                types.put(entry.getKey(), fingerprint);
+            }
+        }
+        Map<String, DomainFunction> domainFunctions = domainModel.getFunctions();
+        Map<String, Fingerprint> functions = new HashMap<>(domainFunctions.size());
+        for (Map.Entry<String, DomainFunction> entry : domainFunctions.entrySet()) {
+            DomainFunction domainFunction = entry.getValue();
+            if (domainFunction != null) {
+                Fingerprint fingerprint;
+                // The function type resolver is part of the function fingerprint, so it must be the same as well
+                if (parent == null || parentModel.getFunction(domainFunction.getName()) != domainFunction
+                    || parentModel.getFunctionTypeResolver(domainFunction.getName()) != domainModel.getFunctionTypeResolver(domainFunction.getName())
+                    || (fingerprint = parent.functions.get(entry.getKey())) == null) {
+                    fingerprint = hasher.function(domainFunction);
+                }
+                functions.put(entry.getKey(), fingerprint);
+            }
+        }
+        String model = hasher.model(types, functions);
+        return new DomainModelFingerprints(types, functions, hasher.resolvers, model);
+    }
+
+    public Map<String, Fingerprint> getTypes() {
+        return types;
+    }
+
+    public Map<String, Fingerprint> getFunctions() {
+        return functions;
+    }
+
+    /**
+     * Returns the hex encoded fingerprint of the whole domain model.
+     *
+     * @return the fingerprint of the domain model
+     */
+    public String getModel() {
+        return model;
+    }
+
+    public Fingerprint getResolver(DomainModel domainModel, Object resolver) {
+        Fingerprint fingerprint = resolvers.get(resolver);
+        if (fingerprint == null) {
+            fingerprint = new Hasher(domainModel).resolver(resolver);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 3.0.0
+     */
+    static final class Fingerprint {
+
+        private final byte[] hash;
+        private final Set<String> referencedTypeNames;
+
+        public Fingerprint(byte[] hash, Set<String> referencedTypeNames) {
+            this.hash = hash;
+            this.referencedTypeNames = referencedTypeNames;
+        }
+
+        public Set<String> getReferencedTypeNames() {
+            return referencedTypeNames;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || o instanceof Fingerprint && Arrays.equals(hash, ((Fingerprint) o).hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(hash);
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 3.0.0
+     */
+    private static final class Hasher {
+
+        private final DomainModel domainModel;
+        private final MessageDigest digest;
+        private final Map<Object, Fingerprint> resolvers = new IdentityHashMap<>();
+        private Set<String> referencedTypeNames;
+
+        public Hasher(DomainModel domainModel) {
+            this.domainModel = domainModel;
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-256 is not available", ex);
+            }
+        }
+
+        public Fingerprint type(DomainType domainType) {
+            referencedTypeNames = new LinkedHashSet<>();
+            update(domainType.getKind().ordinal());
+            update(domainType.getName());
+            update(domainType.getJavaType() == null ? null : domainType.getJavaType().getName());
+            update(domainType.getEnabledOperators().toString());
+            update(domainType.getEnabledPredicates().toString());
+            updateMetadata(domainType.getMetadata());
+            if (domainType instanceof EntityDomainType) {
+                List<String> attributeNames = new ArrayList<>(((EntityDomainType) domainType).getAttributes().keySet());
+                Collections.sort(attributeNames);
+                update(attributeNames.size());
+                for (String attributeName : attributeNames) {
+                    EntityDomainTypeAttribute attribute = ((EntityDomainType) domainType).getAttribute(attributeName);
+                    update(attribute.getName());
+                    updateTypeReference(attribute.getType());
+                    updateMetadata(attribute.getMetadata());
+                }
+            } else if (domainType instanceof EnumDomainType) {
+                List<String> values = new ArrayList<>(((EnumDomainType) domainType).getEnumValues().keySet());
+                Collections.sort(values);
+                update(values.size());
+                for (String value : values) {
+                    EnumDomainTypeValue enumValue = ((EnumDomainType) domainType).getEnumValues().get(value);
+                    update(enumValue.getValue());
+                    updateMetadata(enumValue.getMetadata());
+                }
+            } else if (domainType instanceof UnionDomainType) {
+                List<DomainType> unionElements = ((UnionDomainType) domainType).getUnionElements();
+                update(unionElements.size());
+                for (DomainType unionElement : unionElements) {
+                    updateTypeReference(unionElement);
+                }
+            } else if (domainType instanceof CollectionDomainType) {
+                updateTypeReference(((CollectionDomainType) domainType).getElementType());
+            }
+            return finish();
+        }
+
+        public Fingerprint function(DomainFunction function) {
+            referencedTypeNames = new LinkedHashSet<>();
+            update(function.getName());
+            update(function.getVolatility() == null ? null : function.getVolatility().name());
+            update(function.getMinArgumentCount());
+            update(function.getArgumentCount());
+            updateTypeReference(function.getResultType());
+            List<? extends DomainFunctionArgument> arguments = function.getArguments();
+            update(arguments.size());
+            for (DomainFunctionArgument argument : arguments) {
+                update(argument.getName());
+                updateTypeReference(argument.getType());
+                updateMetadata(argument.getMetadata());
+            }
+            updateMetadata(function.getMetadata());
+            Set<String> functionReferencedTypeNames = referencedTypeNames;
+            DomainFunctionTypeResolver functionTypeResolver = domainModel.getFunctionTypeResolver(function.getName());
+            byte[] resolverHash = functionTypeResolver == null ? new byte[0] : resolver(functionTypeResolver).hash;
+            digest.update(resolverHash);
+            referencedTypeNames = functionReferencedTypeNames;
+            return finish();
+        }
+
+        public Fingerprint resolver(Object resolver) {
+            Fingerprint fingerprint = resolvers.get(resolver);
+            if (fingerprint == null) {
+                MessageDigest resolverDigest;
+                try {
+                    resolverDigest = (MessageDigest) digest.clone();
+                    resolverDigest.reset();
+                } catch (CloneNotSupportedException ex) {
+                    throw new IllegalStateException("Couldn't clone the message digest", ex);
+                }
+                String serialization = serialize(resolver);
+                update(resolverDigest, resolver.getClass().getName());
+                if (serialization == null) {
+                    update(resolverDigest, Integer.toString(resolver.hashCode()));
+                } else {
+                    update(resolverDigest, serialization);
+                }
+                fingerprint = new Fingerprint(resolverDigest.digest(), Collections.emptySet());
+                resolvers.put(resolver, fingerprint);
+            }
+            return fingerprint;
+        }
+
+        public String model(Map<String, Fingerprint> types, Map<String, Fingerprint> functions) {
+            updateFingerprints(types);
+            updateFingerprints(functions);
+            updateResolvers(domainModel.getOperationTypeResolvers());
+            updateResolvers(domainModel.getPredicateTypeResolvers());
+            DomainType predicateDefaultResultType = domainModel.getPredicateDefaultResultType();
+            update(predicateDefaultResultType == null ? null : predicateDefaultResultType.getName());
+            Map<String, Object> properties = domainModel.getProperties();
+            List<String> propertyNames = new ArrayList<>(properties.keySet());
+            Collections.sort(propertyNames);
+            update(propertyNames.size());
+            for (String propertyName : propertyNames) {
+                update(propertyName);
+                updateValue(properties.get(propertyName));
+            }
+            byte[] hash = digest.digest();
+            StringBuilder sb = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        }
+
+        private void updateFingerprints(Map<String, Fingerprint> fingerprints) {
+            List<String> names = new ArrayList<>(fingerprints.keySet());
+            Collections.sort(names);
+            update(names.size());
+            for (String name : names) {
+                update(name);
+                digest.update(fingerprints.get(name).hash);
+            }
+        }
+
+        private <K extends Enum<K>> void updateResolvers(Map<String, ? extends Map<K, ?>> typeResolvers) {
+            List<String> typeNames = new ArrayList<>(typeResolvers.size());
+            for (Map.Entry<String, ? extends Map<K, ?>> entry : typeResolvers.entrySet()) {
+                if (entry.getValue() != null) {
+                    typeNames.add(entry.getKey());
+                }
+            }
+            Collections.sort(typeNames);
+            update(typeNames.size());
+            for (String typeName : typeNames) {
+                Map<K, ?> resolvers = typeResolvers.get(typeName);
+                List<K> keys = new ArrayList<>(resolvers.keySet());
+                Collections.sort(keys);
+                update(typeName);
+                update(keys.size());
+                for (K key : keys) {
+                    Object resolver = resolvers.get(key);
+                    update(key.ordinal());
+                    digest.update(resolver == null ? new byte[0] : resolver(resolver).hash);
+                }
+            }
+        }
+
+        private Fingerprint finish() {
+            Set<String> names = referencedTypeNames;
+            referencedTypeNames = null;
+            return new Fingerprint(digest.digest(), names.isEmpty() ? Collections.emptySet() : names);
+        }
+
+        private void updateTypeReference(DomainType type) {
+            if (type == null) {
+                update((String) null);
+            } else {
+                update(type.getName());
+                DomainType referencedType = type instanceof CollectionDomainType ? ((CollectionDomainType) type).getElementType() : type;
+                if (referencedType != null) {
+                    referencedTypeNames.add(referencedType.getName());
+                }
+            }
+        }
+
+        private void updateMetadata(Map<Class<?>, Object> metadata) {
+            update(metadata.size());
+            if (!metadata.isEmpty()) {
+                List<Class<?>> keys = new ArrayList<>(metadata.keySet());
+                keys.sort(CLASS_NAME_COMPARATOR);
+                for (Class<?> key : keys) {
+                    update(key.getName());
+                    updateValue(metadata.get(key));
+                }
+            }
+        }
+
+        private void updateValue(Object value) {
+            String serialization = serialize(value);
+            if (serialization == null) {
+                // Fallback to the hash code which is hopefully content based
+                update(value == null ? null : value.getClass().getName() + "@" + value.hashCode());
+            } else {
+                update(serialization);
+            }
+        }
+
+        private String serialize(Object value) {
+            return DomainSerializerTable.serializeSelf(domainModel, value, String.class, "json", Collections.emptyMap());
+        }
+
+        private void update(int value) {
+            digest.update((byte) (value >>> 24));
+            digest.update((byte) (value >>> 16));
+            digest.update((byte) (value >>> 8));
+            digest.update((byte) value);
+        }
+
+        private void update(String value) {
+            update(digest, value);
+        }
+
+        private static void update(MessageDigest digest, String value) {
+            if (value == null) {
+                digest.update((byte) 0);
+            } else {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                digest.update((byte) 1);
+                digest.update(bytes);
+                // Terminate the string so that adjacent strings can't produce the same input
+                digest.update((byte) 0);
+            }
+        }
+    }
+}
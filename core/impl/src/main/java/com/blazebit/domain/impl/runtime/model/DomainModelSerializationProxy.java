@@ -0,0 +1,892 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.impl.runtime.model;
+
+import com.blazebit.domain.boot.model.DomainFunctionBuilder;
+import com.blazebit.domain.boot.model.EntityDomainTypeBuilder;
+import com.blazebit.domain.boot.model.EnumDomainTypeBuilder;
+import com.blazebit.domain.boot.model.MetadataDefinition;
+import com.blazebit.domain.impl.boot.model.DomainBuilderImpl;
+import com.blazebit.domain.runtime.model.CollectionDomainType;
+import com.blazebit.domain.runtime.model.DomainFunction;
+import com.blazebit.domain.runtime.model.DomainFunctionArgument;
+import com.blazebit.domain.runtime.model.DomainFunctionTypeResolver;
+import com.blazebit.domain.runtime.model.DomainFunctionVolatility;
+import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.runtime.model.DomainOperationTypeResolver;
+import com.blazebit.domain.runtime.model.DomainOperator;
+import com.blazebit.domain.runtime.model.DomainPredicate;
+import com.blazebit.domain.runtime.model.DomainPredicateTypeResolver;
+import com.blazebit.domain.runtime.model.DomainType;
+import com.blazebit.domain.runtime.model.EntityDomainType;
+import com.blazebit.domain.runtime.model.EntityDomainTypeAttribute;
+import com.blazebit.domain.runtime.model.EnumDomainType;
+import com.blazebit.domain.runtime.model.EnumDomainTypeValue;
+import com.blazebit.domain.runtime.model.MetadataHolder;
+import com.blazebit.domain.runtime.model.StaticDomainFunctionTypeResolvers;
+import com.blazebit.domain.runtime.model.StaticDomainOperationTypeResolvers;
+import com.blazebit.domain.runtime.model.StaticDomainPredicateTypeResolvers;
+import com.blazebit.domain.spi.DomainModelLookup;
+import com.blazebit.domain.spi.DomainSerializer;
+import com.blazebit.domain.spi.ServiceProvider;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * The serialized form of {@link RootDomainModel} and {@link SubDomainModel}.
+ *
+ * Instead of the object graph, only the definitions that are owned by a model are written into a compact body
+ * that uses a string table for names and refers to types by name. Resolvers of {@link StaticDomainOperationTypeResolvers},
+ * {@link StaticDomainPredicateTypeResolvers} and {@link StaticDomainFunctionTypeResolvers} are written by their factory key and arguments.
+ * The parent model is not written at all, but referred to by the fingerprint of {@link DomainModelFingerprints#getModel()},
+ * so a base model is only serialized once, no matter how many sub models are serialized in how many streams.
+ * On deserialization, the parent model is resolved among the live models that were serialized or deserialized before
+ * and otherwise through the {@link DomainModelLookup} services, so a base model must be deserialized before its sub models in a fresh JVM.
+ * The model is then rebuilt through a {@link DomainBuilderImpl} on top of the parent model.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+final class DomainModelSerializationProxy implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final int VERSION = 2;
+    private static final int KIND_REMOVED = 0;
+    private static final int KIND_BASIC = 1;
+    private static final int KIND_ENTITY = 2;
+    private static final int KIND_ENUM = 3;
+    private static final int RESULT_NONE = 0;
+    private static final int RESULT_SINGULAR = 1;
+    private static final int RESULT_COLLECTION = 2;
+    private static final int RESOLVER_OBJECT = 0;
+    private static final int RESOLVER_FACTORY = 1;
+    private static final int RESOLVER_STATIC_RETURN_TYPE = 2;
+    private static final int ARGUMENT_STRING = 0;
+    private static final int ARGUMENT_INT = 1;
+    private static final int ARGUMENT_ARRAY = 2;
+    private static final Set<Class<?>> RESOLVER_FACTORY_CLASSES = new HashSet<>(Arrays.asList(
+        StaticDomainOperationTypeResolvers.class,
+        StaticDomainPredicateTypeResolvers.class,
+        StaticDomainFunctionTypeResolvers.class
+    ));
+    private static final Map<String, WeakReference<DomainModel>> LIVE_MODELS = new HashMap<>();
+    private static final Comparator<Class<?>> CLASS_NAME_COMPARATOR = Comparator.comparing(Class::getName);
+    private static final DomainOperator[] OPERATORS = DomainOperator.values();
+    private static final DomainPredicate[] PREDICATES = DomainPredicate.values();
+    private static final DomainFunctionVolatility[] VOLATILITIES = DomainFunctionVolatility.values();
+
+    private final String fingerprint;
+    private final String parentFingerprint;
+    private final byte[] body;
+
+    private DomainModelSerializationProxy(String fingerprint, String parentFingerprint, byte[] body) {
+        this.fingerprint = fingerprint;
+        this.parentFingerprint = parentFingerprint;
+        this.body = body;
+    }
+
+    static DomainModelSerializationProxy create(DomainModel domainModel, DomainModel parent, boolean functionsCaseSensitive, Map<String, Object> properties, Map<Class<?>, Object> services, List<ServiceProvider> serviceProviders, Map<String, DomainType> domainTypes, Map<String, DomainFunction> domainFunctions,
+                                                Map<String, DomainFunctionTypeResolver> domainFunctionTypeResolvers, Map<String, Map<DomainOperator, DomainOperationTypeResolver>> domainOperationTypeResolvers,
+                                                Map<String, Map<DomainPredicate, DomainPredicateTypeResolver>> domainPredicateTypeResolvers, DomainType predicateDefaultResultType, List<DomainSerializer<?>> domainSerializers) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (BodyWriter writer = new BodyWriter(baos)) {
+            writer.writeVarInt(VERSION);
+            writer.writeBoolean(functionsCaseSensitive);
+            writer.writeTypes(domainTypes);
+            writer.writeFunctions(domainFunctions);
+            writer.writeFunctionTypeResolvers(domainFunctionTypeResolvers);
+            String predicateDefaultResultTypeName = predicateDefaultResultType == null ? null : predicateDefaultResultType.getName();
+            writer.writeTypeResolvers(domainTypes, domainOperationTypeResolvers, typeName -> StaticDomainOperationTypeResolvers.returning(typeName));
+            writer.writeTypeResolvers(domainTypes, domainPredicateTypeResolvers, predicateDefaultResultTypeName == null ? null : typeName -> StaticDomainPredicateTypeResolvers.returning(predicateDefaultResultTypeName));
+            writer.writeString(predicateDefaultResultTypeName);
+            writer.writeProperties(parent, properties);
+            writer.writeServices(services, serviceProviders);
+            writer.writeSerializers(parent, domainSerializers);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Couldn't serialize the domain model", ex);
+        }
+        String fingerprint = DomainModelFingerprints.of(domainModel).getModel();
+        String parentFingerprint = null;
+        if (parent != null) {
+            // The parent model must be resolvable for deserializing this model in the same JVM
+            parentFingerprint = DomainModelFingerprints.of(parent).getModel();
+            register(parentFingerprint, parent);
+        }
+        return new DomainModelSerializationProxy(fingerprint, parentFingerprint, baos.toByteArray());
+    }
+
+    private Object readResolve() throws ObjectStreamException {
+        DomainModel parent = parentFingerprint == null ? null : lookup(parentFingerprint);
+        try (BodyReader reader = new BodyReader(new ByteArrayInputStream(body))) {
+            int version = reader.readVarInt();
+            if (version != VERSION) {
+                throw new InvalidObjectException("Unsupported domain model serialization version: " + version);
+            }
+            DomainBuilderImpl domainBuilder = parent == null ? new DomainBuilderImpl() : new DomainBuilderImpl(parent);
+            domainBuilder.setFunctionCaseSensitive(reader.readBoolean());
+            reader.readTypes(domainBuilder);
+            reader.readFunctions(domainBuilder);
+            reader.readFunctionTypeResolvers(domainBuilder);
+            reader.readOperationTypeResolvers(domainBuilder);
+            reader.readPredicateTypeResolvers(domainBuilder);
+            domainBuilder.withDefaultPredicateResultType(reader.readString());
+            reader.readProperties(domainBuilder);
+            reader.readServices(domainBuilder);
+            reader.readSerializers(domainBuilder);
+            return register(fingerprint, domainBuilder.build());
+        } catch (IOException | ClassNotFoundException | RuntimeException ex) {
+            InvalidObjectException invalidObjectException = new InvalidObjectException("Couldn't deserialize the domain model: " + ex.getMessage());
+            invalidObjectException.initCause(ex);
+            throw invalidObjectException;
+        }
+    }
+
+    /**
+     * Registers the given domain model as live model for the fingerprint unless another live model is registered already.
+     *
+     * @param fingerprint The fingerprint of the domain model
+     * @param domainModel The domain model
+     * @return the given domain model
+     */
+    private static DomainModel register(String fingerprint, DomainModel domainModel) {
+        synchronized (LIVE_MODELS) {
+            WeakReference<DomainModel> reference = LIVE_MODELS.get(fingerprint);
+            if (reference == null || reference.get() == null) {
+                LIVE_MODELS.values().removeIf(r -> r.get() == null);
+                LIVE_MODELS.put(fingerprint, new WeakReference<>(domainModel));
+            }
+        }
+        return domainModel;
+    }
+
+    private static DomainModel lookup(String fingerprint) throws InvalidObjectException {
+        synchronized (LIVE_MODELS) {
+            WeakReference<DomainModel> reference = LIVE_MODELS.get(fingerprint);
+            DomainModel domainModel = reference == null ? null : reference.get();
+            if (domainModel != null) {
+                return domainModel;
+            }
+        }
+        for (DomainModelLookup domainModelLookup : ServiceLoader.load(DomainModelLookup.class)) {
+            DomainModel domainModel = domainModelLookup.lookup(fingerprint);
+            if (domainModel != null && fingerprint.equals(DomainModelFingerprints.of(domainModel).getModel())) {
+                return register(fingerprint, domainModel);
+            }
+        }
+        throw new InvalidObjectException("Couldn't find the base domain model with the fingerprint '" + fingerprint + "'. Deserialize the base domain model first or provide it through a " + DomainModelLookup.class.getName());
+    }
+
+    /**
+     * Resolves the resolver that the domain builder would register by default for a type, so that it doesn't need to be written.
+     *
+     * @author Christian Beikov
+     * @since 3.0.0
+     */
+    private interface DefaultResolver {
+        Object get(String typeName);
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 3.0.0
+     */
+    private static class BodyWriter extends ObjectOutputStream {
+
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        public BodyWriter(ByteArrayOutputStream out) throws IOException {
+            super(out);
+        }
+
+        public void writeVarInt(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write(value);
+        }
+
+        public void writeString(String string) throws IOException {
+            if (string == null) {
+                writeVarInt(0);
+            } else {
+                Integer index = strings.get(string);
+                if (index == null) {
+                    strings.put(string, strings.size());
+                    writeVarInt(1);
+                    writeUTF(string);
+                } else {
+                    writeVarInt(index + 2);
+                }
+            }
+        }
+
+        public <T extends Enum<T>> void writeEnumSet(Set<T> set) throws IOException {
+            int mask = 0;
+            for (T element : set) {
+                mask |= 1 << element.ordinal();
+            }
+            writeVarInt(mask);
+        }
+
+        public void writeMetadata(MetadataHolder metadataHolder) throws IOException {
+            Map<Class<?>, Object> metadata = metadataHolder.getMetadata();
+            writeVarInt(metadata.size());
+            if (!metadata.isEmpty()) {
+                List<Class<?>> keys = new ArrayList<>(metadata.keySet());
+                keys.sort(CLASS_NAME_COMPARATOR);
+                for (Class<?> key : keys) {
+                    writeObject(key);
+                    writeObject(metadata.get(key));
+                }
+            }
+        }
+
+        public void writeTypes(Map<String, DomainType> domainTypes) throws IOException {
+            List<String> typeNames = new ArrayList<>(domainTypes.size());
+            for (Map.Entry<String, DomainType> entry : domainTypes.entrySet()) {
+                // Union types are created on demand for function arguments
+                if (entry.getValue() == null || entry.getValue().getKind() != DomainType.DomainTypeKind.UNION) {
+                    typeNames.add(entry.getKey());
+                }
+            }
+            Collections.sort(typeNames);
+            writeVarInt(typeNames.size());
+            for (String typeName : typeNames) {
+                DomainType domainType = domainTypes.get(typeName);
+                if (domainType == null) {
+                    writeVarInt(KIND_REMOVED);
+                    writeString(typeName);
+                    continue;
+                }
+                switch (domainType.getKind()) {
+                    case ENTITY:
+                        writeVarInt(KIND_ENTITY);
+                        break;
+                    case ENUM:
+                        writeVarInt(KIND_ENUM);
+                        break;
+                    default:
+                        writeVarInt(KIND_BASIC);
+                        break;
+                }
+                writeString(typeName);
+                writeObject(domainType.getJavaType());
+                writeEnumSet(domainType.getEnabledOperators());
+                writeEnumSet(domainType.getEnabledPredicates());
+                writeMetadata(domainType);
+                if (domainType instanceof EntityDomainType) {
+                    Map<String, ? extends EntityDomainTypeAttribute> attributes = ((EntityDomainType) domainType).getAttributes();
+                    writeBoolean(!(domainType instanceof EntityDomainTypeImpl) || ((EntityDomainTypeImpl) domainType).isCaseSensitive());
+                    writeVarInt(attributes.size());
+                    for (EntityDomainTypeAttribute attribute : attributes.values()) {
+                        writeString(attribute.getName());
+                        writeTypeReference(attribute.getType());
+                        writeMetadata(attribute);
+                    }
+                } else if (domainType instanceof EnumDomainType) {
+                    Map<String, ? extends EnumDomainTypeValue> enumValues = ((EnumDomainType) domainType).getEnumValues();
+                    writeBoolean(!(domainType instanceof EnumDomainTypeImpl) || ((EnumDomainTypeImpl) domainType).isCaseSensitive());
+                    writeVarInt(enumValues.size());
+                    for (EnumDomainTypeValue enumValue : enumValues.values()) {
+                        writeString(enumValue.getValue());
+                        writeMetadata(enumValue);
+                    }
+                }
+            }
+        }
+
+        private void writeTypeReference(DomainType type) throws IOException {
+            if (type instanceof CollectionDomainType) {
+                DomainType elementType = ((CollectionDomainType) type).getElementType();
+                writeBoolean(true);
+                writeString(elementType == null ? null : elementType.getName());
+            } else {
+                writeBoolean(false);
+                writeString(type == null ? null : type.getName());
+            }
+        }
+
+        public void writeFunctions(Map<String, DomainFunction> domainFunctions) throws IOException {
+            List<String> functionNames = new ArrayList<>(domainFunctions.keySet());
+            Collections.sort(functionNames);
+            writeVarInt(functionNames.size());
+            for (String functionName : functionNames) {
+                DomainFunction function = domainFunctions.get(functionName);
+                if (function == null) {
+                    writeBoolean(false);
+                    writeString(functionName);
+                    continue;
+                }
+                writeBoolean(true);
+                writeString(function.getName());
+                writeVarInt(function.getVolatility() == null ? 0 : function.getVolatility().ordinal() + 1);
+                writeVarInt(function.getMinArgumentCount() + 1);
+                writeVarInt(function.getArgumentCount() + 1);
+                List<? extends DomainFunctionArgument> arguments = function.getArguments();
+                boolean named = false;
+                for (DomainFunctionArgument argument : arguments) {
+                    if (argument.getName() != null && !argument.getName().isEmpty()) {
+                        named = true;
+                        break;
+                    }
+                }
+                List<DomainFunctionArgument> writtenArguments = new ArrayList<>(arguments.size());
+                for (DomainFunctionArgument argument : arguments) {
+                    // Named functions are padded with unnamed arguments up to the argument count which is restored on read
+                    if (!named || argument.getName() != null && !argument.getName().isEmpty()) {
+                        writtenArguments.add(argument);
+                    }
+                }
+                writeVarInt(writtenArguments.size());
+                for (DomainFunctionArgument argument : writtenArguments) {
+                    writeString(named ? argument.getName() : null);
+                    writeTypeReference(argument.getType());
+                    writeMetadata(argument);
+                }
+                DomainType resultType = function.getResultType();
+                if (resultType == null) {
+                    writeVarInt(RESULT_NONE);
+                } else if (resultType instanceof CollectionDomainType) {
+                    DomainType elementType = ((CollectionDomainType) resultType).getElementType();
+                    writeVarInt(RESULT_COLLECTION);
+                    writeString(elementType == null ? null : elementType.getName());
+                } else {
+                    writeVarInt(RESULT_SINGULAR);
+                    writeString(resultType.getName());
+                }
+                writeMetadata(function);
+            }
+        }
+
+        public void writeFunctionTypeResolvers(Map<String, DomainFunctionTypeResolver> domainFunctionTypeResolvers) throws IOException {
+            List<String> functionNames = new ArrayList<>(domainFunctionTypeResolvers.size());
+            for (Map.Entry<String, DomainFunctionTypeResolver> entry : domainFunctionTypeResolvers.entrySet()) {
+                // Removed entries are restored when removing the function
+                if (entry.getValue() != null) {
+                    functionNames.add(entry.getKey());
+                }
+            }
+            Collections.sort(functionNames);
+            writeVarInt(functionNames.size());
+            for (String functionName : functionNames) {
+                writeString(functionName);
+                writeResolver(domainFunctionTypeResolvers.get(functionName));
+            }
+        }
+
+        public <T extends Enum<T>> void writeTypeResolvers(Map<String, DomainType> domainTypes, Map<String, ? extends Map<T, ?>> typeResolvers, DefaultResolver defaultResolver) throws IOException {
+            List<String> typeNames = new ArrayList<>(typeResolvers.size());
+            for (Map.Entry<String, ? extends Map<T, ?>> entry : typeResolvers.entrySet()) {
+                // Resolvers of the parent model are copied by the domain builder and removed entries are restored when removing the type
+                if (entry.getValue() != null && domainTypes.get(entry.getKey()) != null) {
+                    typeNames.add(entry.getKey());
+                }
+            }
+            Collections.sort(typeNames);
+            writeVarInt(typeNames.size());
+            for (String typeName : typeNames) {
+                Map<T, ?> resolvers = typeResolvers.get(typeName);
+                Object defaultTypeResolver = defaultResolver == null ? null : defaultResolver.get(typeName);
+                List<T> keys = new ArrayList<>(resolvers.size());
+                for (Map.Entry<T, ?> entry : resolvers.entrySet()) {
+                    // The domain builder registers the default resolvers itself
+                    if (entry.getValue() != defaultTypeResolver) {
+                        keys.add(entry.getKey());
+                    }
+                }
+                Collections.sort(keys);
+                writeString(typeName);
+                writeVarInt(keys.size());
+                for (T key : keys) {
+                    writeVarInt(key.ordinal());
+                    writeResolver(resolvers.get(key));
+                }
+            }
+        }
+
+        private void writeResolver(Object resolver) throws IOException {
+            if (resolver == StaticDomainFunctionTypeResolvers.STATIC_RETURN_TYPE) {
+                writeVarInt(RESOLVER_STATIC_RETURN_TYPE);
+                return;
+            }
+            if (resolver instanceof DomainSerializer<?> && RESOLVER_FACTORY_CLASSES.contains(resolver.getClass().getEnclosingClass())) {
+                // The static resolvers serialize to {"FactoryKey":[arguments]} which is what the reader needs to invoke the factory
+                @SuppressWarnings("unchecked")
+                DomainSerializer<Object> serializer = (DomainSerializer<Object>) resolver;
+                String json = serializer.serialize(null, resolver, String.class, "json", Collections.emptyMap());
+                int keyEnd;
+                if (json != null && json.startsWith("{\"") && (keyEnd = json.indexOf("\":", 2)) != -1 && json.endsWith("}")) {
+                    List<Object> arguments = new ArrayList<>();
+                    if (parseArguments(json, keyEnd + 2, arguments) == json.length() - 1 && arguments.size() == 1) {
+                        writeVarInt(RESOLVER_FACTORY);
+                        writeString(json.substring(2, keyEnd));
+                        writeArgument(arguments.get(0));
+                        return;
+                    }
+                }
+            }
+            writeVarInt(RESOLVER_OBJECT);
+            writeObject(resolver);
+        }
+
+        private static int parseArguments(String json, int index, List<Object> arguments) {
+            if (index >= json.length()) {
+                return -1;
+            }
+            char c = json.charAt(index);
+            if (c == '"') {
+                int end = json.indexOf('"', index + 1);
+                if (end == -1) {
+                    return -1;
+                }
+                arguments.add(json.substring(index + 1, end));
+                return end + 1;
+            } else if (c == '[') {
+                List<Object> elements = new ArrayList<>();
+                index++;
+                if (index < json.length() && json.charAt(index) == ']') {
+                    arguments.add(elements);
+                    return index + 1;
+                }
+                while (true) {
+                    index = parseArguments(json, index, elements);
+                    if (index == -1 || index >= json.length()) {
+                        return -1;
+                    }
+                    c = json.charAt(index++);
+                    if (c == ']') {
+                        arguments.add(elements);
+                        return index;
+                    } else if (c != ',') {
+                        return -1;
+                    }
+                }
+            } else {
+                int end = index;
+                while (end < json.length() && Character.isDigit(json.charAt(end))) {
+                    end++;
+                }
+                if (end == index) {
+                    return -1;
+                }
+                arguments.add(Integer.parseInt(json.substring(index, end)));
+                return end;
+            }
+        }
+
+        private void writeArgument(Object argument) throws IOException {
+            if (argument instanceof String) {
+                writeVarInt(ARGUMENT_STRING);
+                writeString((String) argument);
+            } else if (argument instanceof Integer) {
+                writeVarInt(ARGUMENT_INT);
+                writeVarInt((Integer) argument);
+            } else {
+                List<?> elements = (List<?>) argument;
+                writeVarInt(ARGUMENT_ARRAY);
+                writeVarInt(elements.size());
+                for (Object element : elements) {
+                    writeArgument(element);
+                }
+            }
+        }
+
+        public void writeProperties(DomainModel parent, Map<String, Object> properties) throws IOException {
+            List<String> propertyNames = new ArrayList<>(properties.size());
+            if (parent == null) {
+                propertyNames.addAll(properties.keySet());
+            } else if (properties != parent.getProperties()) {
+                for (Map.Entry<String, Object> entry : properties.entrySet()) {
+                    if (!Objects.equals(entry.getValue(), parent.getProperty(entry.getKey()))) {
+                        propertyNames.add(entry.getKey());
+                    }
+                }
+            }
+            Collections.sort(propertyNames);
+            writeVarInt(propertyNames.size());
+            for (String propertyName : propertyNames) {
+                writeString(propertyName);
+                writeObject(properties.get(propertyName));
+            }
+        }
+
+        public void writeServices(Map<Class<?>, Object> services, List<ServiceProvider> serviceProviders) throws IOException {
+            List<Class<?>> serviceClasses = new ArrayList<>(services.keySet());
+            serviceClasses.sort(CLASS_NAME_COMPARATOR);
+            writeVarInt(serviceClasses.size());
+            for (Class<?> serviceClass : serviceClasses) {
+                writeObject(serviceClass);
+                writeObject(services.get(serviceClass));
+            }
+            writeVarInt(serviceProviders.size());
+            for (ServiceProvider serviceProvider : serviceProviders) {
+                writeObject(serviceProvider);
+            }
+        }
+
+        public void writeSerializers(DomainModel parent, List<DomainSerializer<?>> domainSerializers) throws IOException {
+            List<DomainSerializer<?>> serializers;
+            if (parent == null) {
+                serializers = domainSerializers;
+            } else if (domainSerializers == parent.getDomainSerializers()) {
+                serializers = Collections.emptyList();
+            } else {
+                serializers = new ArrayList<>(domainSerializers);
+                serializers.removeAll(parent.getDomainSerializers());
+            }
+            writeVarInt(serializers.size());
+            for (DomainSerializer<?> serializer : serializers) {
+                writeObject(serializer);
+            }
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 3.0.0
+     */
+    private static class BodyReader extends ObjectInputStream {
+
+        private final List<String> strings = new ArrayList<>();
+
+        public BodyReader(ByteArrayInputStream in) throws IOException {
+            super(in);
+        }
+
+        public int readVarInt() throws IOException {
+            int value = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = readUnsignedByte();
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        public String readString() throws IOException {
+            int index = readVarInt();
+            if (index == 0) {
+                return null;
+            } else if (index == 1) {
+                String string = readUTF();
+                strings.add(string);
+                return string;
+            } else {
+                return strings.get(index - 2);
+            }
+        }
+
+        public <T extends Enum<T>> T[] readEnums(T[] values) throws IOException {
+            int mask = readVarInt();
+            List<T> elements = new ArrayList<>(values.length);
+            for (T value : values) {
+                if ((mask & (1 << value.ordinal())) != 0) {
+                    elements.add(value);
+                }
+            }
+            return elements.toArray(Arrays.copyOf(values, 0));
+        }
+
+        public MetadataDefinition<?>[] readMetadata() throws IOException, ClassNotFoundException {
+            int size = readVarInt();
+            MetadataDefinition<?>[] metadataDefinitions = new MetadataDefinition<?>[size];
+            for (int i = 0; i < size; i++) {
+                Class<?> key = (Class<?>) readObject();
+                metadataDefinitions[i] = new RuntimeMetadataDefinition(key, readObject());
+            }
+            return metadataDefinitions;
+        }
+
+        public void readTypes(DomainBuilderImpl domainBuilder) throws IOException, ClassNotFoundException {
+            int size = readVarInt();
+            for (int i = 0; i < size; i++) {
+                int kind = readVarInt();
+                String typeName = readString();
+                if (kind == KIND_REMOVED) {
+                    domainBuilder.removeType(typeName);
+                    continue;
+                }
+                Class<?> javaType = (Class<?>) readObject();
+                DomainOperator[] operators = readEnums(OPERATORS);
+                DomainPredicate[] predicates = readEnums(PREDICATES);
+                MetadataDefinition<?>[] metadataDefinitions = readMetadata();
+                switch (kind) {
+                    case KIND_ENTITY:
+                        EntityDomainTypeBuilder entityTypeBuilder = domainBuilder.createEntityType(typeName, javaType);
+                        for (MetadataDefinition<?> metadataDefinition : metadataDefinitions) {
+                            entityTypeBuilder.withMetadata(metadataDefinition);
+                        }
+                        entityTypeBuilder.setCaseSensitive(readBoolean());
+                        int attributeCount = readVarInt();
+                        for (int j = 0; j < attributeCount; j++) {
+                            String attributeName = readString();
+                            boolean collection = readBoolean();
+                            String attributeTypeName = readString();
+                            MetadataDefinition<?>[] attributeMetadataDefinitions = readMetadata();
+                            if (collection) {
+                                entityTypeBuilder.addCollectionAttribute(attributeName, attributeTypeName, attributeMetadataDefinitions);
+                            } else {
+                                entityTypeBuilder.addAttribute(attributeName, attributeTypeName, attributeMetadataDefinitions);
+                            }
+                        }
+                        entityTypeBuilder.build();
+                        break;
+                    case KIND_ENUM:
+                        EnumDomainTypeBuilder enumTypeBuilder = domainBuilder.createEnumType(typeName, javaType);
+                        for (MetadataDefinition<?> metadataDefinition : metadataDefinitions) {
+                            enumTypeBuilder.withMetadata(metadataDefinition);
+                        }
+                        enumTypeBuilder.setCaseSensitive(readBoolean());
+                        int valueCount = readVarInt();
+                        for (int j = 0; j < valueCount; j++) {
+                            String value = readString();
+                            enumTypeBuilder.withValue(value, readMetadata());
+                        }
+                        enumTypeBuilder.build();
+                        break;
+                    default:
+                        domainBuilder.createBasicType(typeName, javaType, metadataDefinitions);
+                        break;
+                }
+                if (operators.length != 0) {
+                    domainBuilder.withOperator(typeName, operators);
+                }
+                if (predicates.length != 0) {
+                    domainBuilder.withPredicate(typeName, predicates);
+                }
+            }
+        }
+
+        public void readFunctions(DomainBuilderImpl domainBuilder) throws IOException, ClassNotFoundException {
+            int size = readVarInt();
+            for (int i = 0; i < size; i++) {
+                boolean present = readBoolean();
+                String functionName = readString();
+                if (!present) {
+                    domainBuilder.removeFunction(functionName);
+                    continue;
+                }
+                DomainFunctionBuilder functionBuilder = domainBuilder.createFunction(functionName);
+                int volatility = readVarInt();
+                if (volatility != 0) {
+                    functionBuilder.withVolatility(VOLATILITIES[volatility - 1]);
+                }
+                int minArgumentCount = readVarInt() - 1;
+                int argumentCount = readVarInt() - 1;
+                int argumentSize = readVarInt();
+                for (int j = 0; j < argumentSize; j++) {
+                    String argumentName = readString();
+                    boolean collection = readBoolean();
+                    String argumentTypeName = readString();
+                    MetadataDefinition<?>[] metadataDefinitions = readMetadata();
+                    if (collection) {
+                        functionBuilder.withCollectionArgument(argumentName, argumentTypeName, metadataDefinitions);
+                    } else {
+                        functionBuilder.withArgument(argumentName, argumentTypeName, metadataDefinitions);
+                    }
+                }
+                if (argumentCount != -1) {
+                    functionBuilder.withExactArgumentCount(argumentCount);
+                }
+                functionBuilder.withMinArgumentCount(minArgumentCount);
+                switch (readVarInt()) {
+                    case RESULT_SINGULAR:
+                        functionBuilder.withResultType(readString());
+                        break;
+                    case RESULT_COLLECTION:
+                        String elementTypeName = readString();
+                        if (elementTypeName == null) {
+                            functionBuilder.withCollectionResultType();
+                        } else {
+                            functionBuilder.withCollectionResultType(elementTypeName);
+                        }
+                        break;
+                    default:
+                        break;
+                }
+                for (MetadataDefinition<?> metadataDefinition : readMetadata()) {
+                    functionBuilder.withMetadata(metadataDefinition);
+                }
+                functionBuilder.build();
+            }
+        }
+
+        public void readFunctionTypeResolvers(DomainBuilderImpl domainBuilder) throws IOException, ClassNotFoundException {
+            int size = readVarInt();
+            for (int i = 0; i < size; i++) {
+                String functionName = readString();
+                domainBuilder.withFunctionTypeResolver(functionName, (DomainFunctionTypeResolver) readResolver());
+            }
+        }
+
+        public void readOperationTypeResolvers(DomainBuilderImpl domainBuilder) throws IOException, ClassNotFoundException {
+            int size = readVarInt();
+            for (int i = 0; i < size; i++) {
+                String typeName = readString();
+                int resolverCount = readVarInt();
+                for (int j = 0; j < resolverCount; j++) {
+                    DomainOperator operator = OPERATORS[readVarInt()];
+                    domainBuilder.withOperationTypeResolver(typeName, operator, (DomainOperationTypeResolver) readResolver());
+                }
+            }
+        }
+
+        public void readPredicateTypeResolvers(DomainBuilderImpl domainBuilder) throws IOException, ClassNotFoundException {
+            int size = readVarInt();
+            for (int i = 0; i < size; i++) {
+                String typeName = readString();
+                int resolverCount = readVarInt();
+                for (int j = 0; j < resolverCount; j++) {
+                    DomainPredicate predicate = PREDICATES[readVarInt()];
+                    domainBuilder.withPredicateTypeResolver(typeName, predicate, (DomainPredicateTypeResolver) readResolver());
+                }
+            }
+        }
+
+        private Object readResolver() throws IOException, ClassNotFoundException {
+            switch (readVarInt()) {
+                case RESOLVER_STATIC_RETURN_TYPE:
+                    return StaticDomainFunctionTypeResolvers.STATIC_RETURN_TYPE;
+                case RESOLVER_FACTORY:
+                    String factoryKey = readString();
+                    Object[] arguments = (Object[]) readArgument();
+                    return createResolver(factoryKey, arguments);
+                default:
+                    return readObject();
+            }
+        }
+
+        private Object readArgument() throws IOException {
+            switch (readVarInt()) {
+                case ARGUMENT_STRING:
+                    return readString();
+                case ARGUMENT_INT:
+                    return readVarInt();
+                default:
+                    int size = readVarInt();
+                    Object[] elements = new Object[size];
+                    for (int i = 0; i < size; i++) {
+                        elements[i] = readArgument();
+                    }
+                    return elements;
+            }
+        }
+
+        private static Object createResolver(String factoryKey, Object[] arguments) throws InvalidObjectException {
+            switch (factoryKey) {
+                case "FixedDomainOperationTypeResolver":
+                    return StaticDomainOperationTypeResolvers.returning((String) arguments[0]);
+                case "RestrictedDomainOperationTypeResolver":
+                    return StaticDomainOperationTypeResolvers.returning((String) arguments[0], toStrings(arguments[1]));
+                case "OperandRestrictedDomainOperationTypeResolver":
+                    return StaticDomainOperationTypeResolvers.returning((String) arguments[0], toStringArrays(arguments[1]));
+                case "WidestDomainOperationTypeResolver":
+                    return StaticDomainOperationTypeResolvers.widest(toStrings(arguments[0]));
+                case "FixedDomainPredicateTypeResolver":
+                    return StaticDomainPredicateTypeResolvers.returning((String) arguments[0]);
+                case "RestrictedDomainPredicateTypeResolver":
+                    return StaticDomainPredicateTypeResolvers.returning((String) arguments[0], toStrings(arguments[1]));
+                case "OperandRestrictedDomainPredicateTypeResolver":
+                    return StaticDomainPredicateTypeResolvers.returning((String) arguments[0], toStringArrays(arguments[1]));
+                case "FixedDomainFunctionTypeResolver":
+                    return StaticDomainFunctionTypeResolvers.returning((String) arguments[0]);
+                case "WidestDomainFunctionTypeResolver":
+                    return StaticDomainFunctionTypeResolvers.widest(toStrings(arguments[0]));
+                case "NthArgumentDomainFunctionTypeResolver":
+                    switch ((Integer) arguments[0]) {
+                        case 0:
+                            return StaticDomainFunctionTypeResolvers.FIRST_ARGUMENT_TYPE;
+                        case 1:
+                            return StaticDomainFunctionTypeResolvers.SECOND_ARGUMENT_TYPE;
+                        case 2:
+                            return StaticDomainFunctionTypeResolvers.THIRD_ARGUMENT_TYPE;
+                        case 3:
+                            return StaticDomainFunctionTypeResolvers.FOURTH_ARGUMENT_TYPE;
+                        default:
+                            return StaticDomainFunctionTypeResolvers.nthArgument((Integer) arguments[0]);
+                    }
+                default:
+                    throw new InvalidObjectException("Unknown resolver factory key: " + factoryKey);
+            }
+        }
+
+        private static String[] toStrings(Object argument) {
+            Object[] elements = (Object[]) argument;
+            return Arrays.copyOf(elements, elements.length, String[].class);
+        }
+
+        private static String[][] toStringArrays(Object argument) {
+            Object[] elements = (Object[]) argument;
+            String[][] arrays = new String[elements.length][];
+            for (int i = 0; i < elements.length; i++) {
+                arrays[i] = toStrings(elements[i]);
+            }
+            return arrays;
+        }
+
+        public void readProperties(DomainBuilderImpl domainBuilder) throws IOException, ClassNotFoundException {
+            int size = readVarInt();
+            for (int i = 0; i < size; i++) {
+                String propertyName = readString();
+                domainBuilder.setProperty(propertyName, readObject());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        public void readServices(DomainBuilderImpl domainBuilder) throws IOException, ClassNotFoundException {
+            int size = readVarInt();
+            for (int i = 0; i < size; i++) {
+                Class<Object> serviceClass = (Class<Object>) readObject();
+                domainBuilder.withService(serviceClass, readObject());
+            }
+            int providerCount = readVarInt();
+            for (int i = 0; i < providerCount; i++) {
+                domainBuilder.withServiceProvider((ServiceProvider) readObject());
+            }
+        }
+
+        public void readSerializers(DomainBuilderImpl domainBuilder) throws IOException, ClassNotFoundException {
+            int size = readVarInt();
+            for (int i = 0; i < size; i++) {
+                domainBuilder.withSerializer((DomainSerializer<?>) readObject());
+            }
+        }
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.impl.runtime.model;
+
+import com.blazebit.domain.runtime.model.DomainFunction;
+import com.blazebit.domain.runtime.model.DomainFunctionArgument;
+import com.blazebit.domain.runtime.model.DomainFunctionTypeResolver;
+import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.runtime.model.DomainModelStatistics;
+import com.blazebit.domain.runtime.model.DomainType;
+import com.blazebit.domain.runtime.model.EntityDomainType;
+import com.blazebit.domain.runtime.model.EntityDomainTypeAttribute;
+import com.blazebit.domain.runtime.model.EnumDomainType;
+import com.blazebit.domain.runtime.model.EnumDomainTypeValue;
+import com.blazebit.domain.runtime.model.MetadataHolder;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes the statistics of a domain model through its public API, so that no lookups are reported to a metrics listener.
+ *
+ * The retained size is estimated from the shallow sizes of the domain elements on a 64-bit JVM with compressed references.
+ * Elements are considered to be shared with the parent domain model if the parent returns the same instance for the same name.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public class DomainModelStatisticsImpl implements DomainModelStatistics {
+
+    private static final int MODEL_SIZE = 96;
+    private static final int MAP_ENTRY_SIZE = 36;
+    private static final int OBJECT_SIZE = 16;
+    private static final int TYPE_SIZE = 64;
+    private static final int ATTRIBUTE_SIZE = 32;
+    private static final int ENUM_VALUE_SIZE = 24;
+    private static final int FUNCTION_SIZE = 56;
+    private static final int ARGUMENT_SIZE = 32;
+
+    private final DomainModel domainModel;
+    private final int depth;
+    private final Map<DomainType.DomainTypeKind, Integer> typeCounts;
+    private int typeCount;
+    private int ownTypeCount;
+    private int attributeCount;
+    private int enumValueCount;
+    private int functionCount;
+    private int ownFunctionCount;
+    private int functionTypeResolverCount;
+    private int operationTypeResolverCount;
+    private int predicateTypeResolverCount;
+    private int metadataCount;
+    private long estimatedRetainedSize;
+    private final long estimatedParentRetainedSize;
+
+    /**
+     * Computes the statistics of the given domain model.
+     *
+     * @param domainModel The domain model
+     */
+    public DomainModelStatisticsImpl(DomainModel domainModel) {
+        this.domainModel = domainModel;
+        DomainModel parentModel = domainModel.getParentDomainModel();
+        if (parentModel == null) {
+            this.depth = 0;
+            this.estimatedParentRetainedSize = 0L;
+        } else {
+            DomainModelStatistics parentStatistics = parentModel.getStatistics();
+            this.depth = parentStatistics.getDepth() + 1;
+            this.estimatedParentRetainedSize = parentStatistics.getEstimatedRetainedSize() + parentStatistics.getEstimatedParentRetainedSize();
+        }
+        Map<DomainType.DomainTypeKind, Integer> typeCounts = new EnumMap<>(DomainType.DomainTypeKind.class);
+        // Shared resolver and metadata instances are only accounted for once
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.estimatedRetainedSize = MODEL_SIZE;
+
+        Map<String, DomainType> parentTypes = parentModel == null ? Collections.emptyMap() : parentModel.getTypes();
+        for (Map.Entry<String, DomainType> entry : domainModel.getTypes().entrySet()) {
+            DomainType domainType = entry.getValue();
+            if (domainType == null) {
+                continue;
+            }
+            typeCount++;
+            typeCounts.merge(domainType.getKind(), 1, Integer::sum);
+            boolean own = parentTypes.get(entry.getKey()) != domainType;
+            if (own) {
+                ownTypeCount++;
+                estimatedRetainedSize += MAP_ENTRY_SIZE + TYPE_SIZE + sizeOf(domainType.getName());
+            }
+            visitMetadata(domainType, own, visited);
+            if (domainType instanceof EntityDomainType) {
+                for (EntityDomainTypeAttribute attribute : ((EntityDomainType) domainType).getAttributes().values()) {
+                    attributeCount++;
+                    if (own) {
+                        estimatedRetainedSize += MAP_ENTRY_SIZE + ATTRIBUTE_SIZE + sizeOf(attribute.getName());
+                    }
+                    visitMetadata(attribute, own, visited);
+                }
+            } else if (domainType instanceof EnumDomainType) {
+                for (EnumDomainTypeValue enumValue : ((EnumDomainType) domainType).getEnumValues().values()) {
+                    enumValueCount++;
+                    if (own) {
+                        estimatedRetainedSize += MAP_ENTRY_SIZE + ENUM_VALUE_SIZE + sizeOf(enumValue.getValue());
+                    }
+                    visitMetadata(enumValue, own, visited);
+                }
+            }
+        }
+        this.typeCounts = Collections.unmodifiableMap(typeCounts);
+
+        Map<String, DomainFunction> parentFunctions = parentModel == null ? Collections.emptyMap() : parentModel.getFunctions();
+        for (Map.Entry<String, DomainFunction> entry : domainModel.getFunctions().entrySet()) {
+            DomainFunction function = entry.getValue();
+            if (function == null) {
+                continue;
+            }
+            functionCount++;
+            boolean own = parentFunctions.get(entry.getKey()) != function;
+            if (own) {
+                ownFunctionCount++;
+                estimatedRetainedSize += MAP_ENTRY_SIZE + FUNCTION_SIZE + sizeOf(function.getName());
+            }
+            visitMetadata(function, own, visited);
+            for (DomainFunctionArgument argument : function.getArguments()) {
+                if (own) {
+                    estimatedRetainedSize += ARGUMENT_SIZE + sizeOf(argument.getName());
+                }
+                visitMetadata(argument, own, visited);
+            }
+        }
+
+        Map<String, DomainFunctionTypeResolver> parentFunctionTypeResolvers = parentModel == null ? Collections.emptyMap() : parentModel.getFunctionTypeResolvers();
+        for (Map.Entry<String, DomainFunctionTypeResolver> entry : domainModel.getFunctionTypeResolvers().entrySet()) {
+            if (entry.getValue() != null) {
+                functionTypeResolverCount++;
+                visitResolver(entry.getValue(), parentFunctionTypeResolvers.get(entry.getKey()), visited);
+            }
+        }
+        operationTypeResolverCount = visitResolvers(domainModel.getOperationTypeResolvers(), parentModel == null ? null : parentModel.getOperationTypeResolvers(), visited);
+        predicateTypeResolverCount = visitResolvers(domainModel.getPredicateTypeResolvers(), parentModel == null ? null : parentModel.getPredicateTypeResolvers(), visited);
+    }
+
+    private void visitMetadata(MetadataHolder metadataHolder, boolean own, Set<Object> visited) {
+        Map<Class<?>, Object> metadata = metadataHolder.getMetadata();
+        metadataCount += metadata.size();
+        if (own) {
+            for (Object value : metadata.values()) {
+                estimatedRetainedSize += MAP_ENTRY_SIZE;
+                if (visited.add(value)) {
+                    estimatedRetainedSize += OBJECT_SIZE;
+                }
+            }
+        }
+    }
+
+    private void visitResolver(Object resolver, Object parentResolver, Set<Object> visited) {
+        if (resolver != parentResolver) {
+            estimatedRetainedSize += MAP_ENTRY_SIZE;
+            if (visited.add(resolver)) {
+                estimatedRetainedSize += OBJECT_SIZE;
+            }
+        }
+    }
+
+    private <K, V> int visitResolvers(Map<String, Map<K, V>> resolvers, Map<String, Map<K, V>> parentResolvers, Set<Object> visited) {
+        int count = 0;
+        for (Map.Entry<String, Map<K, V>> typeEntry : resolvers.entrySet()) {
+            if (typeEntry.getValue() == null) {
+                continue;
+            }
+            Map<K, V> parentTypeResolvers = parentResolvers == null ? null : parentResolvers.get(typeEntry.getKey());
+            for (Map.Entry<K, V> entry : typeEntry.getValue().entrySet()) {
+                if (entry.getValue() != null) {
+                    count++;
+                    visitResolver(entry.getValue(), parentTypeResolvers == null ? null : parentTypeResolvers.get(entry.getKey()), visited);
+                }
+            }
+        }
+        return count;
+    }
+
+    private static long sizeOf(String string) {
+        // The string object and its latin1 byte array, each aligned to 8 bytes
+        return string == null ? 0L : 24L + ((16L + string.length() + 7L) & ~7L);
+    }
+
+    @Override
+    public DomainModel getDomainModel() {
+        return domainModel;
+    }
+
+    @Override
+    public int getDepth() {
+        return depth;
+    }
+
+    @Override
+    public int getTypeCount() {
+        return typeCount;
+    }
+
+    @Override
+    public Map<DomainType.DomainTypeKind, Integer> getTypeCounts() {
+        return typeCounts;
+    }
+
+    @Override
+    public int getOwnTypeCount() {
+        return ownTypeCount;
+    }
+
+    @Override
+    public int getAttributeCount() {
+        return attributeCount;
+    }
+
+    @Override
+    public int getEnumValueCount() {
+        return enumValueCount;
+    }
+
+    @Override
+    public int getFunctionCount() {
+        return functionCount;
+    }
+
+    @Override
+    public int getOwnFunctionCount() {
+        return ownFunctionCount;
+    }
+
+    @Override
+    public int getFunctionTypeResolverCount() {
+        return functionTypeResolverCount;
+    }
+
+    @Override
+    public int getOperationTypeResolverCount() {
+        return operationTypeResolverCount;
+    }
+
+    @Override
+    public int getPredicateTypeResolverCount() {
+        return predicateTypeResolverCount;
+    }
+
+    @Override
+    public int getMetadataCount() {
+        return metadataCount;
+    }
+
+    @Override
+    public long getEstimatedRetainedSize() {
+        return estimatedRetainedSize;
+    }
+
+    @Override
+    public long getEstimatedParentRetainedSize() {
+        return estimatedParentRetainedSize;
+    }
+}
@@ -36,6 +36,7 @@ public class EntityDomainTypeImpl extends AbstractDomainType implements EntityDo
 
     private final Map<String, EntityDomainTypeAttributeImpl> attributes;
     private final Map<Class<?>, Object> metadata;
+    private final boolean caseSensitive;
 
     @SuppressWarnings("unchecked")
     public EntityDomainTypeImpl(EntityDomainTypeDefinitionImpl typeDefinition, MetamodelBuildingContext context) {
@@ -54,6 +55,16 @@ public class EntityDomainTypeImpl extends AbstractDomainType implements EntityDo
         }
         this.attributes = attributes;
         this.metadata = context.createMetadata(typeDefinition);
+        this.caseSensitive = typeDefinition.isCaseSensitive();
+    }
+
+    /**
+     * Returns whether attribute names are case sensitive.
+     *
+     * @return whether attribute names are case sensitive
+     */
+    public boolean isCaseSensitive() {
+        return caseSensitive;
     }
 
     @Override
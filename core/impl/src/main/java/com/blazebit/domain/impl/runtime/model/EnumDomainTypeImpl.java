@@ -38,6 +38,7 @@ public class EnumDomainTypeImpl extends AbstractDomainType implements EnumDomain
 
     private final Map<String, EnumDomainTypeValueImpl> enumValues;
     private final Map<Class<?>, Object> metadata;
+    private final boolean caseSensitive;
 
     @SuppressWarnings("unchecked")
     public EnumDomainTypeImpl(EnumDomainTypeDefinitionImpl typeDefinition, MetamodelBuildingContext context) {
@@ -57,6 +58,16 @@ public class EnumDomainTypeImpl extends AbstractDomainType implements EnumDomain
 
         this.enumValues = enumValues;
         this.metadata = context.createMetadata(typeDefinition);
+        this.caseSensitive = typeDefinition.isCaseSensitive();
+    }
+
+    /**
+     * Returns whether enum values are case sensitive.
+     *
+     * @return whether enum values are case sensitive
+     */
+    public boolean isCaseSensitive() {
+        return caseSensitive;
     }
 
     @Override
@@ -16,10 +16,13 @@
 
 package com.blazebit.domain.impl.runtime.model;
 
+import com.blazebit.domain.impl.spi.DomainSerializerTable;
 import com.blazebit.domain.runtime.model.CollectionDomainType;
 import com.blazebit.domain.runtime.model.DomainFunction;
 import com.blazebit.domain.runtime.model.DomainFunctionTypeResolver;
 import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.runtime.model.DomainModelDiff;
+import com.blazebit.domain.runtime.model.DomainModelStatistics;
 import com.blazebit.domain.runtime.model.DomainOperationTypeResolver;
 import com.blazebit.domain.runtime.model.DomainOperator;
 import com.blazebit.domain.runtime.model.DomainPredicate;
@@ -28,10 +31,16 @@ import com.blazebit.domain.runtime.model.DomainType;
 import com.blazebit.domain.runtime.model.EntityDomainType;
 import com.blazebit.domain.runtime.model.EnumDomainType;
 import com.blazebit.domain.runtime.model.StaticDomainFunctionTypeResolvers;
+import com.blazebit.domain.spi.DomainMetricsListener;
 import com.blazebit.domain.spi.DomainSerializer;
 import com.blazebit.domain.spi.ServiceProvider;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -47,26 +56,38 @@ public class RootDomainModel implements DomainModel, Serializable {
     private final Map<String, DomainType> domainTypes;
     private final Map<String, CollectionDomainType> collectionDomainTypes;
     private final Map<String, DomainFunction> domainFunctions;
+    private final boolean functionsCaseSensitive;
+    private final transient Map<String, String> functionKeys;
     private final Map<String, DomainFunctionTypeResolver> domainFunctionTypeResolvers;
     private final Map<String, Map<DomainOperator, DomainOperationTypeResolver>> domainOperationTypeResolvers;
     private final Map<String, Map<DomainPredicate, DomainPredicateTypeResolver>> domainPredicateTypeResolvers;
     private final DomainType predicateDefaultResultType;
     private final List<DomainSerializer<?>> domainSerializers;
+    private final transient DomainSerializerTable domainSerializerTable;
+    private final transient DomainMetricsListener metricsListener;
+    // Held softly, as the proxy is only a cache for repeated serialization and as big as the serialized model
+    private transient volatile SoftReference<DomainModelSerializationProxy> serializationProxy;
+    private transient volatile DomainModelFingerprints fingerprints;
 
     public RootDomainModel(Map<String, Object> properties, Map<Class<?>, Object> services, List<ServiceProvider> serviceProviders, Map<String, DomainType> domainTypes, Map<String, CollectionDomainType> collectionDomainTypes, Map<String, DomainFunction> domainFunctions,
-                           Map<String, DomainFunctionTypeResolver> domainFunctionTypeResolvers, Map<String, Map<DomainOperator, DomainOperationTypeResolver>> domainOperationTypeResolvers,
-                           Map<String, Map<DomainPredicate, DomainPredicateTypeResolver>> domainPredicateTypeResolvers, DomainType predicateDefaultResultType, List<DomainSerializer<?>> domainSerializers) {
+                           boolean functionsCaseSensitive, Map<String, DomainFunctionTypeResolver> domainFunctionTypeResolvers, Map<String, Map<DomainOperator, DomainOperationTypeResolver>> domainOperationTypeResolvers,
+                           Map<String, Map<DomainPredicate, DomainPredicateTypeResolver>> domainPredicateTypeResolvers, DomainType predicateDefaultResultType, List<DomainSerializer<?>> domainSerializers,
+                           DomainMetricsListener metricsListener) {
         this.properties = properties;
         this.services = services;
         this.serviceProviders = serviceProviders;
         this.domainTypes = domainTypes;
         this.collectionDomainTypes = collectionDomainTypes;
         this.domainFunctions = domainFunctions;
+        this.functionsCaseSensitive = functionsCaseSensitive;
+        this.functionKeys = createFunctionKeys(domainFunctions, functionsCaseSensitive);
         this.domainFunctionTypeResolvers = domainFunctionTypeResolvers;
         this.domainOperationTypeResolvers = domainOperationTypeResolvers;
         this.domainPredicateTypeResolvers = domainPredicateTypeResolvers;
         this.predicateDefaultResultType = predicateDefaultResultType;
         this.domainSerializers = domainSerializers;
+        this.domainSerializerTable = new DomainSerializerTable(domainSerializers);
+        this.metricsListener = metricsListener;
     }
 
     @Override
@@ -76,6 +97,14 @@ public class RootDomainModel implements DomainModel, Serializable {
 
     @Override
     public DomainType getType(String name) {
+        DomainType domainType = findType(name);
+        if (metricsListener != null) {
+            metricsListener.onTypeLookup(this, name, domainType);
+        }
+        return domainType;
+    }
+
+    DomainType findType(String name) {
         if (name.startsWith("Collection")) {
             if (name.length() == "Collection".length()) {
                 return CollectionDomainTypeImpl.INSTANCE;
@@ -103,12 +132,18 @@ public class RootDomainModel implements DomainModel, Serializable {
             return CollectionDomainTypeImpl.INSTANCE;
         }
         CollectionDomainType collectionDomainType = collectionDomainTypes.get(elementTypeName);
+        if (metricsListener != null) {
+            metricsListener.onCacheLookup(this, DomainMetricsListener.COLLECTION_TYPE_CACHE, collectionDomainType != null);
+        }
         if (collectionDomainType == null) {
             DomainTypeImplementor domainType = (DomainTypeImplementor) domainTypes.get(elementTypeName);
 
             String typeName = "Collection[" + elementTypeName + "]";
             collectionDomainType = new CollectionDomainTypeImpl(typeName, domainType);
-            collectionDomainTypes.put(elementTypeName, collectionDomainType);
+            CollectionDomainType existingCollectionDomainType = collectionDomainTypes.putIfAbsent(elementTypeName, collectionDomainType);
+            if (existingCollectionDomainType != null) {
+                collectionDomainType = existingCollectionDomainType;
+            }
         }
         return collectionDomainType;
     }
@@ -120,7 +155,57 @@ public class RootDomainModel implements DomainModel, Serializable {
 
     @Override
     public DomainFunction getFunction(String name) {
-        return domainFunctions.get(name.toUpperCase());
+        DomainFunction function = findFunction(name);
+        if (metricsListener != null) {
+            metricsListener.onFunctionLookup(this, name, function);
+        }
+        return function;
+    }
+
+    DomainFunction findFunction(String name) {
+        DomainFunction function = domainFunctions.get(name);
+        if (function == null) {
+            String key = toFunctionKey(name);
+            if (!key.equals(name)) {
+                function = domainFunctions.get(key);
+            }
+        }
+        return function;
+    }
+
+    /**
+     * Function names are stored upper case, so that lookups are case insensitive. To avoid converting the name on every lookup,
+     * the declared function names are mapped to their keys. The case insensitive maps used when functions are not case sensitive don't need such a mapping.
+     * A sub domain model only maps its own functions and finds the keys of inherited functions through its base domain model.
+     *
+     * @param domainFunctions The domain functions
+     * @param functionsCaseSensitive Whether the function names are case sensitive
+     * @return the keys of the domain functions by declared function name
+     */
+    static Map<String, String> createFunctionKeys(Map<String, DomainFunction> domainFunctions, boolean functionsCaseSensitive) {
+        if (!functionsCaseSensitive) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> functionKeys = new HashMap<>();
+        for (Map.Entry<String, DomainFunction> entry : domainFunctions.entrySet()) {
+            DomainFunction function = entry.getValue();
+            if (function != null && !function.getName().equals(entry.getKey())) {
+                functionKeys.put(function.getName(), entry.getKey());
+            }
+        }
+        return functionKeys.isEmpty() ? Collections.emptyMap() : functionKeys;
+    }
+
+    String findFunctionKey(String name) {
+        return functionKeys.get(name);
+    }
+
+    private String toFunctionKey(String name) {
+        if (!functionsCaseSensitive) {
+            return name;
+        }
+        String key = functionKeys.get(name);
+        return key == null ? name.toUpperCase() : key;
     }
 
     public Map<String, DomainFunction> getFunctions() {
@@ -129,7 +214,21 @@ public class RootDomainModel implements DomainModel, Serializable {
 
     @Override
     public DomainFunctionTypeResolver getFunctionTypeResolver(String functionName) {
-        DomainFunctionTypeResolver typeResolver = domainFunctionTypeResolvers.get(functionName.toUpperCase());
+        DomainFunctionTypeResolver typeResolver = findFunctionTypeResolver(functionName);
+        if (metricsListener != null) {
+            metricsListener.onFunctionTypeResolverLookup(this, functionName, typeResolver);
+        }
+        return typeResolver;
+    }
+
+    DomainFunctionTypeResolver findFunctionTypeResolver(String functionName) {
+        DomainFunctionTypeResolver typeResolver = domainFunctionTypeResolvers.get(functionName);
+        if (typeResolver == null) {
+            String key = toFunctionKey(functionName);
+            if (!key.equals(functionName)) {
+                typeResolver = domainFunctionTypeResolvers.get(key);
+            }
+        }
         if (typeResolver == null) {
             return StaticDomainFunctionTypeResolvers.STATIC_RETURN_TYPE;
         }
@@ -143,12 +242,28 @@ public class RootDomainModel implements DomainModel, Serializable {
 
     @Override
     public DomainOperationTypeResolver getOperationTypeResolver(String typeName, DomainOperator operator) {
+        DomainOperationTypeResolver typeResolver = findOperationTypeResolver(typeName, operator);
+        if (metricsListener != null) {
+            metricsListener.onOperationTypeResolverLookup(this, typeName, operator, typeResolver);
+        }
+        return typeResolver;
+    }
+
+    DomainOperationTypeResolver findOperationTypeResolver(String typeName, DomainOperator operator) {
         Map<DomainOperator, DomainOperationTypeResolver> operationTypeResolverMap = domainOperationTypeResolvers.get(typeName);
         return operationTypeResolverMap == null ? null : operationTypeResolverMap.get(operator);
     }
 
     @Override
     public DomainPredicateTypeResolver getPredicateTypeResolver(String typeName, DomainPredicate predicateType) {
+        DomainPredicateTypeResolver typeResolver = findPredicateTypeResolver(typeName, predicateType);
+        if (metricsListener != null) {
+            metricsListener.onPredicateTypeResolverLookup(this, typeName, predicateType, typeResolver);
+        }
+        return typeResolver;
+    }
+
+    DomainPredicateTypeResolver findPredicateTypeResolver(String typeName, DomainPredicate predicateType) {
         Map<DomainPredicate, DomainPredicateTypeResolver> predicateTypeResolverMap = domainPredicateTypeResolvers.get(typeName);
         return predicateTypeResolverMap == null ? null : predicateTypeResolverMap.get(predicateType);
     }
@@ -175,16 +290,23 @@ public class RootDomainModel implements DomainModel, Serializable {
 
     @Override
     public <T> T serialize(DomainModel baseModel, Class<T> targetType, String format, Map<String, Object> properties) {
-        for (DomainSerializer<?> domainSerializer : domainSerializers) {
-            if (domainSerializer.canSerialize(this)) {
-                T result = ((DomainSerializer<DomainModel>) domainSerializer).serialize(this, baseModel, this, targetType, format, properties);
-                if (result != null) {
-                    return result;
-                }
-            }
+        if (metricsListener == null) {
+            return domainSerializerTable.serialize(this, baseModel, this, targetType, format, properties);
         }
+        long start = System.nanoTime();
+        T result = domainSerializerTable.serialize(this, baseModel, this, targetType, format, properties);
+        metricsListener.onSerialization(this, baseModel, format, DomainSerializerTable.sizeOf(result), System.nanoTime() - start);
+        return result;
+    }
 
-        return null;
+    @Override
+    public DomainModelDiff diff(DomainModel targetModel) {
+        return new DomainModelDiffImpl(this, targetModel);
+    }
+
+    @Override
+    public DomainModelStatistics getStatistics() {
+        return new DomainModelStatisticsImpl(this);
     }
 
     @Override
@@ -211,4 +333,52 @@ public class RootDomainModel implements DomainModel, Serializable {
         }
         return null;
     }
+
+    DomainSerializerTable getDomainSerializerTable() {
+        return domainSerializerTable;
+    }
+
+    DomainModelFingerprints getFingerprints() {
+        DomainModelFingerprints domainModelFingerprints = fingerprints;
+        if (domainModelFingerprints == null) {
+            domainModelFingerprints = DomainModelFingerprints.create(this);
+            fingerprints = domainModelFingerprints;
+        }
+        return domainModelFingerprints;
+    }
+
+    DomainModelSerializationProxy getSerializationProxy() {
+        SoftReference<DomainModelSerializationProxy> proxyReference = serializationProxy;
+        DomainModelSerializationProxy proxy = proxyReference == null ? null : proxyReference.get();
+        if (metricsListener != null) {
+            metricsListener.onCacheLookup(this, DomainMetricsListener.SERIALIZATION_PROXY_CACHE, proxy != null);
+        }
+        if (proxy == null) {
+            proxy = DomainModelSerializationProxy.create(
+                this,
+                null,
+                functionsCaseSensitive,
+                properties,
+                services,
+                serviceProviders,
+                domainTypes,
+                domainFunctions,
+                domainFunctionTypeResolvers,
+                domainOperationTypeResolvers,
+                domainPredicateTypeResolvers,
+                predicateDefaultResultType,
+                domainSerializers
+            );
+            serializationProxy = new SoftReference<>(proxy);
+        }
+        return proxy;
+    }
+
+    private Object writeReplace() {
+        return getSerializationProxy();
+    }
+
+    private void readObject(ObjectInputStream stream) throws InvalidObjectException {
+        throw new InvalidObjectException("Serialization proxy required");
+    }
 }
@@ -16,10 +16,13 @@
 
 package com.blazebit.domain.impl.runtime.model;
 
+import com.blazebit.domain.impl.spi.DomainSerializerTable;
 import com.blazebit.domain.runtime.model.CollectionDomainType;
 import com.blazebit.domain.runtime.model.DomainFunction;
 import com.blazebit.domain.runtime.model.DomainFunctionTypeResolver;
 import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.runtime.model.DomainModelDiff;
+import com.blazebit.domain.runtime.model.DomainModelStatistics;
 import com.blazebit.domain.runtime.model.DomainOperationTypeResolver;
 import com.blazebit.domain.runtime.model.DomainOperator;
 import com.blazebit.domain.runtime.model.DomainPredicate;
@@ -27,10 +30,14 @@ import com.blazebit.domain.runtime.model.DomainPredicateTypeResolver;
 import com.blazebit.domain.runtime.model.DomainType;
 import com.blazebit.domain.runtime.model.EntityDomainType;
 import com.blazebit.domain.runtime.model.EnumDomainType;
+import com.blazebit.domain.spi.DomainMetricsListener;
 import com.blazebit.domain.spi.DomainSerializer;
 import com.blazebit.domain.spi.ServiceProvider;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -50,15 +57,23 @@ public class SubDomainModel implements DomainModel, Serializable {
     private final Map<String, DomainType> domainTypes;
     private final Map<String, CollectionDomainType> collectionDomainTypes;
     private final Map<String, DomainFunction> domainFunctions;
+    private final boolean functionsCaseSensitive;
+    private final transient Map<String, String> functionKeys;
     private final Map<String, DomainFunctionTypeResolver> domainFunctionTypeResolvers;
     private final Map<String, Map<DomainOperator, DomainOperationTypeResolver>> domainOperationTypeResolvers;
     private final Map<String, Map<DomainPredicate, DomainPredicateTypeResolver>> domainPredicateTypeResolvers;
     private final DomainType predicateDefaultResultType;
     private final List<DomainSerializer<?>> domainSerializers;
+    private final transient DomainSerializerTable domainSerializerTable;
+    private final transient DomainMetricsListener metricsListener;
+    // Held softly, as the proxy is only a cache for repeated serialization and as big as the serialized model
+    private transient volatile SoftReference<DomainModelSerializationProxy> serializationProxy;
+    private transient volatile DomainModelFingerprints fingerprints;
 
     public SubDomainModel(DomainModel baseModel, Map<String, Object> properties, Map<Class<?>, Object> services, List<ServiceProvider> serviceProviders, Map<String, DomainType> domainTypes, Map<String, CollectionDomainType> collectionDomainTypes, Map<String, DomainFunction> domainFunctions,
-                          Map<String, DomainFunctionTypeResolver> domainFunctionTypeResolvers, Map<String, Map<DomainOperator, DomainOperationTypeResolver>> domainOperationTypeResolvers,
-                          Map<String, Map<DomainPredicate, DomainPredicateTypeResolver>> domainPredicateTypeResolvers, DomainType predicateDefaultResultType, List<DomainSerializer<?>> domainSerializers) {
+                          boolean functionsCaseSensitive, Map<String, DomainFunctionTypeResolver> domainFunctionTypeResolvers, Map<String, Map<DomainOperator, DomainOperationTypeResolver>> domainOperationTypeResolvers,
+                          Map<String, Map<DomainPredicate, DomainPredicateTypeResolver>> domainPredicateTypeResolvers, DomainType predicateDefaultResultType, List<DomainSerializer<?>> domainSerializers,
+                          DomainMetricsListener metricsListener) {
         this.baseModel = baseModel;
         this.properties = properties;
         this.services = services;
@@ -66,11 +81,15 @@ public class SubDomainModel implements DomainModel, Serializable {
         this.domainTypes = domainTypes;
         this.collectionDomainTypes = collectionDomainTypes;
         this.domainFunctions = domainFunctions;
+        this.functionsCaseSensitive = functionsCaseSensitive;
+        this.functionKeys = RootDomainModel.createFunctionKeys(domainFunctions, functionsCaseSensitive);
         this.domainFunctionTypeResolvers = domainFunctionTypeResolvers;
         this.domainOperationTypeResolvers = domainOperationTypeResolvers;
         this.domainPredicateTypeResolvers = domainPredicateTypeResolvers;
         this.predicateDefaultResultType = predicateDefaultResultType;
         this.domainSerializers = domainSerializers;
+        this.domainSerializerTable = new DomainSerializerTable(mergeDomainSerializers(domainSerializers, baseModel.getDomainSerializers()));
+        this.metricsListener = metricsListener;
     }
 
     @Override
@@ -80,6 +99,14 @@ public class SubDomainModel implements DomainModel, Serializable {
 
     @Override
     public DomainType getType(String name) {
+        DomainType domainType = findType(name);
+        if (metricsListener != null) {
+            metricsListener.onTypeLookup(this, name, domainType);
+        }
+        return domainType;
+    }
+
+    DomainType findType(String name) {
         if (name.startsWith("Collection")) {
             if (name.length() == "Collection".length()) {
                 return CollectionDomainTypeImpl.INSTANCE;
@@ -94,7 +121,7 @@ public class SubDomainModel implements DomainModel, Serializable {
     private DomainType getBaseType(String name) {
         DomainType domainType = domainTypes.get(name);
         if (domainType == null) {
-            DomainType type = baseModel.getType(name);
+            DomainType type = findType(baseModel, name);
             if (type != null && !domainTypes.containsKey(name)) {
                 return type;
             }
@@ -132,6 +159,9 @@ public class SubDomainModel implements DomainModel, Serializable {
             return CollectionDomainTypeImpl.INSTANCE;
         }
         CollectionDomainType collectionDomainType = collectionDomainTypes.get(elementTypeName);
+        if (metricsListener != null) {
+            metricsListener.onCacheLookup(this, DomainMetricsListener.COLLECTION_TYPE_CACHE, collectionDomainType != null);
+        }
         if (collectionDomainType == null) {
             DomainType baseType = getBaseType(elementTypeName);
             collectionDomainType = baseModel.getCollectionType(elementTypeName);
@@ -146,7 +176,10 @@ public class SubDomainModel implements DomainModel, Serializable {
                 }
                 String typeName = "Collection[" + elementTypeName + "]";
                 collectionDomainType = new CollectionDomainTypeImpl(typeName, (DomainTypeImplementor) baseType);
-                collectionDomainTypes.put(elementTypeName, collectionDomainType);
+                CollectionDomainType existingCollectionDomainType = collectionDomainTypes.putIfAbsent(elementTypeName, collectionDomainType);
+                if (existingCollectionDomainType != null) {
+                    collectionDomainType = existingCollectionDomainType;
+                }
             }
             return collectionDomainType;
         }
@@ -170,10 +203,38 @@ public class SubDomainModel implements DomainModel, Serializable {
 
     @Override
     public DomainFunction getFunction(String name) {
-        String key = name.toUpperCase();
+        DomainFunction function = findFunction(name);
+        if (metricsListener != null) {
+            metricsListener.onFunctionLookup(this, name, function);
+        }
+        return function;
+    }
+
+    String findFunctionKey(String name) {
+        String key = functionKeys.get(name);
+        if (key == null) {
+            return findFunctionKey(baseModel, name);
+        }
+        return key;
+    }
+
+    private String toFunctionKey(String name) {
+        if (!functionsCaseSensitive) {
+            return name;
+        }
+        String key = findFunctionKey(name);
+        return key == null ? name.toUpperCase() : key;
+    }
+
+    DomainFunction findFunction(String name) {
+        String key = name;
         DomainFunction domainFunction = domainFunctions.get(key);
+        if (domainFunction == null && !domainFunctions.containsKey(key)) {
+            key = toFunctionKey(name);
+            domainFunction = domainFunctions.get(key);
+        }
         if (domainFunction == null) {
-            DomainFunction function = baseModel.getFunction(name);
+            DomainFunction function = findFunction(baseModel, name);
             if (function != null && !domainFunctions.containsKey(key)) {
                 return function;
             }
@@ -197,10 +258,22 @@ public class SubDomainModel implements DomainModel, Serializable {
 
     @Override
     public DomainFunctionTypeResolver getFunctionTypeResolver(String functionName) {
-        String key = functionName.toUpperCase();
+        DomainFunctionTypeResolver typeResolver = findFunctionTypeResolver(functionName);
+        if (metricsListener != null) {
+            metricsListener.onFunctionTypeResolverLookup(this, functionName, typeResolver);
+        }
+        return typeResolver;
+    }
+
+    DomainFunctionTypeResolver findFunctionTypeResolver(String functionName) {
+        String key = functionName;
         DomainFunctionTypeResolver typeResolver = domainFunctionTypeResolvers.get(key);
+        if (typeResolver == null && !domainFunctionTypeResolvers.containsKey(key)) {
+            key = toFunctionKey(functionName);
+            typeResolver = domainFunctionTypeResolvers.get(key);
+        }
         if (typeResolver == null) {
-            DomainFunctionTypeResolver functionTypeResolver = baseModel.getFunctionTypeResolver(functionName);
+            DomainFunctionTypeResolver functionTypeResolver = findFunctionTypeResolver(baseModel, functionName);
             if (functionTypeResolver != null && !domainFunctionTypeResolvers.containsKey(key)) {
                 return functionTypeResolver;
             }
@@ -225,10 +298,18 @@ public class SubDomainModel implements DomainModel, Serializable {
 
     @Override
     public DomainOperationTypeResolver getOperationTypeResolver(String typeName, DomainOperator operator) {
+        DomainOperationTypeResolver typeResolver = findOperationTypeResolver(typeName, operator);
+        if (metricsListener != null) {
+            metricsListener.onOperationTypeResolverLookup(this, typeName, operator, typeResolver);
+        }
+        return typeResolver;
+    }
+
+    DomainOperationTypeResolver findOperationTypeResolver(String typeName, DomainOperator operator) {
         Map<DomainOperator, DomainOperationTypeResolver> operationTypeResolverMap = domainOperationTypeResolvers.get(typeName);
         DomainOperationTypeResolver resolver;
         if (operationTypeResolverMap == null || (resolver = operationTypeResolverMap.get(operator)) == null) {
-            DomainOperationTypeResolver operationTypeResolver = baseModel.getOperationTypeResolver(typeName, operator);
+            DomainOperationTypeResolver operationTypeResolver = findOperationTypeResolver(baseModel, typeName, operator);
             if (operationTypeResolver != null && !domainOperationTypeResolvers.containsKey(typeName)) {
                 return operationTypeResolver;
             }
@@ -239,10 +320,18 @@ public class SubDomainModel implements DomainModel, Serializable {
 
     @Override
     public DomainPredicateTypeResolver getPredicateTypeResolver(String typeName, DomainPredicate predicateType) {
+        DomainPredicateTypeResolver typeResolver = findPredicateTypeResolver(typeName, predicateType);
+        if (metricsListener != null) {
+            metricsListener.onPredicateTypeResolverLookup(this, typeName, predicateType, typeResolver);
+        }
+        return typeResolver;
+    }
+
+    DomainPredicateTypeResolver findPredicateTypeResolver(String typeName, DomainPredicate predicateType) {
         Map<DomainPredicate, DomainPredicateTypeResolver> predicateTypeResolverMap = domainPredicateTypeResolvers.get(typeName);
         DomainPredicateTypeResolver resolver;
         if (predicateTypeResolverMap == null || (resolver = predicateTypeResolverMap.get(predicateType)) == null) {
-            DomainPredicateTypeResolver predicateTypeResolver = baseModel.getPredicateTypeResolver(typeName, predicateType);
+            DomainPredicateTypeResolver predicateTypeResolver = findPredicateTypeResolver(baseModel, typeName, predicateType);
             if (predicateTypeResolver != null && !domainPredicateTypeResolvers.containsKey(typeName)) {
                 return predicateTypeResolver;
             }
@@ -298,7 +387,66 @@ public class SubDomainModel implements DomainModel, Serializable {
 
     @Override
     public List<DomainSerializer<?>> getDomainSerializers() {
-        List<DomainSerializer<?>> baseModelDomainSerializers = baseModel.getDomainSerializers();
+        return domainSerializerTable.getDomainSerializers();
+    }
+
+    // Lookups in the base model must not be reported to the metrics listener again
+
+    private static DomainType findType(DomainModel domainModel, String name) {
+        if (domainModel instanceof RootDomainModel) {
+            return ((RootDomainModel) domainModel).findType(name);
+        } else if (domainModel instanceof SubDomainModel) {
+            return ((SubDomainModel) domainModel).findType(name);
+        }
+        return domainModel.getType(name);
+    }
+
+    private static String findFunctionKey(DomainModel domainModel, String name) {
+        if (domainModel instanceof RootDomainModel) {
+            return ((RootDomainModel) domainModel).findFunctionKey(name);
+        } else if (domainModel instanceof SubDomainModel) {
+            return ((SubDomainModel) domainModel).findFunctionKey(name);
+        }
+        return null;
+    }
+
+    private static DomainFunction findFunction(DomainModel domainModel, String name) {
+        if (domainModel instanceof RootDomainModel) {
+            return ((RootDomainModel) domainModel).findFunction(name);
+        } else if (domainModel instanceof SubDomainModel) {
+            return ((SubDomainModel) domainModel).findFunction(name);
+        }
+        return domainModel.getFunction(name);
+    }
+
+    private static DomainFunctionTypeResolver findFunctionTypeResolver(DomainModel domainModel, String functionName) {
+        if (domainModel instanceof RootDomainModel) {
+            return ((RootDomainModel) domainModel).findFunctionTypeResolver(functionName);
+        } else if (domainModel instanceof SubDomainModel) {
+            return ((SubDomainModel) domainModel).findFunctionTypeResolver(functionName);
+        }
+        return domainModel.getFunctionTypeResolver(functionName);
+    }
+
+    private static DomainOperationTypeResolver findOperationTypeResolver(DomainModel domainModel, String typeName, DomainOperator operator) {
+        if (domainModel instanceof RootDomainModel) {
+            return ((RootDomainModel) domainModel).findOperationTypeResolver(typeName, operator);
+        } else if (domainModel instanceof SubDomainModel) {
+            return ((SubDomainModel) domainModel).findOperationTypeResolver(typeName, operator);
+        }
+        return domainModel.getOperationTypeResolver(typeName, operator);
+    }
+
+    private static DomainPredicateTypeResolver findPredicateTypeResolver(DomainModel domainModel, String typeName, DomainPredicate predicateType) {
+        if (domainModel instanceof RootDomainModel) {
+            return ((RootDomainModel) domainModel).findPredicateTypeResolver(typeName, predicateType);
+        } else if (domainModel instanceof SubDomainModel) {
+            return ((SubDomainModel) domainModel).findPredicateTypeResolver(typeName, predicateType);
+        }
+        return domainModel.getPredicateTypeResolver(typeName, predicateType);
+    }
+
+    private static List<DomainSerializer<?>> mergeDomainSerializers(List<DomainSerializer<?>> domainSerializers, List<DomainSerializer<?>> baseModelDomainSerializers) {
         if (domainSerializers.isEmpty() && baseModelDomainSerializers.isEmpty()) {
             return Collections.emptyList();
         }
@@ -310,24 +458,23 @@ public class SubDomainModel implements DomainModel, Serializable {
 
     @Override
     public <T> T serialize(DomainModel baseModel, Class<T> targetType, String format, Map<String, Object> properties) {
-        for (DomainSerializer<?> domainSerializer : domainSerializers) {
-            if (domainSerializer.canSerialize(this)) {
-                T result = ((DomainSerializer<DomainModel>) domainSerializer).serialize(this, baseModel, this, targetType, format, properties);
-                if (result != null) {
-                    return result;
-                }
-            }
-        }
-        for (DomainSerializer<?> domainSerializer : baseModel.getDomainSerializers()) {
-            if (domainSerializer.canSerialize(this)) {
-                T result = ((DomainSerializer<DomainModel>) domainSerializer).serialize(this, baseModel, this, targetType, format, properties);
-                if (result != null) {
-                    return result;
-                }
-            }
+        if (metricsListener == null) {
+            return domainSerializerTable.serialize(this, baseModel, this, targetType, format, properties);
         }
+        long start = System.nanoTime();
+        T result = domainSerializerTable.serialize(this, baseModel, this, targetType, format, properties);
+        metricsListener.onSerialization(this, baseModel, format, DomainSerializerTable.sizeOf(result), System.nanoTime() - start);
+        return result;
+    }
 
-        return null;
+    @Override
+    public DomainModelDiff diff(DomainModel targetModel) {
+        return new DomainModelDiffImpl(this, targetModel);
+    }
+
+    @Override
+    public DomainModelStatistics getStatistics() {
+        return new DomainModelStatisticsImpl(this);
     }
 
     @Override
@@ -354,4 +501,52 @@ public class SubDomainModel implements DomainModel, Serializable {
         }
         return baseModel.getService(serviceClass);
     }
+
+    DomainSerializerTable getDomainSerializerTable() {
+        return domainSerializerTable;
+    }
+
+    DomainModelFingerprints getFingerprints() {
+        DomainModelFingerprints domainModelFingerprints = fingerprints;
+        if (domainModelFingerprints == null) {
+            domainModelFingerprints = DomainModelFingerprints.create(this);
+            fingerprints = domainModelFingerprints;
+        }
+        return domainModelFingerprints;
+    }
+
+    DomainModelSerializationProxy getSerializationProxy() {
+        SoftReference<DomainModelSerializationProxy> proxyReference = serializationProxy;
+        DomainModelSerializationProxy proxy = proxyReference == null ? null : proxyReference.get();
+        if (metricsListener != null) {
+            metricsListener.onCacheLookup(this, DomainMetricsListener.SERIALIZATION_PROXY_CACHE, proxy != null);
+        }
+        if (proxy == null) {
+            proxy = DomainModelSerializationProxy.create(
+                this,
+                baseModel,
+                functionsCaseSensitive,
+                properties,
+                services,
+                serviceProviders,
+                domainTypes,
+                domainFunctions,
+                domainFunctionTypeResolvers,
+                domainOperationTypeResolvers,
+                domainPredicateTypeResolvers,
+                predicateDefaultResultType,
+                domainSerializers
+            );
+            serializationProxy = new SoftReference<>(proxy);
+        }
+        return proxy;
+    }
+
+    private Object writeReplace() {
+        return getSerializationProxy();
+    }
+
+    private void readObject(ObjectInputStream stream) throws InvalidObjectException {
+        throw new InvalidObjectException("Serialization proxy required");
+    }
 }
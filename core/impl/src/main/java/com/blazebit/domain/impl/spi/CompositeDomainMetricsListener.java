@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.impl.spi;
+
+import com.blazebit.domain.boot.model.DomainBuilder;
+import com.blazebit.domain.runtime.model.DomainFunction;
+import com.blazebit.domain.runtime.model.DomainFunctionTypeResolver;
+import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.runtime.model.DomainOperationTypeResolver;
+import com.blazebit.domain.runtime.model.DomainOperator;
+import com.blazebit.domain.runtime.model.DomainPredicate;
+import com.blazebit.domain.runtime.model.DomainPredicateTypeResolver;
+import com.blazebit.domain.runtime.model.DomainType;
+import com.blazebit.domain.spi.DomainBuildPhase;
+import com.blazebit.domain.spi.DomainContributor;
+import com.blazebit.domain.spi.DomainMetricsListener;
+
+import java.util.List;
+
+/**
+ * A metrics listener that dispatches to multiple metrics listeners.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public final class CompositeDomainMetricsListener implements DomainMetricsListener {
+
+    private final DomainMetricsListener[] listeners;
+
+    private CompositeDomainMetricsListener(DomainMetricsListener[] listeners) {
+        this.listeners = listeners;
+    }
+
+    /**
+     * Returns a metrics listener that dispatches to the given listeners, or <code>null</code> if there are none.
+     *
+     * @param listeners The metrics listeners
+     * @return the metrics listener or <code>null</code>
+     */
+    public static DomainMetricsListener of(List<DomainMetricsListener> listeners) {
+        switch (listeners.size()) {
+            case 0:
+                return null;
+            case 1:
+                return listeners.get(0);
+            default:
+                return new CompositeDomainMetricsListener(listeners.toArray(new DomainMetricsListener[0]));
+        }
+    }
+
+    @Override
+    public void onContribute(DomainBuilder domainBuilder, DomainContributor domainContributor, long durationNanos) {
+        for (DomainMetricsListener listener : listeners) {
+            listener.onContribute(domainBuilder, domainContributor, durationNanos);
+        }
+    }
+
+    @Override
+    public void onBuildPhase(DomainBuilder domainBuilder, DomainBuildPhase phase, long durationNanos) {
+        for (DomainMetricsListener listener : listeners) {
+            listener.onBuildPhase(domainBuilder, phase, durationNanos);
+        }
+    }
+
+    @Override
+    public void onBuild(DomainBuilder domainBuilder, DomainModel domainModel, long durationNanos) {
+        for (DomainMetricsListener listener : listeners) {
+            listener.onBuild(domainBuilder, domainModel, durationNanos);
+        }
+    }
+
+    @Override
+    public void onBuildFailure(DomainBuilder domainBuilder, RuntimeException exception, long durationNanos) {
+        for (DomainMetricsListener listener : listeners) {
+            listener.onBuildFailure(domainBuilder, exception, durationNanos);
+        }
+    }
+
+    @Override
+    public void onTypeLookup(DomainModel domainModel, String typeName, DomainType domainType) {
+        for (DomainMetricsListener listener : listeners) {
+            listener.onTypeLookup(domainModel, typeName, domainType);
+        }
+    }
+
+    @Override
+    public void onFunctionLookup(DomainModel domainModel, String functionName, DomainFunction function) {
+        for (DomainMetricsListener listener : listeners) {
+            listener.onFunctionLookup(domainModel, functionName, function);
+        }
+    }
+
+    @Override
+    public void onFunctionTypeResolverLookup(DomainModel domainModel, String functionName, DomainFunctionTypeResolver typeResolver) {
+        for (DomainMetricsListener listener : listeners) {
+            listener.onFunctionTypeResolverLookup(domainModel, functionName, typeResolver);
+        }
+    }
+
+    @Override
+    public void onOperationTypeResolverLookup(DomainModel domainModel, String typeName, DomainOperator operator, DomainOperationTypeResolver typeResolver) {
+        for (DomainMetricsListener listener : listeners) {
+            listener.onOperationTypeResolverLookup(domainModel, typeName, operator, typeResolver);
+        }
+    }
+
+    @Override
+    public void onPredicateTypeResolverLookup(DomainModel domainModel, String typeName, DomainPredicate predicate, DomainPredicateTypeResolver typeResolver) {
+        for (DomainMetricsListener listener : listeners) {
+            listener.onPredicateTypeResolverLookup(domainModel, typeName, predicate, typeResolver);
+        }
+    }
+
+    @Override
+    public void onCacheLookup(DomainModel domainModel, String cacheName, boolean hit) {
+        for (DomainMetricsListener listener : listeners) {
+            listener.onCacheLookup(domainModel, cacheName, hit);
+        }
+    }
+
+    @Override
+    public void onSerialization(DomainModel domainModel, DomainModel baseModel, String format, long size, long durationNanos) {
+        for (DomainMetricsListener listener : listeners) {
+            listener.onSerialization(domainModel, baseModel, format, size, durationNanos);
+        }
+    }
+}
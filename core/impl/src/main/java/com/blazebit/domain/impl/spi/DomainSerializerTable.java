@@ -0,0 +1,186 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.impl.spi;
+
+import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.spi.DomainSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A dispatch table for domain serializers that resolves the serializers per element class, target type and format once.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public final class DomainSerializerTable {
+
+    private static final DomainSerializer<?>[] EMPTY = new DomainSerializer<?>[0];
+
+    private final List<DomainSerializer<?>> domainSerializers;
+    private final ConcurrentMap<Class<?>, ConcurrentMap<SerializationKey, DomainSerializer<?>[]>> dispatchTable = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a dispatch table for the given domain serializers.
+     *
+     * @param domainSerializers The domain serializers in the order of preference
+     */
+    public DomainSerializerTable(List<DomainSerializer<?>> domainSerializers) {
+        this.domainSerializers = domainSerializers;
+    }
+
+    /**
+     * Returns the domain serializers of this table.
+     *
+     * @return the domain serializers
+     */
+    public List<DomainSerializer<?>> getDomainSerializers() {
+        return domainSerializers;
+    }
+
+    /**
+     * Returns the domain serializers that might be able to serialize elements of the given type to the given target type with the given format.
+     *
+     * @param elementType The element type
+     * @param targetType The target type
+     * @param format The serialization format
+     * @return the domain serializers in the order of preference
+     */
+    public DomainSerializer<?>[] getDomainSerializers(Class<?> elementType, Class<?> targetType, String format) {
+        if (domainSerializers.isEmpty()) {
+            return EMPTY;
+        }
+        ConcurrentMap<SerializationKey, DomainSerializer<?>[]> serializers = dispatchTable.get(elementType);
+        if (serializers == null) {
+            serializers = new ConcurrentHashMap<>();
+            ConcurrentMap<SerializationKey, DomainSerializer<?>[]> existing = dispatchTable.putIfAbsent(elementType, serializers);
+            if (existing != null) {
+                serializers = existing;
+            }
+        }
+        SerializationKey key = new SerializationKey(targetType, format);
+        DomainSerializer<?>[] candidates = serializers.get(key);
+        if (candidates == null) {
+            List<DomainSerializer<?>> list = new ArrayList<>(domainSerializers.size());
+            for (DomainSerializer<?> domainSerializer : domainSerializers) {
+                if (domainSerializer.canSerialize(elementType, targetType, format)) {
+                    list.add(domainSerializer);
+                }
+            }
+            candidates = list.isEmpty() ? EMPTY : list.toArray(new DomainSerializer<?>[list.size()]);
+            serializers.putIfAbsent(key, candidates);
+        }
+        return candidates;
+    }
+
+    /**
+     * Serializes the given element with the first domain serializer that produces a result.
+     *
+     * @param domainModel The domain model
+     * @param baseModel The base domain model or <code>null</code>
+     * @param element The domain element to serialize
+     * @param targetType The target type
+     * @param format The serialization format
+     * @param properties Serialization properties
+     * @param <T> The target type
+     * @return The serialized form or <code>null</code> if no serializer supports the element, type or format
+     */
+    public <T> T serialize(DomainModel domainModel, DomainModel baseModel, Object element, Class<T> targetType, String format, Map<String, Object> properties) {
+        for (DomainSerializer<?> domainSerializer : getDomainSerializers(element.getClass(), targetType, format)) {
+            if (domainSerializer.canSerialize(element)) {
+                //noinspection unchecked
+                T result = ((DomainSerializer<Object>) domainSerializer).serialize(domainModel, baseModel, element, targetType, format, properties);
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Serializes an element that is its own domain serializer, like metadata or type resolvers.
+     *
+     * @param domainModel The domain model
+     * @param element The domain element to serialize
+     * @param targetType The target type
+     * @param format The serialization format
+     * @param properties Serialization properties
+     * @param <T> The target type
+     * @return The serialized form or <code>null</code> if the element isn't a domain serializer or doesn't support the type or format
+     */
+    public static <T> T serializeSelf(DomainModel domainModel, Object element, Class<T> targetType, String format, Map<String, Object> properties) {
+        if (element instanceof DomainSerializer<?>) {
+            //noinspection unchecked
+            return ((DomainSerializer<Object>) element).serialize(domainModel, element, targetType, format, properties);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the size of a serialized form, which is the length of a char sequence or byte array.
+     *
+     * @param serializedForm The serialized form
+     * @return The size or -1 if the serialized form has no known size
+     */
+    public static long sizeOf(Object serializedForm) {
+        if (serializedForm instanceof CharSequence) {
+            return ((CharSequence) serializedForm).length();
+        } else if (serializedForm instanceof byte[]) {
+            return ((byte[]) serializedForm).length;
+        }
+        return -1L;
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 3.0.0
+     */
+    private static final class SerializationKey {
+
+        private final Class<?> targetType;
+        private final String format;
+
+        public SerializationKey(Class<?> targetType, String format) {
+            this.targetType = targetType;
+            this.format = format;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SerializationKey)) {
+                return false;
+            }
+            SerializationKey that = (SerializationKey) o;
+            return targetType == that.targetType && Objects.equals(format, that.format);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(targetType) + Objects.hashCode(format);
+        }
+    }
+}
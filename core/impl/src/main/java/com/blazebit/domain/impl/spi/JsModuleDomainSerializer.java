@@ -0,0 +1,407 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.impl.spi;
+
+import com.blazebit.domain.runtime.model.CollectionDomainType;
+import com.blazebit.domain.runtime.model.DomainFunction;
+import com.blazebit.domain.runtime.model.DomainFunctionArgument;
+import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.runtime.model.DomainOperator;
+import com.blazebit.domain.runtime.model.DomainPredicate;
+import com.blazebit.domain.runtime.model.DomainType;
+import com.blazebit.domain.runtime.model.EntityDomainType;
+import com.blazebit.domain.runtime.model.EntityDomainTypeAttribute;
+import com.blazebit.domain.runtime.model.EnumDomainType;
+import com.blazebit.domain.runtime.model.EnumDomainTypeValue;
+import com.blazebit.domain.runtime.model.UnionDomainType;
+import com.blazebit.domain.spi.DomainSerializer;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A domain serializer for the format <code>js-module</code> that produces an ES module for the TypeScript runtime.
+ * The default export of the module is a function that accepts an optional base model and extensions and returns the domain model.
+ * Contrary to the JSON format, the module constructs the runtime objects directly and shares repeated values through constants.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public class JsModuleDomainSerializer implements DomainSerializer<DomainModel>, Serializable {
+
+    /**
+     * The serialization format.
+     */
+    public static final String FORMAT = "js-module";
+    /**
+     * Serialization property for the module specifier from which the TypeScript runtime is imported.
+     * Defaults to <code>blaze-domain</code>.
+     */
+    public static final String RUNTIME_MODULE = "js-module.runtimeModule";
+
+    private static final String DEFAULT_RUNTIME_MODULE = "blaze-domain";
+
+    @Override
+    public boolean canSerialize(Object element) {
+        return element instanceof DomainModel;
+    }
+
+    @Override
+    public boolean canSerialize(Class<?> elementType, Class<?> targetType, String format) {
+        return targetType == String.class && FORMAT.equals(format) && DomainModel.class.isAssignableFrom(elementType);
+    }
+
+    @Override
+    public <T> T serialize(DomainModel domainModel, DomainModel model, Class<T> targetType, String format, Map<String, Object> properties) {
+        return serialize(model, null, model, targetType, format, properties);
+    }
+
+    @Override
+    public <T> T serialize(DomainModel domainModel, DomainModel baseModel, DomainModel model, Class<T> targetType, String format, Map<String, Object> properties) {
+        if (targetType != String.class || !FORMAT.equals(format)) {
+            return null;
+        }
+        Object runtimeModule = properties == null ? null : properties.get(RUNTIME_MODULE);
+        ModuleWriter writer = new ModuleWriter(model, properties);
+        writer.write(baseModel);
+        //noinspection unchecked
+        return (T) writer.toModule(runtimeModule == null ? DEFAULT_RUNTIME_MODULE : runtimeModule.toString());
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 3.0.0
+     */
+    private static final class ModuleWriter {
+
+        private final DomainModel model;
+        private final Map<String, Object> properties;
+        // Module level constants for operator, predicate and metadata arrays
+        private final StringBuilder constants = new StringBuilder();
+        private final Map<String, String> constantNames = new HashMap<>();
+        // The body of the default export function
+        private final StringBuilder body = new StringBuilder();
+        private final Map<String, String> typeVariables = new HashMap<>();
+        private final Map<Object, String> resolverVariables = new IdentityHashMap<>();
+        private final Map<String, String> resolverJsonVariables = new HashMap<>();
+
+        public ModuleWriter(DomainModel model, Map<String, Object> properties) {
+            this.model = model;
+            this.properties = properties;
+        }
+
+        public void write(DomainModel baseModel) {
+            Map<String, DomainType> types = model.getTypes();
+            List<EntityDomainType> entityTypes = new ArrayList<>();
+            List<UnionDomainType> unionTypes = new ArrayList<>();
+            // Declare all types first, since attributes and union elements can refer to any type
+            for (Map.Entry<String, DomainType> entry : types.entrySet()) {
+                DomainType domainType = entry.getValue();
+                if (domainType == null) {
+                    if (baseModel != null) {
+                        body.append("    b.removeType(");
+                        appendString(body, entry.getKey());
+                        body.append(");\n");
+                    }
+                    continue;
+                }
+                // Don't serialize stuff that is defined on the parent or that is built lazily
+                if (baseModel != null && baseModel.getType(domainType.getName()) == domainType || domainType instanceof CollectionDomainType) {
+                    continue;
+                }
+                String variable = "t" + typeVariables.size();
+                typeVariables.put(domainType.getName(), variable);
+                body.append("    const ").append(variable).append(" = b.type(new ");
+                if (domainType instanceof EntityDomainType) {
+                    body.append("d.EntityDomainType(");
+                    appendTypeHeader(domainType);
+                    body.append(", {}, ");
+                    entityTypes.add((EntityDomainType) domainType);
+                } else if (domainType instanceof EnumDomainType) {
+                    body.append("d.EnumDomainType(");
+                    appendTypeHeader(domainType);
+                    body.append(", {");
+                    boolean first = true;
+                    for (EnumDomainTypeValue value : ((EnumDomainType) domainType).getEnumValues().values()) {
+                        if (first) {
+                            first = false;
+                        } else {
+                            body.append(", ");
+                        }
+                        appendString(body, value.getValue());
+                        body.append(": b.enumValue(");
+                        appendString(body, value.getValue());
+                        body.append(", ").append(metadata(value.getMetadata())).append(')');
+                    }
+                    body.append("}, ");
+                } else if (domainType instanceof UnionDomainType) {
+                    body.append("d.UnionDomainType(");
+                    appendTypeHeader(domainType);
+                    body.append(", ");
+                    unionTypes.add((UnionDomainType) domainType);
+                } else {
+                    body.append("d.BasicDomainType(");
+                    appendTypeHeader(domainType);
+                    body.append(", ");
+                }
+                body.append(metadata(domainType.getMetadata())).append("));\n");
+            }
+
+            StringBuilder sb = new StringBuilder();
+            for (EntityDomainType entityType : entityTypes) {
+                String owner = typeVariables.get(entityType.getName());
+                for (EntityDomainTypeAttribute attribute : entityType.getAttributes().values()) {
+                    sb.setLength(0);
+                    sb.append("    b.attribute(").append(owner).append(", ");
+                    appendString(sb, attribute.getName());
+                    sb.append(", ").append(type(attribute.getType())).append(", ").append(metadata(attribute.getMetadata())).append(");\n");
+                    body.append(sb);
+                }
+            }
+            for (UnionDomainType unionType : unionTypes) {
+                sb.setLength(0);
+                sb.append("    ").append(typeVariables.get(unionType.getName())).append(".unionElements = [");
+                boolean first = true;
+                for (DomainType unionElement : unionType.getUnionElements()) {
+                    if (first) {
+                        first = false;
+                    } else {
+                        sb.append(", ");
+                    }
+                    sb.append(type(unionElement));
+                }
+                sb.append("];\n");
+                body.append(sb);
+            }
+
+            for (Map.Entry<String, DomainFunction> entry : model.getFunctions().entrySet()) {
+                DomainFunction function = entry.getValue();
+                if (function == null) {
+                    if (baseModel != null) {
+                        // The key is upper case, but the runtime stores functions by their declared name
+                        DomainFunction removedFunction = baseModel.getFunction(entry.getKey());
+                        body.append("    b.removeFunction(");
+                        appendString(body, removedFunction == null ? entry.getKey() : removedFunction.getName());
+                        body.append(");\n");
+                    }
+                    continue;
+                }
+                if (baseModel != null && baseModel.getFunction(function.getName()) == function) {
+                    continue;
+                }
+                sb.setLength(0);
+                sb.append("    b.func(");
+                appendString(sb, function.getName());
+                sb.append(", V.").append(function.getVolatility().name());
+                sb.append(", ").append(function.getMinArgumentCount());
+                sb.append(", ").append(function.getArgumentCount());
+                if (function.getResultType() == null) {
+                    String resolver = resolver(model.getFunctionTypeResolver(function.getName()));
+                    sb.append(", null, ").append(resolver == null ? "null" : resolver);
+                } else {
+                    sb.append(", ").append(type(function.getResultType())).append(", null");
+                }
+                sb.append(", [");
+                boolean first = true;
+                for (DomainFunctionArgument argument : function.getArguments()) {
+                    if (first) {
+                        first = false;
+                    } else {
+                        sb.append(", ");
+                    }
+                    sb.append("b.argument(");
+                    if (argument.getName() == null) {
+                        sb.append("null");
+                    } else {
+                        appendString(sb, argument.getName());
+                    }
+                    sb.append(", ").append(argument.getPosition());
+                    sb.append(", ").append(argument.getType() == null ? "null" : type(argument.getType()));
+                    sb.append(", ").append(metadata(argument.getMetadata())).append(')');
+                }
+                sb.append("], ").append(metadata(function.getMetadata())).append(");\n");
+                body.append(sb);
+            }
+
+            writeResolvers("operationTypeResolver", "O", DomainOperator.values(), model.getOperationTypeResolvers(), baseModel == null ? null : baseModel.getOperationTypeResolvers());
+            writeResolvers("predicateTypeResolver", "P", DomainPredicate.values(), model.getPredicateTypeResolvers(), baseModel == null ? null : baseModel.getPredicateTypeResolvers());
+        }
+
+        private <K extends Enum<K>, R> void writeResolvers(String method, String enumAlias, K[] keys, Map<String, Map<K, R>> resolvers, Map<String, Map<K, R>> parentResolvers) {
+            StringBuilder sb = new StringBuilder();
+            for (Map.Entry<String, Map<K, R>> typeEntry : resolvers.entrySet()) {
+                if (typeEntry.getValue() == null) {
+                    continue;
+                }
+                Map<K, R> parentResolverMap = parentResolvers == null ? null : parentResolvers.get(typeEntry.getKey());
+                // Group the elements of a type by resolver to emit a single call per resolver and type
+                Map<String, List<K>> elementsByResolver = new HashMap<>();
+                List<String> resolverOrder = new ArrayList<>();
+                // The resolver maps are hash maps with enum keys, which have identity hash codes, so iterate in declaration order for a stable module
+                for (K key : keys) {
+                    R value = typeEntry.getValue().get(key);
+                    if (value == null || parentResolverMap != null && value.equals(parentResolverMap.get(key))) {
+                        continue;
+                    }
+                    String resolver = resolver(value);
+                    if (resolver != null) {
+                        List<K> elements = elementsByResolver.get(resolver);
+                        if (elements == null) {
+                            elementsByResolver.put(resolver, elements = new ArrayList<>());
+                            resolverOrder.add(resolver);
+                        }
+                        elements.add(key);
+                    }
+                }
+                for (String resolver : resolverOrder) {
+                    sb.setLength(0);
+                    sb.append("    b.").append(method).append('(').append(resolver).append(", ");
+                    appendString(sb, typeEntry.getKey());
+                    sb.append(", ").append(enumArray(enumAlias, elementsByResolver.get(resolver))).append(");\n");
+                    body.append(sb);
+                }
+            }
+        }
+
+        private void appendTypeHeader(DomainType domainType) {
+            appendString(body, domainType.getName());
+            body.append(", ").append(enumArray("O", domainType.getEnabledOperators()));
+            body.append(", ").append(enumArray("P", domainType.getEnabledPredicates()));
+        }
+
+        private String type(DomainType type) {
+            String variable = typeVariables.get(type.getName());
+            if (variable == null) {
+                // Types of the base model and collection types are looked up once
+                variable = "t" + typeVariables.size();
+                typeVariables.put(type.getName(), variable);
+                body.append("    const ").append(variable).append(" = b.getType(");
+                appendString(body, type.getName());
+                body.append(");\n");
+            }
+            return variable;
+        }
+
+        private String resolver(Object resolver) {
+            if (resolver == null) {
+                return null;
+            }
+            String variable = resolverVariables.get(resolver);
+            if (variable == null && !resolverVariables.containsKey(resolver)) {
+                String json = DomainSerializerTable.serializeSelf(model, resolver, String.class, "json", properties);
+                if (json != null && !json.isEmpty()) {
+                    // Different resolver instances with the same serialized form share the runtime resolver
+                    variable = resolverJsonVariables.get(json);
+                    if (variable == null) {
+                        variable = "r" + resolverJsonVariables.size();
+                        resolverJsonVariables.put(json, variable);
+                        body.append("    const ").append(variable).append(" = b.resolver(").append(json).append(");\n");
+                    }
+                }
+                resolverVariables.put(resolver, variable);
+            }
+            return variable;
+        }
+
+        private String metadata(Map<Class<?>, Object> metadata) {
+            StringBuilder sb = new StringBuilder();
+            sb.append('[');
+            for (Object value : metadata.values()) {
+                String json = DomainSerializerTable.serializeSelf(model, value, String.class, "json", properties);
+                if (json != null) {
+                    if (sb.length() != 1) {
+                        sb.append(", ");
+                    }
+                    sb.append(json);
+                }
+            }
+            sb.append(']');
+            return constant("m", sb.toString());
+        }
+
+        private String enumArray(String enumAlias, Iterable<? extends Enum<?>> elements) {
+            StringBuilder sb = new StringBuilder();
+            sb.append('[');
+            for (Enum<?> element : elements) {
+                if (sb.length() != 1) {
+                    sb.append(", ");
+                }
+                sb.append(enumAlias).append('.').append(element.name());
+            }
+            sb.append(']');
+            return constant(enumAlias.toLowerCase(), sb.toString());
+        }
+
+        private String constant(String prefix, String expression) {
+            String name = constantNames.get(expression);
+            if (name == null) {
+                name = prefix + constantNames.size();
+                constantNames.put(expression, name);
+                constants.append("const ").append(name).append(" = ").append(expression).append(";\n");
+            }
+            return name;
+        }
+
+        public String toModule(String runtimeModule) {
+            StringBuilder sb = new StringBuilder(constants.length() + body.length() + 256);
+            sb.append("import * as d from ");
+            appendString(sb, runtimeModule);
+            sb.append(";\n");
+            sb.append("const O = d.DomainOperator, P = d.DomainPredicate, V = d.DomainFunctionVolatility;\n");
+            sb.append(constants);
+            sb.append("export default function (baseModel, extensions) {\n");
+            sb.append("    const b = d.DomainModel.builder(baseModel, extensions);\n");
+            sb.append(body);
+            sb.append("    return b.build();\n");
+            sb.append("}\n");
+            return sb.toString();
+        }
+
+        private static void appendString(StringBuilder sb, String value) {
+            sb.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"':
+                        sb.append("\\\"");
+                        break;
+                    case '\\':
+                        sb.append("\\\\");
+                        break;
+                    case '\n':
+                        sb.append("\\n");
+                        break;
+                    case '\r':
+                        sb.append("\\r");
+                        break;
+                    default:
+                        if (c < ' ' || c == 0x2028 || c == 0x2029) {
+                            sb.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            sb.append(c);
+                        }
+                        break;
+                }
+            }
+            sb.append('"');
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.impl.spi;
+
+import com.blazebit.domain.runtime.model.BasicDomainType;
+import com.blazebit.domain.runtime.model.CollectionDomainType;
+import com.blazebit.domain.runtime.model.DomainFunction;
+import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.runtime.model.DomainModelDiff;
+import com.blazebit.domain.runtime.model.DomainOperator;
+import com.blazebit.domain.runtime.model.DomainPredicate;
+import com.blazebit.domain.runtime.model.DomainType;
+import com.blazebit.domain.runtime.model.EntityDomainType;
+import com.blazebit.domain.runtime.model.EnumDomainType;
+import com.blazebit.domain.runtime.model.UnionDomainType;
+import com.blazebit.domain.spi.DomainSerializer;
+
+import java.io.Serializable;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * A JSON serializer for domain model differences that produces a delta document in the format of a sub model serialization.
+ * Applying the delta to the source model on the client side results in the target model.
+ *
+ * In addition to the sub model format, resolver groups with a <code>null</code> resolver mark the listed resolvers as removed.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public class JsonDomainModelDiffSerializer implements DomainSerializer<DomainModelDiff>, Serializable {
+
+    private final JsonDomainSerializer serializer = new JsonDomainSerializer();
+
+    @Override
+    public boolean canSerialize(Object element) {
+        return element instanceof DomainModelDiff;
+    }
+
+    @Override
+    public boolean canSerialize(Class<?> elementType, Class<?> targetType, String format) {
+        return targetType == String.class && "json".equals(format) && DomainModelDiff.class.isAssignableFrom(elementType);
+    }
+
+    @Override
+    public <T> T serialize(DomainModel domainModel, DomainModelDiff diff, Class<T> targetType, String format, Map<String, Object> properties) {
+        if (targetType != String.class || !"json".equals(format)) {
+            return null;
+        }
+        DomainModel model = diff.getTargetModel();
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"types\":[");
+        int length = sb.length();
+        for (DomainType domainType : diff.getAddedTypes().values()) {
+            serializeType(sb, domainType, model, properties);
+        }
+        for (DomainType domainType : diff.getChangedTypes().values()) {
+            serializeType(sb, domainType, model, properties);
+        }
+        for (String typeName : diff.getRemovedTypes()) {
+            sb.append("{\"name\":\"").append(typeName).append("\",\"kind\":\"T\"},");
+        }
+        close(sb, length, ']');
+
+        sb.append(",\"funcs\":[");
+        length = sb.length();
+        for (DomainFunction function : diff.getAddedFunctions().values()) {
+            serializer.serializeFunction(sb, function, model, properties);
+            sb.append(',');
+        }
+        for (DomainFunction function : diff.getChangedFunctions().values()) {
+            serializer.serializeFunction(sb, function, model, properties);
+            sb.append(',');
+        }
+        for (String functionName : diff.getRemovedFunctions()) {
+            sb.append("{\"name\":\"").append(functionName).append("\"},");
+        }
+        close(sb, length, ']');
+
+        Map<String, Map<String, Set<DomainOperator>>> opResolvers = groupResolvers(model, properties, DomainOperator.class, diff.getChangedOperationTypeResolvers(), diff.getRemovedOperationTypeResolvers());
+        Map<String, Map<String, Set<DomainPredicate>>> predResolvers = groupResolvers(model, properties, DomainPredicate.class, diff.getChangedPredicateTypeResolvers(), diff.getRemovedPredicateTypeResolvers());
+        serializeResolverGroups(sb, "opResolvers", "typeOps", opResolvers, serializer::serializeDomainOperators);
+        serializeResolverGroups(sb, "predResolvers", "typePreds", predResolvers, serializer::serializeDomainPredicates);
+        sb.append('}');
+        //noinspection unchecked
+        return (T) sb.toString();
+    }
+
+    private void serializeType(StringBuilder sb, DomainType domainType, DomainModel model, Map<String, Object> properties) {
+        if (domainType instanceof EntityDomainType) {
+            serializer.serializeEntityDomainType(sb, (EntityDomainType) domainType, model, properties);
+        } else if (domainType instanceof EnumDomainType) {
+            serializer.serializeEnumDomainType(sb, (EnumDomainType) domainType, model, properties);
+        } else if (domainType instanceof BasicDomainType) {
+            serializer.serializeBasicDomainType(sb, (BasicDomainType) domainType, model, properties);
+        } else if (domainType instanceof UnionDomainType) {
+            serializer.serializeUnionDomainType(sb, (UnionDomainType) domainType, model, properties);
+        } else if (domainType instanceof CollectionDomainType) {
+            serializer.serializeCollectionDomainType(sb, (CollectionDomainType) domainType, model, properties);
+        } else {
+            return;
+        }
+        sb.append(',');
+    }
+
+    private <DomainElement extends Enum<DomainElement>, Result> Map<String, Map<String, Set<DomainElement>>> groupResolvers(DomainModel model, Map<String, Object> properties, Class<DomainElement> type,
+                                                                                                                          Map<String, Map<DomainElement, Result>> changedResolvers, Map<String, Set<DomainElement>> removedResolvers) {
+        // The null key groups the removed resolvers
+        Map<String, Map<String, Set<DomainElement>>> resolverMap = new LinkedHashMap<>();
+        Map<Result, String> cachedSerializations = new IdentityHashMap<>();
+        for (Map.Entry<String, Map<DomainElement, Result>> typeEntry : changedResolvers.entrySet()) {
+            for (Map.Entry<DomainElement, Result> entry : typeEntry.getValue().entrySet()) {
+                String serialization = cachedSerializations.computeIfAbsent(entry.getValue(), resolver -> serializeResolver(model, resolver, properties));
+                if (serialization != null) {
+                    resolverMap.computeIfAbsent(serialization, k -> new TreeMap<>())
+                        .computeIfAbsent(typeEntry.getKey(), k -> EnumSet.noneOf(type))
+                        .add(entry.getKey());
+                }
+            }
+        }
+        if (!removedResolvers.isEmpty()) {
+            resolverMap.put(null, removedResolvers);
+        }
+        return resolverMap;
+    }
+
+    private static String serializeResolver(DomainModel domainModel, Object resolver, Map<String, Object> properties) {
+        String json = DomainSerializerTable.serializeSelf(domainModel, resolver, String.class, "json", properties);
+        return json == null || json.isEmpty() ? null : json;
+    }
+
+    private static <DomainElement> void serializeResolverGroups(StringBuilder sb, String name, String typeKey, Map<String, Map<String, Set<DomainElement>>> resolverMap, BiConsumer<StringBuilder, Set<DomainElement>> elementSerializer) {
+        if (resolverMap.isEmpty()) {
+            return;
+        }
+        sb.append(",\"").append(name).append("\":[");
+        for (Map.Entry<String, Map<String, Set<DomainElement>>> entry : resolverMap.entrySet()) {
+            sb.append("{\"resolver\":").append(entry.getKey()).append(",\"").append(typeKey).append("\":{");
+            int length = sb.length();
+            for (Map.Entry<String, Set<DomainElement>> typeEntry : entry.getValue().entrySet()) {
+                sb.append('"').append(typeEntry.getKey()).append("\":");
+                elementSerializer.accept(sb, typeEntry.getValue());
+                sb.append(',');
+            }
+            close(sb, length, '}');
+            sb.append("},");
+        }
+        sb.setCharAt(sb.length() - 1, ']');
+    }
+
+    private static void close(StringBuilder sb, int length, char c) {
+        if (length == sb.length()) {
+            sb.append(c);
+        } else {
+            sb.setCharAt(sb.length() - 1, c);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.impl.spi;
+
+import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.runtime.model.DomainModelStatistics;
+import com.blazebit.domain.runtime.model.DomainType;
+import com.blazebit.domain.spi.DomainSerializer;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * A JSON serializer for domain model statistics.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public class JsonDomainModelStatisticsSerializer implements DomainSerializer<DomainModelStatistics>, Serializable {
+
+    @Override
+    public boolean canSerialize(Object element) {
+        return element instanceof DomainModelStatistics;
+    }
+
+    @Override
+    public boolean canSerialize(Class<?> elementType, Class<?> targetType, String format) {
+        return targetType == String.class && "json".equals(format) && DomainModelStatistics.class.isAssignableFrom(elementType);
+    }
+
+    @Override
+    public <T> T serialize(DomainModel domainModel, DomainModelStatistics statistics, Class<T> targetType, String format, Map<String, Object> properties) {
+        if (targetType != String.class || !"json".equals(format)) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"depth\":").append(statistics.getDepth());
+        sb.append(",\"types\":").append(statistics.getTypeCount());
+        sb.append(",\"typeKinds\":{");
+        for (Map.Entry<DomainType.DomainTypeKind, Integer> entry : statistics.getTypeCounts().entrySet()) {
+            sb.append('"').append(entry.getKey().name()).append("\":").append(entry.getValue()).append(',');
+        }
+        if (sb.charAt(sb.length() - 1) == ',') {
+            sb.setCharAt(sb.length() - 1, '}');
+        } else {
+            sb.append('}');
+        }
+        sb.append(",\"ownTypes\":").append(statistics.getOwnTypeCount());
+        sb.append(",\"attributes\":").append(statistics.getAttributeCount());
+        sb.append(",\"enumValues\":").append(statistics.getEnumValueCount());
+        sb.append(",\"funcs\":").append(statistics.getFunctionCount());
+        sb.append(",\"ownFuncs\":").append(statistics.getOwnFunctionCount());
+        sb.append(",\"funcResolvers\":").append(statistics.getFunctionTypeResolverCount());
+        sb.append(",\"opResolvers\":").append(statistics.getOperationTypeResolverCount());
+        sb.append(",\"predResolvers\":").append(statistics.getPredicateTypeResolverCount());
+        sb.append(",\"metadata\":").append(statistics.getMetadataCount());
+        sb.append(",\"retainedSize\":").append(statistics.getEstimatedRetainedSize());
+        sb.append(",\"parentRetainedSize\":").append(statistics.getEstimatedParentRetainedSize());
+        sb.append('}');
+        //noinspection unchecked
+        return (T) sb.toString();
+    }
+}
@@ -32,12 +32,18 @@ import com.blazebit.domain.runtime.model.UnionDomainType;
 import com.blazebit.domain.spi.DomainSerializer;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
-import java.util.HashMap;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiConsumer;
 
 /**
  * A JSON domain serializer.
@@ -47,11 +53,34 @@ import java.util.Set;
  */
 public class JsonDomainSerializer implements DomainSerializer<DomainModel>, Serializable {
 
+    /**
+     * Serialization property to serialize types, functions and resolvers in parallel chunks.
+     * The value can be {@link Boolean#TRUE} to use the {@link ForkJoinPool#commonPool()} or a specific {@link ForkJoinPool}.
+     * The output is the same as for the sequential serialization. Note that metadata and resolver serializers must be thread safe.
+     *
+     * @since 3.0.0
+     */
+    public static final String PARALLEL = "json.parallel";
+    /**
+     * Serialization property for the amount of types, functions or resolver entries to serialize per parallel chunk.
+     * Defaults to 512.
+     *
+     * @since 3.0.0
+     */
+    public static final String PARALLEL_CHUNK_SIZE = "json.parallelChunkSize";
+
+    private static final int DEFAULT_PARALLEL_CHUNK_SIZE = 512;
+
     @Override
     public boolean canSerialize(Object element) {
         return element instanceof DomainModel;
     }
 
+    @Override
+    public boolean canSerialize(Class<?> elementType, Class<?> targetType, String format) {
+        return targetType == String.class && "json".equals(format) && DomainModel.class.isAssignableFrom(elementType);
+    }
+
     @Override
     public <T> T serialize(DomainModel domainModel, DomainModel model, Class<T> targetType, String format, Map<String, Object> properties) {
         return serialize(model, null, model, targetType, format, properties);
@@ -70,65 +99,65 @@ public class JsonDomainSerializer implements DomainSerializer<DomainModel>, Seri
 
     private void serialize(DomainModel model, DomainModel baseModel, StringBuilder sb, Map<String, Object> properties) {
         Map<String, DomainType> types = model.getTypes();
+        Map<String, DomainFunction> functions = model.getFunctions();
+        ForkJoinPool pool = getParallelPool(properties);
+        Map<String, Map<String, Set<DomainOperator>>> opResolvers;
+        Map<String, Map<String, Set<DomainPredicate>>> predResolvers;
 
         sb.append("{\"types\":[");
         int length = sb.length();
-        for (Map.Entry<String, DomainType> entry : types.entrySet()) {
-            DomainType domainType = entry.getValue();
-            // Don't serialize stuff that is defined on the parent
-            if (baseModel != null && baseModel.getType(domainType.getName()) == domainType) {
-                continue;
+        if (pool == null) {
+            serializeTypes(sb, types.entrySet(), model, baseModel, properties);
+            if (length == sb.length()) {
+                sb.append(']');
+            } else {
+                sb.setCharAt(sb.length() - 1, ']');
             }
-            if (domainType == null) {
-                serializeDomainTypeTombstone(sb, entry.getKey());
-            } else if (domainType instanceof EntityDomainType) {
-                serializeEntityDomainType(sb, (EntityDomainType) domainType, model, properties);
+            if (!functions.isEmpty()) {
                 sb.append(',');
-            } else if (domainType instanceof EnumDomainType) {
-                serializeEnumDomainType(sb, (EnumDomainType) domainType, model, properties);
-                sb.append(',');
-            } else if (domainType instanceof BasicDomainType) {
-                serializeBasicDomainType(sb, (BasicDomainType) domainType, model, properties);
-                sb.append(',');
-            } else if (domainType instanceof UnionDomainType) {
-                serializeUnionDomainType(sb, (UnionDomainType) domainType, model, properties);
-                sb.append(',');
-            } else if (domainType instanceof CollectionDomainType) {
-                serializeCollectionDomainType(sb, (CollectionDomainType) domainType, model, properties);
-                sb.append(',');
-            }
-        }
-        if (length == sb.length()) {
-            sb.append(']');
-        } else {
-            sb.setCharAt(sb.length() - 1, ']');
-        }
-
-        if (!model.getFunctions().isEmpty()) {
-            sb.append(',');
-            sb.append("\"funcs\":[");
-            length = sb.length();
-            for (Map.Entry<String, DomainFunction> entry : model.getFunctions().entrySet()) {
-                DomainFunction domainFunction = entry.getValue();
-                // Don't serialize stuff that is defined on the parent
-                if (baseModel != null && baseModel.getFunction(domainFunction.getName()) == domainFunction) {
-                    continue;
-                }
-                if (domainFunction == null) {
-                    sb.append("{\"name\":\"").append(entry.getKey()).append("\"}");
+                sb.append("\"funcs\":[");
+                length = sb.length();
+                serializeFunctions(sb, functions.entrySet(), model, baseModel, properties);
+                if (length == sb.length()) {
+                    sb.append(']');
                 } else {
-                    serializeFunction(sb, domainFunction, model, properties);
+                    sb.setCharAt(sb.length() - 1, ']');
                 }
-                sb.append(',');
+            }
+            opResolvers = prepareResolvers(model, properties, DomainOperator.class, model.getOperationTypeResolvers(), baseModel == null ? null : baseModel.getOperationTypeResolvers());
+            predResolvers = prepareResolvers(model, properties, DomainPredicate.class, model.getPredicateTypeResolvers(), baseModel == null ? null : baseModel.getPredicateTypeResolvers());
+        } else {
+            // Fork all chunks upfront and join them in submission order, so that the result is the same as for the sequential path
+            int chunkSize = getParallelChunkSize(properties);
+            List<ForkJoinTask<StringBuilder>> typeTasks = forkChunks(pool, chunkSize, types.entrySet(), (chunk, chunkSb) -> serializeTypes(chunkSb, chunk, model, baseModel, properties));
+            List<ForkJoinTask<StringBuilder>> functionTasks = forkChunks(pool, chunkSize, functions.entrySet(), (chunk, chunkSb) -> serializeFunctions(chunkSb, chunk, model, baseModel, properties));
+            List<ForkJoinTask<Map<String, Map<String, Set<DomainOperator>>>>> opResolverTasks = forkResolverChunks(pool, chunkSize, model, properties, DomainOperator.class, model.getOperationTypeResolvers(), baseModel == null ? null : baseModel.getOperationTypeResolvers());
+            List<ForkJoinTask<Map<String, Map<String, Set<DomainPredicate>>>>> predResolverTasks = forkResolverChunks(pool, chunkSize, model, properties, DomainPredicate.class, model.getPredicateTypeResolvers(), baseModel == null ? null : baseModel.getPredicateTypeResolvers());
+            for (ForkJoinTask<StringBuilder> typeTask : typeTasks) {
+                sb.append(typeTask.join());
             }
             if (length == sb.length()) {
                 sb.append(']');
             } else {
                 sb.setCharAt(sb.length() - 1, ']');
             }
+            if (!functions.isEmpty()) {
+                sb.append(',');
+                sb.append("\"funcs\":[");
+                length = sb.length();
+                for (ForkJoinTask<StringBuilder> functionTask : functionTasks) {
+                    sb.append(functionTask.join());
+                }
+                if (length == sb.length()) {
+                    sb.append(']');
+                } else {
+                    sb.setCharAt(sb.length() - 1, ']');
+                }
+            }
+            opResolvers = joinResolverChunks(opResolverTasks);
+            predResolvers = joinResolverChunks(predResolverTasks);
         }
 
-        Map<String, Map<String, Set<DomainOperator>>> opResolvers = prepareResolvers(model, properties, DomainOperator.class, model.getOperationTypeResolvers(), baseModel == null ? null : baseModel.getOperationTypeResolvers());
         if (!opResolvers.isEmpty()) {
             sb.append(",\"opResolvers\":[");
             int length2 = sb.length();
@@ -162,7 +191,6 @@ public class JsonDomainSerializer implements DomainSerializer<DomainModel>, Seri
             }
         }
 
-        Map<String, Map<String, Set<DomainPredicate>>> predResolvers = prepareResolvers(model, properties, DomainPredicate.class, model.getPredicateTypeResolvers(), baseModel == null ? null : baseModel.getPredicateTypeResolvers());
         if (!predResolvers.isEmpty()) {
             sb.append(",\"predResolvers\":[");
             int length2 = sb.length();
@@ -200,56 +228,173 @@ public class JsonDomainSerializer implements DomainSerializer<DomainModel>, Seri
         sb.append('}');
     }
 
+    private void serializeTypes(StringBuilder sb, Collection<Map.Entry<String, DomainType>> entries, DomainModel model, DomainModel baseModel, Map<String, Object> properties) {
+        for (Map.Entry<String, DomainType> entry : entries) {
+            DomainType domainType = entry.getValue();
+            // Don't serialize stuff that is defined on the parent
+            if (baseModel != null && domainType != null && baseModel.getType(domainType.getName()) == domainType) {
+                continue;
+            }
+            if (domainType == null) {
+                serializeDomainTypeTombstone(sb, entry.getKey());
+            } else if (domainType instanceof EntityDomainType) {
+                serializeEntityDomainType(sb, (EntityDomainType) domainType, model, properties);
+                sb.append(',');
+            } else if (domainType instanceof EnumDomainType) {
+                serializeEnumDomainType(sb, (EnumDomainType) domainType, model, properties);
+                sb.append(',');
+            } else if (domainType instanceof BasicDomainType) {
+                serializeBasicDomainType(sb, (BasicDomainType) domainType, model, properties);
+                sb.append(',');
+            } else if (domainType instanceof UnionDomainType) {
+                serializeUnionDomainType(sb, (UnionDomainType) domainType, model, properties);
+                sb.append(',');
+            } else if (domainType instanceof CollectionDomainType) {
+                serializeCollectionDomainType(sb, (CollectionDomainType) domainType, model, properties);
+                sb.append(',');
+            }
+        }
+    }
+
+    private void serializeFunctions(StringBuilder sb, Collection<Map.Entry<String, DomainFunction>> entries, DomainModel model, DomainModel baseModel, Map<String, Object> properties) {
+        for (Map.Entry<String, DomainFunction> entry : entries) {
+            DomainFunction domainFunction = entry.getValue();
+            // Don't serialize stuff that is defined on the parent
+            if (baseModel != null && domainFunction != null && baseModel.getFunction(domainFunction.getName()) == domainFunction) {
+                continue;
+            }
+            if (domainFunction == null) {
+                // The key is upper case, but the TypeScript runtime stores functions by their declared name
+                DomainFunction removedFunction = baseModel == null ? null : baseModel.getFunction(entry.getKey());
+                sb.append("{\"name\":\"").append(removedFunction == null ? entry.getKey() : removedFunction.getName()).append("\"}");
+            } else {
+                serializeFunction(sb, domainFunction, model, properties);
+            }
+            sb.append(',');
+        }
+    }
+
     private <DomainElement extends Enum<DomainElement>, Result> Map<String, Map<String, Set<DomainElement>>> prepareResolvers(DomainModel model, Map<String, Object> properties, Class<DomainElement> type, Map<String, Map<DomainElement, Result>> resolvers, Map<String, Map<DomainElement, Result>> parentResolvers) {
         if (!resolvers.isEmpty()) {
-            Map<Result, String> cachedSerializations = new IdentityHashMap<>();
-            Map<String, Map<String, Set<DomainElement>>> resolverMap = new HashMap<>();
-            StringBuilder tempSb = new StringBuilder();
-            for (Map.Entry<String, Map<DomainElement, Result>> typeEntry : resolvers.entrySet()) {
-                if (typeEntry.getValue() == null) {
+            Map<String, Map<String, Set<DomainElement>>> resolverMap = new LinkedHashMap<>();
+            prepareResolvers(model, properties, type, resolvers.entrySet(), parentResolvers, resolverMap);
+            return resolverMap;
+        }
+        return Collections.emptyMap();
+    }
+
+    private <DomainElement extends Enum<DomainElement>, Result> void prepareResolvers(DomainModel model, Map<String, Object> properties, Class<DomainElement> type, Collection<Map.Entry<String, Map<DomainElement, Result>>> resolverEntries,
+                                                                                      Map<String, Map<DomainElement, Result>> parentResolvers, Map<String, Map<String, Set<DomainElement>>> resolverMap) {
+        Map<Result, String> cachedSerializations = new IdentityHashMap<>();
+        StringBuilder tempSb = new StringBuilder();
+        // The resolver maps are hash maps with enum keys, which have identity hash codes, so iterate in declaration order for a stable result
+        DomainElement[] elements = type.getEnumConstants();
+        for (Map.Entry<String, Map<DomainElement, Result>> typeEntry : resolverEntries) {
+            if (typeEntry.getValue() == null) {
+                continue;
+            }
+            Map<DomainElement, Result> parentResolverMap = null;
+            if (parentResolvers != null) {
+                parentResolverMap = parentResolvers.get(typeEntry.getKey());
+            }
+            for (DomainElement element : elements) {
+                Result resolver = typeEntry.getValue().get(element);
+                if (resolver == null || parentResolverMap != null && resolver.equals(parentResolverMap.get(element))) {
                     continue;
                 }
-                Map<DomainElement, Result> parentResolverMap = null;
-                if (parentResolvers != null) {
-                    parentResolverMap = parentResolvers.get(typeEntry.getKey());
+                String serialization = cachedSerializations.get(resolver);
+                if (serialization == null) {
+                    tempSb.setLength(0);
+                    serializerResolver(model, resolver, properties, tempSb);
+                    cachedSerializations.put(resolver, serialization = tempSb.toString());
                 }
-                for (Map.Entry<DomainElement, Result> entry : typeEntry.getValue().entrySet()) {
-                    if (parentResolverMap != null && entry.getValue().equals(parentResolverMap.get(entry.getKey()))) {
-                        continue;
-                    }
-                    String serialization = cachedSerializations.get(entry.getValue());
-                    if (serialization == null) {
-                        tempSb.setLength(0);
-                        serializerResolver(model, entry.getValue(), properties, tempSb);
-                        cachedSerializations.put(entry.getValue(), serialization = tempSb.toString());
-                    }
-                    if (!serialization.isEmpty()) {
-                        resolverMap.computeIfAbsent(serialization, k -> new HashMap<>())
-                            .computeIfAbsent(typeEntry.getKey(), k -> EnumSet.noneOf(type))
-                            .add(entry.getKey());
-                    }
+                if (!serialization.isEmpty()) {
+                    resolverMap.computeIfAbsent(serialization, k -> new LinkedHashMap<>())
+                        .computeIfAbsent(typeEntry.getKey(), k -> EnumSet.noneOf(type))
+                        .add(element);
                 }
             }
-            return resolverMap;
         }
-        return Collections.emptyMap();
     }
 
-    private void serializerResolver(DomainModel domainModel, Object resolver, Map<String, Object> properties, StringBuilder sb) {
-        if (resolver instanceof DomainSerializer<?>) {
-            String json = ((DomainSerializer<Object>) resolver).serialize(domainModel, null, String.class, "json", properties);
-            if (json != null) {
-                sb.append(json);
+    private <DomainElement extends Enum<DomainElement>, Result> List<ForkJoinTask<Map<String, Map<String, Set<DomainElement>>>>> forkResolverChunks(ForkJoinPool pool, int chunkSize, DomainModel model, Map<String, Object> properties, Class<DomainElement> type,
+                                                                                                                                                  Map<String, Map<DomainElement, Result>> resolvers, Map<String, Map<DomainElement, Result>> parentResolvers) {
+        List<Map.Entry<String, Map<DomainElement, Result>>> resolverEntries = new ArrayList<>(resolvers.entrySet());
+        List<ForkJoinTask<Map<String, Map<String, Set<DomainElement>>>>> tasks = new ArrayList<>(resolverEntries.size() / chunkSize + 1);
+        for (int i = 0; i < resolverEntries.size(); i += chunkSize) {
+            List<Map.Entry<String, Map<DomainElement, Result>>> chunk = resolverEntries.subList(i, Math.min(i + chunkSize, resolverEntries.size()));
+            tasks.add(pool.submit(() -> {
+                Map<String, Map<String, Set<DomainElement>>> resolverMap = new LinkedHashMap<>();
+                prepareResolvers(model, properties, type, chunk, parentResolvers, resolverMap);
+                return resolverMap;
+            }));
+        }
+        return tasks;
+    }
+
+    private static <DomainElement> Map<String, Map<String, Set<DomainElement>>> joinResolverChunks(List<ForkJoinTask<Map<String, Map<String, Set<DomainElement>>>>> tasks) {
+        // Merging the chunks in order into linked maps results in the same iteration order as the sequential path
+        Map<String, Map<String, Set<DomainElement>>> resolverMap = new LinkedHashMap<>();
+        for (ForkJoinTask<Map<String, Map<String, Set<DomainElement>>>> task : tasks) {
+            for (Map.Entry<String, Map<String, Set<DomainElement>>> entry : task.join().entrySet()) {
+                // A type name is only contained in a single chunk, so we can simply add all type entries
+                resolverMap.computeIfAbsent(entry.getKey(), k -> new LinkedHashMap<>()).putAll(entry.getValue());
             }
         }
+        return resolverMap;
+    }
+
+    private static <E> List<ForkJoinTask<StringBuilder>> forkChunks(ForkJoinPool pool, int chunkSize, Collection<E> elements, BiConsumer<List<E>, StringBuilder> chunkSerializer) {
+        List<E> list = new ArrayList<>(elements);
+        List<ForkJoinTask<StringBuilder>> tasks = new ArrayList<>(list.size() / chunkSize + 1);
+        for (int i = 0; i < list.size(); i += chunkSize) {
+            List<E> chunk = list.subList(i, Math.min(i + chunkSize, list.size()));
+            tasks.add(pool.submit(() -> {
+                StringBuilder chunkSb = new StringBuilder();
+                chunkSerializer.accept(chunk, chunkSb);
+                return chunkSb;
+            }));
+        }
+        return tasks;
+    }
+
+    private static ForkJoinPool getParallelPool(Map<String, Object> properties) {
+        Object value = properties == null ? null : properties.get(PARALLEL);
+        if (value instanceof ForkJoinPool) {
+            return (ForkJoinPool) value;
+        } else if (Boolean.TRUE.equals(value) || "true".equals(value)) {
+            return ForkJoinPool.commonPool();
+        }
+        return null;
+    }
+
+    private static int getParallelChunkSize(Map<String, Object> properties) {
+        Object value = properties.get(PARALLEL_CHUNK_SIZE);
+        int chunkSize;
+        if (value instanceof Number) {
+            chunkSize = ((Number) value).intValue();
+        } else if (value instanceof String) {
+            chunkSize = Integer.parseInt((String) value);
+        } else {
+            return DEFAULT_PARALLEL_CHUNK_SIZE;
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Invalid parallel chunk size: " + value);
+        }
+        return chunkSize;
+    }
+
+    private void serializerResolver(DomainModel domainModel, Object resolver, Map<String, Object> properties, StringBuilder sb) {
+        String json = DomainSerializerTable.serializeSelf(domainModel, resolver, String.class, "json", properties);
+        if (json != null) {
+            sb.append(json);
+        }
     }
 
     private void serializerResolver(String key, DomainModel domainModel, Object resolver, Map<String, Object> properties, StringBuilder sb) {
-        if (resolver instanceof DomainSerializer<?>) {
-            String json = ((DomainSerializer<Object>) resolver).serialize(domainModel, null, String.class, "json", properties);
-            if (json != null) {
-                sb.append(",\"").append(key).append("\":").append(json);
-            }
+        String json = DomainSerializerTable.serializeSelf(domainModel, resolver, String.class, "json", properties);
+        if (json != null) {
+            sb.append(",\"").append(key).append("\":").append(json);
         }
     }
 
@@ -446,11 +591,9 @@ public class JsonDomainSerializer implements DomainSerializer<DomainModel>, Seri
             sb.append(",\"meta\":[");
             int beginIdx = sb.length();
             for (Object value : metadata.values()) {
-                if (value instanceof DomainSerializer<?>) {
-                    String result = ((DomainSerializer<Object>) value).serialize(model, value, String.class, "json", properties);
-                    if (result != null) {
-                        sb.append(result).append(',');
-                    }
+                String result = DomainSerializerTable.serializeSelf(model, value, String.class, "json", properties);
+                if (result != null) {
+                    sb.append(result).append(',');
                 }
             }
             if (beginIdx == sb.length()) {
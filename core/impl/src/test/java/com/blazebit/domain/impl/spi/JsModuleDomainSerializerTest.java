@@ -0,0 +1,149 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.impl.spi;
+
+import com.blazebit.domain.Domain;
+import com.blazebit.domain.boot.model.DomainBuilder;
+import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.runtime.model.DomainOperator;
+import com.blazebit.domain.runtime.model.DomainPredicate;
+import com.blazebit.domain.runtime.model.StaticDomainFunctionTypeResolvers;
+import com.blazebit.domain.runtime.model.StaticDomainOperationTypeResolvers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+
+public class JsModuleDomainSerializerTest {
+
+    /**
+     * The directory of the checked-in fixtures that the TypeScript runtime tests run and compare with the JSON parsed models,
+     * which must match what the Java serializers produce.
+     */
+    private static final File TYPESCRIPT_FIXTURES = new File("../../typescript/src/test/resources");
+
+    @Test
+    public void testSharedConstants() {
+        // Given
+        DomainBuilder domainBuilder = Domain.getDefaultProvider().createDefaultBuilder();
+        domainBuilder.createBasicType("Integer", Integer.class)
+            .withOperator("Integer", DomainOperator.PLUS)
+            .withOperationTypeResolver("Integer", DomainOperator.PLUS, StaticDomainOperationTypeResolvers.widest("Integer"));
+        domainBuilder.createBasicType("Long", Long.class)
+            .withOperator("Long", DomainOperator.PLUS)
+            .withOperationTypeResolver("Long", DomainOperator.PLUS, StaticDomainOperationTypeResolvers.widest("Long", "Integer"));
+        domainBuilder.createEntityType("User")
+            .addAttribute("id", "Integer")
+            .addAttribute("age", "Integer")
+            .addCollectionAttribute("ids", "Integer")
+            .build();
+        DomainModel domainModel = domainBuilder.build();
+
+        // When
+        String module = domainModel.serialize(String.class, JsModuleDomainSerializer.FORMAT, Collections.emptyMap());
+
+        // Then
+        Assert.assertTrue(module.startsWith("import * as d from \"blaze-domain\";\n"));
+        Assert.assertEquals(1, count(module, "= [O.PLUS];"));
+        Assert.assertEquals(1, count(module, "= b.getType(\"Collection[Integer]\");"));
+        Assert.assertTrue(module.contains("b.attribute("));
+        Assert.assertTrue(module.contains("b.operationTypeResolver(r"));
+        Assert.assertTrue(module.endsWith("    return b.build();\n}\n"));
+    }
+
+    @Test
+    public void testRemovedFunctionUsesDeclaredName() throws IOException {
+        // Given
+        DomainModel baseModel = createDomainModel();
+        DomainBuilder domainBuilder = Domain.getDefaultProvider().createBuilder(baseModel);
+        domainBuilder.removeFunction("size");
+        domainBuilder.createEntityType("Address")
+            .addAttribute("street", "String")
+            .addAttribute("owner", "User")
+            .build();
+        domainBuilder.createFunction("street")
+            .withArgument("address", "Address")
+            .withResultType("String")
+            .build();
+        DomainModel subModel = domainBuilder.build();
+        Map<String, Object> properties = Collections.singletonMap(JsModuleDomainSerializer.RUNTIME_MODULE, "../../../dist/index");
+
+        // When
+        String module = subModel.serialize(baseModel, String.class, JsModuleDomainSerializer.FORMAT, properties);
+
+        // Then
+        Assert.assertTrue(module.contains("    b.removeFunction(\"size\");\n"));
+        Assert.assertFalse(module.contains("SIZE"));
+        String json = "{\"model\":" + baseModel.serialize(String.class, "json", Collections.emptyMap())
+            + ",\"subModel\":" + subModel.serialize(baseModel, String.class, "json", Collections.emptyMap()) + "}\n";
+        assertTypeScriptFixture("js-module-models.json", json);
+        assertTypeScriptFixture("js-module-model.ts", baseModel.serialize(String.class, JsModuleDomainSerializer.FORMAT, properties));
+        assertTypeScriptFixture("js-module-sub-model.ts", module);
+    }
+
+    private static DomainModel createDomainModel() {
+        DomainBuilder domainBuilder = Domain.getDefaultProvider().createDefaultBuilder();
+        domainBuilder.createBasicType("Integer", Integer.class)
+            .withOperator("Integer", DomainOperator.arithmetic())
+            .withPredicate("Integer", DomainPredicate.comparable())
+            .withOperationTypeResolver("Integer", DomainOperator.PLUS, StaticDomainOperationTypeResolvers.widest("Integer"));
+        domainBuilder.createBasicType("String", String.class)
+            .withOperator("String", DomainOperator.PLUS)
+            .withPredicate("String", DomainPredicate.distinguishable())
+            .withOperationTypeResolver("String", DomainOperator.PLUS, StaticDomainOperationTypeResolvers.returning("String"));
+        domainBuilder.createBasicType("Boolean", Boolean.class)
+            .withDefaultPredicateResultType("Boolean");
+        domainBuilder.createEnumType("Status")
+            .withValue("ACTIVE")
+            .withValue("INACTIVE")
+            .build();
+        domainBuilder.createEntityType("User")
+            .addAttribute("id", "Integer")
+            .addAttribute("name", "String")
+            .addAttribute("status", "Status")
+            .addCollectionAttribute("tags", "String")
+            .build();
+        domainBuilder.createFunction("size")
+            .withCollectionArgument("values", "String")
+            .withResultType("Integer")
+            .build();
+        domainBuilder.createFunction("coalesce")
+            .withArgumentTypes("String|Integer", "String|Integer")
+            .withExactArgumentCount(2)
+            .build();
+        domainBuilder.withFunctionTypeResolver("coalesce", StaticDomainFunctionTypeResolvers.FIRST_ARGUMENT_TYPE);
+        return domainBuilder.build();
+    }
+
+    private static void assertTypeScriptFixture(String name, String content) throws IOException {
+        String fixture = new String(Files.readAllBytes(new File(TYPESCRIPT_FIXTURES, name).toPath()), StandardCharsets.UTF_8);
+        Assert.assertEquals(name, fixture, content);
+    }
+
+    private static int count(String string, String part) {
+        int count = 0;
+        for (int idx = string.indexOf(part); idx != -1; idx = string.indexOf(part, idx + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
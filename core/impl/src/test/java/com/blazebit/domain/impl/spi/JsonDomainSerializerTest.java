@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.impl.spi;
+
+import com.blazebit.domain.Domain;
+import com.blazebit.domain.boot.model.DomainBuilder;
+import com.blazebit.domain.boot.model.EntityDomainTypeBuilder;
+import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.runtime.model.DomainOperator;
+import com.blazebit.domain.runtime.model.DomainPredicate;
+import com.blazebit.domain.runtime.model.StaticDomainFunctionTypeResolvers;
+import com.blazebit.domain.runtime.model.StaticDomainOperationTypeResolvers;
+import com.blazebit.domain.runtime.model.StaticDomainPredicateTypeResolvers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+public class JsonDomainSerializerTest {
+
+    private DomainModel createDomainModel() {
+        DomainBuilder domainBuilder = Domain.getDefaultProvider().createDefaultBuilder();
+        domainBuilder.createBasicType("String", String.class)
+            .withOperator("String", DomainOperator.PLUS)
+            .withPredicate("String", DomainPredicate.comparable())
+            .withOperationTypeResolver("String", DomainOperator.PLUS, StaticDomainOperationTypeResolvers.returning("String"));
+        domainBuilder.createBasicType("Integer", Integer.class)
+            .withOperator("Integer", DomainOperator.arithmetic())
+            .withPredicate("Integer", DomainPredicate.comparable())
+            .withDefaultPredicateResultType("Integer");
+        for (String typeName : new String[]{ "Long", "BigDecimal", "BigInteger" }) {
+            domainBuilder.createBasicType(typeName)
+                .withPredicate(typeName, DomainPredicate.comparable());
+            for (DomainPredicate predicate : DomainPredicate.comparable()) {
+                domainBuilder.withPredicateTypeResolver(typeName, predicate, StaticDomainPredicateTypeResolvers.returning("Integer", "Long", "BigDecimal", "BigInteger"));
+            }
+        }
+        for (int i = 0; i < 100; i++) {
+            EntityDomainTypeBuilder entityTypeBuilder = domainBuilder.createEntityType("Entity" + i);
+            for (int j = 0; j < 10; j++) {
+                entityTypeBuilder.addAttribute("attribute" + j, j % 2 == 0 ? "String" : "Integer");
+            }
+            entityTypeBuilder.build();
+            domainBuilder.withPredicate("Entity" + i, DomainPredicate.distinguishable())
+                .withPredicateTypeResolver("Entity" + i, DomainPredicate.EQUALITY, StaticDomainPredicateTypeResolvers.returning("Integer"));
+            domainBuilder.createFunction("function" + i)
+                .withArgument("argument", "Entity" + i)
+                .withResultType(i % 2 == 0 ? "String" : "Integer")
+                .build();
+            domainBuilder.createFunction("resolved" + i)
+                .withArgument("argument", "Integer")
+                .build();
+            domainBuilder.withFunctionTypeResolver("resolved" + i, StaticDomainFunctionTypeResolvers.widest("Integer", "String"));
+        }
+        return domainBuilder.build();
+    }
+
+    @Test
+    public void testParallelSerializationIsByteIdenticalForAllChunkSizes() {
+        // Given
+        DomainModel domainModel = createDomainModel();
+        DomainBuilder subModelBuilder = Domain.getDefaultProvider().createBuilder(domainModel);
+        subModelBuilder.createEntityType("SubEntity")
+            .addAttribute("attribute", "String")
+            .build();
+        subModelBuilder.createFunction("subFunction")
+            .withArgument("argument", "SubEntity")
+            .build();
+        subModelBuilder.withFunctionTypeResolver("subFunction", StaticDomainFunctionTypeResolvers.widest("Integer", "String"));
+        DomainModel subModel = subModelBuilder.build();
+        byte[] sequential = domainModel.serialize(String.class, "json", new HashMap<>()).getBytes(StandardCharsets.UTF_8);
+        byte[] sequentialSubModel = subModel.serialize(domainModel, String.class, "json", new HashMap<>()).getBytes(StandardCharsets.UTF_8);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int chunkSize : new int[]{ 1, 2, 3, 7, 64, 100, 1000 }) {
+                Map<String, Object> properties = new HashMap<>();
+                properties.put(JsonDomainSerializer.PARALLEL, pool);
+                properties.put(JsonDomainSerializer.PARALLEL_CHUNK_SIZE, chunkSize);
+
+                // When
+                byte[] parallel = domainModel.serialize(String.class, "json", properties).getBytes(StandardCharsets.UTF_8);
+                byte[] parallelSubModel = subModel.serialize(domainModel, String.class, "json", properties).getBytes(StandardCharsets.UTF_8);
+
+                // Then
+                Assert.assertArrayEquals("Chunk size " + chunkSize, sequential, parallel);
+                Assert.assertArrayEquals("Sub model with chunk size " + chunkSize, sequentialSubModel, parallelSubModel);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
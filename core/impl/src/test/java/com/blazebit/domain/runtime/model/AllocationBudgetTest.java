@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.runtime.model;
+
+import com.blazebit.domain.Domain;
+import com.blazebit.domain.boot.model.DomainBuilder;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Asserts the allocation budgets of lookup and type resolution hot paths through the per thread allocation counter.
+ * Every operation is repeated until the JIT has compiled it or the number of rounds is exhausted,
+ * so that only allocations that survive compilation fail the test.
+ */
+public class AllocationBudgetTest {
+
+    private static final int ROUNDS = 20;
+    private static final int ITERATIONS = 50_000;
+    private static com.sun.management.ThreadMXBean threadMXBean;
+    private static Object sink;
+
+    @BeforeClass
+    public static void checkSupport() {
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    private static DomainModel createDomainModel(boolean functionCaseSensitive) {
+        DomainBuilder domainBuilder = Domain.getDefaultProvider().createDefaultBuilder();
+        domainBuilder.setFunctionCaseSensitive(functionCaseSensitive);
+        domainBuilder.createBasicType("Integer", Integer.class)
+            .createBasicType("Long", Long.class)
+            .withOperator("Integer", DomainOperator.arithmetic())
+            .withOperator("Long", DomainOperator.arithmetic())
+            .withOperationTypeResolver("Integer", DomainOperator.PLUS, StaticDomainOperationTypeResolvers.widest("Integer", "Long"))
+            .withOperationTypeResolver("Long", DomainOperator.PLUS, StaticDomainOperationTypeResolvers.widest("Integer", "Long"));
+        domainBuilder.createEntityType("Test")
+            .addAttribute("value", "Integer")
+            .build();
+        domainBuilder.createFunction("add")
+            .withArgument("first", "Integer")
+            .withArgument("second", "Long")
+            .withResultType("Long")
+            .build();
+        return domainBuilder.build();
+    }
+
+    private static void assertAllocationBudget(String operation, long budgetPerOperation, Supplier<?> supplier) {
+        long threadId = Thread.currentThread().getId();
+        long bytesPerOperation = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS && bytesPerOperation > budgetPerOperation; round++) {
+            long start = threadMXBean.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink = supplier.get();
+            }
+            bytesPerOperation = (threadMXBean.getThreadAllocatedBytes(threadId) - start) / ITERATIONS;
+        }
+        Assert.assertTrue(operation + " allocated " + bytesPerOperation + " bytes per operation but the budget is " + budgetPerOperation, bytesPerOperation <= budgetPerOperation);
+    }
+
+    @Test
+    public void testModelLookups() {
+        // Given
+        DomainModel rootModel = createDomainModel(true);
+        DomainModel subModel = Domain.getDefaultProvider().createBuilder(rootModel).build();
+
+        // When & Then
+        for (DomainModel domainModel : Arrays.asList(rootModel, subModel)) {
+            assertAllocationBudget("getType", 0, () -> domainModel.getType("Test"));
+            assertAllocationBudget("getFunction with the declared name", 0, () -> domainModel.getFunction("add"));
+            assertAllocationBudget("getFunction with the upper case name", 0, () -> domainModel.getFunction("ADD"));
+            assertAllocationBudget("getFunctionTypeResolver", 0, () -> domainModel.getFunctionTypeResolver("add"));
+            assertAllocationBudget("getOperationTypeResolver", 0, () -> domainModel.getOperationTypeResolver("Integer", DomainOperator.PLUS));
+            assertAllocationBudget("getPredicateTypeResolver", 0, () -> domainModel.getPredicateTypeResolver("Integer", DomainPredicate.EQUALITY));
+        }
+    }
+
+    @Test
+    public void testCaseInsensitiveFunctionLookups() {
+        // Given
+        DomainModel domainModel = createDomainModel(false);
+
+        // When & Then
+        assertAllocationBudget("getFunction", 0, () -> domainModel.getFunction("Add"));
+        assertAllocationBudget("getFunctionTypeResolver", 0, () -> domainModel.getFunctionTypeResolver("Add"));
+    }
+
+    @Test
+    public void testStaticResolvers() {
+        // Given
+        DomainModel domainModel = createDomainModel(true);
+        DomainFunction function = domainModel.getFunction("add");
+        List<DomainType> operandTypes = Arrays.asList(domainModel.getType("Integer"), domainModel.getType("Long"));
+        Map<DomainFunctionArgument, DomainType> argumentTypes = new LinkedHashMap<>();
+        argumentTypes.put(function.getArgument(0), domainModel.getType("Integer"));
+        argumentTypes.put(function.getArgument(1), domainModel.getType("Long"));
+        DomainOperationTypeResolver widestOperation = domainModel.getOperationTypeResolver("Integer", DomainOperator.PLUS);
+        DomainOperationTypeResolver returningOperation = StaticDomainOperationTypeResolvers.returning("Long");
+        DomainFunctionTypeResolver widestFunction = StaticDomainFunctionTypeResolvers.widest("Integer", "Long");
+        DomainFunctionTypeResolver returningFunction = StaticDomainFunctionTypeResolvers.returning("Long");
+
+        // When & Then
+        assertAllocationBudget("widest operation", 0, () -> widestOperation.resolveType(domainModel, operandTypes));
+        assertAllocationBudget("returning operation", 0, () -> returningOperation.resolveType(domainModel, operandTypes));
+        // The iterator of the argument map is not always eliminated by escape analysis
+        assertAllocationBudget("widest function", 32, () -> widestFunction.resolveType(domainModel, function, argumentTypes));
+        assertAllocationBudget("returning function", 0, () -> returningFunction.resolveType(domainModel, function, argumentTypes));
+        assertAllocationBudget("static function", 0, () -> StaticDomainFunctionTypeResolvers.STATIC_RETURN_TYPE.resolveType(domainModel, function, argumentTypes));
+    }
+
+    @Test
+    public void testTemporalIntervalArithmetic() {
+        // Given
+        TemporalInterval interval = new TemporalInterval(0, 1, 2, 3, 4, 5);
+        TemporalInterval timeInterval = new TemporalInterval(0, 0, 0, 3, 4, 5);
+        LocalDateTime localDateTime = LocalDateTime.of(2024, 1, 31, 12, 0);
+        Instant instant = Instant.ofEpochSecond(1_700_000_000L);
+
+        // When & Then
+        assertAllocationBudget("interval add", 40, () -> interval.add(timeInterval));
+        assertAllocationBudget("local date time add", 72, () -> timeInterval.add(localDateTime));
+        assertAllocationBudget("instant add", 24, () -> timeInterval.add(instant));
+        assertAllocationBudget("local date time add with date portion", 168, () -> interval.add(localDateTime));
+    }
+}
@@ -204,6 +204,41 @@ public class DomainBuilderTest {
         assertNull(newDomainModel.getFunction("size"));
     }
 
+    @Test
+    public void testFunctionLookupThroughSubModels() {
+        // Given
+        DomainBuilder domainBuilder = createDefaultDomainBuilder();
+        domainBuilder.createFunction("subString")
+            .withArgument("argument", "String")
+            .withResultType("String")
+            .build();
+        DomainModel domainModel = domainBuilder.build();
+        DomainBuilder subBuilder = Domain.getDefaultProvider().createBuilder(domainModel);
+        subBuilder.createFunction("lowerCase")
+            .withArgument("argument", "String")
+            .withResultType("String")
+            .build();
+        DomainModel subModel = subBuilder.build();
+
+        // When
+        DomainBuilder subSubBuilder = Domain.getDefaultProvider().createBuilder(subModel);
+        subSubBuilder.removeFunction("lowerCase");
+        DomainModel subSubModel = subSubBuilder.build();
+
+        // Then
+        DomainFunction subString = domainModel.getFunction("subString");
+        for (DomainModel model : new DomainModel[]{ domainModel, subModel, subSubModel }) {
+            Assert.assertSame(subString, model.getFunction("subString"));
+            Assert.assertSame(subString, model.getFunction("SUBSTRING"));
+            Assert.assertSame(subString, model.getFunction("substring"));
+        }
+        Assert.assertEquals("lowerCase", subModel.getFunction("lowerCase").getName());
+        Assert.assertSame(subModel.getFunction("lowerCase"), subModel.getFunction("LOWERCASE"));
+        assertNull(subSubModel.getFunction("lowerCase"));
+        assertNull(subSubModel.getFunction("LOWERCASE"));
+        assertNull(domainModel.getFunction("lowerCase"));
+    }
+
     private static class MetadataSample implements MetadataDefinition<MetadataSample> {
 
         public static final MetadataSample INSTANCE = new MetadataSample();
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.runtime.model;
+
+import com.blazebit.domain.Domain;
+import com.blazebit.domain.boot.model.DomainBuilder;
+import com.blazebit.domain.spi.DomainBuildPhase;
+import com.blazebit.domain.spi.DomainMetricsListener;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class DomainMetricsListenerTest {
+
+    private static DomainBuilder createDomainBuilder(DomainMetricsListener listener) {
+        DomainBuilder domainBuilder = Domain.getDefaultProvider().createDefaultBuilder();
+        domainBuilder.withService(DomainMetricsListener.class, listener);
+        domainBuilder.createBasicType("Boolean", Boolean.class)
+            .createBasicType("String", String.class)
+            .withOperator("String", DomainOperator.PLUS)
+            .withPredicate("String", DomainPredicate.comparable())
+            .withDefaultPredicateResultType("Boolean");
+        domainBuilder.createEntityType("Test")
+            .addAttribute("name", "String")
+            .build();
+        domainBuilder.createFunction("concat")
+            .withArgument("first", "String")
+            .withResultType("String")
+            .build();
+        return domainBuilder;
+    }
+
+    @Test
+    public void testBuildPhases() {
+        // Given
+        RecordingListener listener = new RecordingListener();
+
+        // When
+        DomainModel domainModel = createDomainBuilder(listener).build();
+
+        // Then
+        Assert.assertEquals(Arrays.asList(DomainBuildPhase.values()), listener.phases);
+        Assert.assertEquals(Collections.singletonList(domainModel), listener.builtModels);
+    }
+
+    @Test
+    public void testBuildFailure() {
+        // Given
+        RecordingListener listener = new RecordingListener();
+        DomainBuilder domainBuilder = createDomainBuilder(listener);
+        domainBuilder.createEntityType("Broken")
+            .addAttribute("value", "Unknown")
+            .build();
+
+        // When
+        try {
+            domainBuilder.build();
+            Assert.fail("Expected a failure");
+        } catch (IllegalArgumentException ex) {
+            // Then
+            Assert.assertEquals(Collections.singletonList(ex), listener.failures);
+            Assert.assertTrue(listener.builtModels.isEmpty());
+        }
+    }
+
+    @Test
+    public void testLookupsOfSubModelAreReportedOnce() {
+        // Given
+        RecordingListener listener = new RecordingListener();
+        DomainModel rootModel = createDomainBuilder(listener).build();
+        DomainModel subModel = Domain.getDefaultProvider().createBuilder(rootModel).build();
+        listener.lookups.clear();
+
+        // When
+        subModel.getType("Test");
+        subModel.getType("Unknown");
+        subModel.getFunction("concat");
+        subModel.getOperationTypeResolver("String", DomainOperator.PLUS);
+        subModel.getPredicateTypeResolver("String", DomainPredicate.EQUALITY);
+
+        // Then
+        Assert.assertEquals(
+            Arrays.asList("type Test found", "type Unknown missing", "function concat found", "operator String PLUS found", "predicate String EQUALITY found"),
+            listener.lookups
+        );
+    }
+
+    @Test
+    public void testCollectionTypeCache() {
+        // Given
+        RecordingListener listener = new RecordingListener();
+        DomainModel domainModel = createDomainBuilder(listener).build();
+        listener.lookups.clear();
+
+        // When
+        domainModel.getCollectionType("Test");
+        domainModel.getCollectionType("Test");
+
+        // Then
+        Assert.assertEquals(Arrays.asList("cache collectionTypes miss", "cache collectionTypes hit"), listener.lookups);
+    }
+
+    @Test
+    public void testSerializationSize() {
+        // Given
+        RecordingListener listener = new RecordingListener();
+        DomainModel domainModel = createDomainBuilder(listener).build();
+
+        // When
+        String json = domainModel.serialize(String.class, "json", Collections.emptyMap());
+
+        // Then
+        Assert.assertEquals(Collections.singletonList((long) json.length()), listener.serializationSizes);
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 3.0.0
+     */
+    private static class RecordingListener implements DomainMetricsListener {
+
+        private final List<DomainBuildPhase> phases = new ArrayList<>();
+        private final List<DomainModel> builtModels = new ArrayList<>();
+        private final List<RuntimeException> failures = new ArrayList<>();
+        private final List<String> lookups = new ArrayList<>();
+        private final List<Long> serializationSizes = new ArrayList<>();
+
+        @Override
+        public void onBuildPhase(DomainBuilder domainBuilder, DomainBuildPhase phase, long durationNanos) {
+            phases.add(phase);
+        }
+
+        @Override
+        public void onBuild(DomainBuilder domainBuilder, DomainModel domainModel, long durationNanos) {
+            builtModels.add(domainModel);
+        }
+
+        @Override
+        public void onBuildFailure(DomainBuilder domainBuilder, RuntimeException exception, long durationNanos) {
+            failures.add(exception);
+        }
+
+        @Override
+        public void onTypeLookup(DomainModel domainModel, String typeName, DomainType domainType) {
+            lookups.add("type " + typeName + (domainType == null ? " missing" : " found"));
+        }
+
+        @Override
+        public void onFunctionLookup(DomainModel domainModel, String functionName, DomainFunction function) {
+            lookups.add("function " + functionName + (function == null ? " missing" : " found"));
+        }
+
+        @Override
+        public void onOperationTypeResolverLookup(DomainModel domainModel, String typeName, DomainOperator operator, DomainOperationTypeResolver typeResolver) {
+            lookups.add("operator " + typeName + " " + operator + (typeResolver == null ? " missing" : " found"));
+        }
+
+        @Override
+        public void onPredicateTypeResolverLookup(DomainModel domainModel, String typeName, DomainPredicate predicate, DomainPredicateTypeResolver typeResolver) {
+            lookups.add("predicate " + typeName + " " + predicate + (typeResolver == null ? " missing" : " found"));
+        }
+
+        @Override
+        public void onCacheLookup(DomainModel domainModel, String cacheName, boolean hit) {
+            lookups.add("cache " + cacheName + (hit ? " hit" : " miss"));
+        }
+
+        @Override
+        public void onSerialization(DomainModel domainModel, DomainModel baseModel, String format, long size, long durationNanos) {
+            serializationSizes.add(size);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.runtime.model;
+
+import com.blazebit.domain.Domain;
+import com.blazebit.domain.boot.model.DomainBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.TreeSet;
+
+public class DomainModelDiffTest {
+
+    /**
+     * The checked-in fixture that the TypeScript runtime tests apply, which must match what the Java diff serializer produces.
+     */
+    private static final File TYPESCRIPT_FIXTURE = new File("../../typescript/src/test/resources/domain-model-diff.json");
+
+    private DomainBuilder createDomainBuilder(boolean withMinus) {
+        DomainBuilder domainBuilder = Domain.getDefaultProvider().createDefaultBuilder();
+        domainBuilder.createBasicType("String", String.class)
+            .withOperator("String", DomainOperator.PLUS)
+            .withOperationTypeResolver("String", DomainOperator.PLUS, StaticDomainOperationTypeResolvers.widest("String"));
+        domainBuilder.createBasicType("Integer", Integer.class)
+            .withOperator("Integer", DomainOperator.PLUS)
+            .withOperationTypeResolver("Integer", DomainOperator.PLUS, StaticDomainOperationTypeResolvers.widest("Integer"));
+        if (withMinus) {
+            domainBuilder.withOperator("Integer", DomainOperator.MINUS)
+                .withOperationTypeResolver("Integer", DomainOperator.MINUS, StaticDomainOperationTypeResolvers.widest("Integer"));
+        }
+        domainBuilder.createEntityType("Address")
+            .addAttribute("street", "String")
+            .build();
+        domainBuilder.createEntityType("User")
+            .addAttribute("name", "String")
+            .addAttribute("address", "Address")
+            .build();
+        domainBuilder.createFunction("abs")
+            .withArgument("value", "Integer")
+            .withResultType("Integer")
+            .build();
+        domainBuilder.createFunction("street")
+            .withArgument("address", "Address")
+            .withResultType("String")
+            .build();
+        return domainBuilder;
+    }
+
+    @Test
+    public void testIndependentlyBuiltModelsAreEqual() {
+        // Given
+        DomainModel sourceModel = createDomainBuilder(true).build();
+        DomainModel targetModel = createDomainBuilder(true).build();
+
+        // When
+        DomainModelDiff diff = sourceModel.diff(targetModel);
+
+        // Then
+        Assert.assertTrue(diff.isEmpty());
+    }
+
+    @Test
+    public void testChangesArePropagatedToReferrers() throws IOException {
+        // Given
+        DomainBuilder sourceBuilder = createDomainBuilder(true);
+        sourceBuilder.createEntityType("Legacy")
+            .addAttribute("name", "String")
+            .build();
+        DomainModel sourceModel = sourceBuilder.build();
+        DomainBuilder domainBuilder = createDomainBuilder(false);
+        domainBuilder.createEntityType("Address")
+            .addAttribute("street", "String")
+            .addAttribute("zip", "Integer")
+            .build();
+        domainBuilder.createBasicType("Long", Long.class);
+        domainBuilder.removeFunction("abs");
+        domainBuilder.createFunction("length")
+            .withArgument("value", "String")
+            .withResultType("Integer")
+            .build();
+        DomainModel targetModel = domainBuilder.build();
+
+        // When
+        DomainModelDiff diff = sourceModel.diff(targetModel);
+        String json = diff.serialize(String.class, "json", Collections.emptyMap());
+
+        // Then
+        Assert.assertEquals(Collections.singleton("Long"), diff.getAddedTypes().keySet());
+        Assert.assertEquals(Collections.singleton("Legacy"), diff.getRemovedTypes());
+        Assert.assertEquals(new TreeSet<>(Arrays.asList("Address", "Integer", "User")), diff.getChangedTypes().keySet());
+        Assert.assertEquals(Collections.singleton("abs"), diff.getRemovedFunctions());
+        Assert.assertEquals(Collections.singleton("length"), diff.getAddedFunctions().keySet());
+        Assert.assertEquals(Collections.singleton("street"), diff.getChangedFunctions().keySet());
+        Assert.assertEquals(Collections.singleton(DomainOperator.MINUS), diff.getRemovedOperationTypeResolvers().get("Integer"));
+        Assert.assertTrue(json.contains("{\"name\":\"abs\"}"));
+        Assert.assertTrue(json.contains("{\"resolver\":null,\"typeOps\":{\"Integer\":[\"-\"]}}"));
+        String fixture = "{\"source\":" + sourceModel.serialize(String.class, "json", Collections.emptyMap()) + ",\"diff\":" + json + "}\n";
+        Assert.assertEquals(new String(Files.readAllBytes(TYPESCRIPT_FIXTURE.toPath()), StandardCharsets.UTF_8), fixture);
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.runtime.model;
+
+import com.blazebit.domain.Domain;
+import com.blazebit.domain.boot.model.DomainBuilder;
+import com.blazebit.domain.boot.model.MetadataDefinition;
+import com.blazebit.domain.boot.model.MetadataDefinitionHolder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class DomainModelSerializationTest {
+
+    private DomainModel createDomainModel() {
+        DomainBuilder domainBuilder = Domain.getDefaultProvider().createDefaultBuilder();
+        domainBuilder.setFunctionCaseSensitive(false);
+        domainBuilder.createBasicType("String", String.class, MetadataSample.INSTANCE)
+            .withOperator("String", DomainOperator.PLUS)
+            .withPredicate("String", DomainPredicate.comparable())
+            .withOperationTypeResolver("String", DomainOperator.PLUS, StaticDomainOperationTypeResolvers.widest("String"));
+        domainBuilder.createBasicType("Integer", Integer.class)
+            .withOperator("Integer", DomainOperator.arithmetic())
+            .withPredicate("Integer", DomainPredicate.comparable())
+            .withDefaultPredicateResultType("Integer");
+        domainBuilder.createEnumType("Status")
+            .withValue("ACTIVE", MetadataSample.INSTANCE)
+            .withValue("INACTIVE")
+            .build();
+        domainBuilder.createEntityType("Test")
+            .setCaseSensitive(false)
+            .addAttribute("name", "String", MetadataSample.INSTANCE)
+            .addAttribute("status", "Status")
+            .addCollectionAttribute("tags", "String")
+            .withMetadata(MetadataSample.INSTANCE)
+            .build();
+        domainBuilder.createFunction("concat")
+            .withArgument("first", "String")
+            .withCollectionArgument("rest", "String")
+            .withMinArgumentCount(1)
+            .withResultType("String")
+            .build();
+        domainBuilder.createFunction("coalesce")
+            .withArgumentTypes("String|Integer", "String|Integer")
+            .withExactArgumentCount(3)
+            .build();
+        domainBuilder.withFunctionTypeResolver("coalesce", StaticDomainFunctionTypeResolvers.FIRST_ARGUMENT_TYPE);
+        domainBuilder.createFunction("now")
+            .withVolatility(DomainFunctionVolatility.VOLATILE)
+            .withMetadata(MetadataSample.INSTANCE)
+            .withCollectionResultType("Integer")
+            .build();
+        domainBuilder.setProperty("test", "value");
+        return domainBuilder.build();
+    }
+
+    @Test
+    public void testRoundTripRootModel() throws Exception {
+        // Given
+        DomainModel domainModel = createDomainModel();
+
+        // When
+        DomainModel deserialized = (DomainModel) deserialize(serialize(domainModel));
+
+        // Then
+        Assert.assertNotSame(domainModel, deserialized);
+        Assert.assertEquals(json(domainModel), json(deserialized));
+        Assert.assertEquals("value", deserialized.getProperty("test"));
+        Assert.assertEquals(-1, deserialized.getFunction("CONCAT").getArgumentCount());
+        Assert.assertEquals(3, deserialized.getFunction("coalesce").getArguments().size());
+        Assert.assertEquals(MetadataSample.INSTANCE, deserialized.getEntityType("Test").getAttribute("NAME").getMetadata(MetadataSample.class));
+        Assert.assertSame(StaticDomainOperationTypeResolvers.widest("String"), deserialized.getOperationTypeResolver("String", DomainOperator.PLUS));
+    }
+
+    @Test
+    public void testRoundTripSubModelSharesBaseModel() throws Exception {
+        // Given
+        DomainModel domainModel = createDomainModel();
+        DomainBuilder domainBuilder = Domain.getDefaultProvider().createBuilder(domainModel);
+        domainBuilder.createEntityType("Other")
+            .addAttribute("test", "Test")
+            .build();
+        domainBuilder.removeFunction("now");
+        DomainModel subModel1 = domainBuilder.build();
+        DomainModel subModel2 = Domain.getDefaultProvider().createBuilder(domainModel)
+            .createBasicType("Long", Long.class)
+            .build();
+
+        // When
+        Object[] deserialized = deserialize(serialize(subModel1, subModel2), 2);
+        DomainModel deserialized1 = (DomainModel) deserialized[0];
+        DomainModel deserialized2 = (DomainModel) deserialized[1];
+
+        // Then
+        Assert.assertEquals(json(subModel1), json(deserialized1));
+        Assert.assertNull(deserialized1.getFunction("now"));
+        Assert.assertNotNull(deserialized1.getParentDomainModel().getFunction("now"));
+        Assert.assertSame(deserialized1.getParentDomainModel(), deserialized2.getParentDomainModel());
+    }
+
+    @Test
+    public void testSeparateStreamsShareBaseModel() throws Exception {
+        // Given
+        DomainModel domainModel = createDomainModel();
+        DomainModel subModel = Domain.getDefaultProvider().createBuilder(domainModel)
+            .createBasicType("Long", Long.class)
+            .build();
+        byte[] bytes = serialize(subModel);
+
+        // When
+        DomainModel deserialized1 = (DomainModel) deserialize(bytes);
+        DomainModel deserialized2 = (DomainModel) deserialize(bytes);
+
+        // Then
+        Assert.assertNotSame(deserialized1, deserialized2);
+        Assert.assertSame(deserialized1.getParentDomainModel(), deserialized2.getParentDomainModel());
+        Assert.assertEquals(json(domainModel), json(deserialized1.getParentDomainModel()));
+        Assert.assertEquals(json(deserialized1), json(deserialized2));
+    }
+
+    @Test
+    public void testSubModelDoesNotContainBaseModel() throws Exception {
+        // Given
+        DomainBuilder domainBuilder = Domain.getDefaultProvider().createDefaultBuilder()
+            .createBasicType("String", String.class)
+            .createBasicType("Integer", Integer.class);
+        for (int i = 0; i < 200; i++) {
+            domainBuilder.createEntityType("Entity" + i)
+                .addAttribute("id", "Integer")
+                .addAttribute("name", "String")
+                .build();
+        }
+        DomainModel domainModel = domainBuilder.build();
+        DomainModel subModel = Domain.getDefaultProvider().createBuilder(domainModel)
+            .createEntityType("Overlay")
+            .addAttribute("id", "Integer")
+            .build()
+            .build();
+
+        // When
+        int baseSize = serialize(domainModel).length;
+        int subSize = serialize(subModel).length;
+
+        // Then
+        Assert.assertTrue("Sub model size " + subSize + " should be a fraction of the base model size " + baseSize, subSize * 10 < baseSize);
+    }
+
+    @Test
+    public void testStaticResolversAreWrittenByFactoryKey() throws Exception {
+        // Given
+        DomainModel domainModel = Domain.getDefaultProvider().createDefaultBuilder()
+            .createBasicType("Integer", Integer.class)
+            .createBasicType("Long", Long.class)
+            .withOperator("Long", DomainOperator.PLUS)
+            .withPredicate("Long", DomainPredicate.EQUALITY)
+            .withOperationTypeResolver("Long", DomainOperator.PLUS, StaticDomainOperationTypeResolvers.returning("Long", new String[][]{ { "Long" }, { "Long", "Integer" } }))
+            .withPredicateTypeResolver("Long", DomainPredicate.EQUALITY, StaticDomainPredicateTypeResolvers.returning("Integer", "Long"))
+            .createFunction("longest")
+                .withArgument("first", "Long")
+                .withResultType("Long")
+                .build()
+            .withFunctionTypeResolver("longest", StaticDomainFunctionTypeResolvers.widest("Long", "Integer"))
+            .build();
+
+        // When
+        byte[] bytes = serialize(domainModel);
+        DomainModel deserialized = (DomainModel) deserialize(bytes);
+
+        // Then
+        Assert.assertEquals(json(domainModel), json(deserialized));
+        Assert.assertSame(StaticDomainFunctionTypeResolvers.widest("Long", "Integer"), deserialized.getFunctionTypeResolver("longest"));
+        Assert.assertFalse(new String(bytes, StandardCharsets.ISO_8859_1).contains("TypeResolvers$"));
+    }
+
+    @Test
+    public void testUnknownBaseModelIsLookedUpAndVerified() throws Exception {
+        // Given
+        DomainModel domainModel = createDomainModel();
+        DomainModel subModel = Domain.getDefaultProvider().createBuilder(domainModel)
+            .createBasicType("Long", Long.class)
+            .build();
+        byte[] bytes = corruptFingerprints(serialize(subModel));
+        TestDomainModelLookup.domainModel = domainModel;
+
+        // When
+        try {
+            deserialize(bytes);
+            Assert.fail("Expected the lookup to fail");
+        } catch (InvalidObjectException ex) {
+            // Then
+            Assert.assertTrue(ex.getMessage(), ex.getMessage().contains("Couldn't find the base domain model"));
+            Assert.assertEquals(1, TestDomainModelLookup.lookups.size());
+            Assert.assertTrue(ex.getMessage(), ex.getMessage().contains(TestDomainModelLookup.lookups.get(0)));
+        } finally {
+            TestDomainModelLookup.domainModel = null;
+            TestDomainModelLookup.lookups.clear();
+        }
+    }
+
+    private static byte[] corruptFingerprints(byte[] bytes) {
+        // Fingerprints are written as 64 hex characters with a two byte length prefix
+        byte[] corrupted = bytes.clone();
+        for (int i = 2; i + 64 <= corrupted.length; i++) {
+            if (corrupted[i - 2] == 0 && corrupted[i - 1] == 64 && isHex(corrupted, i, 64)) {
+                Arrays.fill(corrupted, i, i + 64, (byte) '0');
+            }
+        }
+        return corrupted;
+    }
+
+    private static boolean isHex(byte[] bytes, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (Character.digit(bytes[i], 16) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String json(DomainModel domainModel) {
+        return domainModel.serialize(String.class, "json", Collections.emptyMap());
+    }
+
+    private static byte[] serialize(Object... objects) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+            for (Object object : objects) {
+                oos.writeObject(object);
+            }
+        }
+        return baos.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        return deserialize(bytes, 1)[0];
+    }
+
+    private static Object[] deserialize(byte[] bytes, int count) throws IOException, ClassNotFoundException {
+        Object[] objects = new Object[count];
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            for (int i = 0; i < count; i++) {
+                objects[i] = ois.readObject();
+            }
+        }
+        return objects;
+    }
+
+    private static class MetadataSample implements MetadataDefinition<MetadataSample>, Serializable {
+
+        public static final MetadataSample INSTANCE = new MetadataSample();
+
+        @Override
+        public Class<MetadataSample> getJavaType() {
+            return MetadataSample.class;
+        }
+
+        @Override
+        public MetadataSample build(MetadataDefinitionHolder definitionHolder) {
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof MetadataSample;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+}
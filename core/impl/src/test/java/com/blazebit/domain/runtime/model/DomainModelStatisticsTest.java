@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.runtime.model;
+
+import com.blazebit.domain.Domain;
+import com.blazebit.domain.boot.model.DomainBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+
+public class DomainModelStatisticsTest {
+
+    private DomainModel createDomainModel() {
+        DomainBuilder domainBuilder = Domain.getDefaultProvider().createDefaultBuilder();
+        domainBuilder.createBasicType("Boolean", Boolean.class)
+            .createBasicType("String", String.class)
+            .withOperator("String", DomainOperator.PLUS)
+            .withPredicate("String", DomainPredicate.distinguishable())
+            .withDefaultPredicateResultType("Boolean");
+        domainBuilder.createEnumType("Status")
+            .withValue("ACTIVE")
+            .withValue("INACTIVE")
+            .build();
+        domainBuilder.createEntityType("Test")
+            .addAttribute("name", "String")
+            .addAttribute("status", "Status")
+            .build();
+        domainBuilder.createFunction("concat")
+            .withArgument("first", "String")
+            .withResultType("String")
+            .build();
+        return domainBuilder.build();
+    }
+
+    @Test
+    public void testRootModel() {
+        // Given
+        DomainModel domainModel = createDomainModel();
+
+        // When
+        DomainModelStatistics statistics = domainModel.getStatistics();
+
+        // Then
+        Assert.assertEquals(0, statistics.getDepth());
+        Assert.assertEquals(domainModel.getTypes().size(), statistics.getTypeCount());
+        Assert.assertEquals(statistics.getTypeCount(), statistics.getOwnTypeCount());
+        Assert.assertEquals(Integer.valueOf(1), statistics.getTypeCounts().get(DomainType.DomainTypeKind.ENTITY));
+        Assert.assertEquals(Integer.valueOf(1), statistics.getTypeCounts().get(DomainType.DomainTypeKind.ENUM));
+        Assert.assertEquals(2, statistics.getAttributeCount());
+        Assert.assertEquals(2, statistics.getEnumValueCount());
+        Assert.assertEquals(domainModel.getFunctions().size(), statistics.getFunctionCount());
+        Assert.assertTrue(statistics.getEstimatedRetainedSize() > 0L);
+        Assert.assertEquals(0L, statistics.getEstimatedParentRetainedSize());
+        Assert.assertEquals(0D, statistics.getParentRetainedSizeShare(), 0D);
+    }
+
+    @Test
+    public void testSubModel() {
+        // Given
+        DomainModel rootModel = createDomainModel();
+        DomainBuilder domainBuilder = Domain.getDefaultProvider().createBuilder(rootModel);
+        domainBuilder.createEntityType("Other")
+            .addAttribute("name", "String")
+            .build();
+        DomainModel subModel = domainBuilder.build();
+
+        // When
+        DomainModelStatistics rootStatistics = rootModel.getStatistics();
+        DomainModelStatistics statistics = subModel.getStatistics();
+
+        // Then
+        Assert.assertEquals(1, statistics.getDepth());
+        Assert.assertEquals(rootStatistics.getTypeCount() + 1, statistics.getTypeCount());
+        Assert.assertEquals(1, statistics.getOwnTypeCount());
+        Assert.assertEquals(0, statistics.getOwnFunctionCount());
+        Assert.assertEquals(3, statistics.getAttributeCount());
+        Assert.assertEquals(rootStatistics.getEstimatedRetainedSize(), statistics.getEstimatedParentRetainedSize());
+        Assert.assertTrue(statistics.getEstimatedRetainedSize() < rootStatistics.getEstimatedRetainedSize());
+        Assert.assertTrue(statistics.getParentRetainedSizeShare() > 0.5D);
+    }
+
+    @Test
+    public void testJson() {
+        // Given
+        DomainModel domainModel = createDomainModel();
+        DomainModelStatistics statistics = domainModel.getStatistics();
+
+        // When
+        String json = statistics.serialize(String.class, "json", Collections.emptyMap());
+
+        // Then
+        Assert.assertTrue(json, json.startsWith("{\"depth\":0,\"types\":" + statistics.getTypeCount() + ",\"typeKinds\":{"));
+        Assert.assertTrue(json, json.contains("\"ENTITY\":1"));
+        Assert.assertTrue(json, json.endsWith(",\"retainedSize\":" + statistics.getEstimatedRetainedSize() + ",\"parentRetainedSize\":0}"));
+    }
+}
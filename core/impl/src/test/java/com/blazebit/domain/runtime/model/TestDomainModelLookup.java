@@ -0,0 +1,34 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.runtime.model;
+
+import com.blazebit.domain.spi.DomainModelLookup;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class TestDomainModelLookup implements DomainModelLookup {
+
+    static final List<String> lookups = new CopyOnWriteArrayList<>();
+    static volatile DomainModel domainModel;
+
+    @Override
+    public DomainModel lookup(String fingerprint) {
+        lookups.add(fingerprint);
+        return domainModel;
+    }
+}
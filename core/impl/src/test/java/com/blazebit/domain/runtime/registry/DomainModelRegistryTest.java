@@ -0,0 +1,136 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.runtime.registry;
+
+import com.blazebit.domain.Domain;
+import com.blazebit.domain.runtime.model.DomainModel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DomainModelRegistryTest {
+
+    private static DomainModel createDomainModel() {
+        return Domain.getDefaultProvider().createEmptyBuilder()
+            .createBasicType("String", String.class)
+            .build();
+    }
+
+    @Test
+    public void testSwap() {
+        // Given
+        DomainModelRegistry registry = new DomainModelRegistry();
+        DomainModelSnapshot snapshot = registry.register("test", createDomainModel());
+        DomainModel newModel = createDomainModel();
+
+        // When
+        DomainModelSnapshot staleSwap = registry.swap("test", 2L, newModel);
+        DomainModelSnapshot newSnapshot = registry.swap("test", snapshot.getVersion(), newModel);
+
+        // Then
+        Assert.assertNull(staleSwap);
+        Assert.assertEquals(2L, newSnapshot.getVersion());
+        Assert.assertSame(newModel, newSnapshot.getDomainModel());
+        Assert.assertSame(newSnapshot, registry.current("test"));
+        Assert.assertNull(registry.swap("test", snapshot.getVersion(), createDomainModel()));
+    }
+
+    @Test
+    public void testRebuild() {
+        // Given
+        DomainModelRegistry registry = new DomainModelRegistry();
+        DomainModelSnapshot snapshot = registry.register("test", createDomainModel());
+
+        // When
+        DomainModelSnapshot newSnapshot = registry.rebuild("test", domainBuilder -> domainBuilder.createBasicType("Integer", Integer.class));
+
+        // Then
+        Assert.assertEquals(2L, newSnapshot.getVersion());
+        Assert.assertNotNull(newSnapshot.getDomainModel().getType("Integer"));
+        Assert.assertNull(snapshot.getDomainModel().getType("Integer"));
+        Assert.assertSame(newSnapshot, registry.current("test"));
+    }
+
+    @Test
+    public void testConcurrentRebuildsAreSerialized() throws Exception {
+        // Given
+        DomainModelRegistry registry = new DomainModelRegistry();
+        registry.register("test", createDomainModel());
+        int rebuilds = 16;
+        AtomicInteger builds = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        List<Future<DomainModelSnapshot>> futures = new ArrayList<>(rebuilds);
+
+        // When
+        try {
+            for (int i = 0; i < rebuilds; i++) {
+                String typeName = "Type" + i;
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    return registry.rebuild("test", domainBuilder -> {
+                        builds.incrementAndGet();
+                        domainBuilder.createBasicType(typeName, String.class);
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<DomainModelSnapshot> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        // Then
+        DomainModelSnapshot snapshot = registry.current("test");
+        Assert.assertEquals(rebuilds, builds.get());
+        Assert.assertEquals(rebuilds + 1L, snapshot.getVersion());
+        for (int i = 0; i < rebuilds; i++) {
+            Assert.assertNotNull(snapshot.getDomainModel().getType("Type" + i));
+        }
+    }
+
+    @Test
+    public void testPin() {
+        // Given
+        DomainModelRegistry registry = new DomainModelRegistry();
+        DomainModelSnapshot snapshot = registry.register("test", createDomainModel());
+
+        // When
+        try (DomainModelPin pin = registry.pin("test")) {
+            registry.rebuild("test", domainBuilder -> domainBuilder.createBasicType("Integer", Integer.class));
+
+            // Then
+            Assert.assertSame(snapshot, pin.getSnapshot());
+            Assert.assertNull(pin.getDomainModel().getType("Integer"));
+            Assert.assertEquals(Collections.singletonList(snapshot), registry.getPinnedSnapshots("test"));
+            Assert.assertEquals(1, registry.getPinCount(snapshot));
+        }
+        Assert.assertTrue(registry.getPinnedSnapshots("test").isEmpty());
+        Assert.assertEquals(0, registry.getPinCount(snapshot));
+    }
+}
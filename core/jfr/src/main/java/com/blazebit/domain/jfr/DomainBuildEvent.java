@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A JFR event for a domain model build.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+@Name("com.blazebit.domain.Build")
+@Label("Domain Model Build")
+@Description("Building of a domain model through a domain builder")
+@Category("Blaze-Domain")
+class DomainBuildEvent extends Event {
+
+    @Label("Builder Identity")
+    int builderId;
+
+    @Label("Model Identity")
+    int modelId;
+
+    @Label("Parent Model Identity")
+    @Description("The identity of the parent domain model or 0 if the model is a root model")
+    int parentModelId;
+
+    @Label("Types")
+    int typeCount;
+
+    @Label("Functions")
+    int functionCount;
+
+    @Label("Elapsed Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsedTime;
+
+    @Label("Failure")
+    @Description("The message of the exception if the build failed")
+    String failure;
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A JFR event for a phase of a domain model build.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+@Name("com.blazebit.domain.BuildPhase")
+@Label("Domain Model Build Phase")
+@Description("A phase of building a domain model through a domain builder")
+@Category("Blaze-Domain")
+@StackTrace(false)
+class DomainBuildPhaseEvent extends Event {
+
+    @Label("Builder Identity")
+    int builderId;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Elapsed Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsedTime;
+}
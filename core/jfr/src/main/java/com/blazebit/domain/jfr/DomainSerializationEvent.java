@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A JFR event for the serialization of a domain model.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+@Name("com.blazebit.domain.Serialization")
+@Label("Domain Model Serialization")
+@Description("Serialization of a domain model to a format")
+@Category("Blaze-Domain")
+class DomainSerializationEvent extends Event {
+
+    @Label("Model Identity")
+    int modelId;
+
+    @Label("Base Model Identity")
+    @Description("The identity of the base model relative to which the model was serialized or 0")
+    int baseModelId;
+
+    @Label("Format")
+    String format;
+
+    @Label("Size")
+    @Description("The length of the serialized form or -1 if unknown")
+    @DataAmount
+    long size;
+
+    @Label("Elapsed Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsedTime;
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A sampled JFR event for a lookup of a type, function or type resolver in a domain model.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+@Name("com.blazebit.domain.TypeResolution")
+@Label("Domain Type Resolution")
+@Description("A sampled lookup of a type, function or type resolver in a domain model")
+@Category("Blaze-Domain")
+@StackTrace(false)
+class DomainTypeResolutionEvent extends Event {
+
+    @Label("Model Identity")
+    int modelId;
+
+    @Label("Kind")
+    @Description("The kind of the looked up element i.e. type, function, functionTypeResolver, operationTypeResolver or predicateTypeResolver")
+    String kind;
+
+    @Label("Name")
+    String name;
+
+    @Label("Operation")
+    @Description("The operator or predicate for operation and predicate type resolver lookups")
+    String operation;
+
+    @Label("Resolved")
+    boolean resolved;
+
+    @Label("Sampling Interval")
+    @Description("The average number of lookups represented by this event")
+    int samplingInterval;
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.jfr;
+
+import com.blazebit.domain.boot.model.DomainBuilder;
+import com.blazebit.domain.runtime.model.DomainFunction;
+import com.blazebit.domain.runtime.model.DomainFunctionTypeResolver;
+import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.runtime.model.DomainOperationTypeResolver;
+import com.blazebit.domain.runtime.model.DomainOperator;
+import com.blazebit.domain.runtime.model.DomainPredicate;
+import com.blazebit.domain.runtime.model.DomainPredicateTypeResolver;
+import com.blazebit.domain.runtime.model.DomainType;
+import com.blazebit.domain.spi.DomainBuildPhase;
+import com.blazebit.domain.spi.DomainContributor;
+import com.blazebit.domain.spi.DomainMetricsListener;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A metrics listener that emits JDK Flight Recorder events for domain model builds, build phases, contributions, serializations
+ * and sampled type resolutions. Events are only created when they are enabled in the running recording.
+ *
+ * The events carry the identity hash code of the domain builders and models so that events of the same build can be correlated.
+ * Type resolutions happen on hot paths, so only every n-th lookup on average is emitted, which can be configured through
+ * the system property {@value #SAMPLING_INTERVAL_PROPERTY}.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public class JfrDomainMetricsListener implements DomainMetricsListener {
+
+    /**
+     * The system property for the average number of type resolutions per emitted type resolution event.
+     */
+    public static final String SAMPLING_INTERVAL_PROPERTY = "com.blazebit.domain.jfr.type-resolution-sampling-interval";
+    /**
+     * The default average number of type resolutions per emitted type resolution event.
+     */
+    public static final int DEFAULT_SAMPLING_INTERVAL = 100;
+
+    private final int samplingInterval;
+
+    /**
+     * Creates a metrics listener with the sampling interval configured through the system property {@value #SAMPLING_INTERVAL_PROPERTY}.
+     */
+    public JfrDomainMetricsListener() {
+        this(Integer.getInteger(SAMPLING_INTERVAL_PROPERTY, DEFAULT_SAMPLING_INTERVAL));
+    }
+
+    /**
+     * Creates a metrics listener with the given sampling interval for type resolution events.
+     *
+     * @param samplingInterval The average number of type resolutions per emitted event, 1 to emit all
+     */
+    public JfrDomainMetricsListener(int samplingInterval) {
+        if (samplingInterval < 1) {
+            throw new IllegalArgumentException("Invalid sampling interval: " + samplingInterval);
+        }
+        this.samplingInterval = samplingInterval;
+    }
+
+    @Override
+    public void onContribute(DomainBuilder domainBuilder, DomainContributor domainContributor, long durationNanos) {
+        DomainContributionEvent event = new DomainContributionEvent();
+        if (event.isEnabled()) {
+            event.builderId = System.identityHashCode(domainBuilder);
+            event.contributor = domainContributor.getClass();
+            event.elapsedTime = durationNanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onBuildPhase(DomainBuilder domainBuilder, DomainBuildPhase phase, long durationNanos) {
+        DomainBuildPhaseEvent event = new DomainBuildPhaseEvent();
+        if (event.isEnabled()) {
+            event.builderId = System.identityHashCode(domainBuilder);
+            event.phase = phase.name();
+            event.elapsedTime = durationNanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onBuild(DomainBuilder domainBuilder, DomainModel domainModel, long durationNanos) {
+        DomainBuildEvent event = new DomainBuildEvent();
+        if (event.isEnabled()) {
+            event.builderId = System.identityHashCode(domainBuilder);
+            event.modelId = System.identityHashCode(domainModel);
+            event.parentModelId = identity(domainModel.getParentDomainModel());
+            event.typeCount = domainModel.getTypes().size();
+            event.functionCount = domainModel.getFunctions().size();
+            event.elapsedTime = durationNanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onBuildFailure(DomainBuilder domainBuilder, RuntimeException exception, long durationNanos) {
+        DomainBuildEvent event = new DomainBuildEvent();
+        if (event.isEnabled()) {
+            event.builderId = System.identityHashCode(domainBuilder);
+            event.elapsedTime = durationNanos;
+            event.failure = String.valueOf(exception.getMessage());
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onTypeLookup(DomainModel domainModel, String typeName, DomainType domainType) {
+        onTypeResolution(domainModel, "type", typeName, null, domainType != null);
+    }
+
+    @Override
+    public void onFunctionLookup(DomainModel domainModel, String functionName, DomainFunction function) {
+        onTypeResolution(domainModel, "function", functionName, null, function != null);
+    }
+
+    @Override
+    public void onFunctionTypeResolverLookup(DomainModel domainModel, String functionName, DomainFunctionTypeResolver typeResolver) {
+        onTypeResolution(domainModel, "functionTypeResolver", functionName, null, typeResolver != null);
+    }
+
+    @Override
+    public void onOperationTypeResolverLookup(DomainModel domainModel, String typeName, DomainOperator operator, DomainOperationTypeResolver typeResolver) {
+        onTypeResolution(domainModel, "operationTypeResolver", typeName, operator, typeResolver != null);
+    }
+
+    @Override
+    public void onPredicateTypeResolverLookup(DomainModel domainModel, String typeName, DomainPredicate predicate, DomainPredicateTypeResolver typeResolver) {
+        onTypeResolution(domainModel, "predicateTypeResolver", typeName, predicate, typeResolver != null);
+    }
+
+    @Override
+    public void onSerialization(DomainModel domainModel, DomainModel baseModel, String format, long size, long durationNanos) {
+        DomainSerializationEvent event = new DomainSerializationEvent();
+        if (event.isEnabled()) {
+            event.modelId = System.identityHashCode(domainModel);
+            event.baseModelId = identity(baseModel);
+            event.format = format;
+            event.size = size;
+            event.elapsedTime = durationNanos;
+            event.commit();
+        }
+    }
+
+    private void onTypeResolution(DomainModel domainModel, String kind, String name, Enum<?> operation, boolean resolved) {
+        DomainTypeResolutionEvent event = new DomainTypeResolutionEvent();
+        if (event.isEnabled() && (samplingInterval == 1 || ThreadLocalRandom.current().nextInt(samplingInterval) == 0)) {
+            event.modelId = System.identityHashCode(domainModel);
+            event.kind = kind;
+            event.name = name;
+            event.operation = operation == null ? null : operation.name();
+            event.resolved = resolved;
+            event.samplingInterval = samplingInterval;
+            event.commit();
+        }
+    }
+
+    private static int identity(DomainModel domainModel) {
+        return domainModel == null ? 0 : System.identityHashCode(domainModel);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.jfr;
+
+import com.blazebit.domain.Domain;
+import com.blazebit.domain.boot.model.DomainBuilder;
+import com.blazebit.domain.runtime.model.DomainModel;
+import com.blazebit.domain.spi.DomainMetricsListener;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class JfrDomainMetricsListenerTest {
+
+    @Test
+    public void testEvents() throws IOException {
+        // Given
+        DomainBuilder domainBuilder = Domain.getDefaultProvider().createDefaultBuilder();
+        domainBuilder.withService(DomainMetricsListener.class, new JfrDomainMetricsListener(1));
+        domainBuilder.createBasicType("String", String.class);
+        domainBuilder.createEntityType("Test")
+            .addAttribute("name", "String")
+            .build();
+
+        // When
+        List<RecordedEvent> events;
+        DomainModel domainModel;
+        try (Recording recording = new Recording()) {
+            recording.enable(DomainBuildEvent.class);
+            recording.enable(DomainBuildPhaseEvent.class);
+            recording.enable(DomainSerializationEvent.class);
+            recording.enable(DomainTypeResolutionEvent.class);
+            recording.start();
+            domainModel = domainBuilder.build();
+            domainModel.getType("Test");
+            domainModel.getType("Unknown");
+            domainModel.serialize(String.class, "json", Collections.emptyMap());
+            recording.stop();
+            events = readEvents(recording);
+        }
+
+        // Then
+        List<RecordedEvent> buildEvents = eventsOf(events, "com.blazebit.domain.Build");
+        Assert.assertEquals(1, buildEvents.size());
+        Assert.assertEquals(System.identityHashCode(domainModel), buildEvents.get(0).getInt("modelId"));
+        Assert.assertEquals(domainModel.getTypes().size(), buildEvents.get(0).getInt("typeCount"));
+        Assert.assertEquals(4, eventsOf(events, "com.blazebit.domain.BuildPhase").size());
+        List<RecordedEvent> resolutionEvents = eventsOf(events, "com.blazebit.domain.TypeResolution");
+        Assert.assertEquals(2, resolutionEvents.size());
+        Assert.assertTrue(resolutionEvents.get(0).getBoolean("resolved"));
+        Assert.assertFalse(resolutionEvents.get(1).getBoolean("resolved"));
+        List<RecordedEvent> serializationEvents = eventsOf(events, "com.blazebit.domain.Serialization");
+        Assert.assertEquals(1, serializationEvents.size());
+        Assert.assertEquals("json", serializationEvents.get(0).getString("format"));
+    }
+
+    private static List<RecordedEvent> readEvents(Recording recording) throws IOException {
+        Path file = Files.createTempFile("blaze-domain", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static List<RecordedEvent> eventsOf(List<RecordedEvent> events, String name) {
+        return events.stream()
+            .filter(event -> name.equals(event.getEventType().getName()))
+            .collect(Collectors.toList());
+    }
+}
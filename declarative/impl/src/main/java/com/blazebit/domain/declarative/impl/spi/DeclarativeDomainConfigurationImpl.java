@@ -585,7 +585,15 @@ public class DeclarativeDomainConfigurationImpl implements DeclarativeDomainConf
         return list;
     }
 
-    private void analyzeDomainTypes(DomainBuilder domainBuilder, ServiceProvider serviceProvider, List<String> errors) {
+    /**
+     * Registers the domain types of the added classes with the given domain builder, like {@link #analyzeDomainFunctions(DomainBuilder, ServiceProvider, List)} does for the domain functions.
+     * This is the first phase of {@link #createDomainModel(DomainBuilder)}, which has to run before the analysis of the domain functions.
+     *
+     * @param domainBuilder The domain builder
+     * @param serviceProvider The service provider
+     * @param errors The list to which errors are added
+     */
+    public void analyzeDomainTypes(DomainBuilder domainBuilder, ServiceProvider serviceProvider, List<String> errors) {
         for (Map.Entry<Class<?>, DomainType> entry : domainTypes.entrySet()) {
             Class<?> domainTypeClass = entry.getKey();
             DomainType domainType = entry.getValue();
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.jcstress;
+
+import com.blazebit.domain.Domain;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.ZZZ_Result;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+/**
+ * Stress test for the per class loader cache of the {@link java.util.ServiceLoader} loaded providers of the domain builder.
+ * Two actors create default domain builders with a fresh context class loader, which applies the {@link RecordingDomainContributor}.
+ * Both must see the contributor and the arbiter checks that both domain builders used the same contributor instance.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+@JCStressTest
+@Outcome(id = "true, true, true", expect = Expect.ACCEPTABLE, desc = "Both actors use the same contributor")
+@Outcome(expect = Expect.FORBIDDEN, desc = "An actor misses the contributor or uses a different contributor")
+@State
+public class DomainBuilderProvidersStressTest {
+
+    private final ClassLoader classLoader = new URLClassLoader(new URL[0], DomainBuilderProvidersStressTest.class.getClassLoader());
+    private Object first;
+    private Object second;
+
+    private Object createDefaultBuilderContributor() {
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            return Domain.getDefaultProvider().createDefaultBuilder().getProperty(RecordingDomainContributor.PROPERTY);
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    /**
+     * Creates a default domain builder.
+     *
+     * @param result The result
+     */
+    @Actor
+    public void actor1(ZZZ_Result result) {
+        first = createDefaultBuilderContributor();
+        result.r1 = first instanceof RecordingDomainContributor;
+    }
+
+    /**
+     * Creates a default domain builder.
+     *
+     * @param result The result
+     */
+    @Actor
+    public void actor2(ZZZ_Result result) {
+        second = createDefaultBuilderContributor();
+        result.r2 = second instanceof RecordingDomainContributor;
+    }
+
+    /**
+     * Checks that both domain builders used the same contributor.
+     *
+     * @param result The result
+     */
+    @Arbiter
+    public void arbiter(ZZZ_Result result) {
+        result.r3 = first == second && first == createDefaultBuilderContributor();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.jcstress;
+
+import com.blazebit.domain.runtime.model.CollectionDomainType;
+import com.blazebit.domain.runtime.model.DomainModel;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.ZZZ_Result;
+
+/**
+ * Stress tests for the collection types that {@link DomainModel#getCollectionType(String)} creates on demand.
+ * Two actors request the same collection type concurrently from a fresh domain model.
+ * Both must see a fully initialized collection type and the arbiter checks that it is the one canonical instance of the domain model.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public class DomainModelCollectionTypeStressTest {
+
+    private DomainModelCollectionTypeStressTest() {
+    }
+
+    /**
+     * Requests the collection type from a root domain model.
+     *
+     * @author Christian Beikov
+     * @since 3.0.0
+     */
+    @JCStressTest
+    @Outcome(id = "true, true, true", expect = Expect.ACCEPTABLE, desc = "Both actors see the same fully initialized collection type")
+    @Outcome(expect = Expect.FORBIDDEN, desc = "An actor sees a partially initialized or a different collection type")
+    @State
+    public static class Root {
+
+        private final DomainModel domainModel = StressTestDomainModels.createRootModel();
+        private CollectionDomainType first;
+        private CollectionDomainType second;
+
+        /**
+         * Requests the collection type.
+         *
+         * @param result The result
+         */
+        @Actor
+        public void actor1(ZZZ_Result result) {
+            first = domainModel.getCollectionType(StressTestDomainModels.ELEMENT_TYPE_NAME);
+            result.r1 = StressTestDomainModels.isInitialized(domainModel, first);
+        }
+
+        /**
+         * Requests the collection type.
+         *
+         * @param result The result
+         */
+        @Actor
+        public void actor2(ZZZ_Result result) {
+            second = domainModel.getCollectionType(StressTestDomainModels.ELEMENT_TYPE_NAME);
+            result.r2 = StressTestDomainModels.isInitialized(domainModel, second);
+        }
+
+        /**
+         * Checks that both actors got the cached collection type.
+         *
+         * @param result The result
+         */
+        @Arbiter
+        public void arbiter(ZZZ_Result result) {
+            result.r3 = first == second && first == domainModel.getCollectionType(StressTestDomainModels.ELEMENT_TYPE_NAME);
+        }
+    }
+
+    /**
+     * Requests the collection type from a sub domain model, which resolves it through its base domain model.
+     *
+     * @author Christian Beikov
+     * @since 3.0.0
+     */
+    @JCStressTest
+    @Outcome(id = "true, true, true", expect = Expect.ACCEPTABLE, desc = "Both actors see the same fully initialized collection type")
+    @Outcome(expect = Expect.FORBIDDEN, desc = "An actor sees a partially initialized or a different collection type")
+    @State
+    public static class Sub {
+
+        private final DomainModel domainModel = StressTestDomainModels.createSubModel();
+        private CollectionDomainType first;
+        private CollectionDomainType second;
+
+        /**
+         * Requests the collection type.
+         *
+         * @param result The result
+         */
+        @Actor
+        public void actor1(ZZZ_Result result) {
+            first = domainModel.getCollectionType(StressTestDomainModels.ELEMENT_TYPE_NAME);
+            result.r1 = StressTestDomainModels.isInitialized(domainModel, first);
+        }
+
+        /**
+         * Requests the collection type.
+         *
+         * @param result The result
+         */
+        @Actor
+        public void actor2(ZZZ_Result result) {
+            second = domainModel.getCollectionType(StressTestDomainModels.ELEMENT_TYPE_NAME);
+            result.r2 = StressTestDomainModels.isInitialized(domainModel, second);
+        }
+
+        /**
+         * Checks that both actors got the cached collection type.
+         *
+         * @param result The result
+         */
+        @Arbiter
+        public void arbiter(ZZZ_Result result) {
+            result.r3 = first == second && first == domainModel.getCollectionType(StressTestDomainModels.ELEMENT_TYPE_NAME);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.jcstress;
+
+import com.blazebit.domain.boot.model.DomainBuilder;
+import com.blazebit.domain.spi.DomainContributor;
+
+/**
+ * A domain contributor that registers itself as property of the domain builder, so that tests can observe which contributor instance was used.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public class RecordingDomainContributor implements DomainContributor {
+
+    /**
+     * The name of the domain builder property that holds the contributor.
+     */
+    public static final String PROPERTY = RecordingDomainContributor.class.getName();
+
+    @Override
+    public void contribute(DomainBuilder domainBuilder) {
+        domainBuilder.setProperty(PROPERTY, this);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.jcstress;
+
+import com.blazebit.domain.runtime.model.DomainFunctionTypeResolver;
+import com.blazebit.domain.runtime.model.StaticDomainFunctionTypeResolvers;
+import com.blazebit.domain.spi.DomainSerializer;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.ZZZ_Result;
+
+import java.util.Collections;
+
+/**
+ * Stress tests for the resolver caches of {@link StaticDomainFunctionTypeResolvers}.
+ * Two actors request a resolver for a type name that was not requested before.
+ * Both must see a fully initialized resolver, which is verified through its JSON form,
+ * and the arbiter checks that it is the one canonical instance of the cache.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+public class StaticDomainFunctionTypeResolversStressTest {
+
+    private StaticDomainFunctionTypeResolversStressTest() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static boolean isInitialized(DomainFunctionTypeResolver typeResolver, String expectedJson) {
+        return typeResolver != null && expectedJson.equals(((DomainSerializer<DomainFunctionTypeResolver>) typeResolver).serialize(null, typeResolver, String.class, "json", Collections.emptyMap()));
+    }
+
+    /**
+     * Requests {@link StaticDomainFunctionTypeResolvers#returning(String)}.
+     *
+     * @author Christian Beikov
+     * @since 3.0.0
+     */
+    @JCStressTest
+    @Outcome(id = "true, true, true", expect = Expect.ACCEPTABLE, desc = "Both actors see the same fully initialized resolver")
+    @Outcome(expect = Expect.FORBIDDEN, desc = "An actor sees a partially initialized or a different resolver")
+    @State
+    public static class Returning {
+
+        private final String typeName = StressTestDomainModels.createUniqueTypeName();
+        private final String expectedJson = "{\"FixedDomainFunctionTypeResolver\":[\"" + typeName + "\"]}";
+        private DomainFunctionTypeResolver first;
+        private DomainFunctionTypeResolver second;
+
+        /**
+         * Requests the resolver.
+         *
+         * @param result The result
+         */
+        @Actor
+        public void actor1(ZZZ_Result result) {
+            first = StaticDomainFunctionTypeResolvers.returning(typeName);
+            result.r1 = isInitialized(first, expectedJson);
+        }
+
+        /**
+         * Requests the resolver.
+         *
+         * @param result The result
+         */
+        @Actor
+        public void actor2(ZZZ_Result result) {
+            second = StaticDomainFunctionTypeResolvers.returning(typeName);
+            result.r2 = isInitialized(second, expectedJson);
+        }
+
+        /**
+         * Checks that both actors got the cached resolver.
+         *
+         * @param result The result
+         */
+        @Arbiter
+        public void arbiter(ZZZ_Result result) {
+            result.r3 = first == second && first == StaticDomainFunctionTypeResolvers.returning(typeName);
+        }
+    }
+
+    /**
+     * Requests {@link StaticDomainFunctionTypeResolvers#widest(String...)}.
+     *
+     * @author Christian Beikov
+     * @since 3.0.0
+     */
+    @JCStressTest
+    @Outcome(id = "true, true, true", expect = Expect.ACCEPTABLE, desc = "Both actors see the same fully initialized resolver")
+    @Outcome(expect = Expect.FORBIDDEN, desc = "An actor sees a partially initialized or a different resolver")
+    @State
+    public static class Widest {
+
+        private final String typeName = StressTestDomainModels.createUniqueTypeName();
+        private final String expectedJson = "{\"WidestDomainFunctionTypeResolver\":[[\"" + typeName + "\",\"" + StressTestDomainModels.ELEMENT_TYPE_NAME + "\"]]}";
+        private DomainFunctionTypeResolver first;
+        private DomainFunctionTypeResolver second;
+
+        /**
+         * Requests the resolver.
+         *
+         * @param result The result
+         */
+        @Actor
+        public void actor1(ZZZ_Result result) {
+            first = StaticDomainFunctionTypeResolvers.widest(typeName, StressTestDomainModels.ELEMENT_TYPE_NAME);
+            result.r1 = isInitialized(first, expectedJson);
+        }
+
+        /**
+         * Requests the resolver.
+         *
+         * @param result The result
+         */
+        @Actor
+        public void actor2(ZZZ_Result result) {
+            second = StaticDomainFunctionTypeResolvers.widest(typeName, StressTestDomainModels.ELEMENT_TYPE_NAME);
+            result.r2 = isInitialized(second, expectedJson);
+        }
+
+        /**
+         * Checks that both actors got the cached resolver.
+         *
+         * @param result The result
+         */
+        @Arbiter
+        public void arbiter(ZZZ_Result result) {
+            result.r3 = first == second && first == StaticDomainFunctionTypeResolvers.widest(typeName, StressTestDomainModels.ELEMENT_TYPE_NAME);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.domain.jcstress;
+
+import com.blazebit.domain.Domain;
+import com.blazebit.domain.runtime.model.CollectionDomainType;
+import com.blazebit.domain.runtime.model.DomainModel;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates the domain models for the stress tests.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+final class StressTestDomainModels {
+
+    static final String ELEMENT_TYPE_NAME = "String";
+    private static final AtomicLong COUNTER = new AtomicLong();
+
+    private StressTestDomainModels() {
+    }
+
+    static DomainModel createRootModel() {
+        return Domain.getDefaultProvider().createEmptyBuilder()
+            .createBasicType(ELEMENT_TYPE_NAME, String.class)
+            .build();
+    }
+
+    static DomainModel createSubModel() {
+        return Domain.getDefaultProvider().createBuilder(createRootModel()).build();
+    }
+
+    /**
+     * Returns a type name that was not returned before, so that every test state uses fresh entries of the static resolver caches.
+     *
+     * @return a unique type name
+     */
+    static String createUniqueTypeName() {
+        return "Type" + COUNTER.incrementAndGet();
+    }
+
+    static boolean isInitialized(DomainModel domainModel, CollectionDomainType collectionDomainType) {
+        return collectionDomainType != null
+            && collectionDomainType.getElementType() == domainModel.getType(ELEMENT_TYPE_NAME)
+            && ("Collection[" + ELEMENT_TYPE_NAME + "]").equals(collectionDomainType.getName());
+    }
+}
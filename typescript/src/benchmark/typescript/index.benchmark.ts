@@ -0,0 +1,309 @@
+/*
+ * Copyright 2019 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import * as domain from '../../../dist/index';
+
+declare const process: any;
+declare const require: any;
+declare const global: any;
+declare const console: any;
+
+/**
+ * A benchmark harness for the Typescript runtime.
+ * Runs with <code>npm run benchmark -- [--types N] [--functions N] [--attributes N] [--time MILLIS] [--iterations N] [--output FILE]</code>
+ * and prints the results as JSON array to the standard output.
+ * Like JMH, every benchmark runs a warmup iteration followed by the measurement iterations, each for the configured time.
+ * The score is the mean of the iteration scores and the error is their standard deviation.
+ * Heap measurements are only reported when the garbage collector is exposed via <code>--expose-gc</code>.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+
+interface BenchmarkResult {
+    benchmark: string;
+    params: { [key: string]: any };
+    mode: string;
+    score: number;
+    error: number;
+    unit: string;
+    samples: number;
+}
+
+let options = (function(args: string[]): { [key: string]: string } {
+    let result: { [key: string]: string } = {};
+    for (var i = 0; i < args.length; i++) {
+        if (args[i].indexOf("--") === 0 && i + 1 < args.length) {
+            result[args[i].substring(2)] = args[++i];
+        }
+    }
+    return result;
+})(process.argv.slice(2));
+
+let typeCount = parseInt(options['types'] || "1000");
+let functionCount = parseInt(options['functions'] || "500");
+let attributeCount = parseInt(options['attributes'] || "20");
+let measurementMillis = parseInt(options['time'] || "1000");
+let iterationCount = parseInt(options['iterations'] || "5");
+let results: BenchmarkResult[] = [];
+
+function nanoTime(): number {
+    let time = process.hrtime();
+    return time[0] * 1e9 + time[1];
+}
+
+function usedHeap(): number {
+    // A single collection does not always release the models of the previous benchmark completely
+    global.gc();
+    global.gc();
+    return process.memoryUsage().heapUsed;
+}
+
+/**
+ * Records the mean and the standard deviation of the given iteration scores.
+ */
+function record(benchmark: string, params: { [key: string]: any }, mode: string, unit: string, scores: number[]): void {
+    let sum = 0, squares = 0;
+    for (var i = 0; i < scores.length; i++) {
+        sum += scores[i];
+    }
+    let mean = sum / scores.length;
+    for (var i = 0; i < scores.length; i++) {
+        squares += (scores[i] - mean) * (scores[i] - mean);
+    }
+    let error = scores.length > 1 ? Math.sqrt(squares / (scores.length - 1)) : NaN;
+    results.push({ benchmark: benchmark, params: params, mode: mode, score: mean, error: error, unit: unit, samples: scores.length });
+}
+
+/**
+ * Runs the given operation for a warmup iteration and the measurement iterations of the configured time each.
+ * Fast operations are invoked in batches, which are sized during the warmup, so that reading the clock does not dominate.
+ * Returns the number of invocations and the elapsed nanoseconds of every measurement iteration.
+ */
+function measure(benchmark: string, operation: () => any): [number, number][] {
+    let sink = null;
+    let batch = 1;
+    let measurements: [number, number][] = [];
+    for (var iteration = -1; iteration < iterationCount; iteration++) {
+        let operations = 0, elapsed = 0;
+        let start = nanoTime();
+        do {
+            for (var i = 0; i < batch; i++) {
+                sink = operation();
+            }
+            operations += batch;
+            elapsed = nanoTime() - start;
+            if (iteration === -1 && elapsed < 10e6) {
+                batch *= 2;
+            }
+        } while (elapsed < measurementMillis * 1e6);
+        if (iteration !== -1) {
+            measurements.push([operations, elapsed]);
+        }
+    }
+    if (sink === undefined) {
+        throw new Error("The benchmark '" + benchmark + "' produced no result!");
+    }
+    return measurements;
+}
+
+/**
+ * Measures the given operation and records the throughput.
+ */
+function throughput(benchmark: string, params: { [key: string]: any }, operation: () => any): void {
+    record(benchmark, params, "thrpt", "ops/s", measure(benchmark, operation).map(function(measurement) {
+        return measurement[0] / (measurement[1] / 1e9);
+    }));
+}
+
+/**
+ * Measures the given operation and records the average time per invocation.
+ */
+function averageTime(benchmark: string, params: { [key: string]: any }, operation: () => any): void {
+    record(benchmark, params, "avgt", "ms/op", measure(benchmark, operation).map(function(measurement) {
+        return measurement[1] / 1e6 / measurement[0];
+    }));
+}
+
+/**
+ * Parses the given number of models one after another and records the retained heap of every model.
+ */
+function retainedHeap(benchmark: string, params: { [key: string]: any }, operation: () => any): void {
+    let retained: any[] = [];
+    let scores: number[] = [];
+    for (var i = 0; i < iterationCount; i++) {
+        let before = usedHeap();
+        retained.push(operation());
+        scores.push(usedHeap() - before);
+    }
+    record(benchmark, params, "ss", "B/model", scores);
+}
+
+/**
+ * Generates the JSON of a synthetic domain model with basic, enum and entity types, functions and resolvers.
+ */
+function generateModel(typeCount: number, functionCount: number, attributeCount: number): any {
+    let basicTypes = ["Integer", "Long", "String", "Boolean"];
+    let types: any[] = [
+        { name: "Integer", kind: "B", ops: ["+", "-", "*", "/", "%", "!"], preds: ["R", "E", "N"], meta: [] },
+        { name: "Long", kind: "B", ops: ["+", "-", "*", "/", "%", "!"], preds: ["R", "E", "N"], meta: [] },
+        { name: "String", kind: "B", ops: ["+"], preds: ["R", "E", "N"], meta: [] },
+        { name: "Boolean", kind: "B", ops: ["!"], preds: ["E", "N"], meta: [] }
+    ];
+    let enumCount = Math.max(1, Math.floor(typeCount / 10));
+    for (var i = 0; i < enumCount; i++) {
+        types.push({ name: "Enum" + i, kind: "N", preds: ["E", "N"], vals: [{ name: "A", meta: [] }, { name: "B", meta: [] }, { name: "C", meta: [] }], meta: [] });
+    }
+    let entityCount = Math.max(1, typeCount - enumCount);
+    for (var i = 0; i < entityCount; i++) {
+        let attrs: any[] = [];
+        for (var j = 0; j < attributeCount; j++) {
+            let type;
+            switch (j % 4) {
+                case 0:
+                    type = "Entity" + ((i + j) % entityCount);
+                    break;
+                case 1:
+                    type = "Collection[Entity" + ((i + j) % entityCount) + "]";
+                    break;
+                case 2:
+                    type = "Enum" + (j % enumCount);
+                    break;
+                default:
+                    type = basicTypes[j % basicTypes.length];
+                    break;
+            }
+            attrs.push({ name: "attribute" + j, type: type, meta: [{ "doc": "The attribute " + j }] });
+        }
+        types.push({ name: "Entity" + i, kind: "E", preds: ["E", "N"], attrs: attrs, meta: [] });
+    }
+    let funcs: any[] = [];
+    for (var i = 0; i < functionCount; i++) {
+        let func: any = { name: "FUNCTION" + i, volatility: "I", minArgCount: 1, argCount: 2, args: [{ name: "first", type: basicTypes[i % 2], meta: [] }, { name: "second", meta: [] }], meta: [] };
+        switch (i % 4) {
+            case 0:
+                func['type'] = basicTypes[i % basicTypes.length];
+                break;
+            case 1:
+                func['typeResolver'] = { "NthArgumentDomainFunctionTypeResolver": [0] };
+                break;
+            case 2:
+                func['typeResolver'] = { "FixedDomainFunctionTypeResolver": ["String"] };
+                break;
+            default:
+                func['typeResolver'] = { "WidestDomainFunctionTypeResolver": [["Long", "Integer"]] };
+                break;
+        }
+        funcs.push(func);
+    }
+    return {
+        types: types,
+        funcs: funcs,
+        opResolvers: [
+            { resolver: { "WidestDomainOperationTypeResolver": [["Long", "Integer"]] }, typeOps: { "Integer": ["+", "-", "*", "/", "%"], "Long": ["+", "-", "*", "/", "%"] } },
+            { resolver: { "FixedDomainOperationTypeResolver": ["String"] }, typeOps: { "String": ["+"] } },
+            { resolver: { "RestrictedDomainOperationTypeResolver": ["Integer", ["Integer"]] }, typeOps: { "Integer": ["!"] } },
+            { resolver: { "OperandRestrictedDomainOperationTypeResolver": ["Long", [["Long"], ["Integer", "Long"]]] }, typeOps: { "Long": ["!"] } },
+            { resolver: { "RestrictedDomainOperationTypeResolver": ["Boolean", ["Boolean"]] }, typeOps: { "Boolean": ["!"] } }
+        ],
+        predResolvers: [
+            { resolver: { "RestrictedDomainPredicateTypeResolver": ["Boolean", ["Integer", "Long"]] }, typePreds: { "Integer": ["R", "E", "N"], "Long": ["R", "E", "N"] } },
+            { resolver: { "OperandRestrictedDomainPredicateTypeResolver": ["Boolean", [["String"], ["String"]]] }, typePreds: { "String": ["R", "E", "N"] } },
+            { resolver: { "FixedDomainPredicateTypeResolver": ["Boolean"] }, typePreds: { "Boolean": ["E", "N"] } }
+        ]
+    };
+}
+
+let params = { types: typeCount, functions: functionCount, attributes: attributeCount };
+let json = JSON.stringify(generateModel(typeCount, functionCount, attributeCount));
+
+averageTime("parse", params, function() {
+    return domain.DomainModel.parse(json);
+});
+averageTime("parseLazy", params, function() {
+    return domain.DomainModel.parse(json, undefined, undefined, true);
+});
+
+if (typeof global.gc === "function") {
+    retainedHeap("parseHeap", params, function() {
+        return domain.DomainModel.parse(json);
+    });
+    retainedHeap("parseLazyHeap", params, function() {
+        return domain.DomainModel.parse(json, undefined, undefined, true);
+    });
+}
+
+let domainModel = domain.DomainModel.parse(json);
+let typeNames = Object.keys(domainModel.getTypes());
+typeNames.push("Collection[Entity0]", "Collection[Integer]");
+let functionNames = Object.keys(domainModel.getFunctions());
+let index = 0;
+
+throughput("getType", params, function() {
+    return domainModel.getType(typeNames[index++ % typeNames.length]);
+});
+throughput("getFunction", params, function() {
+    return domainModel.getFunction(functionNames[index++ % functionNames.length]);
+});
+throughput("getOperationTypeResolver", params, function() {
+    return domainModel.getOperationTypeResolver("Integer", domain.DomainOperator.PLUS);
+});
+throughput("getPredicateTypeResolver", params, function() {
+    return domainModel.getPredicateTypeResolver("Integer", domain.DomainPredicate.EQUALITY);
+});
+
+let integerType = domainModel.getType("Integer"), longType = domainModel.getType("Long");
+let stringType = domainModel.getType("String"), booleanType = domainModel.getType("Boolean");
+let resolverBenchmarks: [string, () => any][] = [
+    ["WidestDomainOperationTypeResolver", function() {
+        return domainModel.getOperationTypeResolver("Integer", domain.DomainOperator.PLUS).resolveType(domainModel, [integerType, longType]);
+    }],
+    ["FixedDomainOperationTypeResolver", function() {
+        return domainModel.getOperationTypeResolver("String", domain.DomainOperator.PLUS).resolveType(domainModel, [stringType, stringType]);
+    }],
+    ["RestrictedDomainOperationTypeResolver", function() {
+        return domainModel.getOperationTypeResolver("Integer", domain.DomainOperator.NOT).resolveType(domainModel, [integerType]);
+    }],
+    ["OperandRestrictedDomainOperationTypeResolver", function() {
+        return domainModel.getOperationTypeResolver("Long", domain.DomainOperator.NOT).resolveType(domainModel, [longType]);
+    }],
+    ["RestrictedDomainPredicateTypeResolver", function() {
+        return domainModel.getPredicateTypeResolver("Integer", domain.DomainPredicate.RELATIONAL).resolveType(domainModel, [integerType, longType]);
+    }],
+    ["OperandRestrictedDomainPredicateTypeResolver", function() {
+        return domainModel.getPredicateTypeResolver("String", domain.DomainPredicate.EQUALITY).resolveType(domainModel, [stringType, stringType]);
+    }],
+    ["FixedDomainPredicateTypeResolver", function() {
+        return domainModel.getPredicateTypeResolver("Boolean", domain.DomainPredicate.NULLNESS).resolveType(domainModel, [booleanType]);
+    }]
+];
+let functionResolverNames = ["ResultTypeDomainFunctionTypeResolver", "NthArgumentDomainFunctionTypeResolver", "FixedDomainFunctionTypeResolver", "WidestDomainFunctionTypeResolver"];
+functionResolverNames.forEach(function(resolverName, i) {
+    let func = domainModel.getFunction("FUNCTION" + i);
+    let argumentTypes = [func.arguments[0].type, longType];
+    resolverBenchmarks.push([resolverName, function() {
+        return func.resultTypeResolver.resolveType(domainModel, func, argumentTypes);
+    }]);
+});
+resolverBenchmarks.forEach(function(resolverBenchmark) {
+    throughput("resolveType", { types: typeCount, functions: functionCount, attributes: attributeCount, resolver: resolverBenchmark[0] }, resolverBenchmark[1]);
+});
+
+let output = JSON.stringify(results, null, 2);
+if (options['output'] !== undefined) {
+    require('fs').writeFileSync(options['output'], output);
+}
+console.log(output);
@@ -448,6 +448,7 @@ export class DomainFunctionArgument extends MetadataHolder {
 export class EntityDomainType extends DomainType {
     /**
      * The attributes of the entity domain type.
+     * For parsed domain models, the attributes are only materialized on first access.
      */
     attributes: StringMap<EntityAttribute>;
 
@@ -455,6 +456,15 @@ export class EntityDomainType extends DomainType {
         super(name, DomainTypeKind.ENTITY, enabledOperators, enabledPredicates, metadata);
         this.attributes = attributes;
     }
+
+    /**
+     * Returns the attribute with the given name or <code>undefined</code>.
+     *
+     * @param name The attribute name
+     */
+    getAttribute(name: string): EntityAttribute {
+        return this.attributes[name];
+    }
 }
 /**
  * An entity attribute of an entity domain type.
@@ -588,400 +598,1499 @@ export class OperandTypeResolverException extends DomainTypeResolverException {
 }
 
 /**
- * A type checked domain model that can be used for domain introspection.
+ * Validates the argument types against the argument types of the given function.
  *
- * @author Christian Beikov
- * @since 1.0.0
+ * @param domainFunction The domain function
+ * @param argumentTypes The actual argument types
  */
-export class DomainModel {
-    /**
-     * The types of the domain model as map indexed by their type name.
-     */
-    private types: StringMap<DomainType>;
-    /**
-     * The collection types of the domain model as map indexed by their type name.
-     */
-    private collectionTypes: StringMap<CollectionDomainType>;
-    /**
-     * The functions of the domain model as map indexed by their function name.
-     */
-    private functions: StringMap<DomainFunction>;
-    /**
-     * Returns the operation type resolvers of the domain model as map indexed by their type name.
-     */
-    private operationTypeResolvers: StringMap<StringMap<DomainOperationTypeResolver>>;
-    /**
-     * Returns the predicate type resolvers of the domain model as map indexed by their type name.
-     */
-    private predicateTypeResolvers: StringMap<StringMap<DomainPredicateTypeResolver>>;
-
-    private static readonly COLLECTION: CollectionDomainType = new CollectionDomainType("Collection", null);
-
-    constructor(types: StringMap<DomainType>, collectionTypes: StringMap<CollectionDomainType>, functions: StringMap<DomainFunction>, operationTypeResolvers: StringMap<StringMap<DomainOperationTypeResolver>>, predicateTypeResolvers: StringMap<StringMap<DomainPredicateTypeResolver>>) {
-        this.types = types;
-        this.collectionTypes = collectionTypes;
-        this.functions = functions;
-        this.operationTypeResolvers = operationTypeResolvers;
-        this.predicateTypeResolvers = predicateTypeResolvers;
-    }
-
-    getType(typeName: string): DomainType {
-        return DomainModel.getType(typeName, this.types, this.collectionTypes);
-    }
-
-    getTypes(): StringMap<DomainType> {
-        return this.types;
-    }
-
-    getFunction(typeName: string): DomainFunction {
-        return this.functions[typeName];
-    }
-
-    getFunctions(): StringMap<DomainFunction> {
-        return this.functions;
+function validateArgumentTypes(domainFunction: DomainFunction, argumentTypes: DomainType[]) {
+    OUTER: for (var i = 0; i < argumentTypes.length; i++) {
+        let functionArgument = domainFunction.arguments[i];
+        let argType = argumentTypes[i];
+        if (functionArgument.type == null || argType == null) {
+            continue;
+        }
+        if (functionArgument.type instanceof CollectionDomainType && argType instanceof CollectionDomainType) {
+            if (functionArgument.type.elementType == null || argType.elementType == null) {
+                continue;
+            }
+        }
+        if (functionArgument.type instanceof UnionDomainType) {
+            let unionElements = functionArgument.type.unionElements;
+            if (argType instanceof CollectionDomainType) {
+                for (const unionElement of unionElements) {
+                    if (unionElement == argType || unionElement instanceof CollectionDomainType && (unionElement as CollectionDomainType).elementType == null) {
+                        continue OUTER;
+                    }
+                }
+            } else {
+                for (const unionElement of unionElements) {
+                    if (unionElement == argType) {
+                        continue OUTER;
+                    }
+                }
+            }
+        }
+        if (functionArgument.type != argType) {
+            throw new FunctionTypeResolverException("Unsupported argument type '" + argType + "' for argument '" + functionArgument + "' of function '" + domainFunction.name + "'! Expected type: " + functionArgument.type, domainFunction, i, argType, [functionArgument.type.name]);
+        }
     }
+}
 
-    getOperationTypeResolvers(typeName: string): StringMap<DomainOperationTypeResolver> {
-        return this.operationTypeResolvers[typeName];
-    }
+/**
+ * The binding of the type names of a resolver to the domain types per domain model.
+ * The type names are bound once per model, so that resolving a type only compares domain type identities.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+class ModelBinding<B> {
+    private readonly models: WeakMap<DomainModel, B> = new WeakMap();
+    private readonly bind: (domainModel: DomainModel) => B;
 
-    getOperationTypeResolver(typeName: string, operator: DomainOperator): DomainOperationTypeResolver {
-        let resolvers = this.operationTypeResolvers[typeName];
-        return resolvers == null ? null : resolvers[DomainOperator[operator]];
+    constructor(bind: (domainModel: DomainModel) => B) {
+        this.bind = bind;
     }
 
-    getPredicateTypeResolvers(typeName: string): StringMap<DomainPredicateTypeResolver> {
-        return this.predicateTypeResolvers[typeName];
+    /**
+     * Returns the binding of the type names to the domain types of the given model.
+     *
+     * @param domainModel The domain model
+     */
+    get(domainModel: DomainModel): B {
+        let binding = this.models.get(domainModel);
+        if (binding === undefined) {
+            binding = this.bind(domainModel);
+            this.models.set(domainModel, binding);
+        }
+        return binding;
     }
+}
 
-    getPredicateTypeResolver(typeName: string, predicate: DomainPredicate): DomainPredicateTypeResolver {
-        let resolvers = this.predicateTypeResolvers[typeName];
-        return resolvers == null ? null : resolvers[DomainPredicate[predicate]];
+/**
+ * Binds the given type names to the domain types of the given model, mapping each domain type to the index of its name.
+ *
+ * @param domainModel The domain model
+ * @param typeNames The type names
+ */
+function bindTypes(domainModel: DomainModel, typeNames: string[]): Map<DomainType, number> {
+    let types = new Map<DomainType, number>();
+    for (var i = typeNames.length - 1; i >= 0; i--) {
+        let type = domainModel.getType(typeNames[i]);
+        if (type != null) {
+            types.set(type, i);
+        }
     }
+    return types;
+}
 
-    private static getType(typeName: string, types: StringMap<DomainType>, collectionTypes: StringMap<CollectionDomainType>): DomainType {
-        if (typeName === undefined) {
-            return null;
-        }
-        if (typeName.startsWith("Collection")) {
-            if (typeName.length == "Collection".length) {
-                return DomainModel.COLLECTION;
-            } else if (typeName.charAt("Collection".length) == '[') {
-                let elementTypeName = typeName.substring("Collection".length + 1, typeName.length - 1);
-                if (collectionTypes[elementTypeName] !== undefined) {
-                    return collectionTypes[elementTypeName];
-                } else {
-                    return collectionTypes[elementTypeName] = new CollectionDomainType(typeName, DomainModel.getType(elementTypeName, types, collectionTypes));
-                }
-            }
-        }
-        return types[typeName];
+/**
+ * The function type resolver for functions with a fixed result type.
+ */
+const RESULT_TYPE_RESOLVER: DomainFunctionTypeResolver = {
+    resolveType(domainModel: DomainModel, domainFunction: DomainFunction, argumentTypes: DomainType[]): DomainType {
+        validateArgumentTypes(domainFunction, argumentTypes);
+        return domainFunction.resultType;
     }
+};
 
-    /**
-     * Parses the given JSON string to a domain model.
-     *
-     * @param input The JSON string or object
-     * @param baseModel The optional base model
-     * @param extensions The optional extension functions like resolver constructors
-     */
-    static parse(input: object | string, baseModel?: DomainModel, extensions?: StringMap<Function>): DomainModel {
-        let json;
-        if (typeof input === "string") {
-            json = JSON.parse(input);
-        } else {
-            json = input;
-        }
-        if (typeof extensions === "undefined") {
-            extensions = {};
+/**
+ * Registers the default resolver constructors if absent.
+ *
+ * @param extensions The extension functions
+ */
+function registerDefaultExtensions(extensions: StringMap<Function>): StringMap<Function> {
+    let registerIfAbsent = function(k: string, f: Function) {
+        if (!(extensions[k] instanceof Function)) {
+            extensions[k] = f;
         }
-        let registerIfAbsent = function(k: string, f: Function) {
-            if (!(extensions[k] instanceof Function)) {
-                extensions[k] = f;
-            }
-        };
-        let validateArgumentTypes = function(domainFunction: DomainFunction, argumentTypes: DomainType[]) {
-            OUTER: for (var i = 0; i < argumentTypes.length; i++) {
-                let functionArgument = domainFunction.arguments[i];
-                let argType = argumentTypes[i];
-                if (functionArgument.type == null || argType == null) {
-                    continue;
-                }
-                if (functionArgument.type instanceof CollectionDomainType && argType instanceof CollectionDomainType) {
-                    if (functionArgument.type.elementType == null || argType.elementType == null) {
-                        continue;
-                    }
-                }
-                if (functionArgument.type instanceof UnionDomainType) {
-                    let unionElements = functionArgument.type.unionElements;
-                    if (argType instanceof CollectionDomainType) {
-                        for (const unionElement of unionElements) {
-                            if (unionElement == argType || unionElement instanceof CollectionDomainType && (unionElement as CollectionDomainType).elementType == null) {
-                                continue OUTER;
-                            }
-                        }
-                    } else {
-                        for (const unionElement of unionElements) {
-                            if (unionElement == argType) {
-                                continue OUTER;
-                            }
-                        }
-                    }
-                }
-                if (functionArgument.type != argType) {
-                    throw new FunctionTypeResolverException("Unsupported argument type '" + argType + "' for argument '" + functionArgument + "' of function '" + domainFunction.name + "'! Expected type: " + functionArgument.type, domainFunction, i, argType, [functionArgument.type.name]);
-                }
-            }
-        };
-        registerIfAbsent("FixedDomainPredicateTypeResolver", function(type: string): DomainPredicateTypeResolver {
-            return { resolveType: function(domainModel: DomainModel, domainTypes: DomainType[]): DomainType {
-                return domainModel.getType(type);
-            }};
+    };
+    registerIfAbsent("FixedDomainPredicateTypeResolver", function(type: string): DomainPredicateTypeResolver {
+        let binding = new ModelBinding<DomainType>(function(domainModel: DomainModel) {
+            return domainModel.getType(type);
         });
-        registerIfAbsent("RestrictedDomainPredicateTypeResolver", function(returningType: string, supportedTypes: string[]): DomainPredicateTypeResolver {
-            return { resolveType: function(domainModel: DomainModel, domainTypes: DomainType[]): DomainType {
-                for (var i = 0; i < domainTypes.length; i++) {
-                    let domainType = domainTypes[i];
-                    if (supportedTypes.indexOf(domainType.name) == -1) {
-                        let typesString = "[";
-                        for (let supportedType of supportedTypes) {
-                            typesString += supportedType + ", ";
-                        }
-                        typesString = typesString.substring(0, typesString.length - 2) + "]";
-                        throw new OperandTypeResolverException("The predicate operand at index " + i + " with the domain type '" + domainType.name + "' is unsupported! Expected one of the following types: " + typesString, i, domainType, supportedTypes);
+        return { resolveType: function(domainModel: DomainModel, domainTypes: DomainType[]): DomainType {
+            return binding.get(domainModel);
+        }};
+    });
+    registerIfAbsent("RestrictedDomainPredicateTypeResolver", function(returningType: string, supportedTypes: string[]): DomainPredicateTypeResolver {
+        let binding = new ModelBinding<{ returning: DomainType, supported: Map<DomainType, number> }>(function(domainModel: DomainModel) {
+            return { returning: domainModel.getType(returningType), supported: bindTypes(domainModel, supportedTypes) };
+        });
+        return { resolveType: function(domainModel: DomainModel, domainTypes: DomainType[]): DomainType {
+            let bound = binding.get(domainModel);
+            for (var i = 0; i < domainTypes.length; i++) {
+                let domainType = domainTypes[i];
+                if (!bound.supported.has(domainType)) {
+                    let typesString = "[";
+                    for (let supportedType of supportedTypes) {
+                        typesString += supportedType + ", ";
                     }
+                    typesString = typesString.substring(0, typesString.length - 2) + "]";
+                    throw new OperandTypeResolverException("The predicate operand at index " + i + " with the domain type '" + domainType.name + "' is unsupported! Expected one of the following types: " + typesString, i, domainType, supportedTypes);
                 }
-                return domainModel.getType(returningType);
-            }};
+            }
+            return bound.returning;
+        }};
+    });
+    registerIfAbsent("OperandRestrictedDomainPredicateTypeResolver", function(returningType: string, supportedTypesPerOperand: string[][]): DomainPredicateTypeResolver {
+        let binding = new ModelBinding<{ returning: DomainType, supported: Map<DomainType, number>[] }>(function(domainModel: DomainModel) {
+            return { returning: domainModel.getType(returningType), supported: supportedTypesPerOperand.map(function(supportedTypes) { return bindTypes(domainModel, supportedTypes); }) };
         });
-        registerIfAbsent("OperandRestrictedDomainPredicateTypeResolver", function(returningType: string, supportedTypesPerOperand: string[][]): DomainPredicateTypeResolver {
-            return { resolveType: function(domainModel: DomainModel, domainTypes: DomainType[]): DomainType {
-                for (var i = 0; i < domainTypes.length; i++) {
-                    let supportedTypes = supportedTypesPerOperand[i];
-                    let domainType = domainTypes[i];
-                    if (supportedTypes.indexOf(domainType.name) == -1) {
-                        let typesString = "[";
-                        for (let supportedType of supportedTypes) {
-                            typesString += supportedType + ", ";
-                        }
-                        typesString = typesString.substring(0, typesString.length - 2) + "]";
-                        throw new OperandTypeResolverException("The predicate operand at index " + i + " with the domain type '" + domainType.name + "' is unsupported! Expected one of the following types: " + typesString, i, domainType, supportedTypes);
+        return { resolveType: function(domainModel: DomainModel, domainTypes: DomainType[]): DomainType {
+            let bound = binding.get(domainModel);
+            for (var i = 0; i < domainTypes.length; i++) {
+                let supportedTypes = supportedTypesPerOperand[i];
+                let domainType = domainTypes[i];
+                if (!bound.supported[i].has(domainType)) {
+                    let typesString = "[";
+                    for (let supportedType of supportedTypes) {
+                        typesString += supportedType + ", ";
                     }
+                    typesString = typesString.substring(0, typesString.length - 2) + "]";
+                    throw new OperandTypeResolverException("The predicate operand at index " + i + " with the domain type '" + domainType.name + "' is unsupported! Expected one of the following types: " + typesString, i, domainType, supportedTypes);
                 }
-                return domainModel.getType(returningType);
-            }};
+            }
+            return bound.returning;
+        }};
+    });
+    registerIfAbsent("FixedDomainOperationTypeResolver", function(type: string): DomainOperationTypeResolver {
+        let binding = new ModelBinding<DomainType>(function(domainModel: DomainModel) {
+            return domainModel.getType(type);
         });
-        registerIfAbsent("FixedDomainOperationTypeResolver", function(type: string): DomainOperationTypeResolver {
-            return { resolveType: function(domainModel: DomainModel, domainTypes: DomainType[]): DomainType {
-                return domainModel.getType(type);
-            }};
+        return { resolveType: function(domainModel: DomainModel, domainTypes: DomainType[]): DomainType {
+            return binding.get(domainModel);
+        }};
+    });
+    registerIfAbsent("WidestDomainOperationTypeResolver", function(supportedTypes: string[]): DomainOperationTypeResolver {
+        let binding = new ModelBinding<{ types: DomainType[], indexes: Map<DomainType, number> }>(function(domainModel: DomainModel) {
+            return { types: supportedTypes.map(function(typeName) { return domainModel.getType(typeName); }), indexes: bindTypes(domainModel, supportedTypes) };
         });
-        registerIfAbsent("WidestDomainOperationTypeResolver", function(supportedTypes: string[]): DomainOperationTypeResolver {
-            return { resolveType: function(domainModel: DomainModel, domainTypes: DomainType[]): DomainType {
-                let typeIndex = Number.MAX_VALUE;
-                for (var i = 0; i < domainTypes.length; i++) {
-                    let domainType = domainTypes[i];
-                    let idx = supportedTypes.indexOf(domainType.name);
-                    if (idx == -1) {
-                        let typesString = "[";
-                        for (let supportedType of supportedTypes) {
-                            typesString += supportedType + ", ";
-                        }
-                        typesString = typesString.substring(0, typesString.length - 2) + "]";
-                        throw new OperandTypeResolverException("The operation operand at index " + i + " with the domain type '" + domainType + "' is unsupported! Expected one of the following types: " + typesString, i, domainType, supportedTypes);
+        return { resolveType: function(domainModel: DomainModel, domainTypes: DomainType[]): DomainType {
+            let bound = binding.get(domainModel);
+            let typeIndex = Number.MAX_VALUE;
+            for (var i = 0; i < domainTypes.length; i++) {
+                let domainType = domainTypes[i];
+                let idx = bound.indexes.get(domainType);
+                if (idx === undefined) {
+                    let typesString = "[";
+                    for (let supportedType of supportedTypes) {
+                        typesString += supportedType + ", ";
                     }
-                    typeIndex = Math.min(typeIndex, idx);
+                    typesString = typesString.substring(0, typesString.length - 2) + "]";
+                    throw new OperandTypeResolverException("The operation operand at index " + i + " with the domain type '" + domainType + "' is unsupported! Expected one of the following types: " + typesString, i, domainType, supportedTypes);
                 }
+                typeIndex = Math.min(typeIndex, idx);
+            }
 
-                if (typeIndex == Number.MAX_VALUE) {
-                    return domainModel.getType(supportedTypes[0]);
-                } else {
-                    return domainModel.getType(supportedTypes[typeIndex]);
-                }
-            }};
+            if (typeIndex == Number.MAX_VALUE) {
+                return bound.types[0];
+            } else {
+                return bound.types[typeIndex];
+            }
+        }};
+    });
+    registerIfAbsent("RestrictedDomainOperationTypeResolver", function(returningType: string, supportedTypes: string[]): DomainOperationTypeResolver {
+        let binding = new ModelBinding<{ returning: DomainType, supported: Map<DomainType, number> }>(function(domainModel: DomainModel) {
+            return { returning: domainModel.getType(returningType), supported: bindTypes(domainModel, supportedTypes) };
         });
-        registerIfAbsent("RestrictedDomainOperationTypeResolver", function(returningType: string, supportedTypes: string[]): DomainOperationTypeResolver {
-            return { resolveType: function(domainModel: DomainModel, domainTypes: DomainType[]): DomainType {
-                for (var i = 0; i < domainTypes.length; i++) {
-                    let domainType = domainTypes[i];
-                    if (supportedTypes.indexOf(domainType.name) == -1) {
-                        let typesString = "[";
-                        for (let supportedType of supportedTypes) {
-                            typesString += supportedType + ", ";
-                        }
-                        typesString = typesString.substring(0, typesString.length - 2) + "]";
-                        throw new OperandTypeResolverException("The operation operand at index " + i + " with the domain type '" + domainType + "' is unsupported! Expected one of the following types: " + typesString, i, domainType, supportedTypes);
+        return { resolveType: function(domainModel: DomainModel, domainTypes: DomainType[]): DomainType {
+            let bound = binding.get(domainModel);
+            for (var i = 0; i < domainTypes.length; i++) {
+                let domainType = domainTypes[i];
+                if (!bound.supported.has(domainType)) {
+                    let typesString = "[";
+                    for (let supportedType of supportedTypes) {
+                        typesString += supportedType + ", ";
                     }
+                    typesString = typesString.substring(0, typesString.length - 2) + "]";
+                    throw new OperandTypeResolverException("The operation operand at index " + i + " with the domain type '" + domainType + "' is unsupported! Expected one of the following types: " + typesString, i, domainType, supportedTypes);
                 }
+            }
 
-                return domainModel.getType(returningType);
-            }};
+            return bound.returning;
+        }};
+    });
+    registerIfAbsent("OperandRestrictedDomainOperationTypeResolver", function(returningType: string, supportedTypesPerOperand: string[][]): DomainOperationTypeResolver {
+        let binding = new ModelBinding<{ returning: DomainType, supported: Map<DomainType, number>[] }>(function(domainModel: DomainModel) {
+            return { returning: domainModel.getType(returningType), supported: supportedTypesPerOperand.map(function(supportedTypes) { return bindTypes(domainModel, supportedTypes); }) };
         });
-        registerIfAbsent("OperandRestrictedDomainOperationTypeResolver", function(returningType: string, supportedTypesPerOperand: string[][]): DomainOperationTypeResolver {
-            return { resolveType: function(domainModel: DomainModel, domainTypes: DomainType[]): DomainType {
-                for (var i = 0; i < domainTypes.length; i++) {
-                    let supportedTypes = supportedTypesPerOperand[i];
-                    let domainType = domainTypes[i];
-                    if (supportedTypes.indexOf(domainType.name) == -1) {
-                        let typesString = "[";
-                        for (let supportedType of supportedTypes) {
-                            typesString += supportedType + ", ";
-                        }
-                        typesString = typesString.substring(0, typesString.length - 2) + "]";
-                        throw new OperandTypeResolverException("The operation operand at index " + i + " with the domain type '" + domainType + "' is unsupported! Expected one of the following types: " + typesString, i, domainType, supportedTypes);
+        return { resolveType: function(domainModel: DomainModel, domainTypes: DomainType[]): DomainType {
+            let bound = binding.get(domainModel);
+            for (var i = 0; i < domainTypes.length; i++) {
+                let supportedTypes = supportedTypesPerOperand[i];
+                let domainType = domainTypes[i];
+                if (!bound.supported[i].has(domainType)) {
+                    let typesString = "[";
+                    for (let supportedType of supportedTypes) {
+                        typesString += supportedType + ", ";
                     }
+                    typesString = typesString.substring(0, typesString.length - 2) + "]";
+                    throw new OperandTypeResolverException("The operation operand at index " + i + " with the domain type '" + domainType + "' is unsupported! Expected one of the following types: " + typesString, i, domainType, supportedTypes);
                 }
+            }
 
-                return domainModel.getType(returningType);
-            }};
-        });
-        registerIfAbsent("NthArgumentDomainFunctionTypeResolver", function(index: number): DomainFunctionTypeResolver {
-            return { resolveType: function(domainModel: DomainModel, domainFunction: DomainFunction, argumentTypes: DomainType[]): DomainType {
-                validateArgumentTypes(domainFunction, argumentTypes);
-                return argumentTypes.length > index ? argumentTypes[index] : null;
-            }};
+            return bound.returning;
+        }};
+    });
+    registerIfAbsent("NthArgumentDomainFunctionTypeResolver", function(index: number): DomainFunctionTypeResolver {
+        return { resolveType: function(domainModel: DomainModel, domainFunction: DomainFunction, argumentTypes: DomainType[]): DomainType {
+            validateArgumentTypes(domainFunction, argumentTypes);
+            return argumentTypes.length > index ? argumentTypes[index] : null;
+        }};
+    });
+    registerIfAbsent("FixedDomainFunctionTypeResolver", function(type: string): DomainFunctionTypeResolver {
+        let binding = new ModelBinding<DomainType>(function(domainModel: DomainModel) {
+            return domainModel.getType(type);
         });
-        registerIfAbsent("FixedDomainFunctionTypeResolver", function(type: string): DomainFunctionTypeResolver {
-            return { resolveType: function(domainModel: DomainModel, domainFunction: DomainFunction, argumentTypes: DomainType[]): DomainType {
-                validateArgumentTypes(domainFunction, argumentTypes);
-                return domainModel.getType(type);
-            }};
+        return { resolveType: function(domainModel: DomainModel, domainFunction: DomainFunction, argumentTypes: DomainType[]): DomainType {
+            validateArgumentTypes(domainFunction, argumentTypes);
+            return binding.get(domainModel);
+        }};
+    });
+    registerIfAbsent("WidestDomainFunctionTypeResolver", function(types: string[]): DomainFunctionTypeResolver {
+        let binding = new ModelBinding<{ types: DomainType[], indexes: Map<DomainType, number> }>(function(domainModel: DomainModel) {
+            return { types: types.map(function(typeName) { return domainModel.getType(typeName); }), indexes: bindTypes(domainModel, types) };
         });
-        registerIfAbsent("WidestDomainFunctionTypeResolver", function(types: string[]): DomainFunctionTypeResolver {
-            return { resolveType: function(domainModel: DomainModel, domainFunction: DomainFunction, argumentTypes: DomainType[]): DomainType {
-                let typeIndex = Number.MAX_VALUE;
-                for (var i = 0; i < argumentTypes.length; i++) {
-                    let domainType = argumentTypes[i];
-                    let idx = types.indexOf(domainType.name);
-                    if (idx == -1) {
-                        let typesString = "[";
-                        for (let supportedType of types) {
-                            typesString += supportedType + ", ";
-                        }
-                        typesString = typesString.substring(0, typesString.length - 2) + "]";
-                        throw new FunctionTypeResolverException("Unsupported argument type '" + domainType + "' for argument '" + domainFunction.arguments[i] + "' of function '" + domainFunction.name + "'! Expected one of the following types: " + typesString, domainFunction, i, domainType, types);
+        return { resolveType: function(domainModel: DomainModel, domainFunction: DomainFunction, argumentTypes: DomainType[]): DomainType {
+            let bound = binding.get(domainModel);
+            let typeIndex = Number.MAX_VALUE;
+            for (var i = 0; i < argumentTypes.length; i++) {
+                let domainType = argumentTypes[i];
+                let idx = bound.indexes.get(domainType);
+                if (idx === undefined) {
+                    let typesString = "[";
+                    for (let supportedType of types) {
+                        typesString += supportedType + ", ";
                     }
-                    typeIndex = Math.min(typeIndex, idx);
+                    typesString = typesString.substring(0, typesString.length - 2) + "]";
+                    throw new FunctionTypeResolverException("Unsupported argument type '" + domainType + "' for argument '" + domainFunction.arguments[i] + "' of function '" + domainFunction.name + "'! Expected one of the following types: " + typesString, domainFunction, i, domainType, types);
                 }
+                typeIndex = Math.min(typeIndex, idx);
+            }
 
-                if (typeIndex == Number.MAX_VALUE) {
-                    return domainModel.getType(types[0]);
-                } else {
-                    return domainModel.getType(types[typeIndex]);
-                }
-            }};
-        });
-        let parseMeta = function(m: any): any[] {
-            if (Array.isArray(m)) {
-                return m;
+            if (typeIndex == Number.MAX_VALUE) {
+                return bound.types[0];
             } else {
-                return [];
+                return bound.types[typeIndex];
             }
-        };
-        let doc = function(meta: any[]): string {
-            for (let m of meta) {
-                if (m.hasOwnProperty('doc')) {
-                    return m['doc'];
+        }};
+    });
+    return extensions;
+}
+
+/**
+ * The serialized JSON forms of the resolvers created from one, which allow to transfer a domain model.
+ */
+const RESOLVER_SOURCES: WeakMap<object, string> = new WeakMap();
+
+/**
+ * Remembers the serialized form of the given resolver.
+ *
+ * @param resolver The resolver or <code>null</code>
+ * @param json The JSON representation of the resolver
+ */
+function recordResolverSource(resolver: any, json: any): any {
+    if (resolver != null) {
+        RESOLVER_SOURCES.set(resolver, JSON.stringify(json));
+    }
+    return resolver;
+}
+
+/**
+ * Creates a resolver from its JSON representation by invoking the matching constructor of the extensions.
+ *
+ * @param resolver The JSON representation of the resolver
+ * @param extensions The extension functions
+ */
+function createResolver(resolver: any, extensions: StringMap<Function>): any {
+    if (resolver !== undefined && resolver !== null) {
+        let typeResolver = null, args = [];
+        if (typeof resolver === "string") {
+            typeResolver = extensions[resolver];
+        } else {
+            for (let prop in resolver) {
+                if ((typeResolver = extensions[prop]) != null) {
+                    args = resolver[prop];
+                    break;
                 }
             }
-            return null;
-        };
-        let parseOp = function(op: string): DomainOperator {
-            switch (op) {
-                case 'M':
-                    return DomainOperator.UNARY_MINUS;
-                case 'P':
-                    return DomainOperator.UNARY_PLUS;
-                case '/':
-                    return DomainOperator.DIVISION;
-                case '-':
-                    return DomainOperator.MINUS;
-                case '%':
-                    return DomainOperator.MODULO;
-                case '*':
-                    return DomainOperator.MULTIPLICATION;
-                case '!':
-                    return DomainOperator.NOT;
-                case '+':
-                    return DomainOperator.PLUS;
-            }
-            return null;
-        };
-        let parsePred = function(pred: string): DomainPredicate {
-            switch (pred) {
-                case 'C':
-                    return DomainPredicate.COLLECTION;
-                case 'E':
-                    return DomainPredicate.EQUALITY;
-                case 'N':
-                    return DomainPredicate.NULLNESS;
-                case 'R':
-                    return DomainPredicate.RELATIONAL;
+        }
+        if (typeResolver != null) {
+            return typeResolver(...args);
+        }
+    }
+    return null;
+}
+
+/**
+ * Defines a property on the given map that creates its value on first access and then replaces itself with a plain value property.
+ * The optional initializer runs after the value is published, so cyclic references during initialization see the created value.
+ * Assigning through an overlay of the map shadows the property in the overlay.
+ *
+ * @param map The map on which to define the property
+ * @param name The property name
+ * @param create The function creating the value
+ * @param init The optional function initializing the created value
+ */
+function defineLazy<T>(map: StringMap<T>, name: string, create: () => T, init?: (value: T) => void): void {
+    let value: T = undefined;
+    Object.defineProperty(map, name, {
+        configurable: true,
+        enumerable: true,
+        get: function() {
+            let initialize = false;
+            if (value === undefined) {
+                value = create();
+                initialize = true;
             }
-            return null;
-        };
-        let resolver = function(resolver) {
-            if (resolver !== undefined) {
-                let typeResolver = null, args = [];
-                if (typeof resolver === "string") {
-                    typeResolver = extensions[resolver];
-                } else {
-                    for (let prop in resolver) {
-                        if ((typeResolver = extensions[prop]) != null) {
-                            args = resolver[prop];
-                            break;
-                        }
-                    }
-                }
-                if (typeResolver != null) {
-                    return typeResolver(...args);
-                }
+            // Publish on the defining map, so that overlays share the value
+            Object.defineProperty(map, name, { configurable: true, enumerable: true, writable: true, value: value });
+            if (initialize && init !== undefined) {
+                init(value);
             }
-            return null;
-        };
-        let types = json['types'], functions = json['funcs'], opResolvers = json['opResolvers'], predResolvers = json['predResolvers'];
-        var domainTypes: StringMap<DomainType> = {};
-        var collectionTypes: StringMap<CollectionDomainType> = {};
-        var funcs: StringMap<DomainFunction> = {};
-        let operationTypeResolvers: StringMap<StringMap<DomainOperationTypeResolver>> = {};
-        let predicateTypeResolvers: StringMap<StringMap<DomainPredicateTypeResolver>> = {};
-        if (baseModel instanceof DomainModel) {
-            let t = baseModel.types;
-            for (let name in t) {
-                domainTypes[name] = t[name];
-            }
-            let f = baseModel.functions;
-            for (let name in f) {
-                funcs[name] = f[name];
-            }
-            let o = baseModel.operationTypeResolvers;
-            for (let name in o) {
-                let r = operationTypeResolvers[name] = {};
-                let m = o[name];
-                for (let op in m) {
-                    r[op] = m[op];
+            return value;
+        },
+        set: function(newValue: T) {
+            Object.defineProperty(this, name, { configurable: true, enumerable: true, writable: true, value: newValue });
+        }
+    });
+}
+
+/**
+ * Returns whether the given map or one of the maps it overlays contains a non-null entry for the given name without materializing lazy entries.
+ *
+ * @param map The map
+ * @param name The entry name
+ */
+function hasEntry(map: StringMap<any>, name: string): boolean {
+    for (let m = map; m != null && m !== Object.prototype; m = Object.getPrototypeOf(m)) {
+        let descriptor = Object.getOwnPropertyDescriptor(m, name);
+        if (descriptor !== undefined) {
+            return descriptor.get !== undefined || descriptor.value != null;
+        }
+    }
+    return false;
+}
+
+/**
+ * Creates a map that overlays the given base map, or an empty map if there is no base map.
+ * Lookups fall through to the base map via the prototype chain, and assignments only affect the overlay.
+ *
+ * @param baseMap The base map or <code>null</code>
+ */
+function overlay<T>(baseMap: StringMap<T>): StringMap<T> {
+    return baseMap == null ? {} : Object.create(baseMap);
+}
+
+/**
+ * Returns the resolver map of the given type that is owned by the given resolver maps for modification.
+ * A resolver map inherited from a base model is overlaid instead of copied.
+ *
+ * @param resolverMaps The resolver maps indexed by type name
+ * @param typeName The type name
+ */
+function ownResolverMap<T>(resolverMaps: StringMap<StringMap<T>>, typeName: string): StringMap<T> {
+    let resolverMap = resolverMaps[typeName];
+    if (resolverMap == null) {
+        resolverMap = resolverMaps[typeName] = {};
+    } else if (!Object.prototype.hasOwnProperty.call(resolverMaps, typeName)) {
+        resolverMap = resolverMaps[typeName] = overlay(resolverMap);
+    }
+    return resolverMap;
+}
+
+/**
+ * Creates a map view that overlays the given target map with raw records indexed by name and materializes an entry on first access.
+ * The raw records are kept in a single map, so indexing a record costs no property definition or closure.
+ * A materialized entry is published on the target map and its raw record is released.
+ *
+ * @param target The map holding the materialized and assigned entries, which may overlay a base map
+ * @param records The raw records indexed by name
+ * @param create The function creating the entry of a raw record, which must put the entry into the given target map
+ */
+function rawRecordMap<T>(target: StringMap<T>, records: StringMap<any>, create: (record: any, target: StringMap<T>, name: string) => T): StringMap<T> {
+    let hasOwnProperty = Object.prototype.hasOwnProperty;
+    let lookup = function(name: string): T {
+        if (!hasOwnProperty.call(records, name) || hasOwnProperty.call(target, name)) {
+            return target[name];
+        }
+        let record = records[name];
+        delete records[name];
+        return create(record, target, name);
+    };
+    return new Proxy(target, {
+        get: function(t: StringMap<T>, name: PropertyKey): any {
+            return typeof name === "string" ? lookup(name) : t[name as any];
+        },
+        has: function(t: StringMap<T>, name: PropertyKey): boolean {
+            return typeof name === "string" && hasOwnProperty.call(records, name) || name in t;
+        },
+        ownKeys: function(t: StringMap<T>): string[] {
+            let names = Object.keys(t);
+            for (let name in records) {
+                if (!hasOwnProperty.call(t, name)) {
+                    names.push(name);
                 }
             }
-            let p = baseModel.predicateTypeResolvers;
-            for (let name in p) {
-                let r = predicateTypeResolvers[name] = {};
-                let m = p[name];
-                for (let op in m) {
-                    r[op] = m[op];
-                }
+            return names;
+        },
+        getOwnPropertyDescriptor: function(t: StringMap<T>, name: PropertyKey): PropertyDescriptor {
+            if (typeof name !== "string" || hasOwnProperty.call(t, name) || !hasOwnProperty.call(records, name)) {
+                return Object.getOwnPropertyDescriptor(t, name);
             }
+            // Report a lazy accessor, so that enumeration and presence checks don't materialize the entry
+            return { configurable: true, enumerable: true, get: function() { return lookup(name); } };
         }
-        types.forEach(function (type) {
-            let name = type['name'];
-            let ops: DomainOperator[] = [];
-            if (Array.isArray(type['ops'])) {
-                type['ops'].forEach(function (op) {
-                    let o = parseOp(op);
-                    if (o != null) {
+    });
+}
+
+/**
+ * Returns the documentation contained in the given metadata or <code>null</code>.
+ *
+ * @param meta The metadata
+ */
+function documentation(meta: any[]): string {
+    for (let m of meta) {
+        if (m.hasOwnProperty('doc')) {
+            return m['doc'];
+        }
+    }
+    return null;
+}
+
+/**
+ * A case-insensitive prefix index over the names of domain elements, backed by a sorted array of lower case names.
+ * A completion finds the first match with a binary search and then only visits the matching names,
+ * and the elements are only looked up for the returned matches.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+export class CompletionIndex<T> {
+    private readonly keys: string[];
+    private readonly names: string[];
+    private readonly map: StringMap<T>;
+
+    private constructor(keys: string[], names: string[], map: StringMap<T>) {
+        this.keys = keys;
+        this.names = names;
+        this.map = map;
+    }
+
+    /**
+     * Creates a completion index for the non-null entries of the given map, including the entries it overlays.
+     *
+     * @param map The map of the elements by name
+     */
+    static of<T>(map: StringMap<T>): CompletionIndex<T> {
+        let entries: string[][] = [];
+        for (let name in map) {
+            if (hasEntry(map, name)) {
+                entries.push([name.toLowerCase(), name]);
+            }
+        }
+        entries.sort(function(e1, e2) {
+            return e1[0] < e2[0] ? -1 : e1[0] > e2[0] ? 1 : e1[1] < e2[1] ? -1 : e1[1] > e2[1] ? 1 : 0;
+        });
+        let keys: string[] = new Array(entries.length), names: string[] = new Array(entries.length);
+        for (var i = 0; i < entries.length; i++) {
+            keys[i] = entries[i][0];
+            names[i] = entries[i][1];
+        }
+        return new CompletionIndex(keys, names, map);
+    }
+
+    /**
+     * Returns the names that start with the given prefix, ignoring the case, in alphabetical order.
+     *
+     * @param prefix The prefix
+     * @param limit The optional maximum number of names to return
+     */
+    completeNames(prefix: string, limit?: number): string[] {
+        let key = prefix.toLowerCase();
+        let keys = this.keys;
+        let result: string[] = [];
+        let max = limit === undefined ? keys.length : limit;
+        for (var i = this.lowerBound(key); i < keys.length && result.length < max && keys[i].startsWith(key); i++) {
+            result.push(this.names[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the elements whose names start with the given prefix, ignoring the case, in alphabetical order of the names.
+     *
+     * @param prefix The prefix
+     * @param limit The optional maximum number of elements to return
+     */
+    complete(prefix: string, limit?: number): T[] {
+        let names = this.completeNames(prefix, limit);
+        let result: T[] = new Array(names.length);
+        for (var i = 0; i < names.length; i++) {
+            result[i] = this.map[names[i]];
+        }
+        return result;
+    }
+
+    private lowerBound(key: string): number {
+        let keys = this.keys;
+        let low = 0, high = keys.length;
+        while (low < high) {
+            let mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
+
+/**
+ * A compact representation of a domain model that consists of typed arrays and a string table,
+ * which can be posted to Web Workers without copying the typed arrays by transferring their buffers.
+ *
+ * Types and functions are encoded as records in an <code>Int32Array</code> that are sorted by name and located through an offset array.
+ * Strings, serialized metadata and serialized resolvers are referenced through their index in the string table.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+export interface TransferableDomainModel {
+    /**
+     * The concatenated strings of the string table.
+     */
+    strings: string;
+    /**
+     * The start offsets of the strings in the string table followed by the total length.
+     */
+    stringOffsets: Uint32Array;
+    /**
+     * The type records.
+     */
+    types: Int32Array;
+    /**
+     * The start offsets of the type records followed by the total length.
+     */
+    typeOffsets: Uint32Array;
+    /**
+     * The function records.
+     */
+    functions: Int32Array;
+    /**
+     * The start offsets of the function records followed by the total length.
+     */
+    functionOffsets: Uint32Array;
+}
+
+/**
+ * Compares two strings by their UTF-16 code units.
+ *
+ * @param s1 The first string
+ * @param s2 The second string
+ */
+function compareStrings(s1: string, s2: string): number {
+    return s1 < s2 ? -1 : s1 > s2 ? 1 : 0;
+}
+
+/**
+ * The collection type without an element type.
+ */
+const COLLECTION_TYPE: CollectionDomainType = new CollectionDomainType("Collection", null);
+
+/**
+ * Returns the domain type with the given name from the given types, creating collection types on demand.
+ *
+ * @param typeName The type name
+ * @param types The domain types indexed by name
+ * @param collectionTypes The collection types indexed by type name
+ */
+function lookupType(typeName: string, types: StringMap<DomainType>, collectionTypes: StringMap<CollectionDomainType>): DomainType {
+    if (typeName === undefined) {
+        return null;
+    }
+    let type = types[typeName];
+    if (type !== undefined) {
+        return type;
+    }
+    // Collection types are created once per type name, so only the first lookup parses the element type name
+    let collectionType = collectionTypes[typeName];
+    if (collectionType !== undefined) {
+        return collectionType;
+    }
+    if (typeName.startsWith("Collection")) {
+        if (typeName.length == "Collection".length) {
+            return COLLECTION_TYPE;
+        } else if (typeName.charAt("Collection".length) == '[') {
+            let elementTypeName = typeName.substring("Collection".length + 1, typeName.length - 1);
+            return collectionTypes[typeName] = new CollectionDomainType(typeName, lookupType(elementTypeName, types, collectionTypes));
+        }
+    }
+    return undefined;
+}
+
+/**
+ * An incremental parser for the records of a serialized domain model.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+interface DomainModelRecordParser {
+    /**
+     * Adds a type record.
+     */
+    type: (type: any) => void;
+    /**
+     * Signals that all type records were added.
+     */
+    typesComplete: () => void;
+    /**
+     * Adds a function record.
+     */
+    func: (func: any) => void;
+    /**
+     * Adds an operation type resolver group record.
+     */
+    opResolver: (group: any) => void;
+    /**
+     * Adds a predicate type resolver group record.
+     */
+    predResolver: (group: any) => void;
+    /**
+     * Returns the domain model of the added records.
+     */
+    build: () => DomainModel;
+}
+
+/**
+ * The part of the <code>TextDecoder</code> API of browsers and Node.js that is used for decoding UTF-8 chunks.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+interface TextDecoder {
+    decode(input?: Uint8Array, options?: { stream?: boolean }): string;
+}
+
+declare const TextDecoder: {
+    new(label?: string): TextDecoder;
+};
+
+/**
+ * An incremental scanner for JSON documents that emits the elements of the arrays of the top level object one by one.
+ * Only the text of an incomplete element is buffered between chunks.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+class JsonRecordScanner {
+    private readonly onRecord: (key: string, record: any) => void;
+    private readonly onArrayEnd: (key: string) => void;
+    private buffer: string = "";
+    private depth: number = 0;
+    private inString: boolean = false;
+    private escaped: boolean = false;
+    private expectKey: boolean = false;
+    private inArray: boolean = false;
+    private key: string = null;
+    private keyStart: number = -1;
+    private recordStart: number = -1;
+
+    constructor(onRecord: (key: string, record: any) => void, onArrayEnd: (key: string) => void) {
+        this.onRecord = onRecord;
+        this.onArrayEnd = onArrayEnd;
+    }
+
+    /**
+     * Scans the given chunk of JSON text.
+     *
+     * @param chunk The chunk
+     */
+    write(chunk: string): void {
+        let start = this.buffer.length;
+        let buffer = this.buffer = start === 0 ? chunk : this.buffer + chunk;
+        for (var i = start; i < buffer.length; i++) {
+            let c = buffer.charCodeAt(i);
+            if (this.inString) {
+                if (this.escaped) {
+                    this.escaped = false;
+                } else if (c === 92) {
+                    // Backslash
+                    this.escaped = true;
+                } else if (c === 34) {
+                    // Quote
+                    this.inString = false;
+                    if (this.keyStart !== -1) {
+                        this.key = JSON.parse(buffer.substring(this.keyStart, i + 1));
+                        this.keyStart = -1;
+                    }
+                }
+                continue;
+            }
+            switch (c) {
+                case 34:
+                    // Quote
+                    this.inString = true;
+                    if (this.depth === 1 && this.expectKey) {
+                        this.expectKey = false;
+                        this.keyStart = i;
+                    }
+                    break;
+                case 123:
+                case 91:
+                    // Curly or square opening bracket
+                    if (this.depth === 0) {
+                        this.expectKey = true;
+                    } else if (this.depth === 1) {
+                        this.inArray = c === 91;
+                    } else if (this.depth === 2 && this.inArray) {
+                        this.recordStart = i;
+                    }
+                    this.depth++;
+                    break;
+                case 125:
+                case 93:
+                    // Curly or square closing bracket
+                    this.depth--;
+                    if (this.depth === 2 && this.recordStart !== -1) {
+                        let record = JSON.parse(buffer.substring(this.recordStart, i + 1));
+                        this.recordStart = -1;
+                        this.onRecord(this.key, record);
+                    } else if (this.depth === 1 && this.inArray) {
+                        this.inArray = false;
+                        this.onArrayEnd(this.key);
+                    }
+                    break;
+                case 44:
+                    // Comma
+                    if (this.depth === 1) {
+                        this.expectKey = true;
+                    }
+                    break;
+            }
+        }
+        // Only retain the text of an incomplete record or key
+        let keep = this.recordStart !== -1 ? this.recordStart : this.keyStart !== -1 ? this.keyStart : buffer.length;
+        this.buffer = buffer.substring(keep);
+        if (this.recordStart !== -1) {
+            this.recordStart -= keep;
+        }
+        if (this.keyStart !== -1) {
+            this.keyStart -= keep;
+        }
+    }
+
+    /**
+     * Validates that the scanned document is complete.
+     */
+    end(): void {
+        if (this.depth !== 0 || this.inString) {
+            throw new Error("Unexpected end of the JSON input!");
+        }
+    }
+}
+
+/**
+ * A type checked domain model that can be used for domain introspection.
+ *
+ * @author Christian Beikov
+ * @since 1.0.0
+ */
+export class DomainModel {
+    /**
+     * The types of the domain model as map indexed by their type name.
+     */
+    private types: StringMap<DomainType>;
+    /**
+     * The collection types of the domain model as map indexed by their type name.
+     */
+    private collectionTypes: StringMap<CollectionDomainType>;
+    /**
+     * The functions of the domain model as map indexed by their function name.
+     */
+    private functions: StringMap<DomainFunction>;
+    /**
+     * Returns the operation type resolvers of the domain model as map indexed by their type name.
+     */
+    private operationTypeResolvers: StringMap<StringMap<DomainOperationTypeResolver>>;
+    /**
+     * Returns the predicate type resolvers of the domain model as map indexed by their type name.
+     */
+    private predicateTypeResolvers: StringMap<StringMap<DomainPredicateTypeResolver>>;
+
+    /**
+     * The lazily built completion index for the type names.
+     */
+    private typeCompletionIndex: CompletionIndex<DomainType> = null;
+    /**
+     * The lazily built completion index for the function names.
+     */
+    private functionCompletionIndex: CompletionIndex<DomainFunction> = null;
+    /**
+     * The lazily built completion indexes for the attribute names of entity types.
+     */
+    private attributeCompletionIndexes: WeakMap<EntityDomainType, CompletionIndex<EntityAttribute>> = null;
+    /**
+     * The function that adds the resolver groups deferred by a lazy parse to the resolver maps or <code>null</code>.
+     */
+    private pendingResolvers: () => void;
+
+    constructor(types: StringMap<DomainType>, collectionTypes: StringMap<CollectionDomainType>, functions: StringMap<DomainFunction>, operationTypeResolvers: StringMap<StringMap<DomainOperationTypeResolver>>, predicateTypeResolvers: StringMap<StringMap<DomainPredicateTypeResolver>>, pendingResolvers?: () => void) {
+        this.types = types;
+        this.collectionTypes = collectionTypes;
+        this.functions = functions;
+        this.operationTypeResolvers = operationTypeResolvers;
+        this.predicateTypeResolvers = predicateTypeResolvers;
+        this.pendingResolvers = pendingResolvers === undefined ? null : pendingResolvers;
+    }
+
+    /**
+     * Returns the type with the given name. The lookup reads the type maps directly rather than going through a separate cache,
+     * because they already hold every entry once, and collection types are created only once per type name.
+     */
+    getType(typeName: string): DomainType {
+        return lookupType(typeName, this.types, this.collectionTypes);
+    }
+
+    /**
+     * Returns the types of the domain model as map indexed by their type name.
+     * The map of a sub model inherits the entries of its base model through the prototype chain,
+     * so all types are enumerated with <code>for ... in</code> rather than <code>Object.keys()</code>.
+     */
+    getTypes(): StringMap<DomainType> {
+        return this.types;
+    }
+
+    getFunction(typeName: string): DomainFunction {
+        return this.functions[typeName];
+    }
+
+    /**
+     * Returns the functions of the domain model as map indexed by their function name.
+     * Like the types, the map of a sub model inherits the entries of its base model through the prototype chain.
+     */
+    getFunctions(): StringMap<DomainFunction> {
+        return this.functions;
+    }
+
+    getOperationTypeResolvers(typeName: string): StringMap<DomainOperationTypeResolver> {
+        this.addPendingResolvers();
+        return this.operationTypeResolvers[typeName];
+    }
+
+    getOperationTypeResolver(typeName: string, operator: DomainOperator): DomainOperationTypeResolver {
+        this.addPendingResolvers();
+        let resolvers = this.operationTypeResolvers[typeName];
+        return resolvers == null ? null : resolvers[DomainOperator[operator]];
+    }
+
+    getPredicateTypeResolvers(typeName: string): StringMap<DomainPredicateTypeResolver> {
+        this.addPendingResolvers();
+        return this.predicateTypeResolvers[typeName];
+    }
+
+    getPredicateTypeResolver(typeName: string, predicate: DomainPredicate): DomainPredicateTypeResolver {
+        this.addPendingResolvers();
+        let resolvers = this.predicateTypeResolvers[typeName];
+        return resolvers == null ? null : resolvers[DomainPredicate[predicate]];
+    }
+
+    /**
+     * Adds the resolver groups deferred by a lazy parse to the resolver maps on first use.
+     */
+    private addPendingResolvers(): void {
+        if (this.pendingResolvers !== null) {
+            let pendingResolvers = this.pendingResolvers;
+            this.pendingResolvers = null;
+            pendingResolvers();
+        }
+    }
+
+    /**
+     * Returns the case-insensitive completion index for the names of the types of this domain model, excluding collection types.
+     * The index is built on first access.
+     */
+    getTypeCompletionIndex(): CompletionIndex<DomainType> {
+        if (this.typeCompletionIndex == null) {
+            this.typeCompletionIndex = CompletionIndex.of(this.types);
+        }
+        return this.typeCompletionIndex;
+    }
+
+    /**
+     * Returns the case-insensitive completion index for the names of the functions of this domain model.
+     * The index is built on first access.
+     */
+    getFunctionCompletionIndex(): CompletionIndex<DomainFunction> {
+        if (this.functionCompletionIndex == null) {
+            this.functionCompletionIndex = CompletionIndex.of(this.functions);
+        }
+        return this.functionCompletionIndex;
+    }
+
+    /**
+     * Returns the case-insensitive completion index for the attribute names of the given entity type.
+     * The index is built on first access per entity type.
+     *
+     * @param entityType The entity type
+     */
+    getAttributeCompletionIndex(entityType: EntityDomainType): CompletionIndex<EntityAttribute> {
+        if (this.attributeCompletionIndexes == null) {
+            this.attributeCompletionIndexes = new WeakMap();
+        }
+        let index = this.attributeCompletionIndexes.get(entityType);
+        if (index === undefined) {
+            index = CompletionIndex.of(entityType.attributes);
+            this.attributeCompletionIndexes.set(entityType, index);
+        }
+        return index;
+    }
+
+    /**
+     * Creates a transferable representation of this domain model, including the entries of its base models.
+     * All types and functions are materialized, and resolvers must originate from a serialized form, i.e. from parsing or a builder.
+     */
+    toTransferable(): TransferableDomainModel {
+        this.addPendingResolvers();
+        let strings: string[] = [];
+        let stringIndexes = new Map<string, number>();
+        let str = function(string: string): number {
+            if (string == null) {
+                return -1;
+            }
+            let index = stringIndexes.get(string);
+            if (index === undefined) {
+                index = strings.length;
+                strings.push(string);
+                stringIndexes.set(string, index);
+            }
+            return index;
+        };
+        let meta = function(metadata: any[]): number {
+            return metadata == null || metadata.length == 0 ? -1 : str(JSON.stringify(metadata));
+        };
+        let resolver = function(resolver: any): number {
+            let source = RESOLVER_SOURCES.get(resolver);
+            if (source === undefined) {
+                throw new Error("The resolver '" + resolver + "' was not created from a serialized form and can't be transferred!");
+            }
+            return str(source);
+        };
+        let mask = function(elements: readonly number[]): number {
+            let mask = 0;
+            for (const element of elements) {
+                mask |= 1 << element;
+            }
+            return mask;
+        };
+        let resolvers = function(data: number[], resolverMap: StringMap<any>, elements: any): void {
+            let countIndex = data.length;
+            data.push(0);
+            for (let element in resolverMap) {
+                let r = resolverMap[element];
+                if (r != null) {
+                    data.push(elements[element], resolver(r));
+                    data[countIndex]++;
+                }
+            }
+        };
+        let typeNames: string[] = [];
+        for (let name in this.types) {
+            if (hasEntry(this.types, name)) {
+                typeNames.push(name);
+            }
+        }
+        typeNames.sort(compareStrings);
+        let typeData: number[] = [];
+        let typeOffsets = new Uint32Array(typeNames.length + 1);
+        for (var i = 0; i < typeNames.length; i++) {
+            let type = this.types[typeNames[i]];
+            typeOffsets[i] = typeData.length;
+            typeData.push(str(type.name), type.kind, mask(type.enabledOperators), mask(type.enabledPredicates), meta(type.metadata));
+            if (type instanceof EntityDomainType) {
+                let countIndex = typeData.length;
+                typeData.push(0);
+                for (let attributeName in type.attributes) {
+                    let attribute = type.attributes[attributeName];
+                    typeData.push(str(attribute.name), str(attribute.type == null ? null : attribute.type.name), meta(attribute.metadata));
+                    typeData[countIndex]++;
+                }
+            } else if (type instanceof EnumDomainType) {
+                let countIndex = typeData.length;
+                typeData.push(0);
+                for (let enumValueName in type.enumValues) {
+                    let enumValue = type.enumValues[enumValueName];
+                    typeData.push(str(enumValue.value), meta(enumValue.metadata));
+                    typeData[countIndex]++;
+                }
+            }
+            resolvers(typeData, this.operationTypeResolvers[type.name], DomainOperator);
+            resolvers(typeData, this.predicateTypeResolvers[type.name], DomainPredicate);
+        }
+        typeOffsets[typeNames.length] = typeData.length;
+
+        let functionNames: string[] = [];
+        for (let name in this.functions) {
+            if (hasEntry(this.functions, name)) {
+                functionNames.push(name);
+            }
+        }
+        functionNames.sort(compareStrings);
+        let functionData: number[] = [];
+        let functionOffsets = new Uint32Array(functionNames.length + 1);
+        for (var i = 0; i < functionNames.length; i++) {
+            let name = functionNames[i];
+            let func = this.functions[name];
+            functionOffsets[i] = functionData.length;
+            functionData.push(
+                str(name),
+                func.volatility,
+                func.minArgumentCount,
+                func.argumentCount,
+                str(func.resultType == null ? null : func.resultType.name),
+                func.resultTypeResolver === RESULT_TYPE_RESOLVER ? -1 : resolver(func.resultTypeResolver),
+                meta(func.metadata),
+                func.arguments.length
+            );
+            for (const argument of func.arguments) {
+                functionData.push(str(argument.name), str(argument.type == null ? null : argument.type.name), meta(argument.metadata));
+            }
+        }
+        functionOffsets[functionNames.length] = functionData.length;
+
+        let stringOffsets = new Uint32Array(strings.length + 1);
+        let offset = 0;
+        for (var i = 0; i < strings.length; i++) {
+            stringOffsets[i] = offset;
+            offset += strings[i].length;
+        }
+        stringOffsets[strings.length] = offset;
+        return {
+            strings: strings.join(""),
+            stringOffsets: stringOffsets,
+            types: new Int32Array(typeData),
+            typeOffsets: typeOffsets,
+            functions: new Int32Array(functionData),
+            functionOffsets: functionOffsets
+        };
+    }
+
+    /**
+     * Returns the buffers of the given transferable domain model, which can be passed as transfer list to <code>postMessage</code>.
+     *
+     * @param transferable The transferable domain model
+     */
+    static getTransferList(transferable: TransferableDomainModel): ArrayBuffer[] {
+        return [
+            transferable.stringOffsets.buffer as ArrayBuffer,
+            transferable.types.buffer as ArrayBuffer,
+            transferable.typeOffsets.buffer as ArrayBuffer,
+            transferable.functions.buffer as ArrayBuffer,
+            transferable.functionOffsets.buffer as ArrayBuffer
+        ];
+    }
+
+    /**
+     * Creates a lazy domain model view over the given transferable representation in constant time.
+     * Types, functions and resolvers are looked up by binary search over the sorted records and materialized on first access.
+     * Only the serialized metadata and resolvers of materialized elements are parsed.
+     *
+     * @param transferable The transferable domain model
+     * @param extensions The optional extension functions like resolver constructors
+     */
+    static fromTransferable(transferable: TransferableDomainModel, extensions?: StringMap<Function>): DomainModel {
+        extensions = registerDefaultExtensions(typeof extensions === "undefined" ? {} : extensions);
+        let strings = transferable.strings, stringOffsets = transferable.stringOffsets;
+        let typeData = transferable.types, typeOffsets = transferable.typeOffsets;
+        let functionData = transferable.functions, functionOffsets = transferable.functionOffsets;
+        let stringCache: string[] = [];
+        let str = function(index: number): string {
+            if (index === -1) {
+                return null;
+            }
+            let string = stringCache[index];
+            if (string === undefined) {
+                string = stringCache[index] = strings.substring(stringOffsets[index], stringOffsets[index + 1]);
+            }
+            return string;
+        };
+        let meta = function(index: number): any[] {
+            return index === -1 ? [] : JSON.parse(str(index));
+        };
+        let resolverCache: any[] = [];
+        let resolver = function(index: number): any {
+            let instance = resolverCache[index];
+            if (instance === undefined) {
+                let source = str(index);
+                instance = resolverCache[index] = createResolver(JSON.parse(source), extensions);
+                if (instance != null) {
+                    RESOLVER_SOURCES.set(instance, source);
+                }
+            }
+            return instance;
+        };
+        let unmask = function(mask: number, count: number): number[] {
+            let elements: number[] = [];
+            for (var i = 0; i < count; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    elements.push(i);
+                }
+            }
+            return elements;
+        };
+        let domainModel: DomainModel = null;
+        let type = function(index: number): DomainType {
+            return index === -1 ? null : domainModel.getType(str(index));
+        };
+        // Returns the offset of the operation type resolvers within a type record
+        let resolverOffset = function(offset: number): number {
+            switch (typeData[offset + 1]) {
+                case DomainTypeKind.ENTITY:
+                    return offset + 6 + typeData[offset + 5] * 3;
+                case DomainTypeKind.ENUM:
+                    return offset + 6 + typeData[offset + 5] * 2;
+            }
+            return offset + 5;
+        };
+        let resolverMap = function(offset: number, elements: any): StringMap<any> {
+            let count = typeData[offset];
+            if (count == 0) {
+                return undefined;
+            }
+            let map: StringMap<any> = {};
+            for (var i = 0; i < count; i++) {
+                map[elements[typeData[offset + 1 + i * 2]]] = resolver(typeData[offset + 2 + i * 2]);
+            }
+            return map;
+        };
+        let types = DomainModel.recordMap<DomainType>(typeData, typeOffsets, str, function(offset: number, target: StringMap<DomainType>, name: string): DomainType {
+            let ops = unmask(typeData[offset + 2], 8) as DomainOperator[];
+            let preds = unmask(typeData[offset + 3], 4) as DomainPredicate[];
+            let metadata = meta(typeData[offset + 4]);
+            let domainType: DomainType;
+            switch (typeData[offset + 1]) {
+                case DomainTypeKind.ENTITY:
+                    domainType = new EntityDomainType(name, ops, preds, {}, metadata);
+                    break;
+                case DomainTypeKind.ENUM:
+                    let enumValues: StringMap<EnumDomainTypeValue> = {};
+                    for (var i = 0; i < typeData[offset + 5]; i++) {
+                        let value = str(typeData[offset + 6 + i * 2]);
+                        let valueMetadata = meta(typeData[offset + 7 + i * 2]);
+                        enumValues[value] = new EnumDomainTypeValue(value, documentation(valueMetadata), valueMetadata);
+                    }
+                    domainType = new EnumDomainType(name, ops, preds, enumValues, metadata);
+                    break;
+                case DomainTypeKind.UNION:
+                    domainType = new UnionDomainType(name, ops, preds, metadata);
+                    break;
+                default:
+                    domainType = new BasicDomainType(name, ops, preds, metadata);
+                    break;
+            }
+            // Publish the type before resolving referenced types to support cycles
+            target[name] = domainType;
+            if (domainType instanceof EntityDomainType) {
+                defineLazy<StringMap<EntityAttribute>>(domainType as any, 'attributes', function() {
+                    let attributes: StringMap<EntityAttribute> = {};
+                    for (var i = 0; i < typeData[offset + 5]; i++) {
+                        let attributeOffset = offset + 6 + i * 3;
+                        let attributeName = str(typeData[attributeOffset]);
+                        let attributeMetadata = meta(typeData[attributeOffset + 2]);
+                        attributes[attributeName] = new EntityAttribute(attributeName, type(typeData[attributeOffset + 1]), documentation(attributeMetadata), attributeMetadata);
+                    }
+                    return attributes;
+                });
+            } else if (domainType instanceof UnionDomainType) {
+                let unionElements: DomainType[] = [];
+                for (const unionElementTypeName of name.split('|')) {
+                    unionElements.push(domainModel.getType(unionElementTypeName));
+                }
+                domainType.unionElements = unionElements;
+            }
+            return domainType;
+        });
+        let operationTypeResolvers = DomainModel.recordMap<StringMap<DomainOperationTypeResolver>>(typeData, typeOffsets, str, function(offset: number, target: StringMap<StringMap<DomainOperationTypeResolver>>, name: string): StringMap<DomainOperationTypeResolver> {
+            return target[name] = resolverMap(resolverOffset(offset), DomainOperator);
+        });
+        let predicateTypeResolvers = DomainModel.recordMap<StringMap<DomainPredicateTypeResolver>>(typeData, typeOffsets, str, function(offset: number, target: StringMap<StringMap<DomainPredicateTypeResolver>>, name: string): StringMap<DomainPredicateTypeResolver> {
+            let operationOffset = resolverOffset(offset);
+            return target[name] = resolverMap(operationOffset + 1 + typeData[operationOffset] * 2, DomainPredicate);
+        });
+        let functions = DomainModel.recordMap<DomainFunction>(functionData, functionOffsets, str, function(offset: number, target: StringMap<DomainFunction>, name: string): DomainFunction {
+            let args: DomainFunctionArgument[] = [];
+            for (var i = 0; i < functionData[offset + 7]; i++) {
+                let argumentOffset = offset + 8 + i * 3;
+                let argumentMetadata = meta(functionData[argumentOffset + 2]);
+                args.push(new DomainFunctionArgument(str(functionData[argumentOffset]), i, type(functionData[argumentOffset + 1]), documentation(argumentMetadata), argumentMetadata));
+            }
+            let metadata = meta(functionData[offset + 6]);
+            let resolverIndex = functionData[offset + 5];
+            let resultType = resolverIndex === -1 ? type(functionData[offset + 4]) : null;
+            let resultTypeResolver = resolverIndex === -1 ? RESULT_TYPE_RESOLVER : resolver(resolverIndex);
+            return target[name] = new DomainFunction(name, functionData[offset + 1], functionData[offset + 2], functionData[offset + 3], resultType, resultTypeResolver, documentation(metadata), args, metadata);
+        });
+        return domainModel = new DomainModel(types, {}, functions, operationTypeResolvers, predicateTypeResolvers);
+    }
+
+    /**
+     * Creates a map view over name sorted records that materializes entries on first access.
+     *
+     * @param data The record data
+     * @param offsets The record offsets
+     * @param str The function returning the string of a string table index
+     * @param create The function creating the entry of a record at an offset, which must put the entry into the given target map
+     */
+    private static recordMap<T>(data: Int32Array, offsets: Uint32Array, str: (index: number) => string, create: (offset: number, target: StringMap<T>, name: string) => T): StringMap<T> {
+        let target: StringMap<T> = {};
+        let hasOwnProperty = Object.prototype.hasOwnProperty;
+        let find = function(name: string): number {
+            let low = 0, high = offsets.length - 1;
+            while (low < high) {
+                let mid = (low + high) >>> 1;
+                let cmp = compareStrings(str(data[offsets[mid]]), name);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        };
+        let lookup = function(name: string): T {
+            if (hasOwnProperty.call(target, name)) {
+                return target[name];
+            }
+            let index = find(name);
+            return index === -1 ? target[name] : create(offsets[index], target, name);
+        };
+        let names: string[] = null;
+        return new Proxy(target, {
+            get: function(t: StringMap<T>, name: PropertyKey): any {
+                return typeof name === "string" ? lookup(name) : t[name as any];
+            },
+            has: function(t: StringMap<T>, name: PropertyKey): boolean {
+                return typeof name === "string" && find(name) !== -1 || name in t;
+            },
+            ownKeys: function(t: StringMap<T>): string[] {
+                if (names == null) {
+                    names = new Array(offsets.length - 1);
+                    for (var i = 0; i < names.length; i++) {
+                        names[i] = str(data[offsets[i]]);
+                    }
+                }
+                return names.slice();
+            },
+            getOwnPropertyDescriptor: function(t: StringMap<T>, name: PropertyKey): PropertyDescriptor {
+                if (typeof name !== "string" || hasOwnProperty.call(t, name) || find(name) === -1) {
+                    return Object.getOwnPropertyDescriptor(t, name);
+                }
+                // Report a lazy accessor, so that enumeration and presence checks don't materialize the entry
+                return { configurable: true, enumerable: true, get: function() { return lookup(name); } };
+            }
+        });
+    }
+
+    /**
+     * Creates a builder for a domain model, which is used by generated JavaScript modules to construct the runtime objects directly.
+     *
+     * @param baseModel The optional base model
+     * @param extensions The optional extension functions like resolver constructors
+     */
+    static builder(baseModel?: DomainModel, extensions?: StringMap<Function>): DomainModelBuilder {
+        let base = baseModel instanceof DomainModel ? baseModel : null;
+        if (base != null) {
+            base.addPendingResolvers();
+        }
+        let types: StringMap<DomainType> = overlay(base == null ? null : base.types);
+        let functions: StringMap<DomainFunction> = overlay(base == null ? null : base.functions);
+        let operationTypeResolvers: StringMap<StringMap<DomainOperationTypeResolver>> = overlay(base == null ? null : base.operationTypeResolvers);
+        let predicateTypeResolvers: StringMap<StringMap<DomainPredicateTypeResolver>> = overlay(base == null ? null : base.predicateTypeResolvers);
+        return new DomainModelBuilder(types, functions, operationTypeResolvers, predicateTypeResolvers, registerDefaultExtensions(typeof extensions === "undefined" ? {} : extensions));
+    }
+
+    /**
+     * Parses the given JSON string to a domain model.
+     * The input can also be a JSON delta of a domain model difference, which is applied to the given base model.
+     * In lazy mode, the raw records are only indexed by name and types and functions are materialized on first access,
+     * while the resolver groups are only added on the first resolver lookup.
+     * The maps returned by <code>getTypes()</code> and <code>getFunctions()</code> are then lazily populated views.
+     *
+     * @param input The JSON string or object
+     * @param baseModel The optional base model
+     * @param extensions The optional extension functions like resolver constructors
+     * @param lazy Whether to materialize types, functions and resolvers on demand
+     */
+    static parse(input: object | string, baseModel?: DomainModel, extensions?: StringMap<Function>, lazy?: boolean): DomainModel {
+        let json;
+        if (typeof input === "string") {
+            json = JSON.parse(input);
+        } else {
+            json = input;
+        }
+        let parser = DomainModel.parser(baseModel, extensions, lazy);
+        let types = json['types'], functions = json['funcs'], opResolvers = json['opResolvers'], predResolvers = json['predResolvers'];
+        if (Array.isArray(types)) {
+            types.forEach(parser.type);
+        }
+        parser.typesComplete();
+        if (Array.isArray(functions)) {
+            functions.forEach(parser.func);
+        }
+        if (Array.isArray(opResolvers)) {
+            opResolvers.forEach(parser.opResolver);
+        }
+        if (Array.isArray(predResolvers)) {
+            predResolvers.forEach(parser.predResolver);
+        }
+        return parser.build();
+    }
+
+    /**
+     * Parses a domain model incrementally from a stream of JSON chunks, so that parsing overlaps the download.
+     * The records of the top level arrays are parsed one at a time with <code>JSON.parse</code> as soon as they are complete,
+     * so the document is never held in memory as a whole.
+     * The source can be a <code>ReadableStream</code>, an async iterable or an iterable of string or <code>Uint8Array</code> chunks of UTF-8 text.
+     * A string source is treated as a single chunk.
+     *
+     * @param source The source of the JSON chunks
+     * @param baseModel The optional base model
+     * @param extensions The optional extension functions like resolver constructors
+     * @param lazy Whether to materialize types, functions and resolvers on demand
+     */
+    static parseStream(source: any, baseModel?: DomainModel, extensions?: StringMap<Function>, lazy?: boolean): Promise<DomainModel> {
+        let parser = DomainModel.parser(baseModel, extensions, lazy);
+        let scanner = new JsonRecordScanner(function(key: string, record: any) {
+            switch (key) {
+                case 'types':
+                    parser.type(record);
+                    break;
+                case 'funcs':
+                    parser.func(record);
+                    break;
+                case 'opResolvers':
+                    parser.opResolver(record);
+                    break;
+                case 'predResolvers':
+                    parser.predResolver(record);
+                    break;
+            }
+        }, function(key: string) {
+            if (key === 'types') {
+                parser.typesComplete();
+            }
+        });
+        let decoder: TextDecoder = null;
+        let next: () => Promise<any>;
+        if (typeof source === "string") {
+            source = [source];
+        }
+        if (typeof source.getReader === "function") {
+            let reader = source.getReader();
+            next = function() {
+                return reader.read();
+            };
+        } else {
+            let asyncIterator = (Symbol as any).asyncIterator;
+            let iterator = asyncIterator !== undefined && typeof source[asyncIterator] === "function" ? source[asyncIterator]() : source[Symbol.iterator]();
+            next = function() {
+                return Promise.resolve(iterator.next());
+            };
+        }
+        let read = function(): Promise<DomainModel> {
+            return next().then(function(result) {
+                if (result.done) {
+                    if (decoder != null) {
+                        scanner.write(decoder.decode());
+                    }
+                    scanner.end();
+                    return parser.build();
+                }
+                let chunk = result.value;
+                if (typeof chunk !== "string") {
+                    if (decoder == null) {
+                        decoder = new TextDecoder("utf-8");
+                    }
+                    chunk = decoder.decode(chunk, { stream: true });
+                }
+                scanner.write(chunk);
+                return read();
+            });
+        };
+        return read();
+    }
+
+    /**
+     * Creates an incremental parser for the records of a serialized domain model.
+     *
+     * @param baseModel The optional base model
+     * @param extensions The optional extension functions like resolver constructors
+     * @param lazy Whether to materialize types, functions and resolvers on demand
+     */
+    private static parser(baseModel: DomainModel, extensions: StringMap<Function>, lazy: boolean): DomainModelRecordParser {
+        if (typeof extensions === "undefined") {
+            extensions = {};
+        }
+        registerDefaultExtensions(extensions);
+        let parseMeta = function(m: any): any[] {
+            if (Array.isArray(m)) {
+                return m;
+            } else {
+                return [];
+            }
+        };
+        let doc = documentation;
+        let parseOp = function(op: string): DomainOperator {
+            switch (op) {
+                case 'M':
+                    return DomainOperator.UNARY_MINUS;
+                case 'P':
+                    return DomainOperator.UNARY_PLUS;
+                case '/':
+                    return DomainOperator.DIVISION;
+                case '-':
+                    return DomainOperator.MINUS;
+                case '%':
+                    return DomainOperator.MODULO;
+                case '*':
+                    return DomainOperator.MULTIPLICATION;
+                case '!':
+                    return DomainOperator.NOT;
+                case '+':
+                    return DomainOperator.PLUS;
+            }
+            return null;
+        };
+        let parsePred = function(pred: string): DomainPredicate {
+            switch (pred) {
+                case 'C':
+                    return DomainPredicate.COLLECTION;
+                case 'E':
+                    return DomainPredicate.EQUALITY;
+                case 'N':
+                    return DomainPredicate.NULLNESS;
+                case 'R':
+                    return DomainPredicate.RELATIONAL;
+            }
+            return null;
+        };
+        let parseOps = function(type: any): DomainOperator[] {
+            let ops: DomainOperator[] = [];
+            if (Array.isArray(type['ops'])) {
+                type['ops'].forEach(function (op) {
+                    let o = parseOp(op);
+                    if (o != null) {
                         ops.push(o);
                     }
                 });
             }
+            return ops;
+        };
+        let parsePreds = function(type: any): DomainPredicate[] {
             let preds: DomainPredicate[] = [];
             if (Array.isArray(type['preds'])) {
                 type['preds'].forEach(function (pred) {
@@ -991,140 +2100,238 @@ export class DomainModel {
                     }
                 });
             }
+            return preds;
+        };
+        // Resolvers are interned by their serialized form, so that e.g. all functions with the same result type share one resolver
+        let resolverInstances: StringMap<any> = {};
+        let resolverKey = function(resolver: any): string {
+            return typeof resolver === "string" ? resolver : JSON.stringify(resolver);
+        };
+        let resolver = function(resolver: any): any {
+            if (resolver === undefined || resolver === null) {
+                return null;
+            }
+            let key = resolverKey(resolver);
+            let instance = resolverInstances[key];
+            if (instance === undefined) {
+                instance = resolverInstances[key] = recordResolverSource(createResolver(resolver, extensions), resolver);
+            }
+            return instance;
+        };
+        // A sub model overlays the maps of the base model, so that parsing a delta only costs the size of the delta
+        let base = baseModel instanceof DomainModel ? baseModel : null;
+        if (base != null) {
+            base.addPendingResolvers();
+        }
+        var domainTypes: StringMap<DomainType> = overlay(base == null ? null : base.types);
+        var collectionTypes: StringMap<CollectionDomainType> = {};
+        var funcs: StringMap<DomainFunction> = overlay(base == null ? null : base.functions);
+        let operationTypeResolvers: StringMap<StringMap<DomainOperationTypeResolver>> = overlay(base == null ? null : base.operationTypeResolvers);
+        let predicateTypeResolvers: StringMap<StringMap<DomainPredicateTypeResolver>> = overlay(base == null ? null : base.predicateTypeResolvers);
+        let createType = function(type: any): DomainType {
+            let name = type['name'];
+            let ops = parseOps(type);
+            let preds = parsePreds(type);
             let meta = parseMeta(type['meta']);
-            let oldDomainType = domainTypes[name];
-            let newDomainType;
             switch (type['kind']) {
                 case 'B':
-                    newDomainType = new BasicDomainType(name, ops, preds, meta);
-                    break;
-                case 'C':
-                    // Ignore, since we build these types lazily
-                    return;
+                    return new BasicDomainType(name, ops, preds, meta);
                 case 'U':
-                    newDomainType = new UnionDomainType(name, ops, preds, meta);
-                    break;
+                    return new UnionDomainType(name, ops, preds, meta);
                 case 'E':
-                    var attrs: StringMap<EntityAttribute> = {};
-                    newDomainType = new EntityDomainType(name, ops, preds, attrs, meta);
-                    break;
+                    return new EntityDomainType(name, ops, preds, {}, meta);
                 case 'N':
                     var vals: StringMap<EnumDomainTypeValue> = {};
                     type['vals'].forEach(function (val) {
                         let valMeta = parseMeta(val['meta']);
                         vals[val['name']] = new EnumDomainTypeValue(val['name'], doc(valMeta), valMeta);
                     });
-                    newDomainType = new EnumDomainType(name, ops, preds, vals, meta);
+                    return new EnumDomainType(name, ops, preds, vals, meta);
+            }
+            return null;
+        };
+        let initType = function(domainType: DomainType, type: any): void {
+            switch (type['kind']) {
+                case 'E':
+                    let attrs = type['attrs'];
+                    if (Array.isArray(attrs) && attrs.length !== 0) {
+                        // Only retain the raw attributes until the attributes are accessed
+                        defineLazy<StringMap<EntityAttribute>>(domainType as any, 'attributes', function() {
+                            let attributes: StringMap<EntityAttribute> = {};
+                            attrs.forEach(function (a) {
+                                let attrMeta = parseMeta(a['meta']);
+                                attributes[a['name']] = new EntityAttribute(a['name'], lookupType(a['type'], domainTypes, collectionTypes), doc(attrMeta), attrMeta);
+                            });
+                            attrs = null;
+                            return attributes;
+                        });
+                    }
                     break;
-                case 'T':
-                default:
-                    newDomainType = null;
+                case 'U':
+                    let unionType = domainType as UnionDomainType;
+                    let unionElementTypeNames = unionType.name.split('|');
+                    unionType.unionElements = [];
+                    for (const unionElementTypeName of unionElementTypeNames) {
+                        unionType.unionElements.push(lookupType(unionElementTypeName, domainTypes, collectionTypes))
+                    }
+                    break;
+            }
+        };
+        let createFunction = function(func: any): DomainFunction {
+            var params: DomainFunctionArgument[] = [];
+            let args = func['args'];
+            if (Array.isArray(args)) {
+                for (var i = 0; i < args.length; i++) {
+                    let param = args[i];
+                    let paramMeta = parseMeta(param['meta']);
+                    params.push(new DomainFunctionArgument(param['name'], i, lookupType(param['type'], domainTypes, collectionTypes), doc(paramMeta), paramMeta));
+                }
+            }
+            let meta = parseMeta(func['meta']);
+            let resultTypeResolver: DomainFunctionTypeResolver = resolver(func['typeResolver']);
+            let resultType: DomainType = null;
+            if (resultTypeResolver == null) {
+                resultType = lookupType(func['type'], domainTypes, collectionTypes);
+                resultTypeResolver = RESULT_TYPE_RESOLVER;
+            }
+            let volatility: DomainFunctionVolatility = DomainFunctionVolatility.IMMUTABLE;
+            switch (func['volatility']) {
+                case 'I':
+                    volatility = DomainFunctionVolatility.IMMUTABLE;
+                    break;
+                case 'S':
+                    volatility = DomainFunctionVolatility.STABLE;
                     break;
+                case 'V':
+                    volatility = DomainFunctionVolatility.VOLATILE;
+                    break;
+            }
+            return new DomainFunction(func['name'], volatility, func['minArgCount'], func['argCount'], resultType, resultTypeResolver, doc(meta), params, meta);
+        };
+        // The raw records of the types and functions parsed in lazy mode, which are materialized on first access
+        let rawTypes: StringMap<any> = {};
+        let rawFunctions: StringMap<any> = {};
+        // The resolver groups of a lazy parse, which are only added to the resolver maps on first use
+        let deferredResolvers: (() => void)[] = [];
+        if (lazy === true) {
+            domainTypes = rawRecordMap(domainTypes, rawTypes, function(record: any, target: StringMap<DomainType>, name: string): DomainType {
+                // Publish the type before initializing it to support cycles
+                let domainType = target[name] = createType(record);
+                initType(domainType, record);
+                return domainType;
+            });
+            funcs = rawRecordMap(funcs, rawFunctions, function(record: any, target: StringMap<DomainFunction>, name: string): DomainFunction {
+                return target[name] = createFunction(record);
+            });
+        }
+        // The types to initialize and the records that need all types to be known
+        let pendingTypes: DomainType[] = [], pendingTypeRecords: any[] = [];
+        let pendingRecords: (() => void)[] = [];
+        let typesComplete = false;
+        let addType = function (type: any): void {
+            let name = type['name'];
+            let kind = type['kind'];
+            if (kind === 'C') {
+                // Ignore, since we build these types lazily
+                return;
+            }
+            if (typesComplete) {
+                throw new Error("The type '" + name + "' is listed after functions or resolvers!");
             }
+            let removed = kind !== 'B' && kind !== 'U' && kind !== 'E' && kind !== 'N';
+            let oldDomainType = domainTypes[name];
             if (oldDomainType !== undefined) {
-                if (newDomainType == null) {
+                if (removed) {
                     operationTypeResolvers[name] = null;
                     predicateTypeResolvers[name] = null;
-                } else {
+                } else if (oldDomainType != null) {
                     let operationResolvers = operationTypeResolvers[name];
-                    if (operationResolvers !== undefined) {
+                    if (operationResolvers != null) {
+                        let ops = parseOps(type);
                         for (const enabledOperator of oldDomainType.enabledOperators) {
-                            if (newDomainType.enabledOperators.indexOf(enabledOperator) == -1) {
-                                operationResolvers[DomainOperator[enabledOperator]] = null;
+                            if (ops.indexOf(enabledOperator) == -1) {
+                                ownResolverMap(operationTypeResolvers, name)[DomainOperator[enabledOperator]] = null;
                             }
                         }
                     }
                     let predicateResolvers = predicateTypeResolvers[name];
-                    if (predicateResolvers !== undefined) {
+                    if (predicateResolvers != null) {
+                        let preds = parsePreds(type);
                         for (const enabledPredicate of oldDomainType.enabledPredicates) {
-                            if (newDomainType.enabledPredicates.indexOf(enabledPredicate) == -1) {
-                                predicateResolvers[DomainPredicate[enabledPredicate]] = null;
+                            if (preds.indexOf(enabledPredicate) == -1) {
+                                ownResolverMap(predicateTypeResolvers, name)[DomainPredicate[enabledPredicate]] = null;
                             }
                         }
                     }
                 }
             }
-            domainTypes[name] = newDomainType;
-        });
-        types.forEach(function (type) {
-            let name = type['name'];
-            switch (type['kind']) {
-                case 'E':
-                    let entityType = domainTypes[name] as EntityDomainType;
-                    if (Array.isArray(type['attrs'])) {
-                        type['attrs'].forEach(function (a) {
-                            let attrMeta = parseMeta(a['meta']);
-                            entityType.attributes[a['name']] = new EntityAttribute(a['name'], DomainModel.getType(a['type'], domainTypes, collectionTypes), doc(attrMeta), attrMeta);
-                        });
-                    }
-                    break;
-                case 'C':
-                    // Ignore, since we build these types lazily
-                    return;
-                case 'U':
-                    let unionType = domainTypes[name] as UnionDomainType;
-                    let unionElementTypeNames = unionType.name.split('|');
-                    unionType.unionElements = [];
-                    for (const unionElementTypeName of unionElementTypeNames) {
-                        unionType.unionElements.push(DomainModel.getType(unionElementTypeName, domainTypes, collectionTypes))
-                    }
-                    break;
+            if (removed) {
+                domainTypes[name] = null;
+            } else if (lazy === true) {
+                rawTypes[name] = type;
+            } else {
+                let domainType = domainTypes[name] = createType(type);
+                pendingTypes.push(domainType);
+                pendingTypeRecords.push(type);
             }
-        });
-        if (Array.isArray(functions)) {
-            functions.forEach(function (func) {
-                if (func['volatility'] === undefined) {
-                    funcs[func['name']] = null;
-                    return;
-                }
-                var params: DomainFunctionArgument[] = [];
-                let args = func['args'];
-                if (Array.isArray(args)) {
-                    for (var i = 0; i < args.length; i++) {
-                        let param = args[i];
-                        let paramMeta = parseMeta(param['meta']);
-                        params.push(new DomainFunctionArgument(param['name'], i, DomainModel.getType(param['type'], domainTypes, collectionTypes), doc(paramMeta), paramMeta));
-                    }
+        };
+        let completeTypes = function(): void {
+            if (!typesComplete) {
+                typesComplete = true;
+                for (var i = 0; i < pendingTypes.length; i++) {
+                    initType(pendingTypes[i], pendingTypeRecords[i]);
                 }
-                let meta = parseMeta(func['meta']);
-                let resultTypeResolver: DomainFunctionTypeResolver = resolver(func['typeResolver']);
-                let resultType: DomainType = null;
-                if (resultTypeResolver == null) {
-                    resultType = DomainModel.getType(func['type'], domainTypes, collectionTypes);
-                    resultTypeResolver = {
-                        resolveType(domainModel: DomainModel, domainFunction: DomainFunction, argumentTypes: DomainType[]): DomainType {
-                            validateArgumentTypes(domainFunction, argumentTypes);
-                            return domainFunction.resultType;
-                        }
-                    };
+                for (const pendingRecord of pendingRecords) {
+                    pendingRecord();
                 }
-                let volatility: DomainFunctionVolatility = DomainFunctionVolatility.IMMUTABLE;
-                switch (func['volatility']) {
-                    case 'I':
-                        volatility = DomainFunctionVolatility.IMMUTABLE;
-                        break;
-                    case 'S':
-                        volatility = DomainFunctionVolatility.STABLE;
-                        break;
-                    case 'V':
-                        volatility = DomainFunctionVolatility.VOLATILE;
-                        break;
+                pendingTypes = pendingTypeRecords = null;
+                pendingRecords = null;
+            }
+        };
+        // Functions and resolvers refer to types, so they are only processed once all types are known
+        let afterTypes = function(action: () => void): void {
+            if (typesComplete) {
+                action();
+            } else {
+                pendingRecords.push(action);
+            }
+        };
+        let addFunction = function (func: any): void {
+            afterTypes(function () {
+                let name = func['name'];
+                if (func['volatility'] === undefined) {
+                    funcs[name] = null;
+                } else if (lazy === true) {
+                    rawFunctions[name] = func;
+                } else {
+                    funcs[name] = createFunction(func);
                 }
-                funcs[func['name']] = new DomainFunction(func['name'], volatility, func['minArgCount'], func['argCount'], resultType, resultTypeResolver, doc(meta), params, meta);
             });
-        }
-        if (Array.isArray(opResolvers)) {
-            opResolvers.forEach(function (op) {
+        };
+        let addOperationTypeResolvers = function (op: any): void {
+            afterTypes(function () {
                 let typeOps = op['typeOps'];
+                if (op['resolver'] === null) {
+                    // A delta marks removed resolvers with a null resolver
+                    for (let prop in typeOps) {
+                        if (operationTypeResolvers[prop] != null && Array.isArray(typeOps[prop])) {
+                            let opMap = ownResolverMap(operationTypeResolvers, prop);
+                            typeOps[prop].forEach(function(op) {
+                                let o = parseOp(op);
+                                if (o != null) {
+                                    opMap[DomainOperator[o]] = null;
+                                }
+                            });
+                        }
+                    }
+                    return;
+                }
                 let r: DomainOperationTypeResolver = resolver(op['resolver']);
                 if (r != null) {
                     for (let prop in typeOps) {
-                        if (domainTypes[prop] != null) {
+                        if (hasEntry(domainTypes, prop)) {
                             if (Array.isArray(typeOps[prop])) {
-                                let opMap = operationTypeResolvers[prop];
-                                if (opMap == null) {
-                                    opMap = operationTypeResolvers[prop] = {};
-                                }
+                                let opMap = ownResolverMap(operationTypeResolvers, prop);
                                 typeOps[prop].forEach(function(op) {
                                     let o = parseOp(op);
                                     if (o != null) {
@@ -1136,32 +2343,45 @@ export class DomainModel {
                     }
                 }
             });
-        }
-        if (Array.isArray(predResolvers)) {
-            predResolvers.forEach(function (pred) {
+        };
+        let addPredicateTypeResolvers = function (pred: any): void {
+            afterTypes(function () {
                 let typePreds = pred['typePreds'];
+                if (pred['resolver'] === null) {
+                    // A delta marks removed resolvers with a null resolver
+                    for (let prop in typePreds) {
+                        if (predicateTypeResolvers[prop] != null && Array.isArray(typePreds[prop])) {
+                            let predMap = ownResolverMap(predicateTypeResolvers, prop);
+                            typePreds[prop].forEach(function (pred) {
+                                let p = parsePred(pred);
+                                if (p != null) {
+                                    predMap[DomainPredicate[p]] = null;
+                                }
+                            });
+                        }
+                    }
+                    return;
+                }
                 let r: DomainPredicateTypeResolver = resolver(pred['resolver']);
                 if (r != null) {
                     if (typePreds === undefined) {
                         // Special case that will just use the resolver for all registered type predicates
                         for (let name in domainTypes) {
-                            let predMap = predicateTypeResolvers[name];
-                            if (predMap == null) {
-                                predMap = predicateTypeResolvers[name] = {};
+                            if (!hasEntry(domainTypes, name)) {
+                                continue;
                             }
-                            for (let p of domainTypes[name].enabledPredicates) {
+                            let predMap = ownResolverMap(predicateTypeResolvers, name);
+                            let rawType = rawTypes[name];
+                            let enabledPredicates = rawType === undefined ? domainTypes[name].enabledPredicates : parsePreds(rawType);
+                            for (let p of enabledPredicates) {
                                 predMap[DomainPredicate[p]] = r;
                             }
                         }
                     } else {
                         for (let prop in typePreds) {
-                            if (domainTypes[prop] != null) {
+                            if (hasEntry(domainTypes, prop)) {
                                 if (Array.isArray(typePreds[prop])) {
-                                    let predMap = predicateTypeResolvers[prop];
-                                    if (predMap == null) {
-                                        predMap = predicateTypeResolvers[prop] = {};
-                                    }
-
+                                    let predMap = ownResolverMap(predicateTypeResolvers, prop);
                                     typePreds[prop].forEach(function (pred) {
                                         let p = parsePred(pred);
                                         if (p != null) {
@@ -1174,14 +2394,225 @@ export class DomainModel {
                     }
                 }
             });
+        };
+
+        return {
+            type: addType,
+            typesComplete: completeTypes,
+            func: addFunction,
+            opResolver: lazy === true ? function(op: any): void {
+                deferredResolvers.push(function() {
+                    addOperationTypeResolvers(op);
+                });
+            } : addOperationTypeResolvers,
+            predResolver: lazy === true ? function(pred: any): void {
+                deferredResolvers.push(function() {
+                    addPredicateTypeResolvers(pred);
+                });
+            } : addPredicateTypeResolvers,
+            build: function(): DomainModel {
+                completeTypes();
+                return new DomainModel(
+                    domainTypes,
+                    collectionTypes,
+                    funcs,
+                    operationTypeResolvers,
+                    predicateTypeResolvers,
+                    deferredResolvers.length === 0 ? undefined : function() {
+                        deferredResolvers.forEach(function(addResolvers) {
+                            addResolvers();
+                        });
+                        deferredResolvers = null;
+                    }
+                );
+            }
+        };
+    }
+}
+
+/**
+ * A builder for domain models that is used by generated JavaScript modules to construct the runtime objects directly.
+ *
+ * @author Christian Beikov
+ * @since 3.0.0
+ */
+export class DomainModelBuilder {
+    private readonly types: StringMap<DomainType>;
+    private readonly collectionTypes: StringMap<CollectionDomainType> = {};
+    private readonly functions: StringMap<DomainFunction>;
+    private readonly operationTypeResolvers: StringMap<StringMap<DomainOperationTypeResolver>>;
+    private readonly predicateTypeResolvers: StringMap<StringMap<DomainPredicateTypeResolver>>;
+    private readonly extensions: StringMap<Function>;
+
+    constructor(types: StringMap<DomainType>, functions: StringMap<DomainFunction>, operationTypeResolvers: StringMap<StringMap<DomainOperationTypeResolver>>, predicateTypeResolvers: StringMap<StringMap<DomainPredicateTypeResolver>>, extensions: StringMap<Function>) {
+        this.types = types;
+        this.functions = functions;
+        this.operationTypeResolvers = operationTypeResolvers;
+        this.predicateTypeResolvers = predicateTypeResolvers;
+        this.extensions = extensions;
+    }
+
+    /**
+     * Returns the domain type with the given name, which can also be a collection type name.
+     *
+     * @param typeName The type name
+     */
+    getType(typeName: string): DomainType {
+        return lookupType(typeName, this.types, this.collectionTypes);
+    }
+
+    /**
+     * Adds or replaces the given domain type.
+     *
+     * @param type The domain type
+     */
+    type<T extends DomainType>(type: T): T {
+        let oldType = this.types[type.name];
+        if (oldType != null) {
+            let operationResolvers = this.operationTypeResolvers[type.name];
+            if (operationResolvers != null) {
+                for (const enabledOperator of oldType.enabledOperators) {
+                    if (type.enabledOperators.indexOf(enabledOperator) == -1) {
+                        ownResolverMap(this.operationTypeResolvers, type.name)[DomainOperator[enabledOperator]] = null;
+                    }
+                }
+            }
+            let predicateResolvers = this.predicateTypeResolvers[type.name];
+            if (predicateResolvers != null) {
+                for (const enabledPredicate of oldType.enabledPredicates) {
+                    if (type.enabledPredicates.indexOf(enabledPredicate) == -1) {
+                        ownResolverMap(this.predicateTypeResolvers, type.name)[DomainPredicate[enabledPredicate]] = null;
+                    }
+                }
+            }
+        }
+        this.types[type.name] = type;
+        return type;
+    }
+
+    /**
+     * Removes the domain type with the given name.
+     *
+     * @param typeName The type name
+     */
+    removeType(typeName: string): void {
+        if (this.types[typeName] !== undefined) {
+            this.operationTypeResolvers[typeName] = null;
+            this.predicateTypeResolvers[typeName] = null;
+        }
+        this.types[typeName] = null;
+    }
+
+    /**
+     * Adds an attribute to the given entity type.
+     *
+     * @param owner The entity type
+     * @param name The attribute name
+     * @param type The attribute type
+     * @param metadata The metadata
+     */
+    attribute(owner: EntityDomainType, name: string, type: DomainType, metadata: any[]): EntityAttribute {
+        return owner.attributes[name] = new EntityAttribute(name, type, documentation(metadata), metadata);
+    }
+
+    /**
+     * Creates an enum value.
+     *
+     * @param value The enum value
+     * @param metadata The metadata
+     */
+    enumValue(value: string, metadata: any[]): EnumDomainTypeValue {
+        return new EnumDomainTypeValue(value, documentation(metadata), metadata);
+    }
+
+    /**
+     * Creates a function argument.
+     *
+     * @param name The argument name
+     * @param position The argument position
+     * @param type The argument type
+     * @param metadata The metadata
+     */
+    argument(name: string, position: number, type: DomainType, metadata: any[]): DomainFunctionArgument {
+        return new DomainFunctionArgument(name, position, type, documentation(metadata), metadata);
+    }
+
+    /**
+     * Adds or replaces a function.
+     *
+     * @param name The function name
+     * @param volatility The function volatility
+     * @param minArgumentCount The minimum argument count
+     * @param argumentCount The argument count
+     * @param resultType The result type or <code>null</code> if a result type resolver is given
+     * @param resultTypeResolver The result type resolver or <code>null</code>
+     * @param args The function arguments
+     * @param metadata The metadata
+     */
+    func(name: string, volatility: DomainFunctionVolatility, minArgumentCount: number, argumentCount: number, resultType: DomainType, resultTypeResolver: DomainFunctionTypeResolver, args: DomainFunctionArgument[], metadata: any[]): DomainFunction {
+        if (resultTypeResolver == null) {
+            resultTypeResolver = RESULT_TYPE_RESOLVER;
+        } else {
+            resultType = null;
+        }
+        return this.functions[name] = new DomainFunction(name, volatility, minArgumentCount, argumentCount, resultType, resultTypeResolver, documentation(metadata), args, metadata);
+    }
+
+    /**
+     * Removes the function with the given name.
+     *
+     * @param name The function name
+     */
+    removeFunction(name: string): void {
+        this.functions[name] = null;
+    }
+
+    /**
+     * Creates a resolver from its JSON representation.
+     *
+     * @param json The JSON representation of the resolver
+     */
+    resolver(json: any): any {
+        return recordResolverSource(createResolver(json, this.extensions), json);
+    }
+
+    /**
+     * Registers the given operation type resolver for the operators of the given type.
+     *
+     * @param resolver The operation type resolver
+     * @param typeName The type name
+     * @param operators The operators
+     */
+    operationTypeResolver(resolver: DomainOperationTypeResolver, typeName: string, operators: readonly DomainOperator[]): void {
+        if (resolver != null && this.types[typeName] != null) {
+            let opMap = ownResolverMap(this.operationTypeResolvers, typeName);
+            for (const operator of operators) {
+                opMap[DomainOperator[operator]] = resolver;
+            }
+        }
+    }
+
+    /**
+     * Registers the given predicate type resolver for the predicates of the given type.
+     *
+     * @param resolver The predicate type resolver
+     * @param typeName The type name
+     * @param predicates The predicates
+     */
+    predicateTypeResolver(resolver: DomainPredicateTypeResolver, typeName: string, predicates: readonly DomainPredicate[]): void {
+        if (resolver != null && this.types[typeName] != null) {
+            let predMap = ownResolverMap(this.predicateTypeResolvers, typeName);
+            for (const predicate of predicates) {
+                predMap[DomainPredicate[predicate]] = resolver;
+            }
         }
+    }
 
-        return new DomainModel(
-            domainTypes,
-            collectionTypes,
-            funcs,
-            operationTypeResolvers,
-            predicateTypeResolvers
-        );
+    /**
+     * Returns the built domain model.
+     * The domain model is only created here, since it caches lookups and must not observe later modifications.
+     */
+    build(): DomainModel {
+        return new DomainModel(this.types, this.collectionTypes, this.functions, this.operationTypeResolvers, this.predicateTypeResolvers);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+import * as d from "../../../dist/index";
+const O = d.DomainOperator, P = d.DomainPredicate, V = d.DomainFunctionVolatility;
+const o0 = [O.UNARY_PLUS, O.UNARY_MINUS, O.MULTIPLICATION, O.DIVISION, O.MODULO, O.PLUS, O.MINUS];
+const p1 = [P.NULLNESS, P.RELATIONAL, P.EQUALITY];
+const m2 = [];
+const o3 = [O.PLUS];
+const p4 = [P.NULLNESS, P.EQUALITY];
+const o5 = [O.UNARY_PLUS, O.UNARY_MINUS, O.MULTIPLICATION, O.DIVISION, O.MODULO, O.MINUS];
+export default function (baseModel, extensions) {
+    const b = d.DomainModel.builder(baseModel, extensions);
+    const t0 = b.type(new d.BasicDomainType("Integer", o0, p1, m2));
+    const t1 = b.type(new d.EnumDomainType("Status", m2, m2, {"ACTIVE": b.enumValue("ACTIVE", m2), "INACTIVE": b.enumValue("INACTIVE", m2)}, m2));
+    const t2 = b.type(new d.EntityDomainType("User", m2, m2, {}, m2));
+    const t3 = b.type(new d.BasicDomainType("String", o3, p4, m2));
+    const t4 = b.type(new d.UnionDomainType("String|Integer", m2, m2, m2));
+    const t5 = b.type(new d.BasicDomainType("Boolean", m2, m2, m2));
+    b.attribute(t2, "name", t3, m2);
+    b.attribute(t2, "id", t0, m2);
+    b.attribute(t2, "status", t1, m2);
+    const t6 = b.getType("Collection[String]");
+    b.attribute(t2, "tags", t6, m2);
+    t4.unionElements = [t0, t3];
+    const r0 = b.resolver({"NthArgumentDomainFunctionTypeResolver":[0]});
+    b.func("coalesce", V.IMMUTABLE, 2, 2, null, r0, [b.argument(null, 0, t4, m2), b.argument(null, 1, t4, m2)], m2);
+    b.func("size", V.IMMUTABLE, 1, 1, t0, null, [b.argument("values", 0, t6, m2)], m2);
+    const r1 = b.resolver({"FixedDomainOperationTypeResolver":["Integer"]});
+    const r2 = b.resolver({"WidestDomainOperationTypeResolver":[["Integer"]]});
+    b.operationTypeResolver(r1, "Integer", o5);
+    b.operationTypeResolver(r2, "Integer", o3);
+    const r3 = b.resolver({"FixedDomainOperationTypeResolver":["String"]});
+    b.operationTypeResolver(r3, "String", o3);
+    const r4 = b.resolver({"FixedDomainPredicateTypeResolver":["Boolean"]});
+    b.predicateTypeResolver(r4, "Integer", p1);
+    b.predicateTypeResolver(r4, "String", p4);
+    return b.build();
+}
@@ -0,0 +1,14 @@
+import * as d from "../../../dist/index";
+const O = d.DomainOperator, P = d.DomainPredicate, V = d.DomainFunctionVolatility;
+const o0 = [];
+export default function (baseModel, extensions) {
+    const b = d.DomainModel.builder(baseModel, extensions);
+    const t0 = b.type(new d.EntityDomainType("Address", o0, o0, {}, o0));
+    const t1 = b.getType("User");
+    b.attribute(t0, "owner", t1, o0);
+    const t2 = b.getType("String");
+    b.attribute(t0, "street", t2, o0);
+    b.removeFunction("size");
+    b.func("street", V.IMMUTABLE, 1, 1, t2, null, [b.argument("address", 0, t0, o0)], o0);
+    return b.build();
+}
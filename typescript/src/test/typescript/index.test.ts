@@ -17,6 +17,69 @@
 import { expect } from 'chai';
 import 'mocha';
 import * as domain from '../../../dist/index';
+import * as diffFixture from '../resources/domain-model-diff.json';
+import * as moduleFixture from '../resources/js-module-models.json';
+import createModuleModel from '../resources/js-module-model';
+import createModuleSubModel from '../resources/js-module-sub-model';
+
+declare const TextEncoder: any;
+
+// Reduces a domain model to plain values, so that models built in different ways can be compared
+function describeModel(domainModel: domain.DomainModel): any {
+    let typeName = function(type: domain.DomainType): string {
+        return type == null ? null : type.name;
+    };
+    let types: any = {};
+    let domainTypes = domainModel.getTypes();
+    for (const name in domainTypes) {
+        let type = domainTypes[name];
+        if (type == null) {
+            types[name] = null;
+            continue;
+        }
+        let description: any = {
+            kind: domain.DomainTypeKind[type.kind],
+            ops: type.enabledOperators.map(function(op) {
+                let resolver = domainModel.getOperationTypeResolver(name, op);
+                return domain.DomainOperator[op] + ':' + (resolver == null ? null : typeName(resolver.resolveType(domainModel, [type, type])));
+            }).sort(),
+            preds: type.enabledPredicates.map(function(pred) {
+                let resolver = domainModel.getPredicateTypeResolver(name, pred);
+                return domain.DomainPredicate[pred] + ':' + (resolver == null ? null : typeName(resolver.resolveType(domainModel, [type, type])));
+            }).sort()
+        };
+        if (type instanceof domain.EntityDomainType) {
+            description.attrs = {};
+            for (const attributeName in type.attributes) {
+                description.attrs[attributeName] = typeName(type.attributes[attributeName].type);
+            }
+        } else if (type instanceof domain.EnumDomainType) {
+            description.values = Object.keys(type.enumValues).sort();
+        } else if (type instanceof domain.UnionDomainType) {
+            description.elements = type.unionElements.map(typeName).sort();
+        }
+        types[name] = description;
+    }
+    let functions: any = {};
+    let domainFunctions = domainModel.getFunctions();
+    for (const name in domainFunctions) {
+        let func = domainFunctions[name];
+        if (func == null) {
+            functions[name] = null;
+            continue;
+        }
+        let argumentTypes = func.arguments.map(function(argument) { return argument.type; });
+        functions[name] = {
+            volatility: domain.DomainFunctionVolatility[func.volatility],
+            minArgumentCount: func.minArgumentCount,
+            argumentCount: func.argumentCount,
+            resultType: typeName(func.resultTypeResolver.resolveType(domainModel, func, argumentTypes)),
+            // The JSON format writes unnamed arguments with the name "null"
+            args: func.arguments.map(function(argument) { return (argument.name == null ? 'null' : argument.name) + ':' + argument.position + ':' + typeName(argument.type); })
+        };
+    }
+    return { types: types, functions: functions };
+}
 
 describe('Test parse ', function() {
     it('Should parse!', function() {
@@ -900,4 +963,813 @@ describe('Test parse ', function() {
         expect(domainModel.getFunction('indexOf')).to.equal(null);
     });
 
+    it('Apply delta', function() {
+        // Written by DomainModelDiffTest from the output of the Java diff serializer
+        var sourceDomainModel = domain.DomainModel.parse(JSON.stringify(diffFixture.source));
+        var domainModel = domain.DomainModel.parse(JSON.stringify(diffFixture.diff), sourceDomainModel);
+        expect(Object.keys((domainModel.getType('Address') as domain.EntityDomainType).attributes).length).to.equal(2);
+        expect(Object.keys((sourceDomainModel.getType('Address') as domain.EntityDomainType).attributes).length).to.equal(1);
+        expect(domainModel.getType('Legacy')).to.equal(null);
+        expect(sourceDomainModel.getType('Legacy')).to.not.equal(null);
+        expect(domainModel.getType('Long')).to.not.equal(null);
+        expect(domainModel.getType('String')).to.equal(sourceDomainModel.getType('String'));
+        expect(domainModel.getFunction('abs')).to.equal(null);
+        expect(sourceDomainModel.getFunction('abs')).to.not.equal(null);
+        expect(domainModel.getFunction('length').resultType).to.equal(domainModel.getType('Integer'));
+        expect(domainModel.getFunction('street').arguments[0].type).to.equal(domainModel.getType('Address'));
+        expect(domainModel.getOperationTypeResolver('Integer', domain.DomainOperator.PLUS)).to.not.equal(null);
+        expect(domainModel.getOperationTypeResolver('Integer', domain.DomainOperator.MINUS)).to.equal(null);
+        expect(sourceDomainModel.getOperationTypeResolver('Integer', domain.DomainOperator.MINUS)).to.not.equal(null);
+    });
+
+    it('Sub model overlays', function() {
+        let hasOwn = function(map: any, name: string): boolean {
+            return Object.prototype.hasOwnProperty.call(map, name);
+        };
+        let entries = function(map: any): string[] {
+            let names: string[] = [];
+            for (const name in map) {
+                if (map[name] != null) {
+                    names.push(name);
+                }
+            }
+            return names.sort();
+        };
+        let baseModel = domain.DomainModel.parse(JSON.stringify(diffFixture.source));
+        let subModel = domain.DomainModel.parse(JSON.stringify(diffFixture.diff), baseModel);
+        let baseTypes = baseModel.getTypes();
+        let subTypes = subModel.getTypes();
+
+        // Unchanged entries are inherited and not copied
+        expect('String' in subTypes).to.equal(true);
+        expect(hasOwn(subTypes, 'String')).to.equal(false);
+        expect(subTypes['String']).to.equal(baseTypes['String']);
+        // Changed, added and removed entries are owned by the sub model and don't affect the base model
+        expect(hasOwn(subTypes, 'Address')).to.equal(true);
+        expect(subTypes['Address']).to.not.equal(baseTypes['Address']);
+        expect(hasOwn(subTypes, 'Long')).to.equal(true);
+        expect('Long' in baseTypes).to.equal(false);
+        expect('Legacy' in subTypes).to.equal(true);
+        expect(subTypes['Legacy']).to.equal(null);
+        expect(baseTypes['Legacy']).to.not.equal(null);
+        // Enumeration includes inherited entries and removed entries shadow the base entries
+        expect(entries(subTypes)).to.deep.equal(['Address', 'Integer', 'Long', 'String', 'User']);
+        expect(entries(baseTypes)).to.deep.equal(['Address', 'Integer', 'Legacy', 'String', 'User']);
+        expect(Object.keys(subTypes).sort()).to.deep.equal(['Address', 'Integer', 'Legacy', 'Long', 'User']);
+
+        let baseFunctions = baseModel.getFunctions();
+        let subFunctions = subModel.getFunctions();
+        expect('abs' in subFunctions).to.equal(true);
+        expect(subFunctions['abs']).to.equal(null);
+        expect(baseFunctions['abs']).to.not.equal(null);
+        expect(entries(subFunctions)).to.deep.equal(['length', 'street']);
+        expect(entries(baseFunctions)).to.deep.equal(['abs', 'street']);
+
+        // Resolver maps of changed types overlay the resolver map of the base model
+        let baseResolvers = baseModel.getOperationTypeResolvers('Integer');
+        let subResolvers = subModel.getOperationTypeResolvers('Integer');
+        expect(subResolvers).to.not.equal(baseResolvers);
+        expect('PLUS' in subResolvers).to.equal(true);
+        expect(hasOwn(subResolvers, 'PLUS')).to.equal(false);
+        expect(entries(subResolvers)).to.deep.equal(['PLUS']);
+        expect(entries(baseResolvers)).to.deep.equal(['MINUS', 'PLUS']);
+        expect(subModel.getOperationTypeResolvers('String')).to.equal(baseModel.getOperationTypeResolvers('String'));
+
+        // Overlays stack for sub models of sub models
+        let subSubModel = domain.DomainModel.parse(JSON.stringify({
+            types: [
+                { name: "Short", kind: "B", ops: ["+"], preds: ["E", "N"], meta: [] },
+                { name: "String", kind: "T" }
+            ],
+            funcs: [],
+            opResolvers: [
+                { resolver: { "FixedDomainOperationTypeResolver": ["Short"] }, typeOps: { "Short": ["+"] } }
+            ]
+        }), subModel);
+        let subSubTypes = subSubModel.getTypes();
+        expect(entries(subSubTypes)).to.deep.equal(['Address', 'Integer', 'Long', 'Short', 'User']);
+        expect(subSubTypes['Long']).to.equal(subTypes['Long']);
+        expect(subSubTypes['Integer']).to.equal(subTypes['Integer']);
+        expect(subTypes['String']).to.equal(baseTypes['String']);
+        expect(subSubModel.getOperationTypeResolver('String', domain.DomainOperator.PLUS)).to.equal(null);
+        expect(subModel.getOperationTypeResolver('String', domain.DomainOperator.PLUS)).to.not.equal(null);
+        expect(subSubModel.getTypeCompletionIndex().completeNames('s')).to.deep.equal(['Short']);
+        expect(subModel.getTypeCompletionIndex().completeNames('l')).to.deep.equal(['Long']);
+    });
+
+    it('JS module', function() {
+        // Written by JsModuleDomainSerializerTest from the output of the Java JSON and js-module serializers
+        let jsonModel = domain.DomainModel.parse(JSON.stringify(moduleFixture.model));
+        let jsonSubModel = domain.DomainModel.parse(JSON.stringify(moduleFixture.subModel), jsonModel);
+        let moduleModel = createModuleModel(undefined, undefined);
+        let moduleSubModel = createModuleSubModel(moduleModel, undefined);
+        expect(describeModel(moduleModel)).to.deep.equal(describeModel(jsonModel));
+        expect(describeModel(moduleSubModel)).to.deep.equal(describeModel(jsonSubModel));
+        expect(moduleSubModel.getFunction('size')).to.equal(null);
+        expect(moduleModel.getFunction('size')).to.not.equal(null);
+        expect((moduleSubModel.getType('Address') as domain.EntityDomainType).attributes['owner'].type).to.equal(moduleModel.getType('User'));
+    });
+
+    it('Lazy parse', function() {
+        var domainModel = domain.DomainModel.parse(JSON.stringify({
+            types: [
+                { name: "Integer", kind: "B", ops: ["+", "-"], preds: ["E", "N"], meta: [] },
+                { name: "User", kind: "E", preds: ["E", "N"], meta: [], attrs: [{ name: "id", type: "Integer", meta: [] }, { name: "posts", type: "Collection[Post]", meta: [] }] },
+                { name: "Post", kind: "E", preds: ["E", "N"], meta: [], attrs: [{ name: "writer", type: "User", meta: [] }] }
+            ],
+            funcs: [
+                { name: "abs", volatility: "I", minArgCount: 1, argCount: 1, type: "Integer", args: [{ name: "value", type: "Integer", meta: [] }], meta: [] }
+            ],
+            opResolvers: [
+                { resolver: { "FixedDomainOperationTypeResolver": ["Integer"] }, typeOps: { "Integer": ["+", "-"] } }
+            ],
+            predResolvers: []
+        }), undefined, undefined, true);
+        let types = domainModel.getTypes();
+        expect(Object.keys(types).length).to.equal(3);
+        expect(Object.getOwnPropertyDescriptor(types, 'Post').get).to.not.equal(undefined);
+        let user = domainModel.getType('User') as domain.EntityDomainType;
+        let post = (user.attributes['posts'].type as domain.CollectionDomainType).elementType as domain.EntityDomainType;
+        expect(post.attributes['writer'].type).to.equal(user);
+        expect(domainModel.getType('Post')).to.equal(post);
+        expect(domainModel.getFunction('abs').resultType).to.equal(domainModel.getType('Integer'));
+        expect(domainModel.getOperationTypeResolver('Integer', domain.DomainOperator.PLUS).resolveType(domainModel, [domainModel.getType('Integer')])).to.equal(domainModel.getType('Integer'));
+
+        var subDomainModel = domain.DomainModel.parse(JSON.stringify({
+            types: [
+                { name: "Post", kind: "T" }
+            ],
+            funcs: []
+        }), domainModel, undefined, true);
+        expect(subDomainModel.getType('Post')).to.equal(null);
+        expect(subDomainModel.getType('User')).to.equal(user);
+        expect(domainModel.getType('Post')).to.equal(post);
+    });
+
+    it('Lazy parse defers resolvers', function() {
+        var domainModel = domain.DomainModel.parse(JSON.stringify({
+            types: [
+                { name: "Integer", kind: "B", ops: ["+"], preds: ["E", "N"], meta: [] },
+                { name: "String", kind: "B", ops: ["+"], preds: ["E", "N"], meta: [] }
+            ],
+            funcs: [],
+            opResolvers: [
+                { resolver: { "FixedDomainOperationTypeResolver": ["Integer"] }, typeOps: { "Integer": ["+"], "String": ["+"] } }
+            ],
+            predResolvers: [
+                { resolver: { "FixedDomainPredicateTypeResolver": ["Integer"] } }
+            ]
+        }), undefined, undefined, true);
+        let types = domainModel.getTypes();
+        // Adding the resolver groups on first use must not materialize the types
+        expect(domainModel.getOperationTypeResolver('String', domain.DomainOperator.PLUS)).to.equal(domainModel.getOperationTypeResolver('Integer', domain.DomainOperator.PLUS));
+        expect(Object.getOwnPropertyDescriptor(types, 'String').get).to.not.equal(undefined);
+        expect(domainModel.getPredicateTypeResolver('String', domain.DomainPredicate.NULLNESS)).to.not.equal(undefined);
+        expect(Object.getOwnPropertyDescriptor(types, 'String').get).to.not.equal(undefined);
+        expect(domainModel.getOperationTypeResolver('String', domain.DomainOperator.PLUS).resolveType(domainModel, [domainModel.getType('String')])).to.equal(domainModel.getType('Integer'));
+        expect(Object.getOwnPropertyDescriptor(types, 'String').value).to.equal(domainModel.getType('String'));
+
+        // A sub model adds the deferred resolver groups of its base model before overlaying them
+        var subDomainModel = domain.DomainModel.parse(JSON.stringify({
+            types: [],
+            funcs: [],
+            opResolvers: [
+                { resolver: null, typeOps: { "String": ["+"] } }
+            ]
+        }), domain.DomainModel.parse(JSON.stringify({
+            types: [
+                { name: "String", kind: "B", ops: ["+"], preds: ["E", "N"], meta: [] }
+            ],
+            funcs: [],
+            opResolvers: [
+                { resolver: { "FixedDomainOperationTypeResolver": ["String"] }, typeOps: { "String": ["+"] } }
+            ]
+        }), undefined, undefined, true), undefined, true);
+        expect(subDomainModel.getOperationTypeResolver('String', domain.DomainOperator.PLUS)).to.equal(null);
+    });
+
+    it('Lazy parse matches eager parse', function() {
+        let eagerModel = domain.DomainModel.parse(JSON.stringify(moduleFixture.model));
+        let lazyModel = domain.DomainModel.parse(JSON.stringify(moduleFixture.model), undefined, undefined, true);
+        let lazyTypes = lazyModel.getTypes();
+        expect(Object.getOwnPropertyDescriptor(lazyTypes, 'User').get).to.not.equal(undefined);
+        let eagerSubModel = domain.DomainModel.parse(JSON.stringify(moduleFixture.subModel), eagerModel);
+        let lazySubModel = domain.DomainModel.parse(JSON.stringify(moduleFixture.subModel), lazyModel, undefined, true);
+        // Parsing a sub model must not materialize the entries of the base model
+        expect(Object.getOwnPropertyDescriptor(lazyTypes, 'User').get).to.not.equal(undefined);
+        expect(describeModel(lazyModel)).to.deep.equal(describeModel(eagerModel));
+        expect(describeModel(lazySubModel)).to.deep.equal(describeModel(eagerSubModel));
+        expect(lazyModel.getType('User')).to.equal(lazyModel.getType('User'));
+        expect(lazySubModel.getType('User')).to.equal(lazyModel.getType('User'));
+        expect(lazySubModel.getFunction('size')).to.equal(null);
+
+        let eagerDiffSource = domain.DomainModel.parse(JSON.stringify(diffFixture.source));
+        let lazyDiffSource = domain.DomainModel.parse(JSON.stringify(diffFixture.source), undefined, undefined, true);
+        let eagerDiff = domain.DomainModel.parse(JSON.stringify(diffFixture.diff), eagerDiffSource);
+        let lazyDiff = domain.DomainModel.parse(JSON.stringify(diffFixture.diff), lazyDiffSource, undefined, true);
+        expect(describeModel(lazyDiff)).to.deep.equal(describeModel(eagerDiff));
+        expect(describeModel(lazyDiffSource)).to.deep.equal(describeModel(eagerDiffSource));
+    });
+
+    it('Interned resolvers', function() {
+        var domainModel = domain.DomainModel.parse(JSON.stringify({
+            types: [
+                { name: "Integer", kind: "B", ops: ["+", "-"], preds: ["E", "N"], meta: [] },
+                { name: "Long", kind: "B", ops: ["+", "-"], preds: ["E", "N"], meta: [] }
+            ],
+            funcs: [
+                { name: "abs", volatility: "I", minArgCount: 1, argCount: 1, typeResolver: { "FixedDomainFunctionTypeResolver": ["Integer"] }, args: [{ name: "value", meta: [] }], meta: [] },
+                { name: "sign", volatility: "I", minArgCount: 1, argCount: 1, typeResolver: { "FixedDomainFunctionTypeResolver": ["Integer"] }, args: [{ name: "value", meta: [] }], meta: [] }
+            ],
+            opResolvers: [
+                { resolver: { "FixedDomainOperationTypeResolver": ["Integer"] }, typeOps: { "Integer": ["+"] } },
+                { resolver: { "FixedDomainOperationTypeResolver": ["Integer"] }, typeOps: { "Long": ["+"] } }
+            ],
+            predResolvers: []
+        }));
+        expect(domainModel.getFunction('abs').resultTypeResolver).to.equal(domainModel.getFunction('sign').resultTypeResolver);
+        expect(domainModel.getOperationTypeResolver('Integer', domain.DomainOperator.PLUS)).to.equal(domainModel.getOperationTypeResolver('Long', domain.DomainOperator.PLUS));
+    });
+
+    it('Interned resolvers across models', function() {
+        let json = JSON.stringify({
+            types: [
+                { name: "Integer", kind: "B", ops: ["+"], preds: ["E", "N"], meta: [] },
+                { name: "Long", kind: "B", ops: ["+"], preds: ["E", "N"], meta: [] }
+            ],
+            funcs: [
+                { name: "abs", volatility: "I", minArgCount: 1, argCount: 1, typeResolver: { "FixedDomainFunctionTypeResolver": ["Integer"] }, args: [{ name: "value", meta: [] }], meta: [] }
+            ],
+            opResolvers: [
+                { resolver: { "WidestDomainOperationTypeResolver": [["Long", "Integer"]] }, typeOps: { "Integer": ["+"], "Long": ["+"] } }
+            ],
+            predResolvers: [
+                { resolver: { "FixedDomainPredicateTypeResolver": ["Integer"] } }
+            ]
+        });
+        let model1 = domain.DomainModel.parse(json);
+        let model2 = domain.DomainModel.parse(json);
+        let integer1 = model1.getType('Integer'), long1 = model1.getType('Long');
+        let integer2 = model2.getType('Integer'), long2 = model2.getType('Long');
+        expect(integer1).to.not.equal(integer2);
+        let operationResolver1 = model1.getOperationTypeResolver('Integer', domain.DomainOperator.PLUS);
+        let operationResolver2 = model2.getOperationTypeResolver('Integer', domain.DomainOperator.PLUS);
+        let functionResolver1 = model1.getFunction('abs').resultTypeResolver;
+        let functionResolver2 = model2.getFunction('abs').resultTypeResolver;
+        let predicateResolver1 = model1.getPredicateTypeResolver('Long', domain.DomainPredicate.EQUALITY);
+        let predicateResolver2 = model2.getPredicateTypeResolver('Long', domain.DomainPredicate.EQUALITY);
+
+        // Resolve alternately, so that the bound types of one model can't leak into the other
+        for (var i = 0; i < 2; i++) {
+            expect(operationResolver1.resolveType(model1, [integer1, long1])).to.equal(long1);
+            expect(operationResolver2.resolveType(model2, [integer2, long2])).to.equal(long2);
+            expect(operationResolver1.resolveType(model1, [integer1, integer1])).to.equal(integer1);
+            expect(operationResolver2.resolveType(model2, [integer2, integer2])).to.equal(integer2);
+            expect(functionResolver1.resolveType(model1, model1.getFunction('abs'), [long1])).to.equal(integer1);
+            expect(functionResolver2.resolveType(model2, model2.getFunction('abs'), [long2])).to.equal(integer2);
+            expect(predicateResolver1.resolveType(model1, [long1])).to.equal(integer1);
+            expect(predicateResolver2.resolveType(model2, [long2])).to.equal(integer2);
+        }
+        // A resolver binds its type names to the model it resolves against
+        expect(operationResolver1.resolveType(model2, [integer2, long2])).to.equal(long2);
+        expect(functionResolver1.resolveType(model2, model2.getFunction('abs'), [long2])).to.equal(integer2);
+        expect(predicateResolver1.resolveType(model2, [long2])).to.equal(integer2);
+        expect(() => operationResolver1.resolveType(model1, [integer1, long2])).to.throw(domain.OperandTypeResolverException);
+        expect(operationResolver1.resolveType(model1, [integer1, long1])).to.equal(long1);
+
+        // Sub models share the resolver instances of their base model
+        let subModel1 = domain.DomainModel.parse(JSON.stringify({
+            types: [
+                { name: "Integer", kind: "B", ops: ["+"], preds: ["E", "N", "R"], meta: [] }
+            ],
+            funcs: []
+        }), model1);
+        let subInteger1 = subModel1.getType('Integer');
+        expect(subModel1.getFunction('abs').resultTypeResolver).to.equal(functionResolver1);
+        expect(subModel1.getOperationTypeResolver('Long', domain.DomainOperator.PLUS)).to.equal(model1.getOperationTypeResolver('Long', domain.DomainOperator.PLUS));
+        for (var i = 0; i < 2; i++) {
+            expect(functionResolver1.resolveType(subModel1, subModel1.getFunction('abs'), [long1])).to.equal(subInteger1);
+            expect(functionResolver1.resolveType(model1, model1.getFunction('abs'), [long1])).to.equal(integer1);
+            expect(operationResolver1.resolveType(subModel1, [subInteger1, subInteger1])).to.equal(subInteger1);
+            expect(operationResolver1.resolveType(model1, [integer1, integer1])).to.equal(integer1);
+        }
+    });
+
+    it('Repeated resolution', function() {
+        var domainModel = domain.DomainModel.parse(JSON.stringify({
+            types: [
+                { name: "Integer", kind: "B", ops: ["+"], preds: ["E", "N"], meta: [] },
+                { name: "Long", kind: "B", ops: ["+"], preds: ["E", "N"], meta: [] },
+                { name: "String", kind: "B", ops: ["+"], preds: ["E", "N"], meta: [] }
+            ],
+            funcs: [],
+            opResolvers: [
+                { resolver: { "WidestDomainOperationTypeResolver": [["Long", "Integer"]] }, typeOps: { "Integer": ["+"], "Long": ["+"] } }
+            ],
+            predResolvers: []
+        }));
+        let integerType = domainModel.getType('Integer'), longType = domainModel.getType('Long');
+        let resolver = domainModel.getOperationTypeResolver('Integer', domain.DomainOperator.PLUS);
+        expect(resolver.resolveType(domainModel, [integerType, longType])).to.equal(longType);
+        expect(resolver.resolveType(domainModel, [integerType, longType])).to.equal(longType);
+        expect(resolver.resolveType(domainModel, [integerType, integerType])).to.equal(integerType);
+        expect(() => resolver.resolveType(domainModel, [integerType, domainModel.getType('String')])).to.throw(domain.OperandTypeResolverException);
+
+        var subDomainModel = domain.DomainModel.parse(JSON.stringify({
+            types: [
+                { name: "Long", kind: "B", ops: ["+"], preds: ["E", "N", "R"], meta: [] }
+            ],
+            funcs: []
+        }), domainModel);
+        let subLongType = subDomainModel.getType('Long');
+        expect(subLongType).to.not.equal(longType);
+        expect(subDomainModel.getOperationTypeResolver('Integer', domain.DomainOperator.PLUS).resolveType(subDomainModel, [integerType, subLongType])).to.equal(subLongType);
+    });
+
+    it('Repeated resolution failures', function() {
+        var domainModel = domain.DomainModel.parse(JSON.stringify({
+            types: [
+                { name: "Integer", kind: "B", ops: ["+", "-", "*"], preds: ["E", "R", "N"], meta: [] },
+                { name: "Long", kind: "B", ops: ["+"], preds: ["E", "N"], meta: [] },
+                { name: "String", kind: "B", ops: [], preds: [], meta: [] },
+                { name: "Boolean", kind: "B", ops: [], preds: [], meta: [] }
+            ],
+            funcs: [
+                { name: "fixedResult", volatility: "I", minArgCount: 1, argCount: 1, type: "Integer", args: [{ name: "value", type: "Integer", meta: [] }], meta: [] },
+                { name: "nth", volatility: "I", minArgCount: 1, argCount: 1, typeResolver: { "NthArgumentDomainFunctionTypeResolver": [0] }, args: [{ name: "value", type: "Integer", meta: [] }], meta: [] },
+                { name: "fixed", volatility: "I", minArgCount: 1, argCount: 1, typeResolver: { "FixedDomainFunctionTypeResolver": ["Long"] }, args: [{ name: "value", type: "Integer", meta: [] }], meta: [] },
+                { name: "widest", volatility: "I", minArgCount: 2, argCount: 2, typeResolver: { "WidestDomainFunctionTypeResolver": [["Long", "Integer"]] }, args: [{ name: "first", meta: [] }, { name: "second", meta: [] }], meta: [] }
+            ],
+            opResolvers: [
+                { resolver: { "WidestDomainOperationTypeResolver": [["Long", "Integer"]] }, typeOps: { "Integer": ["+"] } },
+                { resolver: { "RestrictedDomainOperationTypeResolver": ["Integer", ["Integer", "Long"]] }, typeOps: { "Integer": ["-"] } },
+                { resolver: { "OperandRestrictedDomainOperationTypeResolver": ["Integer", [["Integer"], ["Long"]]] }, typeOps: { "Integer": ["*"] } },
+                { resolver: { "FixedDomainOperationTypeResolver": ["Long"] }, typeOps: { "Long": ["+"] } }
+            ],
+            predResolvers: [
+                { resolver: { "RestrictedDomainPredicateTypeResolver": ["Boolean", ["Integer"]] }, typePreds: { "Integer": ["E"] } },
+                { resolver: { "OperandRestrictedDomainPredicateTypeResolver": ["Boolean", [["Integer"], ["Integer", "Long"]]] }, typePreds: { "Integer": ["R"] } },
+                { resolver: { "FixedDomainPredicateTypeResolver": ["Boolean"] }, typePreds: { "Long": ["E"] } }
+            ]
+        }));
+        let integerType = domainModel.getType('Integer'), longType = domainModel.getType('Long');
+        let stringType = domainModel.getType('String'), booleanType = domainModel.getType('Boolean');
+        // A failing resolution fails again, also after a successful one
+        let expectResolution = function(resolve: (types: domain.DomainType[]) => domain.DomainType, invalidTypes: domain.DomainType[], validTypes: domain.DomainType[], expectedType: domain.DomainType, exception: any) {
+            expect(() => resolve(invalidTypes)).to.throw(exception);
+            expect(() => resolve(invalidTypes)).to.throw(exception);
+            expect(resolve(validTypes)).to.equal(expectedType);
+            expect(resolve(validTypes)).to.equal(expectedType);
+            expect(() => resolve(invalidTypes)).to.throw(exception);
+        };
+        let operation = function(typeName: string, operator: domain.DomainOperator) {
+            let resolver = domainModel.getOperationTypeResolver(typeName, operator);
+            return function(types: domain.DomainType[]) { return resolver.resolveType(domainModel, types); };
+        };
+        let predicate = function(typeName: string, predicate: domain.DomainPredicate) {
+            let resolver = domainModel.getPredicateTypeResolver(typeName, predicate);
+            return function(types: domain.DomainType[]) { return resolver.resolveType(domainModel, types); };
+        };
+        let func = function(name: string) {
+            let domainFunction = domainModel.getFunction(name);
+            return function(types: domain.DomainType[]) { return domainFunction.resultTypeResolver.resolveType(domainModel, domainFunction, types); };
+        };
+
+        expectResolution(operation('Integer', domain.DomainOperator.PLUS), [integerType, stringType], [integerType, longType], longType, domain.OperandTypeResolverException);
+        expectResolution(operation('Integer', domain.DomainOperator.MINUS), [stringType, integerType], [longType, integerType], integerType, domain.OperandTypeResolverException);
+        expectResolution(operation('Integer', domain.DomainOperator.MULTIPLICATION), [longType, integerType], [integerType, longType], integerType, domain.OperandTypeResolverException);
+        expectResolution(predicate('Integer', domain.DomainPredicate.EQUALITY), [integerType, longType], [integerType, integerType], booleanType, domain.OperandTypeResolverException);
+        expectResolution(predicate('Integer', domain.DomainPredicate.RELATIONAL), [longType, integerType], [integerType, longType], booleanType, domain.OperandTypeResolverException);
+        expectResolution(func('fixedResult'), [stringType], [integerType], integerType, domain.FunctionTypeResolverException);
+        expectResolution(func('nth'), [longType], [integerType], integerType, domain.FunctionTypeResolverException);
+        expectResolution(func('fixed'), [stringType], [integerType], longType, domain.FunctionTypeResolverException);
+        expectResolution(func('widest'), [integerType, stringType], [integerType, longType], longType, domain.FunctionTypeResolverException);
+        // The fixed operation and predicate type resolvers accept any operands and have no failure path
+        expect(operation('Long', domain.DomainOperator.PLUS)([stringType, booleanType])).to.equal(longType);
+        expect(predicate('Long', domain.DomainPredicate.EQUALITY)([stringType, booleanType])).to.equal(booleanType);
+    });
+
+    it('Stream parse', function() {
+        let json = JSON.stringify({
+            types: [
+                { name: "Integer", kind: "B", ops: ["+"], preds: ["E", "N"], meta: [{ doc: "An \"integer\" [type]" }] },
+                { name: "User", kind: "E", preds: ["E", "N"], meta: [], attrs: [{ name: "id", type: "Integer", meta: [] }, { name: "posts", type: "Collection[Post]", meta: [] }] },
+                { name: "Post", kind: "E", preds: ["E", "N"], meta: [], attrs: [{ name: "writer", type: "User", meta: [] }] }
+            ],
+            funcs: [
+                { name: "abs", volatility: "I", minArgCount: 1, argCount: 1, type: "Integer", args: [{ name: "value", type: "Integer", meta: [] }], meta: [] }
+            ],
+            opResolvers: [
+                { resolver: { "FixedDomainOperationTypeResolver": ["Integer"] }, typeOps: { "Integer": ["+"] } }
+            ],
+            predResolvers: []
+        });
+        let chunks: string[] = [];
+        for (var i = 0; i < json.length; i += 7) {
+            chunks.push(json.substring(i, i + 7));
+        }
+        return domain.DomainModel.parseStream(chunks).then(function(domainModel) {
+            let user = domainModel.getType('User') as domain.EntityDomainType;
+            expect(user.attributes['id'].type).to.equal(domainModel.getType('Integer'));
+            expect(domainModel.getType('Integer').metadata[0]['doc']).to.equal('An "integer" [type]');
+            expect(domainModel.getFunction('abs').resultType).to.equal(domainModel.getType('Integer'));
+            expect(domainModel.getOperationTypeResolver('Integer', domain.DomainOperator.PLUS)).to.not.equal(null);
+        });
+    });
+
+    it('Stream parse at every chunk boundary', function() {
+        let json = JSON.stringify({
+            types: [
+                { name: "Integer", kind: "B", ops: ["+"], preds: ["E", "N"], meta: [{ doc: "Quote \" backslash \\ brackets {[,:]} unicode é€😀 tab \t end" }] },
+                { name: "Café", kind: "E", preds: ["E", "N"], meta: [], attrs: [{ name: "na\"me", type: "Integer", meta: [] }, { name: "back\\slash", type: "Collection[Café]", meta: [] }] }
+            ],
+            funcs: [
+                { name: "abs", volatility: "I", minArgCount: 1, argCount: 1, type: "Integer", args: [{ name: "va}lue", type: "Integer", meta: [] }], meta: [] }
+            ],
+            opResolvers: [
+                { resolver: { "FixedDomainOperationTypeResolver": ["Integer"] }, typeOps: { "Integer": ["+"] } }
+            ],
+            predResolvers: []
+        // Escape non-ASCII characters in the second type, so that chunks also end within unicode escapes
+        }).replace('"Café","kind"', '"Caf\\u00e9","kind"');
+        expect(json).to.include('\\u00e9');
+        expect(json).to.include('é');
+        let expected = describeModel(domain.DomainModel.parse(json));
+        let verify = function(domainModel: domain.DomainModel) {
+            expect(describeModel(domainModel)).to.deep.equal(expected);
+            expect(domainModel.getType('Integer').metadata[0]['doc']).to.equal("Quote \" backslash \\ brackets {[,:]} unicode é€😀 tab \t end");
+            let entityType = domainModel.getType('Café') as domain.EntityDomainType;
+            expect(entityType.attributes['na"me'].type).to.equal(domainModel.getType('Integer'));
+            expect((entityType.attributes['back\\slash'].type as domain.CollectionDomainType).elementType).to.equal(entityType);
+            expect(domainModel.getFunction('abs').arguments[0].name).to.equal('va}lue');
+        };
+        let parses: Promise<void>[] = [];
+        // Two string chunks split at every position, which includes positions within keys, strings and escape sequences
+        for (var i = 1; i < json.length; i++) {
+            parses.push(domain.DomainModel.parseStream([json.substring(0, i), json.substring(i)]).then(verify));
+        }
+        // UTF-8 encoded chunks split at every byte, which includes positions within multi-byte characters
+        let bytes = new TextEncoder().encode(json);
+        for (var i = 1; i < bytes.length; i++) {
+            parses.push(domain.DomainModel.parseStream([bytes.subarray(0, i), bytes.subarray(i)]).then(verify));
+        }
+        // Single character chunks
+        parses.push(domain.DomainModel.parseStream(json.split('')).then(verify));
+        // A string source is a single chunk
+        parses.push(domain.DomainModel.parseStream(json).then(verify));
+        return Promise.all(parses);
+    });
+
+    it('Completion index', function() {
+        var domainModel = domain.DomainModel.parse(JSON.stringify({
+            types: [
+                { name: "Integer", kind: "B", ops: ["+"], preds: ["E", "N"], meta: [] },
+                { name: "User", kind: "E", preds: ["E", "N"], meta: [], attrs: [{ name: "id", type: "Integer", meta: [] }, { name: "idNumber", type: "Integer", meta: [] }, { name: "age", type: "Integer", meta: [] }] }
+            ],
+            funcs: [
+                { name: "SUBSTRING", volatility: "I", minArgCount: 1, argCount: 1, type: "Integer", args: [{ name: "value", type: "Integer", meta: [] }], meta: [] },
+                { name: "SUM", volatility: "I", minArgCount: 1, argCount: 1, type: "Integer", args: [{ name: "value", type: "Integer", meta: [] }], meta: [] },
+                { name: "ABS", volatility: "I", minArgCount: 1, argCount: 1, type: "Integer", args: [{ name: "value", type: "Integer", meta: [] }], meta: [] }
+            ],
+            opResolvers: [],
+            predResolvers: []
+        }));
+        let functionIndex = domainModel.getFunctionCompletionIndex();
+        expect(functionIndex.completeNames('su')).to.deep.equal(['SUBSTRING', 'SUM']);
+        expect(functionIndex.complete('Sum')[0]).to.equal(domainModel.getFunction('SUM'));
+        expect(functionIndex.completeNames('s', 1)).to.deep.equal(['SUBSTRING']);
+        expect(functionIndex.completeNames('x')).to.deep.equal([]);
+        expect(domainModel.getTypeCompletionIndex().completeNames('')).to.deep.equal(['Integer', 'User']);
+        let user = domainModel.getType('User') as domain.EntityDomainType;
+        expect(domainModel.getAttributeCompletionIndex(user).completeNames('ID')).to.deep.equal(['id', 'idNumber']);
+    });
+
+    it('Completion index with names that differ in case', function() {
+        var domainModel = domain.DomainModel.parse(JSON.stringify({
+            types: [
+                { name: "Integer", kind: "B", ops: ["+"], preds: ["E", "N"], meta: [] },
+                { name: "integer", kind: "B", ops: ["+"], preds: ["E", "N"], meta: [] },
+                { name: "INTEGERS", kind: "B", ops: ["+"], preds: ["E", "N"], meta: [] },
+                { name: "Item", kind: "E", preds: ["E", "N"], meta: [], attrs: [{ name: "Name", type: "Integer", meta: [] }, { name: "name", type: "integer", meta: [] }, { name: "NAMES", type: "INTEGERS", meta: [] }, { name: "_name", type: "Integer", meta: [] }] }
+            ],
+            funcs: [
+                { name: "Sum", volatility: "I", minArgCount: 1, argCount: 1, type: "Integer", args: [{ name: "value", type: "Integer", meta: [] }], meta: [] },
+                { name: "SUM", volatility: "I", minArgCount: 1, argCount: 1, type: "integer", args: [{ name: "value", type: "Integer", meta: [] }], meta: [] },
+                { name: "sum_all", volatility: "I", minArgCount: 1, argCount: 1, type: "INTEGERS", args: [{ name: "value", type: "Integer", meta: [] }], meta: [] },
+                { name: "Z", volatility: "I", minArgCount: 0, argCount: 0, type: "Integer", args: [], meta: [] },
+                { name: "a", volatility: "I", minArgCount: 0, argCount: 0, type: "Integer", args: [], meta: [] }
+            ],
+            opResolvers: [],
+            predResolvers: []
+        }));
+        let typeIndex = domainModel.getTypeCompletionIndex();
+        // Every casing of the prefix finds all names, which are ordered by their lower case name and then by their declared name
+        for (let prefix of ['integer', 'INTEGER', 'Integer', 'iNtEgEr', 'I', 'i']) {
+            expect(typeIndex.completeNames(prefix)).to.deep.equal(['Integer', 'integer', 'INTEGERS', 'Item'].filter(name => name.toLowerCase().startsWith(prefix.toLowerCase())));
+        }
+        expect(typeIndex.completeNames('integers')).to.deep.equal(['INTEGERS']);
+        expect(typeIndex.complete('inTeger')).to.deep.equal([domainModel.getType('Integer'), domainModel.getType('integer'), domainModel.getType('INTEGERS')]);
+        expect(typeIndex.completeNames('INTEGER', 2)).to.deep.equal(['Integer', 'integer']);
+
+        let functionIndex = domainModel.getFunctionCompletionIndex();
+        expect(functionIndex.completeNames('sum')).to.deep.equal(['SUM', 'Sum', 'sum_all']);
+        expect(functionIndex.completeNames('SUM_')).to.deep.equal(['sum_all']);
+        expect(functionIndex.complete('sUm', 2)).to.deep.equal([domainModel.getFunction('SUM'), domainModel.getFunction('Sum')]);
+        // Upper case letters sort before lower case ones, so the index must not compare the prefix with the declared names
+        expect(functionIndex.completeNames('z')).to.deep.equal(['Z']);
+        expect(functionIndex.completeNames('A')).to.deep.equal(['a']);
+
+        let item = domainModel.getType('Item') as domain.EntityDomainType;
+        let attributeIndex = domainModel.getAttributeCompletionIndex(item);
+        expect(attributeIndex.completeNames('NaMe')).to.deep.equal(['Name', 'name', 'NAMES']);
+        expect(attributeIndex.complete('NAME')).to.deep.equal([item.attributes['Name'], item.attributes['name'], item.attributes['NAMES']]);
+        expect(attributeIndex.completeNames('_N')).to.deep.equal(['_name']);
+        expect(attributeIndex.completeNames('names')).to.deep.equal(['NAMES']);
+    });
+
+    it('Transferable', function() {
+        var sourceDomainModel = domain.DomainModel.parse(JSON.stringify({
+            types: [
+                { name: "Integer", kind: "B", ops: ["+", "-"], preds: ["E", "N", "R"], meta: [{ doc: "An integer" }] },
+                { name: "Status", kind: "N", ops: [], preds: ["E", "N"], meta: [], vals: [{ name: "ACTIVE", meta: [] }, { name: "INACTIVE", meta: [] }] },
+                { name: "User", kind: "E", preds: ["E", "N"], meta: [], attrs: [{ name: "id", type: "Integer", meta: [] }, { name: "posts", type: "Collection[Post]", meta: [] }] },
+                { name: "Post", kind: "E", preds: ["E", "N"], meta: [], attrs: [{ name: "writer", type: "User", meta: [] }] }
+            ],
+            funcs: [
+                { name: "abs", volatility: "I", minArgCount: 1, argCount: 1, type: "Integer", args: [{ name: "value", type: "Integer", meta: [] }], meta: [{ doc: "Absolute value" }] },
+                { name: "first", volatility: "S", minArgCount: 1, argCount: 1, typeResolver: { "NthArgumentDomainFunctionTypeResolver": [0] }, args: [{ name: "value", meta: [] }], meta: [] }
+            ],
+            opResolvers: [
+                { resolver: { "FixedDomainOperationTypeResolver": ["Integer"] }, typeOps: { "Integer": ["+", "-"] } }
+            ],
+            predResolvers: [
+                { resolver: { "FixedDomainPredicateTypeResolver": ["Integer"] }, typePreds: { "Integer": ["E", "N", "R"], "User": ["E"] } }
+            ]
+        }));
+        let transferable = sourceDomainModel.toTransferable();
+        expect(domain.DomainModel.getTransferList(transferable).length).to.equal(5);
+
+        let domainModel = domain.DomainModel.fromTransferable(transferable);
+        let integerType = domainModel.getType('Integer');
+        expect(integerType.enabledOperators).to.deep.equal([domain.DomainOperator.PLUS, domain.DomainOperator.MINUS]);
+        expect(integerType.metadata[0]['doc']).to.equal("An integer");
+        expect(domainModel.getType('Unknown')).to.equal(undefined);
+        let user = domainModel.getType('User') as domain.EntityDomainType;
+        let post = (user.attributes['posts'].type as domain.CollectionDomainType).elementType as domain.EntityDomainType;
+        expect(post.attributes['writer'].type).to.equal(user);
+        expect(Object.keys((domainModel.getType('Status') as domain.EnumDomainType).enumValues)).to.deep.equal(['ACTIVE', 'INACTIVE']);
+        expect(Object.keys(domainModel.getTypes())).to.deep.equal(['Integer', 'Post', 'Status', 'User']);
+        let abs = domainModel.getFunction('abs');
+        expect(abs.resultType).to.equal(integerType);
+        expect(abs.documentation).to.equal("Absolute value");
+        let first = domainModel.getFunction('first');
+        expect(first.volatility).to.equal(domain.DomainFunctionVolatility.STABLE);
+        expect(first.resultTypeResolver.resolveType(domainModel, first, [user])).to.equal(user);
+        expect(domainModel.getOperationTypeResolver('Integer', domain.DomainOperator.PLUS).resolveType(domainModel, [integerType, integerType])).to.equal(integerType);
+        expect(domainModel.getPredicateTypeResolver('User', domain.DomainPredicate.EQUALITY)).to.not.equal(null);
+        expect(domainModel.getPredicateTypeResolver('User', domain.DomainPredicate.NULLNESS)).to.equal(undefined);
+        expect(domainModel.getOperationTypeResolvers('Status')).to.equal(undefined);
+
+        let subDomainModel = domain.DomainModel.parse(JSON.stringify({ types: [{ name: "Post", kind: "T" }], funcs: [] }), domainModel);
+        expect(subDomainModel.getType('Post')).to.equal(null);
+        expect(subDomainModel.getType('User')).to.equal(user);
+        expect(domain.DomainModel.fromTransferable(domainModel.toTransferable()).getFunction('abs').name).to.equal('abs');
+    });
+
+    it('Transferable round trip', function() {
+        let json = JSON.stringify({
+            types: [
+                { name: "Integer", kind: "B", ops: ["+", "-", "*"], preds: ["E", "N", "R"], meta: [{ doc: "An integer" }, { precision: 32 }] },
+                { name: "Long", kind: "B", ops: ["+", "-"], preds: ["E", "N", "R"], meta: [] },
+                { name: "String", kind: "B", ops: ["+"], preds: ["E", "N"], meta: [{ doc: "A string" }] },
+                { name: "Boolean", kind: "B", ops: [], preds: ["E", "N"], meta: [] },
+                { name: "String|Integer", kind: "U", ops: [], preds: ["E"], meta: [{ doc: "A union" }] },
+                { name: "Status", kind: "N", ops: [], preds: ["E", "N"], meta: [{ doc: "A status" }], vals: [{ name: "ACTIVE", meta: [{ doc: "Active" }] }, { name: "INACTIVE", meta: [] }] },
+                { name: "User", kind: "E", preds: ["E", "N"], meta: [{ table: "users" }], attrs: [{ name: "id", type: "Integer", meta: [{ doc: "The id" }] }, { name: "status", type: "Status", meta: [] }, { name: "posts", type: "Collection[Post]", meta: [] }] },
+                { name: "Post", kind: "E", preds: ["E", "N"], meta: [], attrs: [{ name: "writer", type: "User", meta: [] }, { name: "title", type: "String", meta: [{ doc: "The title" }, { length: 255 }] }] }
+            ],
+            funcs: [
+                { name: "abs", volatility: "I", minArgCount: 1, argCount: 1, type: "Integer", args: [{ name: "value", type: "Integer", meta: [{ doc: "The value" }] }], meta: [{ doc: "Absolute value" }] },
+                { name: "first", volatility: "S", minArgCount: 1, argCount: 2, typeResolver: { "NthArgumentDomainFunctionTypeResolver": [0] }, args: [{ name: "value", meta: [] }, { name: "other", meta: [] }], meta: [] },
+                { name: "greatest", volatility: "V", minArgCount: 1, argCount: -1, typeResolver: { "WidestDomainFunctionTypeResolver": [["Long", "Integer"]] }, args: [], meta: [{ doc: "The greatest value" }] },
+                { name: "length", volatility: "I", minArgCount: 1, argCount: 1, typeResolver: { "FixedDomainFunctionTypeResolver": ["Integer"] }, args: [{ name: "value", type: "String", meta: [] }], meta: [] }
+            ],
+            opResolvers: [
+                { resolver: { "WidestDomainOperationTypeResolver": [["Long", "Integer"]] }, typeOps: { "Integer": ["+", "-"], "Long": ["+", "-"] } },
+                { resolver: { "RestrictedDomainOperationTypeResolver": ["Integer", ["Integer", "Long"]] }, typeOps: { "Integer": ["*"] } },
+                { resolver: { "OperandRestrictedDomainOperationTypeResolver": ["String", [["String"], ["String", "Integer"]]] }, typeOps: { "String": ["+"] } }
+            ],
+            predResolvers: [
+                { resolver: { "FixedDomainPredicateTypeResolver": ["Boolean"] }, typePreds: { "Integer": ["E", "N"], "Long": ["E", "N", "R"], "Boolean": ["E", "N"], "String|Integer": ["E"], "Status": ["E", "N"], "User": ["E", "N"], "Post": ["E", "N"] } },
+                { resolver: { "RestrictedDomainPredicateTypeResolver": ["Boolean", ["Integer", "Long"]] }, typePreds: { "Integer": ["R"] } },
+                { resolver: { "OperandRestrictedDomainPredicateTypeResolver": ["Boolean", [["String"], ["String"]]] }, typePreds: { "String": ["E", "N"] } }
+            ]
+        });
+        // Describes everything a model exposes, including metadata, documentation and the results of the resolvers for all operand types
+        let describe = function(domainModel: domain.DomainModel): any {
+            let typeNames: string[] = [];
+            let allTypes = domainModel.getTypes();
+            for (let name in allTypes) {
+                if (allTypes[name] != null) {
+                    typeNames.push(name);
+                }
+            }
+            let operandTypes: domain.DomainType[] = [null].concat(typeNames.sort().map(function(name) { return allTypes[name]; }));
+            let outcome = function(resolve: () => domain.DomainType): string {
+                try {
+                    let type = resolve();
+                    return type == null ? null : type.name;
+                } catch (e) {
+                    return 'error: ' + e.message;
+                }
+            };
+            let resolverOutcomes = function(resolver: any, resolve: (resolver: any, types: domain.DomainType[]) => domain.DomainType): string[] {
+                if (resolver == null) {
+                    return null;
+                }
+                let outcomes: string[] = [];
+                for (let type1 of operandTypes) {
+                    for (let type2 of operandTypes) {
+                        outcomes.push(outcome(function() { return resolve(resolver, [type1, type2]); }));
+                    }
+                }
+                return outcomes;
+            };
+            let resolverStates = function(resolverMap: any): any {
+                let states: any = {};
+                for (let element in resolverMap) {
+                    states[element] = resolverOutcomes(resolverMap[element], function(resolver, types) { return resolver.resolveType(domainModel, types); });
+                }
+                return states;
+            };
+            let description = describeModel(domainModel);
+            let types = domainModel.getTypes();
+            for (let name in description.types) {
+                let type = types[name];
+                let typeDescription = description.types[name];
+                if (type == null) {
+                    // The transferable representation flattens base models, so removed entries are simply absent
+                    delete description.types[name];
+                    continue;
+                }
+                typeDescription.metadata = type.metadata;
+                typeDescription.opResolvers = resolverStates(domainModel.getOperationTypeResolvers(name));
+                typeDescription.predResolvers = resolverStates(domainModel.getPredicateTypeResolvers(name));
+                if (type instanceof domain.EntityDomainType) {
+                    typeDescription.attrMetadata = {};
+                    for (let attributeName in type.attributes) {
+                        typeDescription.attrMetadata[attributeName] = [type.attributes[attributeName].documentation, type.attributes[attributeName].metadata];
+                    }
+                } else if (type instanceof domain.EnumDomainType) {
+                    typeDescription.valueMetadata = {};
+                    for (let value in type.enumValues) {
+                        typeDescription.valueMetadata[value] = [type.enumValues[value].documentation, type.enumValues[value].metadata];
+                    }
+                }
+            }
+            let functions = domainModel.getFunctions();
+            for (let name in description.functions) {
+                let func = functions[name];
+                let functionDescription = description.functions[name];
+                if (func == null) {
+                    // The transferable representation flattens base models, so removed entries are simply absent
+                    delete description.functions[name];
+                    continue;
+                }
+                functionDescription.documentation = func.documentation;
+                functionDescription.metadata = func.metadata;
+                functionDescription.declaredResultType = func.resultType == null ? null : func.resultType.name;
+                functionDescription.resultTypeResolver = resolverOutcomes(func.resultTypeResolver, function(resolver, types) { return resolver.resolveType(domainModel, func, types); });
+                functionDescription.argMetadata = func.arguments.map(function(argument) { return [argument.documentation, argument.metadata]; });
+            }
+            return description;
+        };
+
+        let check = function(sourceDomainModel: domain.DomainModel) {
+            let expected = describe(sourceDomainModel);
+            let transferable = sourceDomainModel.toTransferable();
+            // Simulate a transfer to a worker by cloning the typed arrays
+            let transferred: any = {};
+            for (let key in transferable) {
+                let value = (transferable as any)[key];
+                transferred[key] = ArrayBuffer.isView(value) ? (value as any).slice() : value;
+            }
+            let domainModel = domain.DomainModel.fromTransferable(transferred);
+            expect(describe(domainModel)).to.deep.equal(expected);
+            // Transferring the transferred model again yields the same representation
+            expect(describe(domain.DomainModel.fromTransferable(domainModel.toTransferable()))).to.deep.equal(expected);
+        };
+
+        let domainModel = domain.DomainModel.parse(json);
+        let description = describe(domainModel);
+        expect(description.types['Status'].valueMetadata['ACTIVE']).to.deep.equal(['Active', [{ doc: 'Active' }]]);
+        expect(description.types['String|Integer'].elements).to.deep.equal(['Integer', 'String']);
+        expect(description.types['String'].opResolvers['PLUS']).to.include('String');
+        expect(description.types['String'].opResolvers['PLUS'].some(function(outcome: string) { return outcome != null && outcome.startsWith('error: '); })).to.equal(true);
+        expect(description.functions['greatest'].resultTypeResolver).to.include('Long');
+        check(domainModel);
+        check(domain.DomainModel.parse(json, undefined, undefined, true));
+        check(domain.DomainModel.parse(JSON.stringify(moduleFixture.model)));
+        check(domain.DomainModel.parse(JSON.stringify(moduleFixture.subModel), domain.DomainModel.parse(JSON.stringify(moduleFixture.model))));
+    });
+
+    it('Cached lookups', function() {
+        var domainModel = domain.DomainModel.parse(JSON.stringify({
+            types: [
+                { name: "Integer", kind: "B", ops: ["+", "-"], preds: ["E", "N"], meta: [] }
+            ],
+            funcs: [
+                { name: "ABS", volatility: "I", minArgCount: 1, argCount: 1, type: "Integer", args: [{ name: "value", type: "Integer", meta: [] }], meta: [] }
+            ],
+            opResolvers: [
+                { resolver: { "FixedDomainOperationTypeResolver": ["Integer"] }, typeOps: { "Integer": ["+"] } }
+            ],
+            predResolvers: []
+        }));
+        let integerType = domainModel.getType('Integer');
+        let collectionType = domainModel.getType('Collection[Integer]') as domain.CollectionDomainType;
+        expect(collectionType.elementType).to.equal(integerType);
+        expect(domainModel.getType('Collection[Integer]')).to.equal(collectionType);
+        expect(domainModel.getType('Unknown')).to.equal(undefined);
+        expect(domainModel.getFunction('ABS')).to.equal(domainModel.getFunction('ABS'));
+        expect(domainModel.getOperationTypeResolver('Integer', domain.DomainOperator.PLUS).resolveType(domainModel, [integerType, integerType])).to.equal(integerType);
+        expect(domainModel.getOperationTypeResolver('Integer', domain.DomainOperator.MINUS)).to.equal(undefined);
+        expect(domainModel.getOperationTypeResolver('Unknown', domain.DomainOperator.PLUS)).to.equal(null);
+    });
+
+    it('Lazy attributes', function() {
+        var domainModel = domain.DomainModel.parse(JSON.stringify({
+            types: [
+                { name: "Integer", kind: "B", ops: ["+"], preds: ["E", "N"], meta: [] },
+                { name: "User", kind: "E", preds: ["E", "N"], meta: [], attrs: [{ name: "id", type: "Integer", meta: [{ "doc": "The id" }] }, { name: "friends", type: "Collection[User]", meta: [] }] }
+            ],
+            funcs: [],
+            opResolvers: [],
+            predResolvers: []
+        }));
+        let user = domainModel.getType('User') as domain.EntityDomainType;
+        expect(Object.getOwnPropertyDescriptor(user, 'attributes').get).to.not.equal(undefined);
+        expect(user.getAttribute('id').documentation).to.equal("The id");
+        expect(Object.getOwnPropertyDescriptor(user, 'attributes').value).to.equal(user.attributes);
+        expect((user.getAttribute('friends').type as domain.CollectionDomainType).elementType).to.equal(user);
+        expect(user.getAttribute('unknown')).to.equal(undefined);
+        let transferred = domain.DomainModel.fromTransferable(domainModel.toTransferable()).getType('User') as domain.EntityDomainType;
+        expect(Object.keys(transferred.attributes)).to.deep.equal(['id', 'friends']);
+    });
+
+    it('Lazy attributes are materialized once', function() {
+        let json = JSON.stringify({
+            types: [
+                { name: "Integer", kind: "B", ops: ["+"], preds: ["E", "N"], meta: [] },
+                { name: "User", kind: "E", preds: ["E", "N"], meta: [], attrs: [{ name: "id", type: "Integer", meta: [] }, { name: "friends", type: "Collection[User]", meta: [] }] },
+                { name: "Post", kind: "E", preds: ["E", "N"], meta: [], attrs: [{ name: "id", type: "Integer", meta: [] }, { name: "writer", type: "User", meta: [] }] }
+            ],
+            funcs: [],
+            opResolvers: [],
+            predResolvers: []
+        });
+        let subJson = JSON.stringify({
+            types: [
+                { name: "Post", kind: "E", preds: ["E", "N"], meta: [], attrs: [{ name: "id", type: "Integer", meta: [] }, { name: "writer", type: "User", meta: [] }, { name: "title", type: "Integer", meta: [] }] },
+                { name: "Comment", kind: "E", preds: ["E", "N"], meta: [], attrs: [{ name: "post", type: "Post", meta: [] }, { name: "writer", type: "User", meta: [] }] }
+            ],
+            funcs: []
+        });
+        for (let lazy of [false, true]) {
+            let domainModel = domain.DomainModel.parse(json, undefined, undefined, lazy);
+            // The attribute read through getAttribute first is the one that attributes exposes afterwards, and vice versa
+            let user = domainModel.getType('User') as domain.EntityDomainType;
+            let id = user.getAttribute('id');
+            expect(user.attributes['id']).to.equal(id);
+            expect(user.getAttribute('id')).to.equal(id);
+            expect(user.attributes['friends']).to.equal(user.getAttribute('friends'));
+            let post = domainModel.getType('Post') as domain.EntityDomainType;
+            let writer = post.attributes['writer'];
+            expect(post.getAttribute('writer')).to.equal(writer);
+            expect(post.attributes).to.equal(post.attributes);
+
+            // The sub model shares the inherited entity types including their attributes and materializes its own ones once
+            let subDomainModel = domain.DomainModel.parse(subJson, domainModel, undefined, lazy);
+            let subUser = subDomainModel.getType('User') as domain.EntityDomainType;
+            expect(subUser).to.equal(user);
+            expect(subUser.getAttribute('id')).to.equal(id);
+            expect(subUser.attributes['friends']).to.equal(user.attributes['friends']);
+            let comment = subDomainModel.getType('Comment') as domain.EntityDomainType;
+            let commentPost = comment.getAttribute('post');
+            expect(comment.attributes['post']).to.equal(commentPost);
+            expect(comment.attributes['writer']).to.equal(comment.getAttribute('writer'));
+            let subPost = subDomainModel.getType('Post') as domain.EntityDomainType;
+            expect(subPost).to.not.equal(post);
+            expect(commentPost.type).to.equal(subPost);
+            let title = subPost.attributes['title'];
+            expect(subPost.getAttribute('title')).to.equal(title);
+            expect(subPost.getAttribute('writer')).to.equal(subPost.attributes['writer']);
+            expect(subPost.getAttribute('writer')).to.not.equal(writer);
+            expect(subPost.getAttribute('writer').type).to.equal(user);
+            // The base model is unaffected by the overlay
+            expect(domainModel.getType('Post')).to.equal(post);
+            expect(post.getAttribute('title')).to.equal(undefined);
+            expect(post.attributes['writer']).to.equal(writer);
+        }
+    });
 });